@@ -0,0 +1,73 @@
+package com.Chris__.realm_ruler.platform;
+
+import com.hypixel.hytale.protocol.InteractionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Method;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-event cost of reading a PlayerInteractLib-style event: the four accessors the interaction
+ * handler reads (type, uuid, item in hand, chain).
+ *
+ * - reflective: getMethod() over the candidate names on every event (the adapter before handles).
+ * - handles: PlayerInteractAdapter (accessors resolved once per event class).
+ *
+ * Run with ./gradlew jmh (results in build/results/jmh).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PlayerInteractAdapterBenchmark {
+
+    /** Record-style accessors, like PlayerInteractLib's PlayerInteractionEvent. */
+    public record SampleEvent(UUID uuid, InteractionType interactionType, String itemInHandId, Object interaction) {
+    }
+
+    private final PlayerInteractAdapter adapter = new PlayerInteractAdapter();
+    private final SampleEvent event = new SampleEvent(UUID.randomUUID(), InteractionType.Use, "RealmRuler_Flag_Red", new Object());
+
+    @Benchmark
+    public void reflective(Blackhole bh) {
+        Object type = safeCall(event, "interactionType", "getInteractionType");
+        bh.consume((type instanceof InteractionType it) ? it : null);
+        Object uuid = safeCall(event, "uuid", "getUuid", "playerUuid", "getPlayerUuid");
+        bh.consume((uuid == null) ? "<null>" : String.valueOf(uuid));
+        Object item = safeCall(event, "itemInHandId", "getItemInHandId");
+        bh.consume((item == null) ? "<empty>" : String.valueOf(item));
+        bh.consume(safeCall(event, "interaction", "getInteraction", "interactionChain", "getInteractionChain"));
+    }
+
+    @Benchmark
+    public void handles(Blackhole bh) {
+        bh.consume(adapter.safeInteractionType(event));
+        bh.consume(adapter.safeUuid(event));
+        bh.consume(adapter.safeItemInHandId(event));
+        bh.consume(adapter.safeInteractionChain(event));
+    }
+
+    // The adapter's accessor lookup before it cached handles per event class.
+    private static Object safeCall(Object obj, String... methodNames) {
+        for (String name : methodNames) {
+            try {
+                Method m = obj.getClass().getMethod(name);
+                if (m.getParameterCount() != 0) continue;
+                return m.invoke(obj);
+            } catch (Throwable ignored) {}
+        }
+        return null;
+    }
+}
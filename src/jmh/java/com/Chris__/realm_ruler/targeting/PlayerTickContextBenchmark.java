@@ -0,0 +1,90 @@
+package com.Chris__.realm_ruler.targeting;
+
+import com.Chris__.realm_ruler.core.PlayerIdRegistry;
+import com.Chris__.realm_ruler.core.PlayerKeys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One tick of TargetingService.resolvePlayerContext: every per-tick system (tracker, teleport, HUD,
+ * look) resolves the context for every online player. The component reads from the archetype chunk
+ * are left out (they need a live store); what is measured is what the resolve adds on top of them.
+ *
+ * - allocatingTick: uuid.toString() key plus a new context record per player per system (the
+ *   resolve before the cached keys and slot contexts).
+ * - slotContextTick: PlayerKeys.of(uuid), the id check and PlayerTickContext.Slots.fill, as
+ *   resolvePlayerContext does now.
+ *
+ * Allocation is the number to watch: run with ./gradlew jmh and read gc.alloc.rate.norm (B/op).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PlayerTickContextBenchmark {
+
+    private static final int SYSTEMS = 4;
+    private static final String WORLD = "default";
+
+    /** Shape of the per-call context record the systems used to allocate. */
+    private record AllocatedContext(Object player, Object playerRef, String uuid, int playerId, String worldKey) {
+    }
+
+    @Param({"100"})
+    public int players;
+
+    private UUID[] uuids;
+    private int[] ids;
+    private PlayerIdRegistry playerIds;
+    private PlayerTickContext.Slots contexts;
+
+    @Setup
+    public void setUp() {
+        playerIds = new PlayerIdRegistry();
+        contexts = new PlayerTickContext.Slots(playerIds);
+        uuids = new UUID[players];
+        ids = new int[players];
+        for (int i = 0; i < players; i++) {
+            uuids[i] = UUID.randomUUID();
+            ids[i] = playerIds.register(uuids[i]);
+            PlayerKeys.of(uuids[i]);
+        }
+    }
+
+    @Benchmark
+    public void allocatingTick(Blackhole bh) {
+        for (int system = 0; system < SYSTEMS; system++) {
+            for (int i = 0; i < players; i++) {
+                UUID uuid = uuids[i];
+                int id = playerIds.isCurrent(ids[i], uuid) ? ids[i] : PlayerIdRegistry.NO_ID;
+                bh.consume(new AllocatedContext(null, null, uuid.toString(), id, WORLD));
+            }
+        }
+    }
+
+    @Benchmark
+    public void slotContextTick(Blackhole bh) {
+        for (int system = 0; system < SYSTEMS; system++) {
+            for (int i = 0; i < players; i++) {
+                UUID uuid = uuids[i];
+                int id = playerIds.isCurrent(ids[i], uuid) ? ids[i] : PlayerIdRegistry.NO_ID;
+                bh.consume(contexts.fill(null, null, PlayerKeys.of(uuid), id, WORLD));
+            }
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.Chris__.realm_ruler;
 
+import com.Chris__.realm_ruler.core.RrTickCadence;
+import com.Chris__.realm_ruler.core.TickExecutor;
 import com.Chris__.realm_ruler.ctf.CtfWorkflowFacade;
 import com.Chris__.realm_ruler.integration.SimpleClaimsCtfBridge;
 import com.Chris__.realm_ruler.match.CtfArmorLoadoutService;
 import com.Chris__.realm_ruler.match.CtfBalloonSpawnService;
 import com.Chris__.realm_ruler.match.CtfFlagStateService;
+import com.Chris__.realm_ruler.match.CtfMatchEndService;
 import com.Chris__.realm_ruler.match.CtfMatchService;
 import com.Chris__.realm_ruler.match.CtfPointsRepository;
 import com.Chris__.realm_ruler.match.CtfRegionRepository;
@@ -13,6 +16,8 @@ import com.Chris__.realm_ruler.match.CtfStandRegistryRepository;
 import com.Chris__.realm_ruler.modes.ctf.CtfRules;
 import com.Chris__.realm_ruler.npc.NpcArenaRepository;
 import com.Chris__.realm_ruler.npc.NpcTestService;
+import com.Chris__.realm_ruler.storage.RrStorage;
+import com.Chris__.realm_ruler.storage.StorageBackend;
 import com.Chris__.realm_ruler.targeting.TargetingService;
 import com.Chris__.realm_ruler.ui.pages.ctf.CtfShopUiService;
 import com.Chris__.realm_ruler.util.SpawnTeleportUtil;
@@ -39,7 +44,7 @@ import java.util.Set;
 public final class RealmRulerCommand extends CommandBase {
 
     private static final Message MSG_USAGE =
-            Message.raw("Usage: /rr ctf <join [random|red|blue|yellow|white]|leave|start [minutes]|stop|points|shop [list|info|buy|ui] ...|balloons <status|spawnnow [count]>|stand <add|remove|list|primary> ...|region <create|pos1|pos2|info|clear> ...> | /rr npc <arena|spawn|despawn|clear>");
+            Message.raw("Usage: /rr ctf <join [random|red|blue|yellow|white]|leave|start [minutes]|stop|pause|resume|points|shop [list|info|buy|ui] ...|balloons <status|spawnnow [count]>|stand <add|remove|list|primary> ...|region <create|pos1|pos2|info|clear> ...> | /rr npc <arena|spawn|despawn|clear> | /rr tick [reload] | /rr claims [refresh] | /rr storage [migrate <json|mmap>]");
 
     private static final Message MSG_NOT_READY =
             Message.raw("[RealmRuler] Not ready yet (plugin still starting?).");
@@ -52,6 +57,12 @@ public final class RealmRulerCommand extends CommandBase {
             Message.raw("[RealmRuler] Missing permission: realmruler.ctf.region.manage");
     private static final Message MSG_NO_NPC_PERMISSION =
             Message.raw("[RealmRuler] Missing permission: realmruler.npc.manage");
+    private static final Message MSG_NO_STORAGE_PERMISSION =
+            Message.raw("[RealmRuler] Missing permission: realmruler.storage.manage");
+    private static final Message MSG_NO_TICK_PERMISSION =
+            Message.raw("[RealmRuler] Missing permission: realmruler.tick.manage");
+    private static final Message MSG_NO_CLAIMS_PERMISSION =
+            Message.raw("[RealmRuler] Missing permission: realmruler.claims.manage");
     private static final Message MSG_NPC_USAGE =
             Message.raw("Usage: /rr npc arena <create|pos1|pos2|info|list|delete> ... | /rr npc <spawn|despawn> <arenaId> <npcName> | /rr npc clear [arenaId]");
 
@@ -71,6 +82,8 @@ public final class RealmRulerCommand extends CommandBase {
     private final CtfArmorLoadoutService armorLoadoutService;
     private final NpcArenaRepository npcArenaRepository;
     private final NpcTestService npcTestService;
+    private final RrStorage storage;
+    private final CtfMatchEndService matchEndService;
 
     public RealmRulerCommand(CtfMatchService matchService,
                              SimpleClaimsCtfBridge simpleClaims,
@@ -85,7 +98,9 @@ public final class RealmRulerCommand extends CommandBase {
                              CtfRegionRepository regionRepository,
                              CtfArmorLoadoutService armorLoadoutService,
                              NpcArenaRepository npcArenaRepository,
-                             NpcTestService npcTestService) {
+                             NpcTestService npcTestService,
+                             RrStorage storage,
+                             CtfMatchEndService matchEndService) {
         super("RealmRuler", "Controls Realm Ruler minigames.");
         this.setAllowsExtraArguments(true); // we parse ctx.getInputString() ourselves
         this.addAliases("rr");
@@ -104,6 +119,8 @@ public final class RealmRulerCommand extends CommandBase {
         this.armorLoadoutService = armorLoadoutService;
         this.npcArenaRepository = npcArenaRepository;
         this.npcTestService = npcTestService;
+        this.storage = storage;
+        this.matchEndService = matchEndService;
     }
 
     @Override
@@ -194,6 +211,16 @@ public final class RealmRulerCommand extends CommandBase {
                 return;
             }
 
+            if ("pause".equalsIgnoreCase(action)) {
+                sendActionResult(ctx, ctfWorkflow.pauseMatch());
+                return;
+            }
+
+            if ("resume".equalsIgnoreCase(action)) {
+                sendActionResult(ctx, ctfWorkflow.resumeMatch());
+                return;
+            }
+
             if ("points".equalsIgnoreCase(action)) {
                 String uuid = senderUuid(ctx);
                 if (uuid == null || uuid.isBlank()) {
@@ -223,9 +250,137 @@ public final class RealmRulerCommand extends CommandBase {
             return;
         }
 
+        if ("tick".equalsIgnoreCase(sub)) {
+            handleTickCommand(ctx, args);
+            return;
+        }
+
+        if ("claims".equalsIgnoreCase(sub)) {
+            handleClaimsCommand(ctx, args);
+            return;
+        }
+
+        if ("storage".equalsIgnoreCase(sub)) {
+            handleStorageCommand(ctx, args);
+            return;
+        }
+
         ctx.sendMessage(MSG_USAGE);
     }
 
+    private void handleTickCommand(CommandContext ctx, String[] args) {
+        if (targetingService == null) {
+            ctx.sendMessage(MSG_NOT_READY);
+            return;
+        }
+
+        if (args.length >= 3 && "reload".equalsIgnoreCase(args[2])) {
+            if (ctx.sender() == null || !ctx.sender().hasPermission("realmruler.tick.manage")) {
+                ctx.sendMessage(MSG_NO_TICK_PERMISSION);
+                return;
+            }
+            RrTickCadence.reload();
+            targetingService.reloadTuning();
+            ctx.sendMessage(Message.raw("[RealmRuler] Tick cadence reloaded: transform=" + RrTickCadence.transformEveryTicks()
+                    + " teleport=" + RrTickCadence.teleportEveryTicks()
+                    + " hud=" + RrTickCadence.hudEveryTicks()
+                    + " look=" + RrTickCadence.lookEveryTicks()
+                    + (RrTickCadence.lookLazy() ? " (lazy)" : "")
+                    + " | queueBudget=" + targetingService.tickQueueBudgetMicros() + "us"));
+            return;
+        }
+
+        TickExecutor.Stats stats = targetingService.tickExecutorStats();
+        ctx.sendMessage(Message.raw("[RealmRuler] Tick queue: backlog=" + stats.backlog()
+                + " (peak " + stats.backlogHighWater() + ")"
+                + " | submitted=" + stats.submitted()
+                + " | executed=" + stats.executed()
+                + " | failed=" + stats.failed()));
+        ctx.sendMessage(Message.raw("[RealmRuler] Tick queue timings: lastDrain=" + (stats.lastDrainNanos() / 1_000L) + "us"
+                + " | maxTask=" + (stats.maxTaskNanos() / 1_000L) + "us"
+                + " | maxWait=" + (stats.maxWaitNanos() / 1_000_000L) + "ms"));
+
+        CtfMatchEndService.TeardownProgress teardown = (matchEndService == null) ? null : matchEndService.teardownProgress();
+        if (teardown != null) {
+            ctx.sendMessage(Message.raw("[RealmRuler] Match teardown: " + teardown.done() + "/" + teardown.total()
+                    + " participants" + (teardown.resumed() ? " (resumed)" : "")));
+        }
+    }
+
+    private String arenaIdAtSender(CommandContext ctx) {
+        TargetingService.PlayerLocationSnapshot here = snapshotForSender(ctx);
+        if (here == null || !here.isValid()) return null;
+        List<NpcArenaRepository.ArenaDefinition> containing =
+                npcArenaRepository.arenasAt(here.worldName(), here.x(), here.y(), here.z());
+        return containing.isEmpty() ? null : containing.getFirst().arenaId();
+    }
+
+    private void handleClaimsCommand(CommandContext ctx, String[] args) {
+        if (simpleClaims == null || !simpleClaims.isAvailable()) {
+            ctx.sendMessage(Message.raw("[RealmRuler] SimpleClaims is not available."));
+            return;
+        }
+
+        if (args.length >= 3 && "refresh".equalsIgnoreCase(args[2])) {
+            if (ctx.sender() == null || !ctx.sender().hasPermission("realmruler.claims.manage")) {
+                ctx.sendMessage(MSG_NO_CLAIMS_PERMISSION);
+                return;
+            }
+            int dropped = simpleClaims.refreshCache();
+            ctx.sendMessage(Message.raw("[RealmRuler] Claim cache cleared (" + dropped + " chunk(s)). Owners reload on next lookup."));
+            return;
+        }
+
+        var stats = simpleClaims.cacheStats();
+        ctx.sendMessage(Message.raw("[RealmRuler] Claim cache: chunks=" + stats.entries()
+                + " | hits=" + stats.hits()
+                + " | misses=" + stats.misses()
+                + " | prewarm pending=" + simpleClaims.pendingPrewarm()));
+    }
+
+    private void handleStorageCommand(CommandContext ctx, String[] args) {
+        if (storage == null) {
+            ctx.sendMessage(MSG_NOT_READY);
+            return;
+        }
+
+        String action = (args.length >= 3) ? args[2].trim().toLowerCase(Locale.ROOT) : "status";
+        if ("status".equals(action)) {
+            ctx.sendMessage(Message.raw("[RealmRuler] Storage backend: " + storage.backend().id()));
+            for (String line : storage.describeOpenStores()) {
+                ctx.sendMessage(Message.raw("[RealmRuler]  " + line));
+            }
+            return;
+        }
+
+        if (!"migrate".equals(action)) {
+            ctx.sendMessage(Message.raw("Usage: /rr storage [migrate <json|mmap>]"));
+            return;
+        }
+        if (ctx.sender() == null || !ctx.sender().hasPermission("realmruler.storage.manage")) {
+            ctx.sendMessage(MSG_NO_STORAGE_PERMISSION);
+            return;
+        }
+
+        StorageBackend target = (args.length >= 4) ? StorageBackend.parse(args[3]) : null;
+        if (target == null) {
+            ctx.sendMessage(Message.raw("Usage: /rr storage migrate <json|mmap>"));
+            return;
+        }
+
+        // Flush journaled points into the store first so the copy is complete.
+        if (pointsRepository != null) {
+            pointsRepository.compact();
+        }
+        RrStorage.MigrationResult result = storage.migrate(target);
+        if (!result.ok()) {
+            ctx.sendMessage(Message.raw("[RealmRuler] Storage migration failed: " + result.message()));
+            return;
+        }
+        ctx.sendMessage(Message.raw("[RealmRuler] Storage migrated to " + target.id() + ": " + result.message() + "."));
+        ctx.sendMessage(Message.raw("[RealmRuler] Restart the server with -Drr.storage.backend=" + target.id() + " to use it."));
+    }
+
     private void handleShopCommand(CommandContext ctx, String[] args) {
         if (ctfWorkflow == null) {
             ctx.sendMessage(MSG_NOT_READY);
@@ -588,12 +743,14 @@ public final class RealmRulerCommand extends CommandBase {
         }
 
         if ("info".equalsIgnoreCase(arenaAction)) {
-            if (args.length < 5) {
+            // No id: report the arena the sender is standing in.
+            String rawArenaId = (args.length >= 5) ? args[4] : arenaIdAtSender(ctx);
+            if (rawArenaId == null) {
                 ctx.sendMessage(MSG_NPC_USAGE);
                 return;
             }
 
-            String arenaId = NpcArenaRepository.normalizeId(args[4]);
+            String arenaId = NpcArenaRepository.normalizeId(rawArenaId);
             if (arenaId == null) {
                 ctx.sendMessage(Message.raw("[RealmRuler] Invalid arenaId. Allowed: [a-z0-9_-]"));
                 return;
@@ -5,13 +5,17 @@ import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.entity.ItemUtils;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.Chris__.realm_ruler.core.ModeManager;
+import com.Chris__.realm_ruler.core.PlayerIdComponent;
+import com.Chris__.realm_ruler.core.PlayerKeys;
 import com.Chris__.realm_ruler.core.RrDebugFlags;
+import com.Chris__.realm_ruler.core.RrTickCadence;
+import com.Chris__.realm_ruler.core.TickExecutor;
 import com.Chris__.realm_ruler.modes.CtfMode;
 import com.Chris__.realm_ruler.targeting.TargetingService;
 import com.Chris__.realm_ruler.world.StandSwapService;
 import com.Chris__.realm_ruler.targeting.TargetingModels;
 import com.Chris__.realm_ruler.targeting.TargetingModels.BlockLocation;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import com.Chris__.realm_ruler.platform.ItemStackFactory;
 import com.Chris__.realm_ruler.platform.PlayerInteractAdapter;
 import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.protocol.InteractionType;
@@ -32,6 +36,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import com.Chris__.realm_ruler.match.CtfMatchService;
 import com.Chris__.realm_ruler.match.CtfAutoRespawnAndTeleportSystem;
 import com.Chris__.realm_ruler.match.CtfBalloonPickupGuardSystem;
+import com.Chris__.realm_ruler.match.CtfBalloonConfigRepository;
+import com.Chris__.realm_ruler.match.CtfBalloonNpcWatchSystem;
 import com.Chris__.realm_ruler.match.CtfBalloonPopSystem;
 import com.Chris__.realm_ruler.match.CtfBalloonSpawnService;
 import com.Chris__.realm_ruler.match.CtfBalloonSpawnSystem;
@@ -48,6 +54,7 @@ import com.Chris__.realm_ruler.match.CtfRegionRepository;
 import com.Chris__.realm_ruler.match.CtfShopConfigRepository;
 import com.Chris__.realm_ruler.match.CtfShopService;
 import com.Chris__.realm_ruler.match.CtfStandRegistryRepository;
+import com.Chris__.realm_ruler.match.CtfTeardownJournal;
 import com.Chris__.realm_ruler.integration.MultipleHudBridge;
 import com.Chris__.realm_ruler.integration.SimpleClaimsCtfBridge;
 import com.Chris__.realm_ruler.npc.NpcArenaRepository;
@@ -56,16 +63,23 @@ import com.Chris__.realm_ruler.npc.NpcSpawnAdapter;
 import com.Chris__.realm_ruler.npc.NpcSpawnAdapterCommandBridge;
 import com.Chris__.realm_ruler.npc.NpcSpawnAdapterFallback;
 import com.Chris__.realm_ruler.npc.NpcTestService;
+import com.Chris__.realm_ruler.storage.RrStorage;
+import com.Chris__.realm_ruler.storage.StorageBackend;
 import com.Chris__.realm_ruler.ui.CtfUiAssetContract;
 import com.Chris__.realm_ruler.ui.pages.ctf.CtfMainUiService;
 import com.Chris__.realm_ruler.ui.pages.ctf.CtfShopUiService;
+import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
 import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.hypixel.hytale.math.vector.Transform;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.lang.reflect.Method;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.Flow;
+import com.hypixel.hytale.server.core.event.events.player.PlayerConnectEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.Universe;
@@ -102,19 +116,29 @@ import com.hypixel.hytale.server.core.universe.Universe;
  *     TargetingService.resolveTarget(uuid, event, chain)
  *       1) CHAIN: extractPosRecursive(chain, world, ...)
  *       2) LOOK : getFreshLookTarget(uuid) (freshness-gated)
+ *       (CtfMode uses resolveTargetOrDefer: if nothing resolves, the player is raycast on the next tick
+ *        and the callback runs on the tick thread; -Drr.look.mode=lazy raycasts only on such demand)
  *       3) USEBLOCK: pendingStandLocation fallback
  *   TICK-THREAD SAFETY (required for world/inventory writes)
- *     Realm_Ruler.rrRunOnTick(Runnable) -> tickQueue
- *     tickQueue drained on tick thread by TargetingService.LookTargetTrackerSystem.tick(...)
+ *     Realm_Ruler.rrRunOnTick(Runnable) -> core/TickExecutor (FIFO, per-tick time budget, backlog metrics)
+ *     drained from MatchClock.poll(): once per world tick via core/TickScheduler (driven by
+ *     TargetingService.PlayerTrackerSystem), or by the clock watchdog when nobody is online
  *   WORLD WRITE BOUNDARY
  *     StandSwapService.swapStand(world, x, y, z, desiredStandId)
  *       - validates asset id exists
  *       - checks chunk loaded
  *       - performs the block swap
  * THREADING RED FLAGS
- *   - Any inventory mutation must happen on tick thread.
+ *   - Any inventory mutation must happen on the owning world's thread: queue commands that edit a
+ *     player's inventory post the edit through that player's World.execute (see
+ *     checkCarrierInventory), and post any flag-state change back to the queue.
  *   - Any world write (stand swap) must happen on tick thread.
  *   - If you add a new path that edits inventory or swaps blocks: wrap it in rrRunOnTick(...).
+ *   - Listeners/callbacks that change CTF flag or stand state post ONE command that does the check
+ *     and the change together (stand deposit/withdraw, inventory-change carrier checks, disconnect
+ *     and death flag recovery, match-start stand/flag reset and clock start), so they apply in order.
+ *     Commands are always queued, never run inline. CtfFlagStateService has no lock: the queue and
+ *     the match clock's per-slice/end callbacks are its only writers.
  *
  * ─────────────────────────────────────────────────────────────────────────────
  */
@@ -130,6 +154,7 @@ public class Realm_Ruler extends JavaPlugin {
     private CtfMatchService ctfMatchService;
     private SimpleClaimsCtfBridge simpleClaimsCtfBridge;
     private CtfFlagStateService ctfFlagStateService;
+    private RrStorage storage;
     private CtfStandRegistryRepository ctfStandRegistryRepository;
     private CtfPointsRepository ctfPointsRepository;
     private CtfMatchEndService ctfMatchEndService;
@@ -148,6 +173,7 @@ public class Realm_Ruler extends JavaPlugin {
     private volatile boolean customUiAssetsReady = false;
     private volatile boolean ctfHudRenderingEnabled = false;
     private final PlayerInteractAdapter pi = new PlayerInteractAdapter();
+    private final ItemStackFactory itemStackFactory = new ItemStackFactory(LOGGER);
 
     private void setupModes() {
         modeManager = new ModeManager();
@@ -184,9 +210,9 @@ public class Realm_Ruler extends JavaPlugin {
 
 
     // TICK-SAFE EXECUTOR: queue work from async callbacks to run on tick thread.
-    private final ConcurrentLinkedQueue<Runnable> tickQueue = new ConcurrentLinkedQueue<>();
+    private final TickExecutor tickExecutor = new TickExecutor(LOGGER);
 
-    // PLAYER RESOLUTION: uuid -> Player (refreshed every tick by LookTargetTrackerSystem)
+    // PLAYER RESOLUTION: uuid -> Player (refreshed every tick by TargetingService.PlayerTrackerSystem)
     public final Map<String, Player> playerByUuid = new ConcurrentHashMap<>();
     private final Set<String> inventoryChangeInFlightByUuid = ConcurrentHashMap.newKeySet();
     private final Map<String, Long> lastCarrierCorrectionNanosByUuid = new ConcurrentHashMap<>();
@@ -272,7 +298,7 @@ public class Realm_Ruler extends JavaPlugin {
 
         this.targetingService = new TargetingService(
                 LOGGER,
-                tickQueue,
+                tickExecutor,
                 playerByUuid,
                 this.multipleHudBridge,
                 this.ctfHudRenderingEnabled
@@ -280,7 +306,9 @@ public class Realm_Ruler extends JavaPlugin {
         this.ctfMatchService = new CtfMatchService(this.targetingService, this.ctfMode);
         this.targetingService.setLobbyHudStateProvider(this.ctfMatchService::lobbyHudStateFor);
         this.simpleClaimsCtfBridge = new SimpleClaimsCtfBridge(LOGGER);
-        this.ctfStandRegistryRepository = new CtfStandRegistryRepository(this.getDataDirectory(), LOGGER);
+        this.storage = new RrStorage(this.getDataDirectory(), StorageBackend.configured(), LOGGER);
+        LOGGER.atInfo().log("[RR] Storage backend: %s", this.storage.backend().id());
+        this.ctfStandRegistryRepository = new CtfStandRegistryRepository(this.storage, LOGGER);
         this.ctfFlagStateService = new CtfFlagStateService(
                 this.ctfMatchService,
                 this.simpleClaimsCtfBridge,
@@ -289,9 +317,11 @@ public class Realm_Ruler extends JavaPlugin {
                 LOGGER
         );
         this.targetingService.setFlagsHudStateProvider(this.ctfFlagStateService::snapshotHudState);
-        this.ctfPointsRepository = new CtfPointsRepository(this.getDataDirectory(), LOGGER);
-        this.ctfShopConfigRepository = new CtfShopConfigRepository(this.getDataDirectory(), LOGGER);
-        this.ctfRegionRepository = new CtfRegionRepository(this.getDataDirectory(), LOGGER);
+        this.targetingService.setLookProximityGate(snapshot -> this.ctfStandRegistryRepository.isNearAnyStand(
+                snapshot.worldName(), snapshot.x(), snapshot.y(), snapshot.z(), RrTickCadence.lookNearStandRadius()));
+        this.ctfPointsRepository = new CtfPointsRepository(this.storage, LOGGER);
+        this.ctfShopConfigRepository = new CtfShopConfigRepository(this.storage, LOGGER);
+        this.ctfRegionRepository = new CtfRegionRepository(this.storage, LOGGER);
         this.ctfShopService = new CtfShopService(
                 this.ctfMatchService,
                 this.ctfPointsRepository,
@@ -304,6 +334,7 @@ public class Realm_Ruler extends JavaPlugin {
                 this.ctfMatchService,
                 this.ctfRegionRepository,
                 this.ctfFlagStateService,
+                new CtfBalloonConfigRepository(this.storage, LOGGER),
                 this::rrCreateItemStackById,
                 LOGGER
         );
@@ -319,6 +350,7 @@ public class Realm_Ruler extends JavaPlugin {
                 this.ctfRegionRepository,
                 this.ctfArmorLoadoutService
         );
+        this.ctfWorkflowFacade.setPlayerLookup(playerByUuid::get);
         this.ctfMainUiService = new CtfMainUiService(
                 this.ctfWorkflowFacade,
                 this::rrCustomUiAssetsReady,
@@ -330,7 +362,7 @@ public class Realm_Ruler extends JavaPlugin {
                 this::rrCustomUiAssetsReady,
                 LOGGER
         );
-        this.npcArenaRepository = new NpcArenaRepository(this.getDataDirectory(), LOGGER);
+        this.npcArenaRepository = new NpcArenaRepository(this.storage, LOGGER);
         NpcSpawnAdapter npcCommandBridgeAdapter = new NpcSpawnAdapterCommandBridge(LOGGER);
         NpcSpawnAdapter npcFallbackAdapter = new NpcSpawnAdapterFallback(LOGGER);
         this.npcTestService = new NpcTestService(
@@ -348,8 +380,10 @@ public class Realm_Ruler extends JavaPlugin {
                 this.targetingService,
                 this.playerByUuid,
                 this.ctfArmorLoadoutService,
+                new CtfTeardownJournal(this.storage, LOGGER),
                 LOGGER
         );
+        this.ctfMatchEndService.resumePendingTeardown();
         this.targetingService.setMatchTimerEndedCallback(() -> {
             CtfMatchService ms = ctfMatchService;
             if (ms == null) return;
@@ -360,6 +394,9 @@ public class Realm_Ruler extends JavaPlugin {
                     : CtfMatchEndService.EndReason.TIME_EXPIRED;
             mes.endMatch(reason);
         });
+        // Per-slice work is split by world: respawns run on the world the player died in. Flag state
+        // stays on the global slice with the tick queue (match end, teardown, dropped-flag returns),
+        // so one thread writes it; NPC respawns dispatch themselves through World.execute.
         this.targetingService.setPerSliceCallback(() -> {
             CtfAutoRespawnAndTeleportSystem respawnSystem = ctfAutoRespawnAndTeleportSystem;
             if (respawnSystem != null) {
@@ -371,11 +408,25 @@ public class Realm_Ruler extends JavaPlugin {
                 nts.processRespawns();
             }
 
-            CtfMatchService ms = ctfMatchService;
-            CtfFlagStateService fs = ctfFlagStateService;
-            if (ms == null || fs == null) return;
-            if (!ms.isRunning()) return;
-            fs.processDroppedFlagTimeouts(standSwapService);
+            CtfMatchEndService mes = ctfMatchEndService;
+            if (mes != null) {
+                mes.processTeardownSlice();
+            }
+
+            if (isCtfMatchRunning()) {
+                ctfFlagStateService.processDroppedFlagTimeouts(standSwapService);
+            }
+
+            SimpleClaimsCtfBridge claims = simpleClaimsCtfBridge;
+            if (claims != null) {
+                claims.runPrewarm(SimpleClaimsCtfBridge.prewarmChunksPerSlice());
+            }
+        });
+        this.targetingService.setPerWorldSliceCallback(worldKey -> {
+            CtfAutoRespawnAndTeleportSystem respawnSystem = ctfAutoRespawnAndTeleportSystem;
+            if (respawnSystem != null) {
+                respawnSystem.processPendingRespawns(worldKey);
+            }
         });
 
 
@@ -408,7 +459,9 @@ public class Realm_Ruler extends JavaPlugin {
                 this.ctfRegionRepository,
                 this.ctfArmorLoadoutService,
                 this.npcArenaRepository,
-                this.npcTestService
+                this.npcTestService,
+                this.storage,
+                this.ctfMatchEndService
         ));
 
         // ---------------------------------------------------------------------
@@ -431,6 +484,10 @@ public class Realm_Ruler extends JavaPlugin {
             LOGGER.atInfo().log("UseBlockEvent.Pre fallback is disabled (ENABLE_USEBLOCK_FALLBACK=false).");
         }
 
+        this.targetingService.setPlayerIdComponentType(
+                this.getEntityStoreRegistry().registerComponent(PlayerIdComponent.class, PlayerIdComponent::new));
+        this.getEventRegistry().register(PlayerConnectEvent.class, this::onPlayerConnect);
+        LOGGER.atInfo().log("Registered PlayerConnectEvent listener (player id assignment).");
         this.getEventRegistry().register(PlayerDisconnectEvent.class, this::onPlayerDisconnect);
         LOGGER.atInfo().log("Registered PlayerDisconnectEvent listener (HUD warning reset).");
         this.getEventRegistry().registerGlobal(LivingEntityInventoryChangeEvent.class, this::onLivingEntityInventoryChange);
@@ -438,12 +495,19 @@ public class Realm_Ruler extends JavaPlugin {
 
 
         // ---------------------------------------------------------------------
-        // 3) Tick system registration: LookTargetTrackerSystem (EyeSpy approach)
+        // 3) Tick system registration: core per-tick systems + LookTargetTrackerSystem
+        //
+        // Core systems (always on): player cache + tick scheduler driver + transform
+        // snapshots, pending teleports, HUD render. The scheduler runs global work
+        // (match timer, tick executor drain, per-slice callback) once per world tick.
+        // Per-player cadences are tunable via -Drr.tick.* (see core/RrTickCadence).
+        //
+        // LookTargetTrackerSystem (EyeSpy approach):
         //
         // PlayerInteractLib reliably tells us "player UUID + interaction type",
         // but it does not always give us an exact block position.
         //
-        // This system runs every tick and raycasts from each player to find the
+        // This system runs on its cadence and raycasts from each player to find the
         // block they are currently looking at. We store:
         //   uuid -> (world + x,y,z + blockId + timestamp)
         //
@@ -453,9 +517,15 @@ public class Realm_Ruler extends JavaPlugin {
         // This is the core "bridge" that turns:
         //   WHO interacted  ->  WHERE they interacted (most likely).
         // ---------------------------------------------------------------------
+        for (EntityTickingSystem<EntityStore> system : targetingService.createCoreTickSystems()) {
+            this.getEntityStoreRegistry().registerSystem(system);
+        }
+        LOGGER.atInfo().log("Registered core tick systems (player tracker, teleports, HUD).");
+        targetingService.startMatchClockWatchdog();
+
         if (ENABLE_LOOK_TRACKER) {
             this.getEntityStoreRegistry().registerSystem(targetingService.createLookTargetTrackerSystem());
-            LOGGER.atInfo().log("Registered LookTargetTrackerSystem (raycast per tick).");
+            LOGGER.atInfo().log("Registered LookTargetTrackerSystem (raycast every %d tick(s)).", RrTickCadence.lookEveryTicks());
         } else {
             LOGGER.atInfo().log("LookTargetTrackerSystem is disabled (ENABLE_LOOK_TRACKER=false).");
         }
@@ -467,11 +537,13 @@ public class Realm_Ruler extends JavaPlugin {
                 this.simpleClaimsCtfBridge,
                 this.targetingService,
                 this.standSwapService,
+                this.tickExecutor,
                 LOGGER
         );
         this.getEntityStoreRegistry().registerSystem(this.ctfAutoRespawnAndTeleportSystem);
         LOGGER.atInfo().log("Registered CtfAutoRespawnAndTeleportSystem.");
         this.getEntityStoreRegistry().registerSystem(new CtfBalloonSpawnSystem(this.ctfBalloonSpawnService));
+        this.getEntityStoreRegistry().registerSystem(new CtfBalloonNpcWatchSystem(this.ctfBalloonSpawnService));
         this.getEntityStoreRegistry().registerSystem(new CtfBalloonPopSystem(this.ctfBalloonSpawnService));
         this.getEntityStoreRegistry().registerSystem(new CtfCarrierSlotLockSystem(this.ctfMatchService, this.ctfFlagStateService));
         this.getEntityStoreRegistry().registerSystem(new CtfCarrierDropBlockSystem(this.ctfMatchService, this.ctfFlagStateService));
@@ -578,6 +650,20 @@ public class Realm_Ruler extends JavaPlugin {
         }
     }
 
+    private boolean isCtfMatchRunning() {
+        CtfMatchService ms = ctfMatchService;
+        return ms != null && ms.isRunning() && ctfFlagStateService != null;
+    }
+
+    private void onPlayerConnect(PlayerConnectEvent event) {
+        if (event == null || targetingService == null) return;
+        PlayerRef playerRef = event.getPlayerRef();
+        if (playerRef == null || playerRef.getUuid() == null) return;
+
+        // The id rides on the entity from here on; tick systems never register players themselves.
+        targetingService.attachPlayerId(event.getHolder(), playerRef.getUuid());
+    }
+
     private void onPlayerDisconnect(PlayerDisconnectEvent event) {
         if (event == null) return;
         PlayerRef playerRef = event.getPlayerRef();
@@ -597,6 +683,11 @@ public class Realm_Ruler extends JavaPlugin {
         lastCarrierCorrectionNanosByUuid.remove(uuid);
 
         handleCarrierDisconnect(playerRef, uuid);
+        // Last: the carrier drop above still reads the player's latest location.
+        if (targetingService != null) {
+            targetingService.releasePlayer(playerRef.getUuid());
+        }
+        PlayerKeys.forget(playerRef.getUuid());
     }
 
     private void onLivingEntityInventoryChange(LivingEntityInventoryChangeEvent event) {
@@ -608,6 +699,8 @@ public class Realm_Ruler extends JavaPlugin {
 
         String uuid = player.getUuid().toString();
         if (uuid.isBlank()) return;
+        // One check per player is queued or running at a time; it reads the inventory when it runs,
+        // so a burst of change events (including the ones our own corrections raise) collapses into it.
         if (!inventoryChangeInFlightByUuid.add(uuid)) {
             if (rrVerbose()) {
                 LOGGER.atInfo().log("[RR-CTF] carrier-integrity skipped; inventory-change already in-flight. uuid=%s", uuid);
@@ -615,32 +708,80 @@ public class Realm_Ruler extends JavaPlugin {
             return;
         }
 
-        try {
-            CtfAutoRespawnAndTeleportSystem respawnSystem = ctfAutoRespawnAndTeleportSystem;
-            if (respawnSystem != null && respawnSystem.isPendingRespawn(uuid)) {
-                if (rrVerbose()) {
-                    LOGGER.atInfo().log("[RR-CTF] carrier-integrity skipped; pending respawn. uuid=%s", uuid);
-                }
-                return;
+        tickExecutor.submit(() -> {
+            boolean handedOff = false;
+            try {
+                handedOff = checkCarrierInventory(uuid);
+            } finally {
+                if (!handedOff) inventoryChangeInFlightByUuid.remove(uuid);
             }
+        });
+    }
 
-            Inventory inv = player.getInventory();
-            if (inv == null) return;
+    /**
+     * Tick queue half of the carrier check: read the flag state the inventory rules depend on, then
+     * hand the inventory edits to the player's own world thread. Returns true once the world task is
+     * posted (it clears the in-flight marker when it finishes).
+     */
+    private boolean checkCarrierInventory(String uuid) {
+        if (ctfMatchService == null || ctfFlagStateService == null) return false;
+        if (!ctfMatchService.isRunning()) return false;
 
-            enforceCarrierSlotIntegrity(player, uuid, inv);
+        Player player = playerByUuid.get(uuid);
+        if (player == null) return false;
+        World world = player.getWorld();
+        if (world == null) return false;
 
-            for (CtfMatchService.Team flagTeam : CtfMatchService.Team.values()) {
-                if (!ctfFlagStateService.isFlagDropped(flagTeam)) continue;
-                String flagItemId = CtfFlagStateService.flagItemIdForTeam(flagTeam);
-                if (flagItemId == null) continue;
+        CtfAutoRespawnAndTeleportSystem respawnSystem = ctfAutoRespawnAndTeleportSystem;
+        if (respawnSystem != null && respawnSystem.isPendingRespawn(uuid)) {
+            if (rrVerbose()) {
+                LOGGER.atInfo().log("[RR-CTF] carrier-integrity skipped; pending respawn. uuid=%s", uuid);
+            }
+            return false;
+        }
 
-                InventorySlot slot = findFirstFlagSlot(inv, flagItemId);
-                if (slot == null) continue;
+        CtfMatchService.Team carriedFlag = ctfFlagStateService.carriedFlagFor(uuid);
+        Byte lockedSlot = ctfFlagStateService.lockedHotbarSlotForCarrier(uuid);
+        CtfMatchService.Team playerTeam = ctfMatchService.activeMatchTeamFor(uuid);
+        EnumSet<CtfMatchService.Team> droppedFlags = EnumSet.noneOf(CtfMatchService.Team.class);
+        for (CtfMatchService.Team flagTeam : CtfMatchService.Team.values()) {
+            if (ctfFlagStateService.isFlagDropped(flagTeam)) droppedFlags.add(flagTeam);
+        }
+        if ((carriedFlag == null || lockedSlot == null) && droppedFlags.isEmpty()) return false;
 
-                applyDroppedFlagPickupRules(player, uuid, flagTeam, flagItemId, slot);
+        world.execute(() -> {
+            try {
+                applyCarrierInventoryRules(player, uuid, carriedFlag, lockedSlot, playerTeam, droppedFlags);
+            } catch (Throwable t) {
+                LOGGER.atWarning().withCause(t).log("[RR-CTF] carrier inventory check failed. uuid=%s", uuid);
+            } finally {
+                inventoryChangeInFlightByUuid.remove(uuid);
             }
-        } finally {
-            inventoryChangeInFlightByUuid.remove(uuid);
+        });
+        return true;
+    }
+
+    /** World-thread half of the carrier check: inventory edits only; flag-state changes go back to the queue. */
+    private void applyCarrierInventoryRules(Player player,
+                                            String uuid,
+                                            @Nullable CtfMatchService.Team carriedFlag,
+                                            @Nullable Byte lockedSlot,
+                                            @Nullable CtfMatchService.Team playerTeam,
+                                            EnumSet<CtfMatchService.Team> droppedFlags) {
+        Inventory inv = player.getInventory();
+        if (inv == null) return;
+
+        enforceCarrierSlotIntegrity(player, uuid, inv, carriedFlag, lockedSlot);
+
+        boolean carrying = carriedFlag != null;
+        for (CtfMatchService.Team flagTeam : droppedFlags) {
+            String flagItemId = CtfFlagStateService.flagItemIdForTeam(flagTeam);
+            if (flagItemId == null) continue;
+
+            InventorySlot slot = findFirstFlagSlot(inv, flagItemId);
+            if (slot == null) continue;
+
+            carrying |= applyDroppedFlagPickupRules(player, uuid, flagTeam, flagItemId, slot, playerTeam, carrying);
         }
     }
 
@@ -664,19 +805,6 @@ public class Realm_Ruler extends JavaPlugin {
             ctfFlagStateService.removeOneFlagFromPlayer(player, carriedFlag);
         }
 
-        boolean returnedNow = standSwapService != null && ctfFlagStateService.forceReturnFlagToStand(
-                carriedFlag,
-                standSwapService,
-                CtfFlagStateService.ReturnResolutionMode.STRICT_THEN_SOFT
-        );
-        if (returnedNow) {
-            if (rrVerbose()) {
-                LOGGER.atInfo().log("[RR-CTF] disconnect flag recovery uuid=%s immediateReturn=true markedDropped=false",
-                        uuid);
-            }
-            return;
-        }
-
         String worldName = null;
         double x = 0;
         double y = 0;
@@ -726,8 +854,40 @@ public class Realm_Ruler extends JavaPlugin {
             }
         }
 
+        // The player's inventory and position are read now, while the ref is still valid; the flag
+        // state change runs as one command on the tick queue like every other flag mutation.
+        final String dropWorld = havePosition ? worldName : null;
+        final double dropX = x;
+        final double dropY = y;
+        final double dropZ = z;
+        tickExecutor.submit(() -> recoverCarrierFlag(uuid, carriedFlag, dropWorld, dropX, dropY, dropZ));
+    }
+
+    private void recoverCarrierFlag(String uuid,
+                                    CtfMatchService.Team carriedFlag,
+                                    @Nullable String worldName,
+                                    double x,
+                                    double y,
+                                    double z) {
+        if (ctfMatchService == null || ctfFlagStateService == null) return;
+        if (!ctfMatchService.isRunning()) return;
+        if (ctfFlagStateService.carriedFlagFor(uuid) != carriedFlag) return;
+
+        boolean returnedNow = standSwapService != null && ctfFlagStateService.forceReturnFlagToStand(
+                carriedFlag,
+                standSwapService,
+                CtfFlagStateService.ReturnResolutionMode.STRICT_THEN_SOFT
+        );
+        if (returnedNow) {
+            if (rrVerbose()) {
+                LOGGER.atInfo().log("[RR-CTF] disconnect flag recovery uuid=%s immediateReturn=true markedDropped=false",
+                        uuid);
+            }
+            return;
+        }
+
         boolean markedDropped = false;
-        if (havePosition && worldName != null && !worldName.isBlank()) {
+        if (worldName != null && !worldName.isBlank()) {
             markedDropped = ctfFlagStateService.markCarrierDropped(uuid, worldName, x, y, z);
             if (!markedDropped) {
                 markedDropped = ctfFlagStateService.markFlagDropped(carriedFlag, uuid, worldName, x, y, z);
@@ -754,12 +914,12 @@ public class Realm_Ruler extends JavaPlugin {
         }
     }
 
-    private void enforceCarrierSlotIntegrity(Player player, String uuid, Inventory inv) {
+    private void enforceCarrierSlotIntegrity(Player player,
+                                             String uuid,
+                                             Inventory inv,
+                                             @Nullable CtfMatchService.Team carriedFlag,
+                                             @Nullable Byte lockedSlot) {
         if (player == null || uuid == null || uuid.isBlank() || inv == null) return;
-        if (ctfFlagStateService == null) return;
-
-        CtfMatchService.Team carriedFlag = ctfFlagStateService.carriedFlagFor(uuid);
-        Byte lockedSlot = ctfFlagStateService.lockedHotbarSlotForCarrier(uuid);
         if (carriedFlag == null || lockedSlot == null) return;
 
         String flagItemId = CtfFlagStateService.flagItemIdForTeam(carriedFlag);
@@ -1262,65 +1422,7 @@ public class Realm_Ruler extends JavaPlugin {
     }
 
     private ItemStack createItemStackById(String itemId, int amount) {
-        if (itemId == null) return null;
-
-        // Try common constructors first
-        try {
-            // (String, int)
-            try {
-                return ItemStack.class.getConstructor(String.class, int.class).newInstance(itemId, amount);
-            } catch (Throwable ignored) {}
-
-            // (String)
-            try {
-                ItemStack s = ItemStack.class.getConstructor(String.class).newInstance(itemId);
-                // try to set amount if method exists
-                try {
-                    var m = ItemStack.class.getMethod("setAmount", int.class);
-                    m.invoke(s, amount);
-                } catch (Throwable ignored2) {}
-                return s;
-            } catch (Throwable ignored) {}
-
-            // Try static factories: of/create/from (String,int)
-            for (String name : new String[]{"of", "create", "from"}) {
-                try {
-                    var m = ItemStack.class.getMethod(name, String.class, int.class);
-                    Object v = m.invoke(null, itemId, amount);
-                    if (v instanceof ItemStack is) return is;
-                } catch (Throwable ignored) {}
-            }
-
-            // Try numeric ID via Item asset map (reflection; avoids compile dependency)
-            Integer idx = tryGetItemAssetIndex(itemId);
-            if (idx != null) {
-                // (int, int)
-                try {
-                    return ItemStack.class.getConstructor(int.class, int.class).newInstance(idx, amount);
-                } catch (Throwable ignored) {}
-
-                // static factories: of/create/from (int,int)
-                for (String name : new String[]{"of", "create", "from"}) {
-                    try {
-                        var m = ItemStack.class.getMethod(name, int.class, int.class);
-                        Object v = m.invoke(null, idx, amount);
-                        if (v instanceof ItemStack is) return is;
-                    } catch (Throwable ignored) {}
-                }
-            }
-        } catch (Throwable ignored) {}
-
-        return null;
-    }
-
-    private Integer tryGetItemAssetIndex(String itemId) {
-        try {
-            Class<?> itemCls = Class.forName("com.hypixel.hytale.server.core.asset.type.item.config.Item");
-            Object assetMap = itemCls.getMethod("getAssetMap").invoke(null);
-            Object idx = assetMap.getClass().getMethod("getIndex", String.class).invoke(assetMap, itemId);
-            if (idx instanceof Integer i && i != Integer.MIN_VALUE) return i;
-        } catch (Throwable ignored) {}
-        return null;
+        return itemStackFactory.create(itemId, amount);
     }
 //
 // UseBlockEvent-based fallback position capture.
@@ -1366,44 +1468,50 @@ public class Realm_Ruler extends JavaPlugin {
     private record InventorySlot(ItemContainer container, short slot, boolean hotbar) {
     }
 
-    private void applyDroppedFlagPickupRules(Player player,
-                                             String uuid,
-                                             CtfMatchService.Team flagTeam,
-                                             String flagItemId,
-                                             InventorySlot pickupSlot) {
-        if (player == null || uuid == null || uuid.isBlank()) return;
-        if (flagTeam == null || flagItemId == null || flagItemId.isBlank()) return;
-        if (pickupSlot == null || pickupSlot.container() == null) return;
-        if (ctfFlagStateService == null || ctfMatchService == null) return;
-
-        CtfMatchService.Team playerTeam = ctfMatchService.activeMatchTeamFor(uuid);
+    /**
+     * Runs on the player's world thread. Returns true if the player took the flag (carrier assignment
+     * queued). The flag state was read on the tick queue; the queued follow-ups re-check it there.
+     */
+    private boolean applyDroppedFlagPickupRules(Player player,
+                                                String uuid,
+                                                CtfMatchService.Team flagTeam,
+                                                String flagItemId,
+                                                InventorySlot pickupSlot,
+                                                @Nullable CtfMatchService.Team playerTeam,
+                                                boolean alreadyCarrying) {
+        if (player == null || uuid == null || uuid.isBlank()) return false;
+        if (flagTeam == null || flagItemId == null || flagItemId.isBlank()) return false;
+        if (pickupSlot == null || pickupSlot.container() == null) return false;
+        if (ctfFlagStateService == null || ctfMatchService == null) return false;
 
         // Non-participants cannot take dropped CTF flags.
         if (playerTeam == null) {
             removeOneFlagFromSlotAndDrop(player, pickupSlot, flagItemId);
-            return;
+            return false;
         }
 
         // Same-team pickup should immediately return the flag to its home stand.
         if (playerTeam == flagTeam) {
             removeOneFlagFromSlot(player, pickupSlot);
-            boolean returned = ctfFlagStateService.tryReturnDroppedFlagToHome(flagTeam, standSwapService);
-            if (!returned) {
-                dropItemNearPlayer(player, rrCreateItemStackById(flagItemId, 1));
-            }
-            return;
+            tickExecutor.submit(() -> {
+                boolean returned = ctfFlagStateService.tryReturnDroppedFlagToHome(flagTeam, standSwapService);
+                if (!returned) {
+                    postToPlayerWorld(player, () -> dropItemNearPlayer(player, rrCreateItemStackById(flagItemId, 1)));
+                }
+            });
+            return false;
         }
 
         // One-flag-per-player invariant.
-        if (ctfFlagStateService.isCarryingAnyFlag(uuid)) {
+        if (alreadyCarrying) {
             removeOneFlagFromSlotAndDrop(player, pickupSlot, flagItemId);
-            return;
+            return false;
         }
 
         Inventory inv = player.getInventory();
-        if (inv == null) return;
+        if (inv == null) return false;
         ItemContainer hotbar = inv.getHotbar();
-        if (hotbar == null) return;
+        if (hotbar == null) return false;
 
         byte targetHotbarSlot;
         if (pickupSlot.hotbar()) {
@@ -1412,7 +1520,7 @@ public class Realm_Ruler extends JavaPlugin {
             Byte emptyHotbarSlot = findFirstEmptyHotbarSlot(inv);
             if (emptyHotbarSlot == null) {
                 removeOneFlagFromSlotAndDrop(player, pickupSlot, flagItemId);
-                return;
+                return false;
             }
             targetHotbarSlot = emptyHotbarSlot;
 
@@ -1420,14 +1528,42 @@ public class Realm_Ruler extends JavaPlugin {
             ItemStack movedFlag = rrCreateItemStackById(flagItemId, 1);
             if (movedFlag == null) {
                 dropItemNearPlayer(player, rrCreateItemStackById(flagItemId, 1));
-                return;
+                return false;
             }
             hotbar.setItemStackForSlot((short) (targetHotbarSlot & 0xFF), movedFlag);
         }
 
         inv.setActiveHotbarSlot(targetHotbarSlot);
         player.sendInventory();
-        ctfFlagStateService.assignFlagCarrier(flagTeam, uuid, player.getDisplayName(), targetHotbarSlot);
+
+        String carrierName = player.getDisplayName();
+        tickExecutor.submit(() -> {
+            if (ctfMatchService.isRunning()
+                    && ctfFlagStateService.isFlagDropped(flagTeam)
+                    && !ctfFlagStateService.isCarryingAnyFlag(uuid)) {
+                ctfFlagStateService.assignFlagCarrier(flagTeam, uuid, carrierName, targetHotbarSlot);
+                return;
+            }
+            // Lost the race (flag returned, or another pickup landed first): undo the pickup on the
+            // player's thread. A flag that is still out on the ground goes back there.
+            boolean stillDropped = ctfFlagStateService.isFlagDropped(flagTeam);
+            postToPlayerWorld(player, () -> {
+                InventorySlot taken = findFirstFlagSlot(player.getInventory(), flagItemId);
+                if (taken == null) return;
+                if (stillDropped) {
+                    removeOneFlagFromSlotAndDrop(player, taken, flagItemId);
+                } else {
+                    removeOneFlagFromSlot(player, taken);
+                }
+            });
+        });
+        return true;
+    }
+
+    private static void postToPlayerWorld(Player player, Runnable task) {
+        World world = (player == null) ? null : player.getWorld();
+        if (world == null) return;
+        world.execute(task);
     }
 
     private void removeOneFlagFromSlotAndDrop(Player player, InventorySlot slot, String flagItemId) {
@@ -1614,8 +1750,24 @@ public class Realm_Ruler extends JavaPlugin {
         } catch (Exception ignored) {}
     }
 
+    @Override
+    protected void shutdown() {
+        TargetingService ts = targetingService;
+        if (ts != null) {
+            ts.stopMatchClockWatchdog();
+        }
+        CtfPointsRepository points = ctfPointsRepository;
+        if (points != null) {
+            points.close();
+        }
+        RrStorage store = storage;
+        if (store != null) {
+            store.close();
+        }
+    }
+
     public void runOnTick(Runnable r) {
-        if (r != null) tickQueue.add(r);
+        if (r != null) tickExecutor.submit(r);
     }
 
     private boolean rrCustomUiAssetsReady() {
@@ -0,0 +1,218 @@
+package com.Chris__.realm_ruler.core;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * MatchClock
+ *
+ * Monotonic, deadline-based match timer. The remaining time is always derived from
+ * (deadline - System.nanoTime()), so it never drifts and keeps counting when nobody is online.
+ *
+ * Driving:
+ *   - poll() is called once per world tick by TickScheduler (the normal path).
+ *   - A small watchdog re-posts poll() onto a world thread when no tick has polled recently,
+ *     so end-of-match and repeating callbacks still fire with zero players online.
+ *
+ * Callbacks (end-of-match, repeating slice work, the tick queue drain) always run from poll(), i.e. on
+ * a world thread, and one at a time: poll() is serialized, so callbacks never overlap each other.
+ * start/stop/pause/resume may be called from any thread and take effect immediately.
+ */
+public final class MatchClock {
+
+    /** If no poll happened for this long, the watchdog posts one onto a world thread. */
+    private static final long WATCHDOG_STALE_NANOS = 500_000_000L; // 500ms
+    private static final long WATCHDOG_PERIOD_MILLIS = 250L;
+
+    private static final class RepeatingTask {
+        private final String name;
+        private final long periodNanos;
+        private final Runnable body;
+        private long nextRunNanos;
+
+        private RepeatingTask(String name, long periodNanos, Runnable body, long nextRunNanos) {
+            this.name = name;
+            this.periodNanos = periodNanos;
+            this.body = body;
+            this.nextRunNanos = nextRunNanos;
+        }
+    }
+
+    private final HytaleLogger logger;
+    private final Object lock = new Object();
+    private final Object pollLock = new Object();
+    private final List<RepeatingTask> repeatingTasks = new CopyOnWriteArrayList<>();
+    private final AtomicLong lastPollNanos = new AtomicLong(0L);
+
+    private boolean running = false;
+    private boolean paused = false;
+    private long deadlineNanos = 0L;
+    private long pausedRemainingNanos = 0L;
+    private boolean endPending = false;
+
+    private volatile Runnable onEnded = null;
+    private ScheduledExecutorService watchdog = null;
+
+    public MatchClock(HytaleLogger logger) {
+        this.logger = logger;
+    }
+
+    public void start(int seconds) {
+        long durationNanos = TimeUnit.SECONDS.toNanos(Math.max(0, seconds));
+        synchronized (lock) {
+            running = durationNanos > 0L;
+            paused = false;
+            pausedRemainingNanos = 0L;
+            deadlineNanos = System.nanoTime() + durationNanos;
+            endPending = false;
+        }
+    }
+
+    /** Stop early. The end-of-match callback still fires (on the next poll) if the clock was running. */
+    public void stop() {
+        synchronized (lock) {
+            if (running) endPending = true;
+            running = false;
+            paused = false;
+            pausedRemainingNanos = 0L;
+        }
+    }
+
+    public boolean pause() {
+        synchronized (lock) {
+            if (!running || paused) return false;
+            pausedRemainingNanos = Math.max(0L, deadlineNanos - System.nanoTime());
+            paused = true;
+            return true;
+        }
+    }
+
+    public boolean resume() {
+        synchronized (lock) {
+            if (!running || !paused) return false;
+            deadlineNanos = System.nanoTime() + pausedRemainingNanos;
+            pausedRemainingNanos = 0L;
+            paused = false;
+            return true;
+        }
+    }
+
+    public boolean isRunning() {
+        synchronized (lock) {
+            return running;
+        }
+    }
+
+    public boolean isPaused() {
+        synchronized (lock) {
+            return running && paused;
+        }
+    }
+
+    public long getRemainingNanos() {
+        synchronized (lock) {
+            if (!running) return 0L;
+            if (paused) return pausedRemainingNanos;
+            return Math.max(0L, deadlineNanos - System.nanoTime());
+        }
+    }
+
+    /** Whole seconds left, rounded up (a fresh 480s match shows 480 until a full second has passed). */
+    public int getRemainingSeconds() {
+        long nanos = getRemainingNanos();
+        if (nanos <= 0L) return 0;
+        return (int) Math.min(Integer.MAX_VALUE, (nanos + 999_999_999L) / 1_000_000_000L);
+    }
+
+    public void setOnEnded(Runnable callback) {
+        this.onEnded = callback;
+    }
+
+    /**
+     * Register work that runs every periodNanos from poll(), whether or not a match is running
+     * (a period of 0 runs on every poll).
+     */
+    public void scheduleRepeating(String name, long periodNanos, Runnable body) {
+        if (body == null) return;
+        long period = Math.max(1L, periodNanos);
+        repeatingTasks.add(new RepeatingTask((name == null || name.isBlank()) ? "<unnamed>" : name,
+                period, body, System.nanoTime() + period));
+    }
+
+    /** Advance the clock: fire end-of-match if the deadline passed (or stop() was called), then due repeating tasks. */
+    public void poll() {
+        synchronized (pollLock) {
+            long now = System.nanoTime();
+            lastPollNanos.set(now);
+
+            boolean fireEnded;
+            synchronized (lock) {
+                if (running && !paused && now - deadlineNanos >= 0L) {
+                    running = false;
+                    endPending = true;
+                }
+                fireEnded = endPending;
+                endPending = false;
+            }
+
+            if (fireEnded) {
+                Runnable cb = onEnded;
+                if (cb != null) {
+                    try {
+                        cb.run();
+                    } catch (Throwable t) {
+                        logger.atWarning().withCause(t).log("[RR] match clock end callback failed");
+                    }
+                }
+            }
+
+            for (RepeatingTask task : repeatingTasks) {
+                if (now - task.nextRunNanos < 0L) continue;
+                // Skip missed periods instead of bursting to catch up.
+                task.nextRunNanos = now + task.periodNanos;
+                try {
+                    task.body.run();
+                } catch (Throwable t) {
+                    logger.atWarning().withCause(t).log("[RR] match clock task failed: %s", task.name);
+                }
+            }
+        }
+    }
+
+    /**
+     * Start the no-players fallback. tickThreadExecutor returns an executor for some world thread
+     * (or null if no world is available right now).
+     */
+    public synchronized void startWatchdog(Supplier<Executor> tickThreadExecutor) {
+        if (watchdog != null || tickThreadExecutor == null) return;
+        watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "RealmRuler-MatchClock");
+            t.setDaemon(true);
+            return t;
+        });
+        watchdog.scheduleAtFixedRate(() -> {
+            try {
+                long last = lastPollNanos.get();
+                if (last != 0L && System.nanoTime() - last < WATCHDOG_STALE_NANOS) return;
+                Executor executor = tickThreadExecutor.get();
+                if (executor != null) executor.execute(this::poll);
+            } catch (Throwable t) {
+                logger.atWarning().withCause(t).log("[RR] match clock watchdog failed");
+            }
+        }, WATCHDOG_PERIOD_MILLIS, WATCHDOG_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stopWatchdog() {
+        if (watchdog == null) return;
+        watchdog.shutdownNow();
+        watchdog = null;
+    }
+}
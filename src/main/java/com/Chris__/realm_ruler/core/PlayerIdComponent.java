@@ -0,0 +1,34 @@
+package com.Chris__.realm_ruler.core;
+
+import com.hypixel.hytale.component.Component;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+/**
+ * PlayerIdComponent
+ *
+ * The player's PlayerIdRegistry id, attached to the player entity when they connect. Tick systems
+ * read it from the archetype chunk instead of looking the uuid up, and check
+ * PlayerIdRegistry.isCurrent before using it (the component outlives a release by a tick or two).
+ */
+public final class PlayerIdComponent implements Component<EntityStore> {
+
+    private final int id;
+
+    /** For component registration only. */
+    public PlayerIdComponent() {
+        this(PlayerIdRegistry.NO_ID);
+    }
+
+    public PlayerIdComponent(int id) {
+        this.id = id;
+    }
+
+    public int id() {
+        return id;
+    }
+
+    @Override
+    public PlayerIdComponent clone() {
+        return new PlayerIdComponent(id);
+    }
+}
@@ -0,0 +1,120 @@
+package com.Chris__.realm_ruler.core;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * PlayerIdRegistry
+ *
+ * Dense int ids for connected players. A player gets an id once, when they connect, and the id is
+ * carried on their entity as a PlayerIdComponent so tick code reads it from the archetype chunk and
+ * never registers. It is released on disconnect; released ids are reused (lowest first), so ids stay
+ * below the peak player count. Per-player tick state lives in PlayerSlots tables indexed by id, which the registry
+ * clears when an id is released and again when it is handed out, so a reused id never sees the previous
+ * player's state (even one written by a tick that raced the release).
+ *
+ * An entity can still tick with its old id after release (disconnect races the last tick); tick code
+ * checks isCurrent before touching slots, so a released or reused id never reaches another player.
+ *
+ * Lookups (idOf, isCurrent) are lock-free; register/release are rare and take the lock. State that must
+ * outlive a connection (match rosters, points, pending respawns) stays keyed by uuid string.
+ */
+public final class PlayerIdRegistry {
+
+    public static final int NO_ID = -1;
+
+    private final Object lock = new Object();
+    private final Map<UUID, Integer> idByUuid = new ConcurrentHashMap<>();
+    private final Map<String, Integer> idByKey = new ConcurrentHashMap<>();
+    private final List<PlayerSlots<?>> tables = new CopyOnWriteArrayList<>();
+    private final PlayerSlots<UUID> ownerById = newTable();
+
+    // Guarded by lock.
+    private UUID[] uuidById = new UUID[16];
+    private int highWater = 0;
+
+    /** Id for this player, assigning one if needed. */
+    public int register(UUID uuid) {
+        if (uuid == null) return NO_ID;
+        Integer existing = idByUuid.get(uuid);
+        if (existing != null) return existing;
+
+        synchronized (lock) {
+            existing = idByUuid.get(uuid);
+            if (existing != null) return existing;
+
+            int id = lowestFreeIdLocked();
+            if (id >= uuidById.length) {
+                UUID[] grown = new UUID[uuidById.length * 2];
+                System.arraycopy(uuidById, 0, grown, 0, uuidById.length);
+                uuidById = grown;
+            }
+            // A tick that passed isCurrent just before the previous owner's release can still write
+            // to the slot after release cleared it; clear again on hand-out so that value never
+            // reaches the new owner.
+            for (PlayerSlots<?> table : tables) {
+                table.clear(id);
+            }
+            uuidById[id] = uuid;
+            if (id >= highWater) highWater = id + 1;
+            idByKey.put(PlayerKeys.of(uuid), id);
+            idByUuid.put(uuid, id);
+            ownerById.set(id, uuid);
+            return id;
+        }
+    }
+
+    /** Release the player's id and clear their slot in every table. */
+    public void release(UUID uuid) {
+        if (uuid == null) return;
+        synchronized (lock) {
+            Integer id = idByUuid.remove(uuid);
+            if (id == null) return;
+            idByKey.remove(PlayerKeys.of(uuid));
+            for (PlayerSlots<?> table : tables) {
+                table.clear(id);
+            }
+            uuidById[id] = null;
+        }
+    }
+
+    public int idOf(@Nullable UUID uuid) {
+        if (uuid == null) return NO_ID;
+        Integer id = idByUuid.get(uuid);
+        return (id == null) ? NO_ID : id;
+    }
+
+    /** Id for a uuid string key (the plugin-wide String form), or NO_ID if not connected. */
+    public int idOf(@Nullable String uuidKey) {
+        if (uuidKey == null || uuidKey.isEmpty()) return NO_ID;
+        Integer id = idByKey.get(uuidKey);
+        return (id == null) ? NO_ID : id;
+    }
+
+    /** True if id is still assigned to this player (false once released, or after reuse by someone else). */
+    public boolean isCurrent(int id, @Nullable UUID uuid) {
+        return uuid != null && uuid.equals(ownerById.get(id));
+    }
+
+    /** New table whose slots are cleared when an id is released. */
+    public <T> PlayerSlots<T> newTable() {
+        PlayerSlots<T> table = new PlayerSlots<>();
+        tables.add(table);
+        return table;
+    }
+
+    public int size() {
+        return idByUuid.size();
+    }
+
+    private int lowestFreeIdLocked() {
+        for (int id = 0; id < highWater; id++) {
+            if (uuidById[id] == null) return id;
+        }
+        return highWater;
+    }
+}
@@ -0,0 +1,41 @@
+package com.Chris__.realm_ruler.core;
+
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PlayerKeys
+ *
+ * Cached String keys for player UUIDs. Per-player state across the plugin is keyed by
+ * uuid.toString(); per-entity tick and event systems look the key up here instead of formatting a
+ * new String for every player on every tick. The same instance is returned for a UUID until it is
+ * forgotten (player disconnect).
+ */
+public final class PlayerKeys {
+
+    private static final Map<UUID, String> KEY_BY_UUID = new ConcurrentHashMap<>();
+
+    private PlayerKeys() {}
+
+    public static @Nullable String of(@Nullable UUID uuid) {
+        if (uuid == null) return null;
+        String key = KEY_BY_UUID.get(uuid);
+        return (key != null) ? key : KEY_BY_UUID.computeIfAbsent(uuid, UUID::toString);
+    }
+
+    public static @Nullable String of(@Nullable PlayerRef playerRef) {
+        return (playerRef == null) ? null : of(playerRef.getUuid());
+    }
+
+    public static void forget(@Nullable UUID uuid) {
+        if (uuid != null) KEY_BY_UUID.remove(uuid);
+    }
+
+    public static int size() {
+        return KEY_BY_UUID.size();
+    }
+}
@@ -0,0 +1,83 @@
+package com.Chris__.realm_ruler.core;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * PlayerSlots
+ *
+ * One value per player, indexed by PlayerIdRegistry id. Values live in fixed pages of PAGE_SIZE
+ * slots that are allocated on first write and never moved, so reads and writes are two array
+ * accesses and a write can never be lost to a resize. Create tables through
+ * PlayerIdRegistry.newTable() so released ids are cleared.
+ *
+ * The table also counts its non-null slots, so per-tick fast paths ("nothing queued for anyone")
+ * are one read instead of a scan.
+ */
+public final class PlayerSlots<T> {
+
+    private static final int PAGE_SHIFT = 6;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int MAX_PAGES = 1024;
+
+    private final AtomicReferenceArray<AtomicReferenceArray<T>> pages = new AtomicReferenceArray<>(MAX_PAGES);
+    private final AtomicInteger size = new AtomicInteger();
+
+    PlayerSlots() {
+    }
+
+    public @Nullable T get(int id) {
+        if (id < 0) return null;
+        int page = id >>> PAGE_SHIFT;
+        if (page >= MAX_PAGES) return null;
+        AtomicReferenceArray<T> slots = pages.get(page);
+        return (slots == null) ? null : slots.get(id & (PAGE_SIZE - 1));
+    }
+
+    public void set(int id, @Nullable T value) {
+        AtomicReferenceArray<T> slots = page(id, value != null);
+        if (slots == null) return;
+        T previous = slots.getAndSet(id & (PAGE_SIZE - 1), value);
+        count(previous, value);
+    }
+
+    /** Replace the slot only if it still holds expected (by identity); false if it changed meanwhile. */
+    public boolean compareAndSet(int id, @Nullable T expected, @Nullable T value) {
+        AtomicReferenceArray<T> slots = page(id, value != null);
+        if (slots == null) return expected == null && value == null;
+        if (!slots.compareAndSet(id & (PAGE_SIZE - 1), expected, value)) return false;
+        count(expected, value);
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return size.get() <= 0;
+    }
+
+    public int size() {
+        return Math.max(0, size.get());
+    }
+
+    void clear(int id) {
+        set(id, null);
+    }
+
+    private void count(@Nullable T previous, @Nullable T value) {
+        if (previous == null && value != null) {
+            size.incrementAndGet();
+        } else if (previous != null && value == null) {
+            size.decrementAndGet();
+        }
+    }
+
+    private @Nullable AtomicReferenceArray<T> page(int id, boolean create) {
+        if (id < 0) return null;
+        int page = id >>> PAGE_SHIFT;
+        if (page >= MAX_PAGES) return null;
+        AtomicReferenceArray<T> slots = pages.get(page);
+        if (slots != null || !create) return slots;
+        pages.compareAndSet(page, null, new AtomicReferenceArray<>(PAGE_SIZE));
+        return pages.get(page);
+    }
+}
@@ -0,0 +1,91 @@
+package com.Chris__.realm_ruler.core;
+
+/**
+ * Per-player tick cadences (and look-raycast tuning) controlled via JVM system properties.
+ *
+ * Each value is "run every N world ticks" (1 = every tick). Players are staggered,
+ * so a cadence of 2 spreads the work for half the players onto each tick.
+ *
+ * Usage:
+ * - Transform snapshots:  -Drr.tick.transformEvery=1
+ * - Pending teleports:    -Drr.tick.teleportEvery=1
+ * - Teleports per tick:   -Drr.tick.teleportsPerTick=16   (per world; the rest wait for the next tick)
+ * - HUD render:           -Drr.tick.hudEvery=2
+ * - Look raycast:         -Drr.tick.lookEvery=2
+ * - Look raycast mode:    -Drr.look.mode=eager|lazy   (lazy = only when an interaction needs a target)
+ * - Eager near stands:    -Drr.look.nearStandsOnly=true -Drr.look.nearStandRadius=8
+ *
+ * The properties are read once into a snapshot (these getters run per player per tick);
+ * `/rr tick reload` re-reads them after a change.
+ */
+public final class RrTickCadence {
+
+    private record Settings(int transformEvery,
+                            int teleportEvery,
+                            int teleportsPerTick,
+                            int hudEvery,
+                            int lookEvery,
+                            boolean lookLazy,
+                            boolean lookNearStandsOnly,
+                            int lookNearStandRadius) {
+    }
+
+    private static volatile Settings settings = read();
+
+    private RrTickCadence() {}
+
+    /** Re-read the system properties. */
+    public static void reload() {
+        settings = read();
+    }
+
+    public static int transformEveryTicks() {
+        return settings.transformEvery();
+    }
+
+    public static int teleportEveryTicks() {
+        return settings.teleportEvery();
+    }
+
+    public static int teleportsPerTick() {
+        return settings.teleportsPerTick();
+    }
+
+    public static int hudEveryTicks() {
+        return settings.hudEvery();
+    }
+
+    public static int lookEveryTicks() {
+        return settings.lookEvery();
+    }
+
+    public static boolean lookLazy() {
+        return settings.lookLazy();
+    }
+
+    public static boolean lookNearStandsOnly() {
+        return settings.lookNearStandsOnly();
+    }
+
+    public static int lookNearStandRadius() {
+        return settings.lookNearStandRadius();
+    }
+
+    private static Settings read() {
+        return new Settings(
+                positiveInt("rr.tick.transformEvery", 1),
+                positiveInt("rr.tick.teleportEvery", 1),
+                positiveInt("rr.tick.teleportsPerTick", 16),
+                positiveInt("rr.tick.hudEvery", 2),
+                positiveInt("rr.tick.lookEvery", 2),
+                "lazy".equalsIgnoreCase(System.getProperty("rr.look.mode", "eager").trim()),
+                Boolean.getBoolean("rr.look.nearStandsOnly"),
+                positiveInt("rr.look.nearStandRadius", 8)
+        );
+    }
+
+    private static int positiveInt(String key, int fallback) {
+        Integer v = Integer.getInteger(key);
+        return (v == null || v < 1) ? fallback : v;
+    }
+}
@@ -0,0 +1,197 @@
+package com.Chris__.realm_ruler.core;
+
+import com.hypixel.hytale.math.util.ChunkUtil;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SpatialIndex
+ *
+ * Immutable per-world index of block positions (stands) and block boxes (regions, arenas), bucketed
+ * by chunk under a packed (chunkX, chunkZ) long. Queries only visit the chunks they overlap, so cost
+ * depends on what is nearby rather than on how many entries exist.
+ *
+ * Owners build a new index with Builder whenever their data changes (rare: admin commands, load) and
+ * publish it through a volatile field; readers query the published instance without locking.
+ * Boxes covering more than MAX_BOX_CHUNKS chunks are kept in a per-world list and checked directly.
+ */
+public final class SpatialIndex<T> {
+
+    private static final int MAX_BOX_CHUNKS = 4096;
+
+    private record Point<T>(int x, int y, int z, T value) {
+    }
+
+    private record Box<T>(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, T value) {
+        boolean contains(int x, int y, int z) {
+            return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+        }
+    }
+
+    private static final class WorldCells<T> {
+        private final Map<Long, List<Point<T>>> pointsByChunk = new HashMap<>();
+        private final Map<Long, List<Box<T>>> boxesByChunk = new HashMap<>();
+        private final List<Box<T>> largeBoxes = new ArrayList<>();
+    }
+
+    private static final SpatialIndex<?> EMPTY = new SpatialIndex<>(Map.of(), 0);
+
+    private final Map<String, WorldCells<T>> cellsByWorld;
+    private final int size;
+
+    private SpatialIndex(Map<String, WorldCells<T>> cellsByWorld, int size) {
+        this.cellsByWorld = cellsByWorld;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> SpatialIndex<T> empty() {
+        return (SpatialIndex<T>) EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /** Values of the points inside the given chunk (insertion order). */
+    public List<T> pointsInChunk(String worldName, int chunkX, int chunkZ) {
+        WorldCells<T> cells = cells(worldName);
+        if (cells == null) return List.of();
+        List<Point<T>> points = cells.pointsByChunk.get(chunkKey(chunkX, chunkZ));
+        if (points == null) return List.of();
+        List<T> out = new ArrayList<>(points.size());
+        for (Point<T> p : points) out.add(p.value());
+        return out;
+    }
+
+    /** Value of the point at exactly this block, or null. */
+    public @Nullable T pointAt(String worldName, int x, int y, int z) {
+        WorldCells<T> cells = cells(worldName);
+        if (cells == null) return null;
+        List<Point<T>> points = cells.pointsByChunk.get(chunkKey(ChunkUtil.chunkCoordinate(x), ChunkUtil.chunkCoordinate(z)));
+        if (points == null) return null;
+        for (Point<T> p : points) {
+            if (p.x() == x && p.y() == y && p.z() == z) return p.value();
+        }
+        return null;
+    }
+
+    /** True if any point's block center is within radius of (x, y, z). */
+    public boolean anyPointWithin(String worldName, double x, double y, double z, double radius) {
+        return nearestPoint(worldName, x, y, z, radius, true) != null;
+    }
+
+    /** Point whose block center is closest to (x, y, z) within radius, or null. */
+    public @Nullable T nearestPoint(String worldName, double x, double y, double z, double radius) {
+        return nearestPoint(worldName, x, y, z, radius, false);
+    }
+
+    /** Values of every box containing the block at (x, y, z). */
+    public List<T> boxesContaining(String worldName, double x, double y, double z) {
+        WorldCells<T> cells = cells(worldName);
+        if (cells == null) return List.of();
+
+        int bx = (int) Math.floor(x);
+        int by = (int) Math.floor(y);
+        int bz = (int) Math.floor(z);
+        List<T> out = new ArrayList<>(1);
+        List<Box<T>> boxes = cells.boxesByChunk.get(chunkKey(ChunkUtil.chunkCoordinate(bx), ChunkUtil.chunkCoordinate(bz)));
+        if (boxes != null) {
+            for (Box<T> box : boxes) {
+                if (box.contains(bx, by, bz)) out.add(box.value());
+            }
+        }
+        for (Box<T> box : cells.largeBoxes) {
+            if (box.contains(bx, by, bz)) out.add(box.value());
+        }
+        return out;
+    }
+
+    private @Nullable T nearestPoint(String worldName, double x, double y, double z, double radius, boolean firstMatch) {
+        WorldCells<T> cells = cells(worldName);
+        if (cells == null || cells.pointsByChunk.isEmpty() || !(radius >= 0d)) return null;
+
+        int minChunkX = ChunkUtil.chunkCoordinate((int) Math.floor(x - radius - 0.5d));
+        int maxChunkX = ChunkUtil.chunkCoordinate((int) Math.floor(x + radius + 0.5d));
+        int minChunkZ = ChunkUtil.chunkCoordinate((int) Math.floor(z - radius - 0.5d));
+        int maxChunkZ = ChunkUtil.chunkCoordinate((int) Math.floor(z + radius + 0.5d));
+
+        double bestSq = radius * radius;
+        T best = null;
+        for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+            for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
+                List<Point<T>> points = cells.pointsByChunk.get(chunkKey(cx, cz));
+                if (points == null) continue;
+                for (Point<T> p : points) {
+                    double dx = (p.x() + 0.5d) - x;
+                    double dy = (p.y() + 0.5d) - y;
+                    double dz = (p.z() + 0.5d) - z;
+                    double distSq = (dx * dx) + (dy * dy) + (dz * dz);
+                    if (distSq > bestSq) continue;
+                    if (firstMatch) return p.value();
+                    bestSq = distSq;
+                    best = p.value();
+                }
+            }
+        }
+        return best;
+    }
+
+    private @Nullable WorldCells<T> cells(String worldName) {
+        return (worldName == null) ? null : cellsByWorld.get(worldName);
+    }
+
+    public static final class Builder<T> {
+        private final Map<String, WorldCells<T>> cellsByWorld = new HashMap<>();
+        private int size = 0;
+
+        public Builder<T> addPoint(String worldName, int x, int y, int z, T value) {
+            if (worldName == null || worldName.isBlank() || value == null) return this;
+            long key = chunkKey(ChunkUtil.chunkCoordinate(x), ChunkUtil.chunkCoordinate(z));
+            world(worldName).pointsByChunk.computeIfAbsent(key, k -> new ArrayList<>(2)).add(new Point<>(x, y, z, value));
+            size++;
+            return this;
+        }
+
+        /** Add an inclusive block box; corners may be given in any order. */
+        public Builder<T> addBox(String worldName, int x1, int y1, int z1, int x2, int y2, int z2, T value) {
+            if (worldName == null || worldName.isBlank() || value == null) return this;
+            Box<T> box = new Box<>(Math.min(x1, x2), Math.min(y1, y2), Math.min(z1, z2),
+                    Math.max(x1, x2), Math.max(y1, y2), Math.max(z1, z2), value);
+            WorldCells<T> cells = world(worldName);
+
+            int minChunkX = ChunkUtil.chunkCoordinate(box.minX());
+            int maxChunkX = ChunkUtil.chunkCoordinate(box.maxX());
+            int minChunkZ = ChunkUtil.chunkCoordinate(box.minZ());
+            int maxChunkZ = ChunkUtil.chunkCoordinate(box.maxZ());
+            long chunks = ((long) maxChunkX - minChunkX + 1L) * ((long) maxChunkZ - minChunkZ + 1L);
+            if (chunks > MAX_BOX_CHUNKS) {
+                cells.largeBoxes.add(box);
+            } else {
+                for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+                    for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
+                        cells.boxesByChunk.computeIfAbsent(chunkKey(cx, cz), k -> new ArrayList<>(1)).add(box);
+                    }
+                }
+            }
+            size++;
+            return this;
+        }
+
+        public SpatialIndex<T> build() {
+            return (size == 0) ? empty() : new SpatialIndex<>(Map.copyOf(cellsByWorld), size);
+        }
+
+        private WorldCells<T> world(String worldName) {
+            return cellsByWorld.computeIfAbsent(worldName, k -> new WorldCells<>());
+        }
+    }
+}
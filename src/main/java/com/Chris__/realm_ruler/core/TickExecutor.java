@@ -0,0 +1,184 @@
+package com.Chris__.realm_ruler.core;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TickExecutor
+ *
+ * FIFO queue of work that must run on the tick thread (inventory edits, stand swaps, flag returns).
+ * Producers (PlayerInteractLib callbacks, event listeners, commands) call submit(...) from any thread;
+ * MatchClock.poll() calls drain() once per world tick, and its watchdog keeps polling (and so
+ * draining) when nobody is online.
+ *
+ * This is also the only way CTF flag state changes outside the match clock: a listener, callback or
+ * command posts one command that both reads and mutates flag/stand state, so the decision and the
+ * write happen together, in submission order. CtfFlagStateService has no lock; its other writers
+ * are the clock's own per-slice work (match end cleanup, dropped-flag timeouts) and end-of-match
+ * callback, and poll() never runs those and a drain at the same time. Readers on other threads use
+ * the published snapshots.
+ * Posted this way: stand use, carrier inventory checks, disconnect and death flag recovery (the
+ * inventory and position are read on the player's thread first), and the stand/flag reset plus the
+ * clock start at match start. The queue runs on the driver world's thread, so a command that must
+ * edit a player's inventory hands that edit to the player's own World.execute.
+ * A command that posts another command queues it behind everything already submitted; it never runs
+ * inline, so commands always run in submission order and never nest.
+ *
+ * Each drain runs tasks in submission order until the per-tick time budget is spent. The rest stays
+ * queued for the next tick, so a burst of deferred work spreads out instead of stalling one tick.
+ * At least one task runs per drain, so a single slow task can never starve the queue.
+ *
+ * Tuning (JVM system properties):
+ * - Per-tick budget:        -Drr.tick.queueBudgetMicros=2000
+ * - Backlog warn threshold: -Drr.tick.queueWarnBacklog=512
+ *
+ * The properties are read once (submit() and drain() run constantly); `/rr tick reload` re-reads them.
+ */
+public final class TickExecutor {
+
+    /** Minimum time between two backlog warnings (keeps logs readable under sustained overload). */
+    private static final long BACKLOG_WARN_INTERVAL_NANOS = 10_000_000_000L; // 10s
+
+    public record Stats(long submitted,
+                        long executed,
+                        long failed,
+                        int backlog,
+                        int backlogHighWater,
+                        long lastDrainNanos,
+                        long maxTaskNanos,
+                        long maxWaitNanos) {
+    }
+
+    private record Task(Runnable body, long submittedAtNanos) {
+    }
+
+    private record Settings(long budgetNanos, int warnBacklog) {
+    }
+
+    private final HytaleLogger logger;
+    private final ConcurrentLinkedQueue<Task> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger backlog = new AtomicInteger(0);
+    private final AtomicInteger backlogHighWater = new AtomicInteger(0);
+    private final AtomicLong submitted = new AtomicLong(0L);
+    private final AtomicLong executed = new AtomicLong(0L);
+    private final AtomicLong failed = new AtomicLong(0L);
+    private final AtomicLong lastDrainNanos = new AtomicLong(0L);
+    private final AtomicLong maxTaskNanos = new AtomicLong(0L);
+    private final AtomicLong maxWaitNanos = new AtomicLong(0L);
+    private final AtomicLong nextBacklogWarnNanos = new AtomicLong(0L);
+
+    private volatile Settings settings = readSettings();
+
+    public TickExecutor(HytaleLogger logger) {
+        this.logger = logger;
+    }
+
+    /** Re-read the tuning properties. */
+    public void reload() {
+        settings = readSettings();
+    }
+
+    public long budgetNanos() {
+        return settings.budgetNanos();
+    }
+
+    public int warnBacklog() {
+        return settings.warnBacklog();
+    }
+
+    public void submit(Runnable task) {
+        if (task == null) return;
+        long now = System.nanoTime();
+        queue.add(new Task(task, now));
+        submitted.incrementAndGet();
+
+        int size = backlog.incrementAndGet();
+        backlogHighWater.accumulateAndGet(size, Math::max);
+        if (size >= warnBacklog()) {
+            logBacklog(size, now);
+        }
+    }
+
+    /** Run queued tasks until the configured per-tick budget is used up. Returns the number of tasks run. */
+    public int drain() {
+        return drain(budgetNanos());
+    }
+
+    public int drain(long budgetNanos) {
+        long start = System.nanoTime();
+        long deadline = start + Math.max(0L, budgetNanos);
+        int ran = 0;
+
+        Task task;
+        while ((task = queue.poll()) != null) {
+            backlog.decrementAndGet();
+            long taskStart = System.nanoTime();
+            maxWaitNanos.accumulateAndGet(taskStart - task.submittedAtNanos(), Math::max);
+            try {
+                task.body().run();
+            } catch (Throwable t) {
+                failed.incrementAndGet();
+                logger.atWarning().withCause(t).log("[RR] tickQueue task failed");
+            }
+            long taskEnd = System.nanoTime();
+            maxTaskNanos.accumulateAndGet(taskEnd - taskStart, Math::max);
+            executed.incrementAndGet();
+            ran++;
+
+            if (taskEnd - deadline >= 0L) break;
+        }
+
+        if (ran > 0) {
+            lastDrainNanos.set(System.nanoTime() - start);
+        }
+        return ran;
+    }
+
+    public int backlog() {
+        return Math.max(0, backlog.get());
+    }
+
+    public Stats snapshotStats() {
+        return new Stats(
+                submitted.get(),
+                executed.get(),
+                failed.get(),
+                backlog(),
+                backlogHighWater.get(),
+                lastDrainNanos.get(),
+                maxTaskNanos.get(),
+                maxWaitNanos.get()
+        );
+    }
+
+    /** Reset peak metrics (high-water mark, max task time, max wait). Counters keep accumulating. */
+    public void resetPeaks() {
+        backlogHighWater.set(backlog());
+        maxTaskNanos.set(0L);
+        maxWaitNanos.set(0L);
+    }
+
+    private void logBacklog(int size, long now) {
+        long next = nextBacklogWarnNanos.get();
+        if (now - next < 0L) return;
+        if (!nextBacklogWarnNanos.compareAndSet(next, now + BACKLOG_WARN_INTERVAL_NANOS)) return;
+
+        Task head = queue.peek();
+        long oldestWaitMs = (head == null) ? 0L : (now - head.submittedAtNanos()) / 1_000_000L;
+        logger.atWarning().log("[RR] tickQueue backlog=%d (oldest waiting %dms, budget=%dus/tick). Deferred work is falling behind.",
+                size, oldestWaitMs, budgetNanos() / 1_000L);
+    }
+
+    private static Settings readSettings() {
+        Integer micros = Integer.getInteger("rr.tick.queueBudgetMicros");
+        Integer warn = Integer.getInteger("rr.tick.queueWarnBacklog");
+        return new Settings(
+                ((micros == null || micros < 1) ? 2_000L : micros) * 1_000L,
+                (warn == null || warn < 1) ? 512 : warn
+        );
+    }
+}
@@ -0,0 +1,177 @@
+package com.Chris__.realm_ruler.core;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * TickScheduler
+ *
+ * Hytale only gives us per-entity tick callbacks (EntityTickingSystem.tick runs once per matching entity),
+ * so there is no natural "start of world tick" hook. This class detects world tick boundaries and runs
+ * registered global work exactly once per tick.
+ *
+ * How a boundary is detected:
+ *   - The driver system reports every player it ticks via onEntityTick(worldKey, entityKey).
+ *   - The first time an entity key repeats inside a world, that world has started a new tick.
+ *   - The seen-set is reset at that point, so iteration order changes and joins/leaves are harmless.
+ *
+ * Global tasks run only for one "driver" world at a time, so they still run once per tick when
+ * players are spread over several worlds. If the driver world stops ticking (everyone left it),
+ * the next world that ticks takes over.
+ *
+ * World tasks are the per-world counterpart: they run for every world on that world's own tick
+ * thread (the thread reporting onEntityTick), receive the world key and keep their cadence per
+ * world. Work that touches one world's entities or blocks belongs there, so worlds never wait on
+ * each other; only the driver claim is shared, and it is a single CAS per world tick.
+ */
+public final class TickScheduler {
+
+    /** How long the driver world may stay silent before another world takes over global work. */
+    private static final long DRIVER_STALE_NANOS = 1_000_000_000L; // 1s
+
+    private record GlobalTask(String name, Runnable body) {
+    }
+
+    private record WorldTask(String name, long periodNanos, Consumer<String> body) {
+    }
+
+    private record Driver(String worldKey, long lastTickNanos) {
+    }
+
+    private static final class WorldTickState {
+        private final Set<String> seenThisTick = new HashSet<>();
+        private long tick = 0L;
+        // Next due time per world task (same index as worldTasks); only touched by this world's thread.
+        private long[] nextDueNanos = new long[0];
+    }
+
+    private final HytaleLogger logger;
+    private final List<GlobalTask> globalTasks = new CopyOnWriteArrayList<>();
+    private final List<WorldTask> worldTasks = new CopyOnWriteArrayList<>();
+    private final Map<String, WorldTickState> stateByWorld = new ConcurrentHashMap<>();
+
+    private final AtomicReference<Driver> driver = new AtomicReference<>();
+
+    public TickScheduler(HytaleLogger logger) {
+        this.logger = logger;
+    }
+
+    /** Register work that must run once per world tick (in registration order). */
+    public void addGlobalTask(String name, Runnable body) {
+        if (body == null) return;
+        globalTasks.add(new GlobalTask((name == null || name.isBlank()) ? "<unnamed>" : name, body));
+    }
+
+    /**
+     * Register work that runs for each ticking world on that world's thread, at most once per period
+     * (a period of 0 means every world tick). The body receives the world key.
+     */
+    public void addWorldTask(String name, long periodNanos, Consumer<String> body) {
+        if (body == null) return;
+        worldTasks.add(new WorldTask((name == null || name.isBlank()) ? "<unnamed>" : name, Math.max(0L, periodNanos), body));
+    }
+
+    /**
+     * Report that the driver system is ticking an entity.
+     *
+     * @return the current tick number for that world (starts at 1).
+     */
+    public long onEntityTick(String worldKey, String entityKey) {
+        if (worldKey == null || worldKey.isBlank() || entityKey == null || entityKey.isBlank()) return 0L;
+
+        WorldTickState state = stateByWorld.computeIfAbsent(worldKey, ignored -> new WorldTickState());
+        boolean newTick;
+        long tick;
+        synchronized (state) {
+            newTick = (state.tick == 0L) || !state.seenThisTick.add(entityKey);
+            if (newTick) {
+                state.seenThisTick.clear();
+                state.seenThisTick.add(entityKey);
+                state.tick++;
+            }
+            tick = state.tick;
+        }
+
+        if (newTick) {
+            runWorldTasks(worldKey, state);
+            if (claimDriver(worldKey)) {
+                runGlobalTasks();
+            }
+        }
+        return tick;
+    }
+
+    /** Current tick number for a world, or 0 if the world has not ticked yet. */
+    public long currentTick(String worldKey) {
+        if (worldKey == null || worldKey.isBlank()) return 0L;
+        WorldTickState state = stateByWorld.get(worldKey);
+        if (state == null) return 0L;
+        synchronized (state) {
+            return state.tick;
+        }
+    }
+
+    /**
+     * Cadence gate for per-entity work.
+     * Entities are staggered by key hash so "every 4 ticks" spreads players across the 4 ticks
+     * instead of running everyone on the same one.
+     */
+    public static boolean isDue(long tick, int cadenceTicks, String entityKey) {
+        if (cadenceTicks <= 1) return true;
+        int offset = (entityKey == null) ? 0 : entityKey.hashCode();
+        return Math.floorMod(tick + offset, (long) cadenceTicks) == 0L;
+    }
+
+    private boolean claimDriver(String worldKey) {
+        long now = System.nanoTime();
+        Driver current = driver.get();
+        boolean stale = current == null || (now - current.lastTickNanos()) > DRIVER_STALE_NANOS;
+        if (!stale && !current.worldKey().equals(worldKey)) return false;
+        if (!driver.compareAndSet(current, new Driver(worldKey, now))) return false;
+        if (RrDebugFlags.verbose() && (current == null || !worldKey.equals(current.worldKey()))) {
+            logger.atInfo().log("[RR] tick scheduler driver world -> %s", worldKey);
+        }
+        return true;
+    }
+
+    private void runWorldTasks(String worldKey, WorldTickState state) {
+        List<WorldTask> tasks = worldTasks;
+        int count = tasks.size();
+        if (count == 0) return;
+        if (state.nextDueNanos.length < count) {
+            state.nextDueNanos = Arrays.copyOf(state.nextDueNanos, count);
+        }
+
+        long now = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            WorldTask task = tasks.get(i);
+            long due = state.nextDueNanos[i];
+            if (due != 0L && now - due < 0L) continue;
+            state.nextDueNanos[i] = now + task.periodNanos();
+            try {
+                task.body().accept(worldKey);
+            } catch (Throwable t) {
+                logger.atWarning().withCause(t).log("[RR] world tick task failed: %s world=%s", task.name(), worldKey);
+            }
+        }
+    }
+
+    private void runGlobalTasks() {
+        for (GlobalTask task : globalTasks) {
+            try {
+                task.body().run();
+            } catch (Throwable t) {
+                logger.atWarning().withCause(t).log("[RR] global tick task failed: %s", task.name());
+            }
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.Chris__.realm_ruler.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TimerWheel
+ *
+ * Hierarchical hashed timer wheel keyed by K (uuid, team, ref, ...). Services register a deadline
+ * per key and call advance(now) from their slice; advance only touches the slots that became due,
+ * so slice cost is O(expired) instead of O(tracked).
+ *
+ * Layout:
+ *   - 3 levels x 64 slots. Level 0 covers 64 ticks, level 1 covers 64^2, level 2 covers 64^3
+ *     (at the default 50ms tick that is 3.2s / 3.4min / 3.6h). Longer deadlines wait in an overflow list.
+ *   - An entry lives on the lowest level whose slot it shares an aligned block with the current tick.
+ *     When the current tick crosses a block boundary, the matching higher-level slot is cascaded down.
+ *
+ * Deadlines are rounded up to whole ticks, so a key never expires early (at most one tick late).
+ * Scheduling a key that is already scheduled replaces its deadline. All methods are thread-safe.
+ */
+public final class TimerWheel<K> {
+
+    public static final long DEFAULT_TICK_NANOS = 50_000_000L; // 50ms (one CTF slice)
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 3;
+
+    private static final int OVERFLOW_BUCKET = LEVELS * SLOTS;
+    private static final int DUE_BUCKET = OVERFLOW_BUCKET + 1;
+
+    private static final class Entry<K> {
+        private final K key;
+        private long deadlineTick;
+        private int bucket = -1;
+        private Entry<K> prev;
+        private Entry<K> next;
+
+        private Entry(K key) {
+            this.key = key;
+        }
+    }
+
+    private final long tickNanos;
+    private final long originNanos;
+    private final Map<K, Entry<K>> entriesByKey = new HashMap<>();
+
+    @SuppressWarnings("unchecked")
+    private final Entry<K>[] heads = (Entry<K>[]) new Entry[DUE_BUCKET + 1];
+
+    private long currentTick = 0L;
+
+    public TimerWheel() {
+        this(DEFAULT_TICK_NANOS);
+    }
+
+    public TimerWheel(long tickNanos) {
+        this.tickNanos = Math.max(1L, tickNanos);
+        this.originNanos = System.nanoTime();
+    }
+
+    /** Register (or move) key's deadline. deadlineNanos is on the System.nanoTime() timeline. */
+    public synchronized void schedule(K key, long deadlineNanos) {
+        if (key == null) return;
+        Entry<K> entry = entriesByKey.get(key);
+        if (entry == null) {
+            entry = new Entry<>(key);
+            entriesByKey.put(key, entry);
+        } else {
+            unlink(entry);
+        }
+        entry.deadlineTick = ceilTick(deadlineNanos);
+        place(entry);
+    }
+
+    public synchronized boolean cancel(K key) {
+        if (key == null) return false;
+        Entry<K> entry = entriesByKey.remove(key);
+        if (entry == null) return false;
+        unlink(entry);
+        return true;
+    }
+
+    public synchronized boolean isScheduled(K key) {
+        return key != null && entriesByKey.containsKey(key);
+    }
+
+    public synchronized int size() {
+        return entriesByKey.size();
+    }
+
+    public synchronized void clear() {
+        entriesByKey.clear();
+        for (int i = 0; i < heads.length; i++) {
+            Entry<K> e = heads[i];
+            while (e != null) {
+                Entry<K> next = e.next;
+                e.prev = null;
+                e.next = null;
+                e.bucket = -1;
+                e = next;
+            }
+            heads[i] = null;
+        }
+    }
+
+    /**
+     * Move the wheel forward to nowNanos and return the keys whose deadlines have passed
+     * (in no particular order). Expired keys are no longer scheduled; reschedule to repeat.
+     */
+    public synchronized List<K> advance(long nowNanos) {
+        long targetTick = floorTick(nowNanos);
+        List<K> expired = new ArrayList<>();
+        drainBucket(DUE_BUCKET, expired);
+
+        while (currentTick < targetTick) {
+            if (entriesByKey.isEmpty()) {
+                // Nothing to cascade: jump straight to the target.
+                currentTick = targetTick;
+                break;
+            }
+
+            currentTick++;
+            if ((currentTick & ((1L << (SLOT_BITS * LEVELS)) - 1L)) == 0L) {
+                cascade(OVERFLOW_BUCKET);
+            }
+            for (int level = LEVELS - 1; level >= 1; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1L)) != 0L) continue;
+                cascade(bucketIndex(level, (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK)));
+            }
+
+            drainBucket(bucketIndex(0, (int) (currentTick & SLOT_MASK)), expired);
+            drainBucket(DUE_BUCKET, expired);
+        }
+        return expired;
+    }
+
+    private void place(Entry<K> entry) {
+        long t = entry.deadlineTick;
+        int bucket;
+        if (t <= currentTick) {
+            bucket = DUE_BUCKET;
+        } else {
+            bucket = OVERFLOW_BUCKET;
+            for (int level = 0; level < LEVELS; level++) {
+                int shift = SLOT_BITS * (level + 1);
+                if ((t >>> shift) == (currentTick >>> shift)) {
+                    bucket = bucketIndex(level, (int) ((t >>> (SLOT_BITS * level)) & SLOT_MASK));
+                    break;
+                }
+            }
+        }
+        link(entry, bucket);
+    }
+
+    private void cascade(int bucket) {
+        Entry<K> e = heads[bucket];
+        heads[bucket] = null;
+        while (e != null) {
+            Entry<K> next = e.next;
+            e.prev = null;
+            e.next = null;
+            e.bucket = -1;
+            place(e);
+            e = next;
+        }
+    }
+
+    private void drainBucket(int bucket, List<K> out) {
+        Entry<K> e = heads[bucket];
+        heads[bucket] = null;
+        while (e != null) {
+            Entry<K> next = e.next;
+            e.prev = null;
+            e.next = null;
+            e.bucket = -1;
+            entriesByKey.remove(e.key);
+            out.add(e.key);
+            e = next;
+        }
+    }
+
+    private void link(Entry<K> entry, int bucket) {
+        Entry<K> head = heads[bucket];
+        entry.bucket = bucket;
+        entry.prev = null;
+        entry.next = head;
+        if (head != null) head.prev = entry;
+        heads[bucket] = entry;
+    }
+
+    private void unlink(Entry<K> entry) {
+        if (entry.bucket < 0) return;
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            heads[entry.bucket] = entry.next;
+        }
+        if (entry.next != null) entry.next.prev = entry.prev;
+        entry.prev = null;
+        entry.next = null;
+        entry.bucket = -1;
+    }
+
+    private long floorTick(long nanos) {
+        return Math.floorDiv(nanos - originNanos, tickNanos);
+    }
+
+    private long ceilTick(long nanos) {
+        return -Math.floorDiv(originNanos - nanos, tickNanos);
+    }
+
+    private static int bucketIndex(int level, int slot) {
+        return (level * SLOTS) + slot;
+    }
+}
@@ -1,5 +1,6 @@
 package com.Chris__.realm_ruler.ctf;
 
+import com.Chris__.realm_ruler.core.RrTickCadence;
 import com.Chris__.realm_ruler.integration.SimpleClaimsCtfBridge;
 import com.Chris__.realm_ruler.match.CtfArmorLoadoutService;
 import com.Chris__.realm_ruler.match.CtfBalloonSpawnService;
@@ -20,12 +21,14 @@ import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 public final class CtfWorkflowFacade {
 
@@ -197,6 +200,9 @@ public final class CtfWorkflowFacade {
     private final CtfRegionRepository regionRepository;
     private final CtfArmorLoadoutService armorLoadoutService;
 
+    // Optional online-player lookup (wired by the plugin); used to equip armor at match start.
+    private volatile Function<String, Player> playerLookup = null;
+
     public CtfWorkflowFacade(CtfMatchService matchService,
                              SimpleClaimsCtfBridge simpleClaims,
                              TargetingService targetingService,
@@ -219,6 +225,10 @@ public final class CtfWorkflowFacade {
         this.armorLoadoutService = armorLoadoutService;
     }
 
+    public void setPlayerLookup(Function<String, Player> playerLookup) {
+        this.playerLookup = playerLookup;
+    }
+
     public HubSnapshot snapshotHub(Player player, String uuid) {
         int points = getPoints(uuid);
         String currentTeam = currentTeamName(uuid);
@@ -473,15 +483,24 @@ public final class CtfWorkflowFacade {
         return ActionResult.success(ResultCode.POINTS_STATUS, "Capture The Flag points: " + getPoints(uuid));
     }
 
+    /**
+     * Start a match in stages: validate stands -> resolve each team's spawn once -> start the clock
+     * -> apply SimpleClaims teams in one pass -> queue the claim-cache prewarm -> equip armor for
+     * participants without it -> queue spawn teleports (TargetingService applies at most
+     * rr.tick.teleportsPerTick per world tick, so a large lobby lands over a few ticks). Per-stage timings are reported in the result detail.
+     */
     public ActionResult startMatch(int minutes) {
         if (matchService == null) {
             return ActionResult.failure(ResultCode.NOT_READY, "Not ready yet (plugin still starting?).");
         }
 
+        StageTimer timer = new StageTimer();
         int clampedMinutes = clampMatchMinutes(minutes);
         Map<String, CtfMatchService.Team> lobby = lobbyTeamsSnapshot();
-        Set<CtfMatchService.Team> activeTeams = new HashSet<>(lobby.values());
-        activeTeams.remove(null);
+        Set<CtfMatchService.Team> activeTeams = EnumSet.noneOf(CtfMatchService.Team.class);
+        for (CtfMatchService.Team team : lobby.values()) {
+            if (team != null) activeTeams.add(team);
+        }
 
         if (flagStateService != null) {
             Map<CtfMatchService.Team, String> missingReasons = flagStateService.missingHomeTeamReasons(activeTeams);
@@ -499,13 +518,20 @@ public final class CtfWorkflowFacade {
                 );
             }
         }
+        timer.mark("validate");
 
-        if (simpleClaims != null && simpleClaims.isAvailable()) {
+        boolean claimsAvailable = simpleClaims != null && simpleClaims.isAvailable();
+        Map<CtfMatchService.Team, SimpleClaimsCtfBridge.TeamSpawn> spawnByTeam = new EnumMap<>(CtfMatchService.Team.class);
+        if (claimsAvailable) {
+            // Claims/spawns may have been edited since the last match; start from fresh lookups.
+            simpleClaims.refreshCache();
             List<String> missing = new ArrayList<>();
             for (CtfMatchService.Team team : activeTeams) {
-                if (team == null) continue;
-                if (simpleClaims.getTeamSpawn(team.displayName()) == null) {
+                SimpleClaimsCtfBridge.TeamSpawn spawn = simpleClaims.getTeamSpawn(team.displayName());
+                if (spawn == null) {
                     missing.add(team.displayName());
+                } else {
+                    spawnByTeam.put(team, spawn);
                 }
             }
             if (!missing.isEmpty()) {
@@ -516,48 +542,87 @@ public final class CtfWorkflowFacade {
                 );
             }
         }
+        timer.mark("spawns");
 
         int seconds = clampedMinutes * 60;
-        CtfMatchService.StartResult result = matchService.startCaptureTheFlag(seconds);
-        if (result == CtfMatchService.StartResult.STARTED) {
-            if (flagStateService != null) {
-                flagStateService.resetForNewMatch();
-            }
-            if (simpleClaims != null) {
-                Map<String, String> teamNameByUuid = new HashMap<>();
-                for (Map.Entry<String, CtfMatchService.Team> entry : matchService.getActiveMatchTeams().entrySet()) {
-                    if (entry.getKey() == null || entry.getValue() == null) continue;
-                    teamNameByUuid.put(entry.getKey(), entry.getValue().displayName());
-                }
-                simpleClaims.ensureParties();
-                simpleClaims.applyTeams(teamNameByUuid);
-
-                if (targetingService != null) {
-                    for (Map.Entry<String, CtfMatchService.Team> entry : matchService.getActiveMatchTeams().entrySet()) {
-                        if (entry.getKey() == null || entry.getValue() == null) continue;
-                        SimpleClaimsCtfBridge.TeamSpawn spawn = simpleClaims.getTeamSpawn(entry.getValue().displayName());
-                        if (spawn == null) continue;
-                        SpawnTeleportUtil.queueTeamSpawnTeleport(
-                                targetingService,
-                                entry.getKey(),
-                                spawn.world(),
-                                spawn.x(),
-                                spawn.y(),
-                                spawn.z(),
-                                SPAWN_JITTER_RADIUS_BLOCKS
-                        );
-                    }
-                }
-            }
-            return ActionResult.success(ResultCode.OK, "Started Capture The Flag match timer: " + formatSeconds(seconds));
-        }
+        // The flag-state reset runs in the same queued command as the stand reset, before the clock starts.
+        CtfMatchService.StartResult result = matchService.startCaptureTheFlag(
+                seconds,
+                (flagStateService == null) ? null : flagStateService::resetForNewMatch
+        );
         if (result == CtfMatchService.StartResult.ALREADY_RUNNING) {
             return ActionResult.failure(
                     ResultCode.MATCH_ALREADY_RUNNING,
                     "Capture The Flag match already running (remaining: " + formatSeconds(matchService.getRemainingSeconds()) + ")"
             );
         }
-        return ActionResult.failure(ResultCode.NOT_READY, "Not ready yet (plugin still starting?).");
+        if (result != CtfMatchService.StartResult.STARTED) {
+            return ActionResult.failure(ResultCode.NOT_READY, "Not ready yet (plugin still starting?).");
+        }
+        // One roster snapshot feeds every later stage.
+        Map<String, CtfMatchService.Team> roster = matchService.getActiveMatchTeams();
+        timer.mark("start");
+
+        if (claimsAvailable) {
+            Map<String, String> teamNameByUuid = new HashMap<>(Math.max(16, roster.size() * 2));
+            for (Map.Entry<String, CtfMatchService.Team> entry : roster.entrySet()) {
+                if (entry.getKey() == null || entry.getValue() == null) continue;
+                teamNameByUuid.put(entry.getKey(), entry.getValue().displayName());
+            }
+            simpleClaims.ensureParties();
+            simpleClaims.applyTeams(teamNameByUuid);
+        }
+        timer.mark("teams");
+
+        if (claimsAvailable) {
+            queueClaimPrewarm();
+        }
+        timer.mark("prewarm");
+
+        int armorEquipped = 0;
+        int armorFailed = 0;
+        Function<String, Player> lookup = playerLookup;
+        if (armorLoadoutService != null && lookup != null) {
+            // Lobby joins already equip armor; this covers participants placed on a team at start.
+            for (Map.Entry<String, CtfMatchService.Team> entry : roster.entrySet()) {
+                String uuid = entry.getKey();
+                if (uuid == null || entry.getValue() == null || armorLoadoutService.hasTeamArmor(uuid)) continue;
+                Player player = lookup.apply(uuid);
+                if (player == null) continue;
+                if (armorLoadoutService.equipTeamArmor(uuid, player, entry.getValue()).success()) {
+                    armorEquipped++;
+                } else {
+                    armorFailed++;
+                }
+            }
+        }
+        timer.mark("armor");
+
+        int teleportsQueued = 0;
+        if (targetingService != null && !spawnByTeam.isEmpty()) {
+            for (Map.Entry<String, CtfMatchService.Team> entry : roster.entrySet()) {
+                if (entry.getKey() == null || entry.getValue() == null) continue;
+                SimpleClaimsCtfBridge.TeamSpawn spawn = spawnByTeam.get(entry.getValue());
+                if (spawn == null) continue;
+                SpawnTeleportUtil.queueTeamSpawnTeleport(
+                        targetingService,
+                        entry.getKey(),
+                        spawn.world(),
+                        spawn.x(),
+                        spawn.y(),
+                        spawn.z(),
+                        SPAWN_JITTER_RADIUS_BLOCKS
+                );
+                teleportsQueued++;
+            }
+        }
+        timer.mark("teleports");
+
+        int teleportTicks = (teleportsQueued + RrTickCadence.teleportsPerTick() - 1) / RrTickCadence.teleportsPerTick();
+        String detail = "Start stages (" + roster.size() + " players): " + timer.summary()
+                + "; armor equipped=" + armorEquipped + (armorFailed > 0 ? " failed=" + armorFailed : "")
+                + "; teleports=" + teleportsQueued + " over ~" + teleportTicks + " tick(s).";
+        return ActionResult.success(ResultCode.OK, "Started Capture The Flag match timer: " + formatSeconds(seconds), detail);
     }
 
     public ActionResult stopMatch() {
@@ -571,6 +636,34 @@ public final class CtfWorkflowFacade {
         return ActionResult.success(ResultCode.OK, "Stopping Capture The Flag match...");
     }
 
+    public ActionResult pauseMatch() {
+        if (matchService == null) {
+            return ActionResult.failure(ResultCode.NOT_READY, "Not ready yet (plugin still starting?).");
+        }
+        if (!matchService.isRunning()) {
+            return ActionResult.failure(ResultCode.MATCH_NOT_RUNNING, "No Capture The Flag match is running.");
+        }
+        if (!matchService.pauseCaptureTheFlag()) {
+            return ActionResult.failure(ResultCode.INVALID_INPUT, "Capture The Flag match is already paused.");
+        }
+        return ActionResult.success(ResultCode.OK, "Capture The Flag match paused ("
+                + formatSeconds(matchService.getRemainingSeconds()) + " left).");
+    }
+
+    public ActionResult resumeMatch() {
+        if (matchService == null) {
+            return ActionResult.failure(ResultCode.NOT_READY, "Not ready yet (plugin still starting?).");
+        }
+        if (!matchService.isRunning()) {
+            return ActionResult.failure(ResultCode.MATCH_NOT_RUNNING, "No Capture The Flag match is running.");
+        }
+        if (!matchService.resumeCaptureTheFlag()) {
+            return ActionResult.failure(ResultCode.INVALID_INPUT, "Capture The Flag match is not paused.");
+        }
+        return ActionResult.success(ResultCode.OK, "Capture The Flag match resumed ("
+                + formatSeconds(matchService.getRemainingSeconds()) + " left).");
+    }
+
     public List<CtfShopService.ShopItemView> listEnabledShopItems() {
         if (shopService == null) return List.of();
         shopService.reloadCatalog();
@@ -802,7 +895,13 @@ public final class CtfWorkflowFacade {
                 + ", regionWorld=" + safe(status.regionWorldName(), "<unset>")
                 + ", worldResolved=" + status.regionWorldResolved()
                 + ", active=" + status.activeCount() + "/" + status.maxActive()
+                + ", schedule=" + safe(status.scheduleMode(), "steady")
+                + ", pending=" + status.pendingSpawns()
+                + ((status.forcedRequested() > 0)
+                ? ", forced=" + (status.forcedRequested() - status.forcedPending()) + "/" + status.forcedRequested()
+                : "")
                 + ", nextSpawn=" + remaining
+                + ", spawnPool=" + status.spawnPoolSize() + (status.spawnPoolComplete() ? "" : " (building)")
                 + ", roleReady=" + status.balloonRoleResolvable()
                 + ", directApiReady=" + status.directApiReady()
                 + ", fallbackReady=" + status.fallbackReady()
@@ -918,6 +1017,28 @@ public final class CtfWorkflowFacade {
         return new TeamCountSummary(red, blue, yellow, white);
     }
 
+    /** Wall-clock time per named startMatch stage, reported in the start result detail. */
+    private static final class StageTimer {
+        private final StringBuilder summary = new StringBuilder();
+        private final long startedAtNanos = System.nanoTime();
+        private long lastMarkNanos = startedAtNanos;
+
+        void mark(String stage) {
+            long now = System.nanoTime();
+            if (!summary.isEmpty()) summary.append(", ");
+            summary.append(stage).append('=').append(formatMillis(now - lastMarkNanos));
+            lastMarkNanos = now;
+        }
+
+        String summary() {
+            return summary + " (total " + formatMillis(lastMarkNanos - startedAtNanos) + ")";
+        }
+
+        private static String formatMillis(long nanos) {
+            return String.format(Locale.ROOT, "%.2fms", nanos / 1_000_000.0d);
+        }
+    }
+
     public static String formatSeconds(int totalSeconds) {
         int safeSeconds = Math.max(0, totalSeconds);
         int minutes = safeSeconds / 60;
@@ -925,6 +1046,31 @@ public final class CtfWorkflowFacade {
         return String.format("%02d:%02d", minutes, seconds);
     }
 
+    /**
+     * Queue chunk owners around every stand and across the CTF region for prewarm, so match-time
+     * lookups hit the cache. The loading itself runs a few chunks per match slice.
+     */
+    private void queueClaimPrewarm() {
+        if (simpleClaims == null || !simpleClaims.isAvailable()) return;
+
+        if (standRegistry != null) {
+            for (CtfMatchService.Team team : CtfMatchService.Team.values()) {
+                for (CtfStandRegistryRepository.StandLocation stand : standRegistry.getOrderedStands(team)) {
+                    int chunkX = ChunkUtil.chunkCoordinate(stand.x());
+                    int chunkZ = ChunkUtil.chunkCoordinate(stand.z());
+                    simpleClaims.queuePrewarm(stand.worldName(), chunkX - 1, chunkZ - 1, chunkX + 1, chunkZ + 1);
+                }
+            }
+        }
+
+        CtfRegionRepository.RegionDefinition region = (regionRepository == null) ? null : regionRepository.get();
+        if (region != null && region.enabled() && region.hasBounds()) {
+            simpleClaims.queuePrewarm(region.worldName(),
+                    ChunkUtil.chunkCoordinate(region.minX()), ChunkUtil.chunkCoordinate(region.minZ()),
+                    ChunkUtil.chunkCoordinate(region.maxX()), ChunkUtil.chunkCoordinate(region.maxZ()));
+        }
+    }
+
     private ActionResult validateStandLocation(CtfMatchService.Team team, String worldName, int x, int z) {
         if (simpleClaims == null || !simpleClaims.isAvailable()) {
             return ActionResult.success(ResultCode.OK, "");
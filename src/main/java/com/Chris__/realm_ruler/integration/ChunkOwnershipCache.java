@@ -0,0 +1,157 @@
+package com.Chris__.realm_ruler.integration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ChunkOwnershipCache
+ *
+ * Claim owner per chunk, keyed by world name then by a packed (chunkX, chunkZ) long in an
+ * open-addressing table (no boxing, no per-entry objects). Unclaimed chunks are cached too, so a
+ * cached lookup never reaches SimpleClaims.
+ *
+ * Entries expire after a TTL (rr.claims.cacheTtlMs) so claims edited during a session are picked
+ * up eventually. Prewarmed entries are pinned instead: they stay until invalidateAll() (match start,
+ * /rr claims refresh) drops everything at once. Expired entries are reclaimed when a world's table
+ * fills up, so a long session does not keep every chunk it ever looked at.
+ * All methods are thread-safe.
+ */
+public final class ChunkOwnershipCache {
+
+    /** Returned by lookup() when the chunk is not cached (or expired). Compare by identity. */
+    static final String MISS = new String("<miss>");
+
+    private static final String UNCLAIMED = "";
+
+    // expiresAt value of a pinned (prewarmed) entry.
+    private static final long PINNED = Long.MIN_VALUE;
+
+    private static final class WorldTable {
+        private long[] keys = new long[64];
+        private String[] owners = new String[64];
+        private long[] expiresAt = new long[64];
+        private int size = 0;
+
+        private int slotOf(long key) {
+            int mask = keys.length - 1;
+            int i = mix(key) & mask;
+            while (owners[i] != null) {
+                if (keys[i] == key) return i;
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        private boolean isLive(int i, long nowNanos) {
+            return owners[i] != null && (expiresAt[i] == PINNED || nowNanos - expiresAt[i] < 0L);
+        }
+
+        private void put(long key, String owner, long expires, long nowNanos) {
+            if ((size + 1) * 2 > keys.length) rehash(nowNanos);
+            int i = slotOf(key);
+            if (owners[i] == null) size++;
+            keys[i] = key;
+            owners[i] = owner;
+            expiresAt[i] = expires;
+        }
+
+        /** Rebuild without expired entries; double only if the live entries still fill a quarter of it. */
+        private void rehash(long nowNanos) {
+            int live = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (isLive(i, nowNanos)) live++;
+            }
+            int capacity = (live * 4 > keys.length) ? keys.length * 2 : keys.length;
+
+            long[] oldKeys = keys;
+            String[] oldOwners = owners;
+            long[] oldExpires = expiresAt;
+            keys = new long[capacity];
+            owners = new String[capacity];
+            expiresAt = new long[capacity];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldOwners[i] == null) continue;
+                if (oldExpires[i] != PINNED && nowNanos - oldExpires[i] >= 0L) continue;
+                put(oldKeys[i], oldOwners[i], oldExpires[i], nowNanos);
+            }
+        }
+
+        private static int mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    private final Map<String, WorldTable> tablesByWorld = new HashMap<>();
+    private long hits = 0L;
+    private long misses = 0L;
+
+    public record Stats(int entries, long hits, long misses) {
+    }
+
+    static long pack(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /** Owner team name, null if unclaimed, or MISS if not cached. */
+    synchronized String lookup(String worldName, int chunkX, int chunkZ, long nowNanos) {
+        WorldTable table = tablesByWorld.get(worldName);
+        if (table != null) {
+            int i = table.slotOf(pack(chunkX, chunkZ));
+            if (table.isLive(i, nowNanos)) {
+                String owner = table.owners[i];
+                hits++;
+                return owner.isEmpty() ? null : owner;
+            }
+        }
+        misses++;
+        return MISS;
+    }
+
+    synchronized void put(String worldName, int chunkX, int chunkZ, String owner, long nowNanos) {
+        put(worldName, chunkX, chunkZ, owner, nowNanos + ttlNanos(), nowNanos);
+    }
+
+    /** Cache an owner that never expires; only invalidateAll() drops it. */
+    synchronized void putPinned(String worldName, int chunkX, int chunkZ, String owner, long nowNanos) {
+        put(worldName, chunkX, chunkZ, owner, PINNED, nowNanos);
+    }
+
+    synchronized boolean isPinned(String worldName, int chunkX, int chunkZ) {
+        WorldTable table = tablesByWorld.get(worldName);
+        if (table == null) return false;
+        int i = table.slotOf(pack(chunkX, chunkZ));
+        return table.owners[i] != null && table.expiresAt[i] == PINNED;
+    }
+
+    private void put(String worldName, int chunkX, int chunkZ, String owner, long expires, long nowNanos) {
+        if (worldName == null) return;
+        WorldTable table = tablesByWorld.computeIfAbsent(worldName, k -> new WorldTable());
+        String value = (owner == null || owner.isBlank()) ? UNCLAIMED : owner.intern();
+        table.put(pack(chunkX, chunkZ), value, expires, nowNanos);
+    }
+
+    synchronized int invalidateAll() {
+        int n = 0;
+        for (WorldTable table : tablesByWorld.values()) {
+            n += table.size;
+        }
+        tablesByWorld.clear();
+        return n;
+    }
+
+    synchronized Stats stats() {
+        int n = 0;
+        for (WorldTable table : tablesByWorld.values()) {
+            n += table.size;
+        }
+        return new Stats(n, hits, misses);
+    }
+
+    static long ttlNanos() {
+        Integer v = Integer.getInteger("rr.claims.cacheTtlMs");
+        long ms = (v == null || v < 0) ? 60_000L : v;
+        return ms * 1_000_000L;
+    }
+}
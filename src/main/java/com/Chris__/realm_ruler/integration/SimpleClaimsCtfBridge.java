@@ -5,10 +5,28 @@ import com.hypixel.hytale.server.core.plugin.PluginManager;
 
 import javax.annotation.Nullable;
 import java.lang.reflect.Method;
+import java.util.ArrayDeque;
 import java.util.Map;
 import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * SimpleClaimsCtfBridge
+ *
+ * Reflective bridge to the SimpleClaims CTF hooks (team parties, team spawns, chunk owners).
+ *
+ * Chunk owners and team spawns are cached (ChunkOwnershipCache / per-team entries) because they are
+ * read on stand interactions, flag deposits and respawns. Caches expire after rr.claims.cacheTtlMs
+ * and are dropped by refreshCache() (match start, /rr claims refresh). queuePrewarm() schedules an
+ * area to be loaded ahead of time; runPrewarm() (per match slice) loads a few chunks per call, and
+ * those entries stay cached until the next refresh so the match itself only probes the cache.
+ *
+ * Tuning (JVM system properties):
+ * - Claim/spawn cache TTL:              -Drr.claims.cacheTtlMs=60000
+ * - Max chunks in one prewarm area:     -Drr.claims.prewarmMaxChunks=4096
+ * - Chunks prewarmed per match slice:   -Drr.claims.prewarmChunksPerSlice=32
+ */
 public final class SimpleClaimsCtfBridge {
 
     private final HytaleLogger logger;
@@ -23,9 +41,30 @@ public final class SimpleClaimsCtfBridge {
 
     private boolean loggedMissing = false;
 
+    private final ChunkOwnershipCache chunkOwners = new ChunkOwnershipCache();
+    private final Map<String, CachedSpawn> spawnByTeam = new ConcurrentHashMap<>();
+
     public record TeamSpawn(String world, double x, double y, double z) {
     }
 
+    private record CachedSpawn(@Nullable TeamSpawn spawn, long expiresAtNanos) {
+    }
+
+    private record PrewarmArea(String worldName, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+        int width() {
+            return maxChunkX - minChunkX + 1;
+        }
+
+        int chunkCount() {
+            return width() * (maxChunkZ - minChunkZ + 1);
+        }
+    }
+
+    // Areas waiting to be prewarmed; the head area is loaded from prewarmCursor onward.
+    private final Object prewarmLock = new Object();
+    private final ArrayDeque<PrewarmArea> prewarmQueue = new ArrayDeque<>();
+    private int prewarmCursor = 0;
+
     public SimpleClaimsCtfBridge(HytaleLogger logger) {
         this.logger = logger;
     }
@@ -99,6 +138,18 @@ public final class SimpleClaimsCtfBridge {
         if (!ensureLoaded()) return null;
         if (getCtfTeamSpawn == null) return null;
         if (teamName == null || teamName.isBlank()) return null;
+
+        String key = teamName.trim().toLowerCase(Locale.ROOT);
+        long now = System.nanoTime();
+        CachedSpawn cached = spawnByTeam.get(key);
+        if (cached != null && now - cached.expiresAtNanos() < 0L) return cached.spawn();
+
+        TeamSpawn spawn = loadTeamSpawn(teamName);
+        spawnByTeam.put(key, new CachedSpawn(spawn, now + ChunkOwnershipCache.ttlNanos()));
+        return spawn;
+    }
+
+    private @Nullable TeamSpawn loadTeamSpawn(String teamName) {
         try {
             Object res = getCtfTeamSpawn.invoke(simpleClaimsPlugin, teamName);
             if (!(res instanceof Map<?, ?> map)) return null;
@@ -119,6 +170,97 @@ public final class SimpleClaimsCtfBridge {
         if (!ensureLoaded()) return null;
         if (getCtfTeamForChunk == null) return null;
         if (worldName == null || worldName.isBlank()) return null;
+
+        long now = System.nanoTime();
+        String cached = chunkOwners.lookup(worldName, chunkX, chunkZ, now);
+        if (cached != ChunkOwnershipCache.MISS) return cached;
+
+        String owner = loadTeamForChunk(worldName, chunkX, chunkZ);
+        chunkOwners.put(worldName, chunkX, chunkZ, owner, now);
+        return owner;
+    }
+
+    /**
+     * Queue every chunk in the (inclusive) range for runPrewarm(). Returns the number of chunks queued,
+     * or 0 if SimpleClaims is unavailable. Ranges larger than rr.claims.prewarmMaxChunks are skipped.
+     */
+    public int queuePrewarm(String worldName, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+        if (!ensureLoaded() || getCtfTeamForChunk == null) return 0;
+        if (worldName == null || worldName.isBlank()) return 0;
+
+        long area = ((long) Math.abs(maxChunkX - minChunkX) + 1L) * ((long) Math.abs(maxChunkZ - minChunkZ) + 1L);
+        if (area > prewarmMaxChunks()) {
+            logger.atWarning().log("[RR-SC] Skipping claim prewarm of %d chunks in %s (max %d).",
+                    area, worldName, prewarmMaxChunks());
+            return 0;
+        }
+
+        synchronized (prewarmLock) {
+            prewarmQueue.add(new PrewarmArea(worldName,
+                    Math.min(minChunkX, maxChunkX), Math.min(minChunkZ, maxChunkZ),
+                    Math.max(minChunkX, maxChunkX), Math.max(minChunkZ, maxChunkZ)));
+        }
+        return (int) area;
+    }
+
+    /**
+     * Load up to maxChunks queued chunk owners into the cache, pinned until the next refreshCache().
+     * Chunks already pinned (overlapping areas) are skipped without a SimpleClaims call.
+     * Returns the number of chunks loaded.
+     */
+    public int runPrewarm(int maxChunks) {
+        if (maxChunks <= 0 || pendingPrewarm() == 0) return 0;
+        if (!ensureLoaded() || getCtfTeamForChunk == null) return 0;
+
+        int n = 0;
+        while (n < maxChunks) {
+            String worldName;
+            int chunkX;
+            int chunkZ;
+            synchronized (prewarmLock) {
+                PrewarmArea area = prewarmQueue.peek();
+                if (area == null) break;
+                worldName = area.worldName();
+                chunkX = area.minChunkX() + prewarmCursor % area.width();
+                chunkZ = area.minChunkZ() + prewarmCursor / area.width();
+                if (++prewarmCursor >= area.chunkCount()) {
+                    prewarmQueue.poll();
+                    prewarmCursor = 0;
+                }
+            }
+            if (chunkOwners.isPinned(worldName, chunkX, chunkZ)) continue;
+            chunkOwners.putPinned(worldName, chunkX, chunkZ, loadTeamForChunk(worldName, chunkX, chunkZ), System.nanoTime());
+            n++;
+        }
+        return n;
+    }
+
+    /** Chunks still queued for prewarm (including ones that turn out to be cached already). */
+    public int pendingPrewarm() {
+        synchronized (prewarmLock) {
+            int n = -prewarmCursor;
+            for (PrewarmArea area : prewarmQueue) {
+                n += area.chunkCount();
+            }
+            return Math.max(0, n);
+        }
+    }
+
+    /** Drop every cached chunk owner and team spawn. Returns the number of chunk entries dropped. */
+    public int refreshCache() {
+        synchronized (prewarmLock) {
+            prewarmQueue.clear();
+            prewarmCursor = 0;
+        }
+        spawnByTeam.clear();
+        return chunkOwners.invalidateAll();
+    }
+
+    public ChunkOwnershipCache.Stats cacheStats() {
+        return chunkOwners.stats();
+    }
+
+    private @Nullable String loadTeamForChunk(String worldName, int chunkX, int chunkZ) {
         try {
             Object res = getCtfTeamForChunk.invoke(simpleClaimsPlugin, worldName, chunkX, chunkZ);
             if (res == null) return null;
@@ -184,6 +326,16 @@ public final class SimpleClaimsCtfBridge {
         }
     }
 
+    private static long prewarmMaxChunks() {
+        Integer v = Integer.getInteger("rr.claims.prewarmMaxChunks");
+        return (v == null || v < 0) ? 4096L : v;
+    }
+
+    public static int prewarmChunksPerSlice() {
+        Integer v = Integer.getInteger("rr.claims.prewarmChunksPerSlice");
+        return (v == null || v < 1) ? 32 : v;
+    }
+
     private static @Nullable UUID parseUuid(String uuid) {
         if (uuid == null || uuid.isBlank()) return null;
         try {
@@ -0,0 +1,148 @@
+package com.Chris__.realm_ruler.match;
+
+import java.util.Locale;
+
+/**
+ * BalloonScheduler
+ *
+ * Decides how many balloons a spawner should create each slice, from a CtfBalloonConfig:
+ *   - steady: `size` balloons every interval (size 1 unless scaled by player count).
+ *   - burst:  burstSize balloons every interval.
+ *   - wave:   waves of waveSize, growing by waveGrowth each wave; the next wave is scheduled
+ *             interval seconds after the previous one has been fully popped or despawned.
+ *
+ * Scheduled and forced (/rr ctf balloons spawnnow) balloons go into one pending count, which is
+ * paid out at most maxSpawnsPerSlice per slice and never beyond the free active slots, so a large
+ * wave is spread over several ticks instead of landing on one. Forced balloons are paid out
+ * first and tracked as a batch (requested / still pending) for the status command. Not
+ * thread-safe: the owning service calls it under its own lock.
+ */
+final class BalloonScheduler {
+
+    static final int MAX_ACTIVE_LIMIT = 50;
+
+    enum Mode {
+        STEADY, BURST, WAVE;
+
+        static Mode parse(String raw) {
+            if (raw == null) return STEADY;
+            return switch (raw.trim().toLowerCase(Locale.ROOT)) {
+                case "burst" -> BURST;
+                case "wave", "waves" -> WAVE;
+                default -> STEADY;
+            };
+        }
+    }
+
+    private long nextEventAtNanos = 0L;
+    private int pending = 0;
+    private int waveIndex = 0;
+    private boolean waveInFlight = false;
+
+    // Forced batch progress: forcedPending is the part of pending that came from spawnnow.
+    private int forcedRequested = 0;
+    private int forcedPending = 0;
+    private int lastPaid = 0;
+    private int lastForcedPaid = 0;
+
+    void reset() {
+        nextEventAtNanos = 0L;
+        pending = 0;
+        waveIndex = 0;
+        waveInFlight = false;
+        forcedRequested = 0;
+        forcedPending = 0;
+        lastPaid = 0;
+        lastForcedPaid = 0;
+    }
+
+    int pending() {
+        return pending;
+    }
+
+    /** Forced balloons requested since the last batch drained (0 if none). */
+    int forcedRequested() {
+        return forcedRequested;
+    }
+
+    /** Forced balloons of the current batch not yet handed to the spawner. */
+    int forcedPending() {
+        return forcedPending;
+    }
+
+    void enqueueForced(int count) {
+        if (count <= 0) return;
+        int accepted = Math.min(count, MAX_ACTIVE_LIMIT - pending);
+        if (accepted <= 0) return;
+        // A request after the previous batch drained starts a new batch.
+        if (forcedPending == 0) forcedRequested = 0;
+        pending += accepted;
+        forcedPending += accepted;
+        forcedRequested += accepted;
+    }
+
+    /**
+     * Hand back balloons from the last due() payout that the spawner did not get to (slice time
+     * budget ran out). Scheduled balloons are returned before forced ones, matching payout order.
+     */
+    void requeue(int count) {
+        int back = Math.min(Math.max(0, count), lastPaid);
+        if (back <= 0) return;
+        int forcedBack = Math.max(0, back - (lastPaid - lastForcedPaid));
+        pending = Math.min(MAX_ACTIVE_LIMIT, pending + back);
+        forcedPending += forcedBack;
+        lastPaid -= back;
+        lastForcedPaid -= forcedBack;
+    }
+
+    /** Seconds until the next scheduled event, or -1 if none is scheduled yet (or a wave is still out). */
+    long secondsUntilNextEvent(long nowNanos) {
+        if (waveInFlight || nextEventAtNanos <= 0L) return -1L;
+        if (nowNanos >= nextEventAtNanos) return 0L;
+        return (long) Math.ceil((nextEventAtNanos - nowNanos) / 1_000_000_000.0d);
+    }
+
+    /** Balloons to spawn this slice (already removed from pending). */
+    int due(CtfBalloonConfig cfg, long nowNanos, int participants, int activeCount) {
+        Mode mode = Mode.parse(cfg.mode);
+        long intervalNanos = cfg.intervalSeconds * 1_000_000_000L;
+
+        if (mode == Mode.WAVE && waveInFlight && pending == 0 && activeCount == 0) {
+            // Wave cleared: the next one starts one interval from now.
+            waveInFlight = false;
+            nextEventAtNanos = nowNanos + intervalNanos;
+        }
+
+        // Like the old fixed timer: while every slot is taken (or spoken for) the next event waits.
+        boolean due = nextEventAtNanos <= 0L || nowNanos >= nextEventAtNanos;
+        if (!waveInFlight && due && activeCount + pending < cfg.maxActive) {
+            int size = switch (mode) {
+                case STEADY -> scaled(1, cfg, participants);
+                case BURST -> scaled(cfg.burstSize, cfg, participants);
+                case WAVE -> scaled(cfg.waveSize + (waveIndex * cfg.waveGrowth), cfg, participants);
+            };
+            pending = Math.min(MAX_ACTIVE_LIMIT, pending + size);
+            if (mode == Mode.WAVE) {
+                waveIndex++;
+                waveInFlight = true;
+            } else {
+                nextEventAtNanos = nowNanos + intervalNanos;
+            }
+        }
+
+        int free = Math.max(0, cfg.maxActive - activeCount);
+        int now = Math.min(pending, Math.min(free, cfg.maxSpawnsPerSlice));
+        int forcedNow = Math.min(now, forcedPending);
+        pending -= now;
+        forcedPending -= forcedNow;
+        lastPaid = now;
+        lastForcedPaid = forcedNow;
+        return now;
+    }
+
+    private static int scaled(int base, CtfBalloonConfig cfg, int participants) {
+        if (cfg.scaleBaselinePlayers <= 0 || participants <= cfg.scaleBaselinePlayers) return base;
+        double factor = participants / (double) cfg.scaleBaselinePlayers;
+        return Math.min(MAX_ACTIVE_LIMIT, (int) Math.ceil(base * factor));
+    }
+}
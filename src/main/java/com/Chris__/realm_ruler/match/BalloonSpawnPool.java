@@ -0,0 +1,226 @@
+package com.Chris__.realm_ruler.match;
+
+import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * BalloonSpawnPool
+ *
+ * Precomputed balloon spawn points for one region. The region is split into TILE_SIZE x TILE_SIZE
+ * tiles of CELL_SIZE x CELL_SIZE cells; each cell contributes one jittered surface point (top block
+ * + 1) if its chunk is loaded, which spreads candidates like blue noise (at most one per cell).
+ *
+ * The pool is built a few tiles per slice from the region world's thread, starting when the match
+ * starts, and then keeps re-sampling one tile per slice round-robin so terrain edits and chunks that
+ * loaded later are picked up. A draw takes the best of DRAW_CANDIDATES random points, preferring the
+ * one farthest from the last RECENT_DRAWS draws, so consecutive balloons do not clump.
+ *
+ * Each tile owns a fixed run of CELLS_PER_TILE slots in one array, so re-sampling a tile overwrites
+ * only its own run. A Fenwick tree over the per-tile counts maps a uniform random index to its tile
+ * and slot in O(log tiles), so draws stay uniform over all candidates without re-flattening the pool.
+ *
+ * Regions larger than MAX_TILES tiles are not pooled (draw() returns null and the spawner probes
+ * random columns as before).
+ *
+ * Tuning (JVM system properties):
+ * - Tiles sampled per slice: -Drr.balloon.poolTilesPerSlice=2
+ */
+public final class BalloonSpawnPool {
+
+    public record Candidate(int x, int y, int z) {
+    }
+
+    private static final int TILE_SIZE = 32;
+    private static final int CELL_SIZE = 4;
+    private static final int CELLS_PER_TILE = (TILE_SIZE / CELL_SIZE) * (TILE_SIZE / CELL_SIZE);
+    private static final int DRAW_CANDIDATES = 4;
+    private static final int RECENT_DRAWS = 6;
+    private static final int MAX_TILES = 1024;
+
+    private final Object lock = new Object();
+
+    private String regionKey = null;
+    private int minX;
+    private int minZ;
+    private int maxX;
+    private int maxZ;
+    private int tilesX;
+    private int tilesZ;
+    // Tile t's candidates are slots[t * CELLS_PER_TILE, t * CELLS_PER_TILE + countByTile[t]).
+    private Candidate[] slots = new Candidate[0];
+    private int[] countByTile = new int[0];
+    // Fenwick tree (1-based) over countByTile.
+    private int[] countTree = new int[1];
+    private int nextTile = 0;
+    private int tilesSampled = 0;
+    private final List<Candidate> recentDraws = new ArrayList<>(RECENT_DRAWS);
+
+    private volatile int size = 0;
+    private volatile boolean complete = false;
+
+    public int size() {
+        return size;
+    }
+
+    /** True once every tile of the current region has been sampled at least once. */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            if (regionKey == null) return;
+            regionKey = null;
+            allocateLocked(0);
+            nextTile = 0;
+            tilesSampled = 0;
+            recentDraws.clear();
+            complete = false;
+        }
+    }
+
+    /**
+     * Sample up to maxTiles tiles of the region (restarting if the region changed). Must run on the
+     * region world's thread. Returns the number of tiles sampled.
+     */
+    public int refresh(CtfRegionRepository.RegionDefinition region, World world, int maxTiles) {
+        if (region == null || !region.hasBounds() || world == null || maxTiles <= 0) return 0;
+
+        synchronized (lock) {
+            String key = region.worldName() + ":" + region.minX() + "," + region.minZ() + ":" + region.maxX() + "," + region.maxZ();
+            if (!key.equals(regionKey)) {
+                resetLocked(key, region);
+            }
+
+            if ((long) tilesX * tilesZ > MAX_TILES) return 0;
+            int total = tilesX * tilesZ;
+            // Full speed while building; afterwards one tile per call keeps the pool fresh.
+            int sampled = Math.min(complete ? 1 : maxTiles, total);
+            for (int i = 0; i < sampled; i++) {
+                int tile = nextTile;
+                nextTile = (nextTile + 1) % total;
+                int previous = countByTile[tile];
+                int count = sampleTile(world, tile);
+                countByTile[tile] = count;
+                addCountLocked(tile, count - previous);
+                if (tilesSampled < total) tilesSampled++;
+            }
+            complete = tilesSampled >= total;
+            return sampled;
+        }
+    }
+
+    /** One spawn point (best of a few random draws, away from recent draws), or null if the pool is empty. */
+    public @Nullable Candidate draw() {
+        if (size == 0) return null;
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        synchronized (lock) {
+            if (size == 0) return null;
+            Candidate best = null;
+            long bestScore = -1L;
+            for (int i = 0; i < DRAW_CANDIDATES; i++) {
+                Candidate c = candidateAtLocked(random.nextInt(size));
+                long score = minDistanceSqToRecentLocked(c);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = c;
+                }
+            }
+            if (recentDraws.size() >= RECENT_DRAWS) recentDraws.removeFirst();
+            recentDraws.add(best);
+            return best;
+        }
+    }
+
+    private void resetLocked(String key, CtfRegionRepository.RegionDefinition region) {
+        regionKey = key;
+        minX = region.minX();
+        minZ = region.minZ();
+        maxX = region.maxX();
+        maxZ = region.maxZ();
+        tilesX = Math.max(1, (maxX - minX + TILE_SIZE) / TILE_SIZE);
+        tilesZ = Math.max(1, (maxZ - minZ + TILE_SIZE) / TILE_SIZE);
+        allocateLocked(((long) tilesX * tilesZ > MAX_TILES) ? 0 : tilesX * tilesZ);
+        nextTile = 0;
+        tilesSampled = 0;
+        recentDraws.clear();
+        complete = false;
+    }
+
+    private void allocateLocked(int tiles) {
+        slots = new Candidate[tiles * CELLS_PER_TILE];
+        countByTile = new int[tiles];
+        countTree = new int[tiles + 1];
+        size = 0;
+    }
+
+    private void addCountLocked(int tile, int delta) {
+        if (delta == 0) return;
+        for (int i = tile + 1; i < countTree.length; i += i & -i) {
+            countTree[i] += delta;
+        }
+        size += delta;
+    }
+
+    /** The index-th candidate (0 <= index < size) in tile order. */
+    private Candidate candidateAtLocked(int index) {
+        // Descend the tree to the last tile whose preceding tiles hold <= index candidates.
+        int tile = 0;
+        int remaining = index;
+        for (int step = Integer.highestOneBit(countTree.length - 1); step > 0; step >>= 1) {
+            int next = tile + step;
+            if (next < countTree.length && countTree[next] <= remaining) {
+                tile = next;
+                remaining -= countTree[next];
+            }
+        }
+        return slots[tile * CELLS_PER_TILE + remaining];
+    }
+
+    /** Re-sample a tile into its slot run; returns the number of candidates written. */
+    private int sampleTile(World world, int tile) {
+        int tileMinX = minX + (tile % tilesX) * TILE_SIZE;
+        int tileMinZ = minZ + (tile / tilesX) * TILE_SIZE;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        int base = tile * CELLS_PER_TILE;
+        int n = 0;
+        for (int cellX = tileMinX; cellX < tileMinX + TILE_SIZE && cellX <= maxX; cellX += CELL_SIZE) {
+            for (int cellZ = tileMinZ; cellZ < tileMinZ + TILE_SIZE && cellZ <= maxZ; cellZ += CELL_SIZE) {
+                int x = cellX + random.nextInt(Math.min(CELL_SIZE, maxX - cellX + 1));
+                int z = cellZ + random.nextInt(Math.min(CELL_SIZE, maxZ - cellZ + 1));
+                WorldChunk chunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(x, z));
+                if (chunk == null) continue;
+
+                slots[base + n++] = new Candidate(x, (int) chunk.getHeight(x, z) + 1, z);
+            }
+        }
+        for (int i = n; i < CELLS_PER_TILE; i++) {
+            slots[base + i] = null;
+        }
+        return n;
+    }
+
+    private long minDistanceSqToRecentLocked(Candidate c) {
+        if (recentDraws.isEmpty()) return Long.MAX_VALUE;
+        long min = Long.MAX_VALUE;
+        for (Candidate r : recentDraws) {
+            long dx = c.x() - r.x();
+            long dz = c.z() - r.z();
+            min = Math.min(min, (dx * dx) + (dz * dz));
+        }
+        return min;
+    }
+
+    static int tilesPerSlice() {
+        Integer v = Integer.getInteger("rr.balloon.poolTilesPerSlice");
+        return (v == null || v < 1) ? 2 : v;
+    }
+}
@@ -74,6 +74,14 @@ public final class CtfArmorLoadoutService {
         return isArmorContainerEmpty(armor);
     }
 
+    /** True once team armor has been equipped (the player's own armor is held in a snapshot). */
+    public boolean hasTeamArmor(String uuid) {
+        if (uuid == null || uuid.isBlank()) return false;
+        synchronized (lock) {
+            return snapshotByUuid.containsKey(uuid);
+        }
+    }
+
     public EquipResult equipTeamArmor(String uuid, Player player, CtfMatchService.Team team) {
         if (uuid == null || uuid.isBlank() || player == null) {
             return new EquipResult(false, "Player not available.");
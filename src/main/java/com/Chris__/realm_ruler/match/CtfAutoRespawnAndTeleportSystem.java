@@ -1,6 +1,8 @@
 package com.Chris__.realm_ruler.match;
 
 import com.Chris__.realm_ruler.core.RrDebugFlags;
+import com.Chris__.realm_ruler.core.TickExecutor;
+import com.Chris__.realm_ruler.core.TimerWheel;
 import com.Chris__.realm_ruler.integration.SimpleClaimsCtfBridge;
 import com.Chris__.realm_ruler.targeting.TargetingService;
 import com.Chris__.realm_ruler.util.SpawnTeleportUtil;
@@ -16,8 +18,10 @@ import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
 import com.hypixel.hytale.server.core.modules.entity.damage.DeathComponent;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
+import javax.annotation.Nullable;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -25,24 +29,33 @@ public final class CtfAutoRespawnAndTeleportSystem extends RefChangeSystem<Entit
 
     private static final double SPAWN_JITTER_RADIUS_BLOCKS = 3.0d;
     private static final long RESPAWN_DELAY_NANOS = 5_000_000_000L;
+    private static final long RESPAWN_RETRY_NANOS = 1_000_000_000L;
+    private static final long ONE_SECOND_NANOS = 1_000_000_000L;
+    private static final String UNKNOWN_WORLD = "";
 
     private final CtfMatchService matchService;
     private final CtfFlagStateService flagStateService;
     private final SimpleClaimsCtfBridge simpleClaims;
     private final TargetingService targetingService;
     private final StandSwapService standSwapService;
+    private final TickExecutor tickExecutor;
     private final HytaleLogger logger;
 
     private boolean warnedMissingSimpleClaims = false;
     private final Map<String, PendingRespawn> pendingRespawnsByUuid = new ConcurrentHashMap<>();
+    // world key -> (uuid -> next countdown announcement or the respawn itself, whichever comes first).
+    // Each world's wheel is advanced on that world's thread, so worlds never share a timer.
+    private final Map<String, TimerWheel<String>> respawnTimersByWorld = new ConcurrentHashMap<>();
 
     private static final class PendingRespawn {
         private final Ref<EntityStore> ref;
+        private final String worldKey;
         private long readyAtNanos;
         private int lastAnnouncedSecond;
 
-        private PendingRespawn(Ref<EntityStore> ref, long readyAtNanos) {
+        private PendingRespawn(Ref<EntityStore> ref, String worldKey, long readyAtNanos) {
             this.ref = ref;
+            this.worldKey = worldKey;
             this.readyAtNanos = readyAtNanos;
             this.lastAnnouncedSecond = 5;
         }
@@ -53,12 +66,14 @@ public final class CtfAutoRespawnAndTeleportSystem extends RefChangeSystem<Entit
                                            SimpleClaimsCtfBridge simpleClaims,
                                            TargetingService targetingService,
                                            StandSwapService standSwapService,
+                                           TickExecutor tickExecutor,
                                            HytaleLogger logger) {
         this.matchService = matchService;
         this.flagStateService = flagStateService;
         this.simpleClaims = simpleClaims;
         this.targetingService = targetingService;
         this.standSwapService = standSwapService;
+        this.tickExecutor = tickExecutor;
         this.logger = logger;
     }
 
@@ -106,7 +121,12 @@ public final class CtfAutoRespawnAndTeleportSystem extends RefChangeSystem<Entit
         }
 
         long readyAt = System.nanoTime() + RESPAWN_DELAY_NANOS;
-        pendingRespawnsByUuid.put(uuidStr, new PendingRespawn(ref, readyAt));
+        PendingRespawn pending = new PendingRespawn(ref, worldKeyOf(store), readyAt);
+        PendingRespawn replaced = pendingRespawnsByUuid.put(uuidStr, pending);
+        if (replaced != null && !replaced.worldKey.equals(pending.worldKey)) {
+            timersFor(replaced.worldKey).cancel(uuidStr);
+        }
+        timersFor(pending.worldKey).schedule(uuidStr, nextWakeNanos(pending));
         player.sendMessage(com.hypixel.hytale.server.core.Message.raw("[RealmRuler] Respawning in 5..."));
     }
 
@@ -136,7 +156,10 @@ public final class CtfAutoRespawnAndTeleportSystem extends RefChangeSystem<Entit
         if (player == null || playerRef == null || playerRef.getUuid() == null) return;
 
         String uuidStr = playerRef.getUuid().toString();
-        pendingRespawnsByUuid.remove(uuidStr);
+        PendingRespawn cancelled = pendingRespawnsByUuid.remove(uuidStr);
+        if (cancelled != null) {
+            timersFor(cancelled.worldKey).cancel(uuidStr);
+        }
         CtfMatchService.Team team = matchService.activeMatchTeamFor(uuidStr);
         if (team == null) return;
 
@@ -179,21 +202,10 @@ public final class CtfAutoRespawnAndTeleportSystem extends RefChangeSystem<Entit
         CtfMatchService.Team carriedFlag = flagStateService.carriedFlagFor(uuid);
         if (carriedFlag == null) return;
 
-        // Policy: death recovery is reset-first, not drop-first.
+        // Policy: death recovery is reset-first, not drop-first. The flag item and the position are
+        // read now, on this world's thread; the flag state change runs as one command on the tick queue.
         flagStateService.removeOneFlagFromPlayer(player, carriedFlag);
 
-        boolean returnedNow = standSwapService != null && flagStateService.forceReturnFlagToStand(
-                carriedFlag,
-                standSwapService,
-                CtfFlagStateService.ReturnResolutionMode.STRICT_THEN_SOFT
-        );
-        if (returnedNow) {
-            if (RrDebugFlags.verbose()) {
-                logger.atInfo().log("[RR-CTF] death flag recovery uuid=%s immediateReturn=true markedDropped=false", uuid);
-            }
-            return;
-        }
-
         String worldName = null;
         double x = 0;
         double y = 0;
@@ -220,19 +232,36 @@ public final class CtfAutoRespawnAndTeleportSystem extends RefChangeSystem<Entit
             }
         }
 
-        if (!havePosition) {
-            CtfStandRegistryRepository.StandLocation home = flagStateService.resolveHomeStandLocation(carriedFlag);
-            if (home != null && home.isValid()) {
-                worldName = home.worldName();
-                x = home.x();
-                y = home.y();
-                z = home.z();
-                havePosition = true;
+        final String dropWorld = havePosition ? worldName : null;
+        final double dropX = x;
+        final double dropY = y;
+        final double dropZ = z;
+        tickExecutor.submit(() -> recoverFlagAfterDeath(uuid, carriedFlag, dropWorld, dropX, dropY, dropZ));
+    }
+
+    private void recoverFlagAfterDeath(String uuid,
+                                       CtfMatchService.Team carriedFlag,
+                                       @Nullable String worldName,
+                                       double x,
+                                       double y,
+                                       double z) {
+        if (matchService == null || !matchService.isRunning()) return;
+        if (flagStateService.carriedFlagFor(uuid) != carriedFlag) return;
+
+        boolean returnedNow = standSwapService != null && flagStateService.forceReturnFlagToStand(
+                carriedFlag,
+                standSwapService,
+                CtfFlagStateService.ReturnResolutionMode.STRICT_THEN_SOFT
+        );
+        if (returnedNow) {
+            if (RrDebugFlags.verbose()) {
+                logger.atInfo().log("[RR-CTF] death flag recovery uuid=%s immediateReturn=true markedDropped=false", uuid);
             }
+            return;
         }
 
         boolean markedDropped = false;
-        if (havePosition && worldName != null && !worldName.isBlank()) {
+        if (worldName != null && !worldName.isBlank()) {
             markedDropped = flagStateService.markCarrierDropped(uuid, worldName, x, y, z);
             if (!markedDropped) {
                 markedDropped = flagStateService.markFlagDropped(carriedFlag, uuid, worldName, x, y, z);
@@ -259,17 +288,21 @@ public final class CtfAutoRespawnAndTeleportSystem extends RefChangeSystem<Entit
         }
     }
 
+    /** Respawns whose world could not be resolved at death time (run from the global slice). */
     public void processPendingRespawns() {
-        if (pendingRespawnsByUuid.isEmpty()) return;
+        processPendingRespawns(UNKNOWN_WORLD);
+    }
+
+    /** Countdown and respawn for players who died in this world. Call on that world's thread. */
+    public void processPendingRespawns(String worldKey) {
+        if (pendingRespawnsByUuid.isEmpty() || worldKey == null) return;
+        TimerWheel<String> respawnTimers = respawnTimersByWorld.get(worldKey);
+        if (respawnTimers == null || respawnTimers.size() == 0) return;
 
         long now = System.nanoTime();
-        for (Map.Entry<String, PendingRespawn> entry : pendingRespawnsByUuid.entrySet()) {
-            String uuid = entry.getKey();
-            PendingRespawn pending = entry.getValue();
-            if (uuid == null || uuid.isBlank() || pending == null) {
-                pendingRespawnsByUuid.remove(uuid, pending);
-                continue;
-            }
+        for (String uuid : respawnTimers.advance(now)) {
+            PendingRespawn pending = pendingRespawnsByUuid.get(uuid);
+            if (pending == null || !pending.worldKey.equals(worldKey)) continue;
 
             Ref<EntityStore> ref = pending.ref;
             if (ref == null || !ref.isValid()) {
@@ -296,6 +329,7 @@ public final class CtfAutoRespawnAndTeleportSystem extends RefChangeSystem<Entit
                     pending.lastAnnouncedSecond = remainingSeconds;
                     player.sendMessage(com.hypixel.hytale.server.core.Message.raw("[RealmRuler] Respawning in " + remainingSeconds + "..."));
                 }
+                respawnTimers.schedule(uuid, nextWakeNanos(pending));
                 continue;
             }
 
@@ -317,12 +351,35 @@ public final class CtfAutoRespawnAndTeleportSystem extends RefChangeSystem<Entit
                     logger.atInfo().log("[RR] CTF delayed respawn requested. uuid=%s", uuid);
                 }
             } catch (Throwable t) {
-                pending.readyAtNanos = now + 1_000_000_000L;
+                pending.readyAtNanos = now + RESPAWN_RETRY_NANOS;
+                respawnTimers.schedule(uuid, pending.readyAtNanos);
                 logger.atWarning().withCause(t).log("[RR] CTF delayed respawn failed; retrying. uuid=%s", uuid);
             }
         }
     }
 
+    private TimerWheel<String> timersFor(String worldKey) {
+        return respawnTimersByWorld.computeIfAbsent(worldKey, k -> new TimerWheel<>());
+    }
+
+    private static String worldKeyOf(Store<EntityStore> store) {
+        try {
+            if (store != null && store.getExternalData() instanceof EntityStore entityStore) {
+                World world = entityStore.getWorld();
+                if (world != null && world.getName() != null) return world.getName();
+            }
+        } catch (Throwable ignored) {
+        }
+        return UNKNOWN_WORLD;
+    }
+
+    /** Next countdown second to announce ("Respawning in N..."), or the respawn deadline once the countdown is done. */
+    private static long nextWakeNanos(PendingRespawn pending) {
+        int nextSecond = pending.lastAnnouncedSecond - 1;
+        if (nextSecond <= 0) return pending.readyAtNanos;
+        return pending.readyAtNanos - (nextSecond * ONE_SECOND_NANOS);
+    }
+
     public boolean isPendingRespawn(String uuid) {
         if (uuid == null || uuid.isBlank()) return false;
         return pendingRespawnsByUuid.containsKey(uuid);
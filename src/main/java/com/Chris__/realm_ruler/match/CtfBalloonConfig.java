@@ -0,0 +1,18 @@
+package com.Chris__.realm_ruler.match;
+
+public final class CtfBalloonConfig {
+    public int version = 1;
+    // steady: size balloons every interval | burst: burstSize every interval |
+    // wave: growing waves, the next one starting interval seconds after the previous is cleared
+    public String mode = "steady";
+    public int intervalSeconds = 30;
+    public int despawnSeconds = 45;
+    public int maxActive = 6;
+    public int burstSize = 3;
+    public int waveSize = 10;
+    public int waveGrowth = 5;
+    // Sizes scale by participants / scaleBaselinePlayers (never below 1x); 0 disables scaling.
+    public int scaleBaselinePlayers = 0;
+    // Spawn budget per 50ms slice; larger bursts and waves are spread over several slices.
+    public int maxSpawnsPerSlice = 2;
+}
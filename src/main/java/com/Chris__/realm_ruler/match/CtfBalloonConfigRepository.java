@@ -0,0 +1,90 @@
+package com.Chris__.realm_ruler.match;
+
+import com.Chris__.realm_ruler.storage.DocumentStore;
+import com.Chris__.realm_ruler.storage.RrStorage;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.hypixel.hytale.logger.HytaleLogger;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+public final class CtfBalloonConfigRepository {
+
+    private static final String FILE_NAME = "ctf_balloons.json";
+
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private final HytaleLogger logger;
+    private final DocumentStore document;
+
+    private volatile CtfBalloonConfig cached = null;
+
+    public CtfBalloonConfigRepository(Path dataDirectory, HytaleLogger logger) {
+        this(RrStorage.json(dataDirectory, logger), logger);
+    }
+
+    public CtfBalloonConfigRepository(RrStorage storage, HytaleLogger logger) {
+        this.logger = logger;
+        this.document = (storage == null) ? null : storage.document(FILE_NAME);
+        reload();
+    }
+
+    public CtfBalloonConfig getConfig() {
+        CtfBalloonConfig c = cached;
+        if (c != null) return c;
+        c = normalize(new CtfBalloonConfig());
+        cached = c;
+        return c;
+    }
+
+    public void reload() {
+        if (document == null) {
+            cached = normalize(new CtfBalloonConfig());
+            return;
+        }
+
+        try {
+            if (!document.exists()) {
+                CtfBalloonConfig cfg = new CtfBalloonConfig();
+                cached = normalize(cfg);
+                save(cfg);
+                return;
+            }
+
+            String json = document.read();
+            CtfBalloonConfig loaded = (json == null) ? null : gson.fromJson(json, CtfBalloonConfig.class);
+            cached = normalize((loaded == null) ? new CtfBalloonConfig() : loaded);
+        } catch (Throwable t) {
+            logger.atWarning().withCause(t).log("[RR-CTF] Failed to load ctf balloon config; using defaults.");
+            cached = normalize(new CtfBalloonConfig());
+        }
+    }
+
+    private void save(CtfBalloonConfig cfg) {
+        if (document == null || cfg == null) return;
+        try {
+            document.write(gson.toJson(cfg));
+        } catch (Throwable t) {
+            logger.atWarning().withCause(t).log("[RR-CTF] Failed to save default ctf balloon config.");
+        }
+    }
+
+    static CtfBalloonConfig normalize(CtfBalloonConfig in) {
+        CtfBalloonConfig cfg = new CtfBalloonConfig();
+        cfg.version = in.version;
+        cfg.mode = BalloonScheduler.Mode.parse(in.mode).name().toLowerCase(Locale.ROOT);
+        cfg.intervalSeconds = clamp(in.intervalSeconds, 1, 3600);
+        cfg.despawnSeconds = clamp(in.despawnSeconds, 5, 3600);
+        cfg.maxActive = clamp(in.maxActive, 1, BalloonScheduler.MAX_ACTIVE_LIMIT);
+        cfg.burstSize = clamp(in.burstSize, 1, BalloonScheduler.MAX_ACTIVE_LIMIT);
+        cfg.waveSize = clamp(in.waveSize, 1, BalloonScheduler.MAX_ACTIVE_LIMIT);
+        cfg.waveGrowth = clamp(in.waveGrowth, 0, BalloonScheduler.MAX_ACTIVE_LIMIT);
+        cfg.scaleBaselinePlayers = clamp(in.scaleBaselinePlayers, 0, 1000);
+        cfg.maxSpawnsPerSlice = clamp(in.maxSpawnsPerSlice, 1, BalloonScheduler.MAX_ACTIVE_LIMIT);
+        return cfg;
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -0,0 +1,48 @@
+package com.Chris__.realm_ruler.match;
+
+import com.hypixel.hytale.component.AddReason;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.RemoveReason;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.RefSystem;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+/**
+ * CtfBalloonNpcWatchSystem
+ *
+ * Reports newly added NPC entities to the balloon spawner, so a command-fallback spawn can
+ * pick up the NPC it created without scanning every NPC in the world before and after the command.
+ * The spawner ignores the callback unless a fallback command is in flight.
+ */
+public final class CtfBalloonNpcWatchSystem extends RefSystem<EntityStore> {
+
+    private final CtfBalloonSpawnService balloonSpawnService;
+
+    public CtfBalloonNpcWatchSystem(CtfBalloonSpawnService balloonSpawnService) {
+        this.balloonSpawnService = balloonSpawnService;
+    }
+
+    @Override
+    public Query<EntityStore> getQuery() {
+        return CtfBalloonSpawnService.NPC_QUERY;
+    }
+
+    @Override
+    public void onEntityAdded(Ref<EntityStore> ref,
+                              AddReason reason,
+                              Store<EntityStore> store,
+                              CommandBuffer<EntityStore> commandBuffer) {
+        if (balloonSpawnService == null || ref == null || store == null) return;
+        balloonSpawnService.onNpcAdded(ref, store);
+    }
+
+    @Override
+    public void onEntityRemove(Ref<EntityStore> ref,
+                               RemoveReason reason,
+                               Store<EntityStore> store,
+                               CommandBuffer<EntityStore> commandBuffer) {
+        // No-op. Removed balloons are pruned by the spawner's own ref checks.
+    }
+}
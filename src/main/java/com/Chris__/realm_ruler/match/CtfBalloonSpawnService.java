@@ -1,7 +1,7 @@
 package com.Chris__.realm_ruler.match;
 
 import com.Chris__.realm_ruler.core.RrDebugFlags;
-import com.hypixel.hytale.component.ArchetypeChunk;
+import com.Chris__.realm_ruler.core.TimerWheel;
 import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.RemoveReason;
@@ -44,20 +44,18 @@ public final class CtfBalloonSpawnService {
     public static final String BALLOON_ITEM_ID = "Loot_Balloon_Common";
     public static final String BALLOON_ROLE_ID = "Loot_Balloon_Entity_Common";
 
-    private static final long SPAWN_INTERVAL_NANOS = 30_000_000_000L;
-    private static final long DESPAWN_AFTER_NANOS = 45_000_000_000L;
     private static final long PROCESS_SLICE_INTERVAL_NANOS = 50_000_000L;
     private static final long BACKEND_WARN_INTERVAL_NANOS = 10_000_000_000L;
     private static final long FALLBACK_FAILURE_COOLDOWN_NANOS = 12_000_000_000L;
-    private static final int MAX_ACTIVE_BALLOONS = 6;
     private static final int MAX_ATTEMPTS_PER_SPAWN = 10;
+    private static final CtfBalloonConfig DEFAULT_CONFIG = CtfBalloonConfigRepository.normalize(new CtfBalloonConfig());
     private static final List<String> FALLBACK_COMMAND_SUFFIXES = List.of("", " 1", " 1 1");
 
     private static final String REWARD_PLACE_1_ITEM_ID = BALLOON_ITEM_ID;
     private static final String REWARD_PLACE_2_ITEM_ID = "Rare_Loot_Bag";
     private static final String REWARD_PLACE_3_PLUS_ITEM_ID = "Epic_Loot_Bag";
 
-    private static final Query<EntityStore> NPC_QUERY = Query.and(
+    static final Query<EntityStore> NPC_QUERY = Query.and(
             NPCEntity.getComponentType(),
             TransformComponent.getComponentType()
     );
@@ -69,7 +67,13 @@ public final class CtfBalloonSpawnService {
                                  boolean regionWorldResolved,
                                  int activeCount,
                                  int maxActive,
+                                 String scheduleMode,
+                                 int pendingSpawns,
+                                 int forcedRequested,
+                                 int forcedPending,
                                  long secondsUntilNextSpawn,
+                                 int spawnPoolSize,
+                                 boolean spawnPoolComplete,
                                  boolean directApiReady,
                                  boolean fallbackReady,
                                  boolean balloonRoleResolvable,
@@ -86,40 +90,72 @@ public final class CtfBalloonSpawnService {
     private record NpcSnapshot(Ref<EntityStore> ref, Vector3d position) {
     }
 
+    /** Open while a fallback spawn command runs; NPCs added to its world meanwhile are recorded. */
+    private static final class FallbackCapture {
+        private final String worldName;
+        private final List<NpcSnapshot> added = new ArrayList<>(2);
+
+        private FallbackCapture(String worldName) {
+            this.worldName = worldName;
+        }
+    }
+
     private final Object lock = new Object();
     private final CtfMatchService matchService;
     private final CtfRegionRepository regionRepository;
     private final CtfFlagStateService flagStateService;
     private final BiFunction<String, Integer, ItemStack> itemStackFactory;
     private final HytaleLogger logger;
+    private final CtfBalloonConfigRepository configRepository;
 
     private final Map<Ref<EntityStore>, Long> activeBalloonsByRef = new LinkedHashMap<>();
-    private long nextSpawnAtNanos = 0L;
+    private final TimerWheel<Ref<EntityStore>> despawnTimers = new TimerWheel<>();
+    private final BalloonSpawnPool spawnPool = new BalloonSpawnPool();
+    private final BalloonScheduler scheduler = new BalloonScheduler();
+    private boolean scheduleStarted = false;
     private long nextSliceAtNanos = 0L;
     private long nextBackendWarnAtNanos = 0L;
     private long fallbackCommandCooldownUntilNanos = 0L;
-    private int forcedSpawnQueue = 0;
     private String fallbackRequesterHint = null;
     private String cachedFallbackCommandSuffix = null;
     private String lastFallbackErrorSummary = null;
     private String lastFallbackAttemptTemplate = null;
+    private volatile String balloonWorldName = null;
+    private volatile FallbackCapture fallbackCapture = null;
+
+    public CtfBalloonSpawnService(CtfMatchService matchService,
+                                  CtfRegionRepository regionRepository,
+                                  CtfFlagStateService flagStateService,
+                                  BiFunction<String, Integer, ItemStack> itemStackFactory,
+                                  HytaleLogger logger) {
+        this(matchService, regionRepository, flagStateService, null, itemStackFactory, logger);
+    }
 
     public CtfBalloonSpawnService(CtfMatchService matchService,
                                   CtfRegionRepository regionRepository,
                                   CtfFlagStateService flagStateService,
+                                  @Nullable CtfBalloonConfigRepository configRepository,
                                   BiFunction<String, Integer, ItemStack> itemStackFactory,
                                   HytaleLogger logger) {
         this.matchService = matchService;
         this.regionRepository = regionRepository;
         this.flagStateService = flagStateService;
+        this.configRepository = configRepository;
         this.itemStackFactory = itemStackFactory;
         this.logger = logger;
     }
 
+    public CtfBalloonConfig config() {
+        return (configRepository == null) ? DEFAULT_CONFIG : configRepository.getConfig();
+    }
+
     public void processSlice(Store<EntityStore> store,
                              CommandBuffer<EntityStore> commandBuffer,
                              @Nullable String fallbackRequesterUuid) {
         if (store == null || commandBuffer == null) return;
+        // Balloons only live in one world; ticks from other worlds leave before touching the slice clock.
+        String sliceWorld = sliceWorldName();
+        if (sliceWorld == null || !sliceWorld.equals(worldNameOf(store))) return;
 
         long now = System.nanoTime();
         if (!acquireSlice(now)) return;
@@ -127,6 +163,7 @@ public final class CtfBalloonSpawnService {
 
         if (matchService == null || !matchService.isRunning()) {
             cleanupAll(commandBuffer);
+            spawnPool.clear();
             return;
         }
         if (regionRepository == null) return;
@@ -136,38 +173,64 @@ public final class CtfBalloonSpawnService {
             return;
         }
         World regionWorld = Universe.get().getWorld(region.worldName());
-        if (regionWorld == null) {
+        if (regionWorld == null || !regionWorld.getName().equals(sliceWorld)) {
             return;
         }
-        if (!isStoreForWorld(store, regionWorld)) {
-            return;
+        spawnPool.refresh(region, regionWorld, BalloonSpawnPool.tilesPerSlice());
+
+        boolean startSchedule;
+        synchronized (lock) {
+            startSchedule = !scheduleStarted;
+            scheduleStarted = true;
+        }
+        if (startSchedule && configRepository != null) {
+            // Config edits take effect from the next match.
+            configRepository.reload();
         }
 
-        int forcedToSpawnNow = 0;
-        String forcedRequesterHint = null;
+        CtfBalloonConfig cfg = config();
+        int participants = matchService.activeMatchParticipantCount();
+        int toSpawn;
+        String requesterHint;
         synchronized (lock) {
             if (fallbackRequesterUuid != null && !fallbackRequesterUuid.isBlank()) {
                 fallbackRequesterHint = fallbackRequesterUuid;
             }
-            if (forcedSpawnQueue > 0) {
-                int available = Math.max(0, MAX_ACTIVE_BALLOONS - activeBalloonsByRef.size());
-                forcedToSpawnNow = Math.min(available, forcedSpawnQueue);
-                forcedSpawnQueue -= forcedToSpawnNow;
-                forcedRequesterHint = fallbackRequesterHint;
-            }
+            // Balloons removed without a pop (killed by other means) only free their slot once pruned.
+            pruneInvalidRefsLocked();
+            toSpawn = scheduler.due(cfg, now, participants, activeBalloonsByRef.size());
+            requesterHint = fallbackRequesterHint;
         }
 
-        for (int index = 0; index < forcedToSpawnNow; index++) {
-            if (!spawnOne(store, commandBuffer, regionWorld, region, now, forcedRequesterHint)) break;
+        long despawnAfterNanos = cfg.despawnSeconds * 1_000_000_000L;
+        long budgetNanos = sliceSpawnBudgetNanos();
+        for (int index = 0; index < toSpawn; index++) {
+            // Past the slice's time budget the rest waits for the next slice (the first spawn always runs).
+            if (index > 0 && System.nanoTime() - now >= budgetNanos) {
+                synchronized (lock) {
+                    scheduler.requeue(toSpawn - index);
+                }
+                break;
+            }
+            // A failed spawn is dropped (as before); the schedule carries on with its next event.
+            if (!spawnOne(store, commandBuffer, regionWorld, region, now, despawnAfterNanos, requesterHint)) break;
         }
+    }
 
-        synchronized (lock) {
-            if (activeBalloonsByRef.size() >= MAX_ACTIVE_BALLOONS) return;
-            if (nextSpawnAtNanos > 0L && now < nextSpawnAtNanos) return;
-            nextSpawnAtNanos = now + SPAWN_INTERVAL_NANOS;
-        }
+    /**
+     * Entity-added hook for NPCs (CtfBalloonNpcWatchSystem). Costs one volatile read unless a
+     * fallback spawn command is in flight for this world.
+     */
+    public void onNpcAdded(Ref<EntityStore> ref, Store<EntityStore> store) {
+        FallbackCapture capture = fallbackCapture;
+        if (capture == null || ref == null || store == null) return;
+        if (!capture.worldName.equals(worldNameOf(store))) return;
 
-        spawnOne(store, commandBuffer, regionWorld, region, now, fallbackRequesterUuid);
+        TransformComponent transform = store.getComponent(ref, TransformComponent.getComponentType());
+        Vector3d position = (transform == null) ? null : transform.getPosition();
+        synchronized (capture) {
+            capture.added.add(new NpcSnapshot(ref, position));
+        }
     }
 
     public StatusSnapshot statusSnapshot() {
@@ -182,7 +245,11 @@ public final class CtfBalloonSpawnService {
         boolean fallbackReady = hasFallbackRequester();
         boolean roleResolvable = isBalloonRoleResolvable();
 
+        CtfBalloonConfig cfg = config();
         int activeCount;
+        int pendingSpawns;
+        int forcedRequested;
+        int forcedPending;
         long secondsUntilNextSpawn;
         long fallbackCooldownRemainingSeconds;
         String selectedFallbackTemplate;
@@ -191,12 +258,10 @@ public final class CtfBalloonSpawnService {
         synchronized (lock) {
             pruneInvalidRefsLocked();
             activeCount = activeBalloonsByRef.size();
-            if (nextSpawnAtNanos <= 0L) {
-                secondsUntilNextSpawn = -1L;
-            } else {
-                long nanosLeft = Math.max(0L, nextSpawnAtNanos - now);
-                secondsUntilNextSpawn = (long) Math.ceil(nanosLeft / 1_000_000_000.0d);
-            }
+            pendingSpawns = scheduler.pending();
+            forcedRequested = scheduler.forcedRequested();
+            forcedPending = scheduler.forcedPending();
+            secondsUntilNextSpawn = scheduler.secondsUntilNextEvent(now);
             fallbackCooldownRemainingSeconds = (fallbackCommandCooldownUntilNanos <= now)
                     ? 0L
                     : (long) Math.ceil((fallbackCommandCooldownUntilNanos - now) / 1_000_000_000.0d);
@@ -212,6 +277,7 @@ public final class CtfBalloonSpawnService {
                 fallbackReady,
                 roleResolvable,
                 activeCount,
+                cfg.maxActive,
                 fallbackCooldownRemainingSeconds
         );
 
@@ -222,8 +288,14 @@ public final class CtfBalloonSpawnService {
                 (region == null) ? null : region.worldName(),
                 regionWorldResolved,
                 activeCount,
-                MAX_ACTIVE_BALLOONS,
+                cfg.maxActive,
+                cfg.mode,
+                pendingSpawns,
+                forcedRequested,
+                forcedPending,
                 secondsUntilNextSpawn,
+                spawnPool.size(),
+                spawnPool.isComplete(),
                 directApiReady,
                 fallbackReady,
                 roleResolvable,
@@ -246,13 +318,14 @@ public final class CtfBalloonSpawnService {
             return new SpawnNowResult(target, 0, status.activeCount(), status.blockingReason());
         }
 
+        int maxActive = config().maxActive;
         int queued;
         int activeCount;
         synchronized (lock) {
-            int available = Math.max(0, MAX_ACTIVE_BALLOONS - activeBalloonsByRef.size());
+            int available = Math.max(0, maxActive - activeBalloonsByRef.size() - scheduler.pending());
             queued = Math.min(target, available);
             if (queued > 0) {
-                forcedSpawnQueue += queued;
+                scheduler.enqueueForced(queued);
                 if (requesterUuid != null && !requesterUuid.isBlank()) {
                     fallbackRequesterHint = requesterUuid;
                 }
@@ -260,8 +333,8 @@ public final class CtfBalloonSpawnService {
             activeCount = activeBalloonsByRef.size();
         }
         String message = (queued <= 0)
-                ? "Active balloon cap reached (" + MAX_ACTIVE_BALLOONS + ")."
-                : "Queued " + queued + " balloon spawn(s).";
+                ? "Active balloon cap reached (" + maxActive + ")."
+                : "Queued " + queued + " balloon spawn(s); they spawn over the next few ticks.";
         return new SpawnNowResult(target, queued, activeCount, message);
     }
 
@@ -269,8 +342,8 @@ public final class CtfBalloonSpawnService {
         if (commandBuffer == null) return;
         synchronized (lock) {
             if (activeBalloonsByRef.isEmpty()) {
-                nextSpawnAtNanos = 0L;
-                forcedSpawnQueue = 0;
+                scheduler.reset();
+                scheduleStarted = false;
                 fallbackRequesterHint = null;
                 fallbackCommandCooldownUntilNanos = 0L;
                 cachedFallbackCommandSuffix = null;
@@ -283,8 +356,9 @@ public final class CtfBalloonSpawnService {
                 safeRemove(commandBuffer, ref);
             }
             activeBalloonsByRef.clear();
-            nextSpawnAtNanos = 0L;
-            forcedSpawnQueue = 0;
+            despawnTimers.clear();
+            scheduler.reset();
+            scheduleStarted = false;
             fallbackRequesterHint = null;
             fallbackCommandCooldownUntilNanos = 0L;
             cachedFallbackCommandSuffix = null;
@@ -296,6 +370,7 @@ public final class CtfBalloonSpawnService {
     public boolean consumeTrackedBalloon(Ref<EntityStore> ref) {
         if (ref == null) return false;
         synchronized (lock) {
+            despawnTimers.cancel(ref);
             return activeBalloonsByRef.remove(ref) != null;
         }
     }
@@ -390,20 +465,10 @@ public final class CtfBalloonSpawnService {
 
     private void cleanupExpired(CommandBuffer<EntityStore> commandBuffer, long nowNanos) {
         synchronized (lock) {
-            Iterator<Map.Entry<Ref<EntityStore>, Long>> iterator = activeBalloonsByRef.entrySet().iterator();
-            while (iterator.hasNext()) {
-                Map.Entry<Ref<EntityStore>, Long> entry = iterator.next();
-                Ref<EntityStore> ref = entry.getKey();
-                Long expiresAt = entry.getValue();
-
-                if (ref == null || !ref.isValid()) {
-                    iterator.remove();
-                    continue;
-                }
-                if (expiresAt == null || nowNanos < expiresAt) continue;
-
+            for (Ref<EntityStore> ref : despawnTimers.advance(nowNanos)) {
+                if (activeBalloonsByRef.remove(ref) == null) continue;
+                if (ref == null || !ref.isValid()) continue;
                 safeRemove(commandBuffer, ref);
-                iterator.remove();
             }
         }
     }
@@ -413,6 +478,7 @@ public final class CtfBalloonSpawnService {
                              World regionWorld,
                              CtfRegionRepository.RegionDefinition region,
                              long nowNanos,
+                             long despawnAfterNanos,
                              @Nullable String fallbackRequesterUuid) {
         if (region == null) return false;
         if (store == null || commandBuffer == null || regionWorld == null) return false;
@@ -426,16 +492,27 @@ public final class CtfBalloonSpawnService {
         }
 
         for (int attempt = 0; attempt < MAX_ATTEMPTS_PER_SPAWN; attempt++) {
-            int x = ThreadLocalRandom.current().nextInt(region.minX(), region.maxX() + 1);
-            int z = ThreadLocalRandom.current().nextInt(region.minZ(), region.maxZ() + 1);
+            int x;
+            int y;
+            int z;
+            BalloonSpawnPool.Candidate candidate = spawnPool.draw();
+            if (candidate != null) {
+                x = candidate.x();
+                y = candidate.y();
+                z = candidate.z();
+            } else {
+                // Pool still empty (first slices of a match, or region too large to pool): probe a random column.
+                x = ThreadLocalRandom.current().nextInt(region.minX(), region.maxX() + 1);
+                z = ThreadLocalRandom.current().nextInt(region.minZ(), region.maxZ() + 1);
 
-            long chunkIndex = ChunkUtil.indexChunkFromBlock(x, z);
-            WorldChunk chunk = regionWorld.getChunkIfLoaded(chunkIndex);
-            if (chunk == null) {
-                continue;
+                long chunkIndex = ChunkUtil.indexChunkFromBlock(x, z);
+                WorldChunk chunk = regionWorld.getChunkIfLoaded(chunkIndex);
+                if (chunk == null) {
+                    continue;
+                }
+                y = (int) chunk.getHeight(x, z) + 1;
             }
 
-            int y = (int) chunk.getHeight(x, z) + 1;
             Ref<EntityStore> spawned = spawnBalloonNpc(
                     store,
                     regionWorld,
@@ -447,8 +524,10 @@ public final class CtfBalloonSpawnService {
             }
 
             synchronized (lock) {
-                activeBalloonsByRef.put(spawned, nowNanos + DESPAWN_AFTER_NANOS);
+                activeBalloonsByRef.put(spawned, nowNanos + despawnAfterNanos);
+                despawnTimers.schedule(spawned, nowNanos + despawnAfterNanos);
             }
+            balloonWorldName = regionWorld.getName();
             return true;
         }
 
@@ -538,12 +617,9 @@ public final class CtfBalloonSpawnService {
             lastTemplate = templateLabelForSuffix(suffix);
             String command = "npc spawn " + BALLOON_ROLE_ID + suffix;
 
-            Map<String, NpcSnapshot> before = collectNpcSnapshots(store);
-            if (before == null) {
-                lastError = "Unable to snapshot NPC state before fallback command.";
-                continue;
-            }
-
+            // NPCs added to this world while the command runs are reported by CtfBalloonNpcWatchSystem.
+            FallbackCapture capture = new FallbackCapture(world.getName());
+            fallbackCapture = capture;
             try {
                 CommandManager.get().handleCommand(requesterRef, command).get(2, TimeUnit.SECONDS);
             } catch (Throwable t) {
@@ -552,15 +628,11 @@ public final class CtfBalloonSpawnService {
                     logger.atInfo().withCause(t).log("[RR-CTF] Balloon fallback command failed. template=%s", lastTemplate);
                 }
                 continue;
+            } finally {
+                fallbackCapture = null;
             }
 
-            Map<String, NpcSnapshot> after = collectNpcSnapshots(store);
-            if (after == null || after.isEmpty()) {
-                lastError = "Fallback command executed but NPC snapshot after spawn was unavailable.";
-                continue;
-            }
-
-            NpcSnapshot created = findClosestNewNpc(before, after, desiredPosition);
+            NpcSnapshot created = findClosestCaptured(capture, desiredPosition);
             if (created != null && created.ref() != null && created.ref().isValid()) {
                 recordFallbackSuccess(suffix);
                 if (RrDebugFlags.verbose()) {
@@ -665,41 +737,17 @@ public final class CtfBalloonSpawnService {
         return root.getClass().getSimpleName() + ": " + message;
     }
 
-    private @Nullable Map<String, NpcSnapshot> collectNpcSnapshots(Store<EntityStore> store) {
-        if (store == null) return null;
-        try {
-            Map<String, NpcSnapshot> out = new LinkedHashMap<>();
-            store.forEachChunk(NPC_QUERY, (ArchetypeChunk<EntityStore> chunk, CommandBuffer<EntityStore> ignored) -> {
-                for (int index = 0; index < chunk.size(); index++) {
-                    NPCEntity npc = chunk.getComponent(index, NPCEntity.getComponentType());
-                    if (npc == null || npc.getUuid() == null || npc.wasRemoved()) continue;
-                    Ref<EntityStore> ref = chunk.getReferenceTo(index);
-                    if (ref == null || !ref.isValid()) continue;
-
-                    TransformComponent transform = chunk.getComponent(index, TransformComponent.getComponentType());
-                    Vector3d position = (transform == null) ? null : transform.getPosition();
-                    out.put(npc.getUuid().toString(), new NpcSnapshot(ref, position));
-                }
-            });
-            return out;
-        } catch (Throwable t) {
-            logger.atWarning().withCause(t).log("[RR-CTF] Failed collecting NPC snapshot for fallback spawn.");
-            return null;
+    private static @Nullable NpcSnapshot findClosestCaptured(FallbackCapture capture, Vector3d desiredPosition) {
+        List<NpcSnapshot> added;
+        synchronized (capture) {
+            if (capture.added.isEmpty()) return null;
+            added = new ArrayList<>(capture.added);
         }
-    }
-
-    private static @Nullable NpcSnapshot findClosestNewNpc(Map<String, NpcSnapshot> before,
-                                                           Map<String, NpcSnapshot> after,
-                                                           Vector3d desiredPosition) {
-        if (after == null || after.isEmpty()) return null;
 
         NpcSnapshot best = null;
         double bestDistanceSq = Double.MAX_VALUE;
-        for (Map.Entry<String, NpcSnapshot> entry : after.entrySet()) {
-            String uuid = entry.getKey();
-            NpcSnapshot snapshot = entry.getValue();
-            if (uuid == null || snapshot == null || snapshot.ref() == null) continue;
-            if (before != null && before.containsKey(uuid)) continue;
+        for (NpcSnapshot snapshot : added) {
+            if (snapshot == null || snapshot.ref() == null || !snapshot.ref().isValid()) continue;
 
             Vector3d position = snapshot.position();
             if (position == null || desiredPosition == null) return snapshot;
@@ -734,16 +782,29 @@ public final class CtfBalloonSpawnService {
         }
     }
 
-    private boolean isStoreForWorld(Store<EntityStore> store, World world) {
-        if (store == null || world == null) return false;
+    /** World whose tick owns balloon work: the region world, else wherever balloons were last spawned. */
+    private @Nullable String sliceWorldName() {
+        CtfRegionRepository.RegionDefinition region = (regionRepository == null) ? null : regionRepository.get();
+        if (region != null && region.worldName() != null && !region.worldName().isBlank()) {
+            return region.worldName();
+        }
+        return balloonWorldName;
+    }
+
+    /** Wall-clock budget for spawning in one slice (-Drr.balloon.sliceBudgetMicros, default 2000). */
+    private static long sliceSpawnBudgetNanos() {
+        Integer v = Integer.getInteger("rr.balloon.sliceBudgetMicros");
+        return ((v == null || v < 1) ? 2_000L : v) * 1_000L;
+    }
+
+    private static @Nullable String worldNameOf(Store<EntityStore> store) {
         try {
             Object external = store.getExternalData();
-            if (!(external instanceof EntityStore entityStore)) return false;
+            if (!(external instanceof EntityStore entityStore)) return null;
             World storeWorld = entityStore.getWorld();
-            if (storeWorld == null) return false;
-            return storeWorld.getName().equals(world.getName());
+            return (storeWorld == null) ? null : storeWorld.getName();
         } catch (Throwable ignored) {
-            return false;
+            return null;
         }
     }
 
@@ -812,6 +873,7 @@ public final class CtfBalloonSpawnService {
             Ref<EntityStore> ref = iterator.next();
             if (ref == null || !ref.isValid()) {
                 iterator.remove();
+                despawnTimers.cancel(ref);
             }
         }
     }
@@ -822,6 +884,7 @@ public final class CtfBalloonSpawnService {
                                          boolean fallbackReady,
                                          boolean roleResolvable,
                                          int activeCount,
+                                         int maxActive,
                                          long fallbackCooldownRemainingSeconds) {
         if (matchService == null) return "Capture The Flag match service is unavailable.";
         if (!matchService.isRunning()) return "Capture The Flag match is not running.";
@@ -835,7 +898,7 @@ public final class CtfBalloonSpawnService {
             return "Balloon command fallback cooling down (" + fallbackCooldownRemainingSeconds + "s).";
         }
         if (!directApiReady && !fallbackReady) return "No balloon spawn backend is available.";
-        if (activeCount >= MAX_ACTIVE_BALLOONS) return "Active balloon cap reached (" + MAX_ACTIVE_BALLOONS + ").";
+        if (activeCount >= maxActive) return "Active balloon cap reached (" + maxActive + ").";
         return null;
     }
 
@@ -1,19 +1,26 @@
 package com.Chris__.realm_ruler.match;
 
+import com.Chris__.realm_ruler.core.PlayerKeys;
 import com.hypixel.hytale.component.ArchetypeChunk;
 import com.hypixel.hytale.component.CommandBuffer;
-import com.hypixel.hytale.component.Holder;
+import com.hypixel.hytale.component.ComponentType;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
-import com.hypixel.hytale.server.core.entity.EntityUtils;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
+/**
+ * CtfBalloonSpawnSystem
+ *
+ * Drives the balloon spawner from player ticks. The service only acts on ticks from its region's
+ * world (checked before any locking), so ticks from other worlds return immediately.
+ */
 public final class CtfBalloonSpawnSystem extends EntityTickingSystem<EntityStore> {
 
-    private final Query<EntityStore> query = Query.and(Player.getComponentType(), PlayerRef.getComponentType());
+    private final ComponentType<EntityStore, PlayerRef> playerRefType = PlayerRef.getComponentType();
+    private final Query<EntityStore> query = Query.and(Player.getComponentType(), playerRefType);
     private final CtfBalloonSpawnService balloonSpawnService;
 
     public CtfBalloonSpawnSystem(CtfBalloonSpawnService balloonSpawnService) {
@@ -33,12 +40,7 @@ public final class CtfBalloonSpawnSystem extends EntityTickingSystem<EntityStore
                      CommandBuffer<EntityStore> commandBuffer) {
         if (balloonSpawnService == null || store == null || commandBuffer == null) return;
 
-        Holder<EntityStore> holder = EntityUtils.toHolder(entityId, chunk);
-        PlayerRef playerRef = holder.getComponent(PlayerRef.getComponentType());
-        String fallbackRequesterUuid = (playerRef == null || playerRef.getUuid() == null)
-                ? null
-                : playerRef.getUuid().toString();
-
+        String fallbackRequesterUuid = PlayerKeys.of(chunk.getComponent(entityId, playerRefType));
         balloonSpawnService.processSlice(store, commandBuffer, fallbackRequesterUuid);
     }
 }
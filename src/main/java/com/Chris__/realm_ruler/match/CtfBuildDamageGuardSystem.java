@@ -1,12 +1,12 @@
 package com.Chris__.realm_ruler.match;
 
+import com.Chris__.realm_ruler.core.PlayerKeys;
 import com.hypixel.hytale.component.ArchetypeChunk;
 import com.hypixel.hytale.component.CommandBuffer;
-import com.hypixel.hytale.component.Holder;
+import com.hypixel.hytale.component.ComponentType;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.EntityEventSystem;
-import com.hypixel.hytale.server.core.entity.EntityUtils;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.event.events.ecs.DamageBlockEvent;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
@@ -14,7 +14,8 @@ import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
 public final class CtfBuildDamageGuardSystem extends EntityEventSystem<EntityStore, DamageBlockEvent> {
 
-    private final Query<EntityStore> query = Query.and(Player.getComponentType(), PlayerRef.getComponentType());
+    private final ComponentType<EntityStore, PlayerRef> playerRefType = PlayerRef.getComponentType();
+    private final Query<EntityStore> query = Query.and(Player.getComponentType(), playerRefType);
 
     private final CtfMatchService matchService;
 
@@ -36,11 +37,8 @@ public final class CtfBuildDamageGuardSystem extends EntityEventSystem<EntitySto
                        DamageBlockEvent event) {
         if (event == null || matchService == null || !matchService.isRunning()) return;
 
-        Holder<EntityStore> holder = EntityUtils.toHolder(entityId, chunk);
-        PlayerRef playerRef = holder.getComponent(PlayerRef.getComponentType());
-        if (playerRef == null || playerRef.getUuid() == null) return;
-
-        String uuid = playerRef.getUuid().toString();
+        String uuid = PlayerKeys.of(chunk.getComponent(entityId, playerRefType));
+        if (uuid == null) return;
         if (!matchService.isActiveMatchParticipant(uuid)) return;
 
         event.setCancelled(true);
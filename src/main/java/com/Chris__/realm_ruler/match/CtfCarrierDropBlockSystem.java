@@ -1,12 +1,12 @@
 package com.Chris__.realm_ruler.match;
 
+import com.Chris__.realm_ruler.core.PlayerKeys;
 import com.hypixel.hytale.component.ArchetypeChunk;
 import com.hypixel.hytale.component.CommandBuffer;
-import com.hypixel.hytale.component.Holder;
+import com.hypixel.hytale.component.ComponentType;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.EntityEventSystem;
-import com.hypixel.hytale.server.core.entity.EntityUtils;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.event.events.ecs.DropItemEvent;
 import com.hypixel.hytale.server.core.inventory.Inventory;
@@ -15,7 +15,8 @@ import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
 public final class CtfCarrierDropBlockSystem extends EntityEventSystem<EntityStore, DropItemEvent.PlayerRequest> {
 
-    private final Query<EntityStore> query = Query.and(Player.getComponentType(), PlayerRef.getComponentType());
+    private final ComponentType<EntityStore, PlayerRef> playerRefType = PlayerRef.getComponentType();
+    private final Query<EntityStore> query = Query.and(Player.getComponentType(), playerRefType);
 
     private final CtfMatchService matchService;
     private final CtfFlagStateService flagStateService;
@@ -41,11 +42,8 @@ public final class CtfCarrierDropBlockSystem extends EntityEventSystem<EntitySto
         if (!matchService.isRunning()) return;
         if (event.getInventorySectionId() != Inventory.HOTBAR_SECTION_ID) return;
 
-        Holder<EntityStore> holder = EntityUtils.toHolder(entityId, chunk);
-        PlayerRef playerRef = holder.getComponent(PlayerRef.getComponentType());
-        if (playerRef == null || playerRef.getUuid() == null) return;
-
-        String uuid = playerRef.getUuid().toString();
+        String uuid = PlayerKeys.of(chunk.getComponent(entityId, playerRefType));
+        if (uuid == null) return;
         if (!matchService.isActiveMatchParticipant(uuid)) return;
 
         Byte lockedSlot = flagStateService.lockedHotbarSlotForCarrier(uuid);
@@ -1,6 +1,7 @@
 package com.Chris__.realm_ruler.match;
 
 import com.Chris__.realm_ruler.core.RrDebugFlags;
+import com.Chris__.realm_ruler.core.TimerWheel;
 import com.Chris__.realm_ruler.integration.SimpleClaimsCtfBridge;
 import com.Chris__.realm_ruler.modes.ctf.CtfRules;
 import com.Chris__.realm_ruler.ui.CtfFlagsHudState;
@@ -16,14 +17,25 @@ import com.hypixel.hytale.server.core.universe.world.World;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 
+/**
+ * Flag state for the running CTF match: where each flag is, who carries it and which hotbar slot is
+ * locked for the carrier.
+ *
+ * Single writer: every mutator runs from MatchClock.poll() work, i.e. a TickExecutor command, the
+ * per-slice callback (dropped-flag timeouts, teardown) or the end-of-match callback. poll() runs
+ * them one at a time, so the mutable maps need no lock. Every other thread reads the published
+ * Snapshot (or lastKnownHomeStandByFlag, which is concurrent) and posts changes to the tick queue.
+ */
 public final class CtfFlagStateService {
 
     public sealed interface FlagState permits FlagState.InStand, FlagState.Held, FlagState.Dropped {
@@ -45,6 +57,16 @@ public final class CtfFlagStateService {
     public record StandLocation(String worldName, int x, int y, int z) {
     }
 
+    /**
+     * Immutable copy of flag states, carriers and locked slots. The writer publishes a new Snapshot
+     * (version + 1) after every mutation; readers on other threads just read the volatile reference.
+     */
+    public record Snapshot(long version,
+                           Map<CtfMatchService.Team, FlagState> stateByFlag,
+                           Map<String, CtfMatchService.Team> carrierFlagByUuid,
+                           Map<String, Byte> lockedSlotByUuid) {
+    }
+
     public enum ReturnResolutionMode {
         STRICT,
         SOFT,
@@ -54,8 +76,6 @@ public final class CtfFlagStateService {
     private static final long DROP_AUTO_RETURN_DELAY_NANOS = 30_000_000_000L;
     private static final long DROP_RETRY_DELAY_NANOS = 5_000_000_000L;
 
-    private final Object lock = new Object();
-
     private final CtfMatchService matchService;
     private final SimpleClaimsCtfBridge simpleClaims;
     private final CtfStandRegistryRepository standRegistry;
@@ -65,8 +85,13 @@ public final class CtfFlagStateService {
     private final Map<CtfMatchService.Team, FlagState> stateByFlag = new EnumMap<>(CtfMatchService.Team.class);
     private final Map<String, CtfMatchService.Team> carrierFlagByUuid = new HashMap<>();
     private final Map<String, Byte> lockedSlotByUuid = new HashMap<>();
+    // Read by commands (missing-home checks) and disconnect handling off the tick queue.
     private final Map<CtfMatchService.Team, CtfStandRegistryRepository.StandLocation> lastKnownHomeStandByFlag =
-            new EnumMap<>(CtfMatchService.Team.class);
+            new ConcurrentHashMap<>();
+    // Dropped flag -> next auto-return attempt. Stale entries (flag picked up meanwhile) are ignored when they fire.
+    private final TimerWheel<CtfMatchService.Team> returnTimers = new TimerWheel<>();
+
+    private volatile Snapshot snapshot = new Snapshot(0L, Map.of(), Map.of(), Map.of());
 
     public CtfFlagStateService(CtfMatchService matchService,
                                SimpleClaimsCtfBridge simpleClaims,
@@ -82,14 +107,14 @@ public final class CtfFlagStateService {
     }
 
     public void resetForNewMatch() {
-        synchronized (lock) {
-            stateByFlag.put(CtfMatchService.Team.RED, new FlagState.InStand(null, CtfMatchService.Team.RED.displayName()));
-            stateByFlag.put(CtfMatchService.Team.BLUE, new FlagState.InStand(null, CtfMatchService.Team.BLUE.displayName()));
-            stateByFlag.put(CtfMatchService.Team.YELLOW, new FlagState.InStand(null, CtfMatchService.Team.YELLOW.displayName()));
-            stateByFlag.put(CtfMatchService.Team.WHITE, new FlagState.InStand(null, CtfMatchService.Team.WHITE.displayName()));
-            carrierFlagByUuid.clear();
-            lockedSlotByUuid.clear();
-        }
+        stateByFlag.put(CtfMatchService.Team.RED, new FlagState.InStand(null, CtfMatchService.Team.RED.displayName()));
+        stateByFlag.put(CtfMatchService.Team.BLUE, new FlagState.InStand(null, CtfMatchService.Team.BLUE.displayName()));
+        stateByFlag.put(CtfMatchService.Team.YELLOW, new FlagState.InStand(null, CtfMatchService.Team.YELLOW.displayName()));
+        stateByFlag.put(CtfMatchService.Team.WHITE, new FlagState.InStand(null, CtfMatchService.Team.WHITE.displayName()));
+        carrierFlagByUuid.clear();
+        lockedSlotByUuid.clear();
+        returnTimers.clear();
+        publish();
     }
 
     public void onWithdrawn(String holderUuid,
@@ -103,13 +128,12 @@ public final class CtfFlagStateService {
         CtfMatchService.Team flag = flagTeamFromItemId(flagItemId);
         if (flag == null) return;
 
-        synchronized (lock) {
-            if (holderUuid != null && !holderUuid.isBlank()) {
-                carrierFlagByUuid.put(holderUuid, flag);
-                lockedSlotByUuid.put(holderUuid, lockedHotbarSlot);
-            }
-            stateByFlag.put(flag, new FlagState.Held(holderUuid, holderName, lockedHotbarSlot));
+        if (holderUuid != null && !holderUuid.isBlank()) {
+            carrierFlagByUuid.put(holderUuid, flag);
+            lockedSlotByUuid.put(holderUuid, lockedHotbarSlot);
         }
+        stateByFlag.put(flag, new FlagState.Held(holderUuid, holderName, lockedHotbarSlot));
+        publish();
 
         if (RrDebugFlags.verbose()) {
             logger.atInfo().log("[RR-CTF] flag withdrawn flag=%s holder=%s @ %s(%d,%d,%d) slot=%d",
@@ -149,24 +173,23 @@ public final class CtfFlagStateService {
             baseTeamName = (parsedOwner == null) ? null : parsedOwner.displayName();
         }
 
-        synchronized (lock) {
-            if (depositorUuid != null && !depositorUuid.isBlank()) {
-                CtfMatchService.Team carried = carrierFlagByUuid.get(depositorUuid);
-                if (carried == flag) {
-                    carrierFlagByUuid.remove(depositorUuid);
-                    lockedSlotByUuid.remove(depositorUuid);
-                }
-            }
-
-            FlagState previous = stateByFlag.get(flag);
-            if (previous instanceof FlagState.Held held) {
-                carrierFlagByUuid.remove(held.holderUuid());
-                lockedSlotByUuid.remove(held.holderUuid());
+        if (depositorUuid != null && !depositorUuid.isBlank()) {
+            CtfMatchService.Team carried = carrierFlagByUuid.get(depositorUuid);
+            if (carried == flag) {
+                carrierFlagByUuid.remove(depositorUuid);
+                lockedSlotByUuid.remove(depositorUuid);
             }
+        }
 
-            stateByFlag.put(flag, new FlagState.InStand(new StandLocation(worldName, x, y, z), baseTeamName));
+        FlagState previous = stateByFlag.get(flag);
+        if (previous instanceof FlagState.Held held) {
+            carrierFlagByUuid.remove(held.holderUuid());
+            lockedSlotByUuid.remove(held.holderUuid());
         }
 
+        stateByFlag.put(flag, new FlagState.InStand(new StandLocation(worldName, x, y, z), baseTeamName));
+        publish();
+
         if (RrDebugFlags.verbose()) {
             logger.atInfo().log("[RR-CTF] flag deposited flag=%s base=%s by=%s @ %s(%d,%d,%d)",
                     flag.displayName(),
@@ -185,11 +208,10 @@ public final class CtfFlagStateService {
                                   byte lockedHotbarSlot) {
         if (flagTeam == null || carrierUuid == null || carrierUuid.isBlank()) return;
 
-        synchronized (lock) {
-            carrierFlagByUuid.put(carrierUuid, flagTeam);
-            lockedSlotByUuid.put(carrierUuid, lockedHotbarSlot);
-            stateByFlag.put(flagTeam, new FlagState.Held(carrierUuid, carrierName, lockedHotbarSlot));
-        }
+        carrierFlagByUuid.put(carrierUuid, flagTeam);
+        lockedSlotByUuid.put(carrierUuid, lockedHotbarSlot);
+        stateByFlag.put(flagTeam, new FlagState.Held(carrierUuid, carrierName, lockedHotbarSlot));
+        publish();
     }
 
     public boolean markCarrierDropped(String carrierUuid,
@@ -200,10 +222,7 @@ public final class CtfFlagStateService {
         if (carrierUuid == null || carrierUuid.isBlank()) return false;
         if (worldName == null || worldName.isBlank()) return false;
 
-        CtfMatchService.Team flagTeam;
-        synchronized (lock) {
-            flagTeam = carrierFlagByUuid.get(carrierUuid);
-        }
+        CtfMatchService.Team flagTeam = snapshot.carrierFlagByUuid().get(carrierUuid);
         if (flagTeam == null) return false;
         return markFlagDropped(flagTeam, carrierUuid, worldName, x, y, z);
     }
@@ -217,61 +236,57 @@ public final class CtfFlagStateService {
         if (flagTeam == null) return false;
         if (worldName == null || worldName.isBlank()) return false;
 
-        synchronized (lock) {
-            if (carrierUuid != null && !carrierUuid.isBlank()) {
-                CtfMatchService.Team current = carrierFlagByUuid.get(carrierUuid);
-                if (current == flagTeam) {
-                    carrierFlagByUuid.remove(carrierUuid);
-                }
-                lockedSlotByUuid.remove(carrierUuid);
-            }
-
-            FlagState currentState = stateByFlag.get(flagTeam);
-            if (currentState instanceof FlagState.Held held) {
-                carrierFlagByUuid.remove(held.holderUuid());
-                lockedSlotByUuid.remove(held.holderUuid());
+        if (carrierUuid != null && !carrierUuid.isBlank()) {
+            CtfMatchService.Team current = carrierFlagByUuid.get(carrierUuid);
+            if (current == flagTeam) {
+                carrierFlagByUuid.remove(carrierUuid);
             }
+            lockedSlotByUuid.remove(carrierUuid);
+        }
 
-            long now = System.nanoTime();
-            stateByFlag.put(flagTeam, new FlagState.Dropped(worldName, x, y, z, now, now + DROP_AUTO_RETURN_DELAY_NANOS));
-            return true;
+        FlagState currentState = stateByFlag.get(flagTeam);
+        if (currentState instanceof FlagState.Held held) {
+            carrierFlagByUuid.remove(held.holderUuid());
+            lockedSlotByUuid.remove(held.holderUuid());
         }
+
+        long now = System.nanoTime();
+        stateByFlag.put(flagTeam, new FlagState.Dropped(worldName, x, y, z, now, now + DROP_AUTO_RETURN_DELAY_NANOS));
+        returnTimers.schedule(flagTeam, now + DROP_AUTO_RETURN_DELAY_NANOS);
+        publish();
+        return true;
+    }
+
+    /** Latest published state. Lock-free; the returned maps are immutable. */
+    public Snapshot snapshot() {
+        return snapshot;
     }
 
     public boolean isFlagDropped(CtfMatchService.Team flagTeam) {
         if (flagTeam == null) return false;
-        synchronized (lock) {
-            return stateByFlag.get(flagTeam) instanceof FlagState.Dropped;
-        }
+        return snapshot.stateByFlag().get(flagTeam) instanceof FlagState.Dropped;
     }
 
     public boolean isCarryingAnyFlag(String uuid) {
         if (uuid == null || uuid.isBlank()) return false;
-        synchronized (lock) {
-            return carrierFlagByUuid.containsKey(uuid);
-        }
+        return snapshot.carrierFlagByUuid().containsKey(uuid);
     }
 
     public @Nullable CtfMatchService.Team carriedFlagFor(String uuid) {
         if (uuid == null || uuid.isBlank()) return null;
-        synchronized (lock) {
-            return carrierFlagByUuid.get(uuid);
-        }
+        return snapshot.carrierFlagByUuid().get(uuid);
     }
 
     public @Nullable Byte lockedHotbarSlotForCarrier(String uuid) {
         if (uuid == null || uuid.isBlank()) return null;
-        synchronized (lock) {
-            return lockedSlotByUuid.get(uuid);
-        }
+        return snapshot.lockedSlotByUuid().get(uuid);
     }
 
     public void clearCarrierLock(String uuid) {
         if (uuid == null || uuid.isBlank()) return;
-        synchronized (lock) {
-            carrierFlagByUuid.remove(uuid);
-            lockedSlotByUuid.remove(uuid);
-        }
+        boolean changed = carrierFlagByUuid.remove(uuid) != null;
+        changed |= lockedSlotByUuid.remove(uuid) != null;
+        if (changed) publish();
     }
 
     public @Nullable ItemStack removeOneFlagFromPlayer(Player player, CtfMatchService.Team flagTeam) {
@@ -323,11 +338,7 @@ public final class CtfFlagStateService {
     public boolean tryReturnDroppedFlagToHome(CtfMatchService.Team flagTeam, StandSwapService standSwapService) {
         if (flagTeam == null || standSwapService == null) return false;
 
-        synchronized (lock) {
-            if (!(stateByFlag.get(flagTeam) instanceof FlagState.Dropped)) {
-                return false;
-            }
-        }
+        if (!isFlagDropped(flagTeam)) return false;
 
         return forceReturnFlagToStand(flagTeam, standSwapService, ReturnResolutionMode.STRICT_THEN_SOFT);
     }
@@ -338,10 +349,7 @@ public final class CtfFlagStateService {
         if (flagTeam == null || standSwapService == null) return false;
         ReturnResolutionMode effectiveMode = (mode == null) ? ReturnResolutionMode.STRICT_THEN_SOFT : mode;
 
-        FlagState originalState;
-        synchronized (lock) {
-            originalState = stateByFlag.get(flagTeam);
-        }
+        FlagState originalState = snapshot.stateByFlag().get(flagTeam);
 
         String standId = standIdForTeam(flagTeam);
         if (standId == null) return false;
@@ -371,26 +379,25 @@ public final class CtfFlagStateService {
                 }
             }
 
-            synchronized (lock) {
-                FlagState currentState = stateByFlag.get(flagTeam);
-                if (currentState instanceof FlagState.Held held) {
-                    carrierFlagByUuid.remove(held.holderUuid());
-                    lockedSlotByUuid.remove(held.holderUuid());
-                }
-
-                if (originalState instanceof FlagState.Held held) {
-                    carrierFlagByUuid.remove(held.holderUuid());
-                    lockedSlotByUuid.remove(held.holderUuid());
-                }
+            FlagState currentState = stateByFlag.get(flagTeam);
+            if (currentState instanceof FlagState.Held held) {
+                carrierFlagByUuid.remove(held.holderUuid());
+                lockedSlotByUuid.remove(held.holderUuid());
+            }
 
-                stateByFlag.put(flagTeam,
-                        new FlagState.InStand(
-                                new StandLocation(destination.worldName(), destination.x(), destination.y(), destination.z()),
-                                flagTeam.displayName()
-                        ));
-                lastKnownHomeStandByFlag.put(flagTeam, destination);
+            if (originalState instanceof FlagState.Held held) {
+                carrierFlagByUuid.remove(held.holderUuid());
+                lockedSlotByUuid.remove(held.holderUuid());
             }
 
+            stateByFlag.put(flagTeam,
+                    new FlagState.InStand(
+                            new StandLocation(destination.worldName(), destination.x(), destination.y(), destination.z()),
+                            flagTeam.displayName()
+                    ));
+            lastKnownHomeStandByFlag.put(flagTeam, destination);
+            publish();
+
             if (RrDebugFlags.verbose()) {
                 logger.atInfo().log("[RR-CTF] force-return success flag=%s source=%s mode=%s @ %s(%d,%d,%d)",
                         flagTeam.displayName(),
@@ -429,30 +436,28 @@ public final class CtfFlagStateService {
         if (standSwapService == null) return;
         long now = System.nanoTime();
 
-        for (CtfMatchService.Team flagTeam : CtfMatchService.Team.values()) {
-            FlagState.Dropped dropped;
-            synchronized (lock) {
-                FlagState current = stateByFlag.get(flagTeam);
-                if (!(current instanceof FlagState.Dropped d)) continue;
-                if (now < d.nextReturnAttemptNanos()) continue;
-                dropped = d;
+        for (CtfMatchService.Team flagTeam : returnTimers.advance(now)) {
+            if (!(snapshot.stateByFlag().get(flagTeam) instanceof FlagState.Dropped dropped)) continue;
+            if (now < dropped.nextReturnAttemptNanos()) {
+                returnTimers.schedule(flagTeam, dropped.nextReturnAttemptNanos());
+                continue;
             }
 
             boolean returned = tryReturnDroppedFlagToHome(flagTeam, standSwapService);
             if (returned) continue;
 
-            synchronized (lock) {
-                FlagState current = stateByFlag.get(flagTeam);
-                if (!(current instanceof FlagState.Dropped)) continue;
-                stateByFlag.put(flagTeam, new FlagState.Dropped(
-                        dropped.worldName(),
-                        dropped.x(),
-                        dropped.y(),
-                        dropped.z(),
-                        dropped.droppedAtNanos(),
-                        now + DROP_RETRY_DELAY_NANOS
-                ));
-            }
+            FlagState current = stateByFlag.get(flagTeam);
+            if (!(current instanceof FlagState.Dropped)) continue;
+            stateByFlag.put(flagTeam, new FlagState.Dropped(
+                    dropped.worldName(),
+                    dropped.x(),
+                    dropped.y(),
+                    dropped.z(),
+                    dropped.droppedAtNanos(),
+                    now + DROP_RETRY_DELAY_NANOS
+            ));
+            returnTimers.schedule(flagTeam, now + DROP_RETRY_DELAY_NANOS);
+            publish();
 
             if (RrDebugFlags.verbose()) {
                 logger.atInfo().log("[RR-CTF] dropped flag return retry scheduled flag=%s world=%s x=%.2f y=%.2f z=%.2f",
@@ -498,9 +503,7 @@ public final class CtfFlagStateService {
             standRegistry.addStand(team, candidate);
         }
 
-        synchronized (lock) {
-            lastKnownHomeStandByFlag.put(team, candidate);
-        }
+        lastKnownHomeStandByFlag.put(team, candidate);
 
         if (RrDebugFlags.verbose()) {
             logger.atInfo().log("[RR-CTF] remembered home stand team=%s @ %s(%d,%d,%d)",
@@ -537,24 +540,24 @@ public final class CtfFlagStateService {
     }
 
     public CtfFlagsHudState snapshotHudState() {
+        Map<CtfMatchService.Team, FlagState> states = snapshot.stateByFlag();
         return new CtfFlagsHudState(
-                formatForHud(CtfMatchService.Team.RED),
-                formatForHud(CtfMatchService.Team.BLUE),
-                formatForHud(CtfMatchService.Team.YELLOW),
-                formatForHud(CtfMatchService.Team.WHITE)
+                formatForHud(states.get(CtfMatchService.Team.RED)),
+                formatForHud(states.get(CtfMatchService.Team.BLUE)),
+                formatForHud(states.get(CtfMatchService.Team.YELLOW)),
+                formatForHud(states.get(CtfMatchService.Team.WHITE))
         );
     }
 
     public Map<String, Integer> computeScoresAtEnd() {
         Map<String, Integer> scores = new HashMap<>();
-        synchronized (lock) {
-            for (CtfMatchService.Team flag : CtfMatchService.Team.values()) {
-                FlagState st = stateByFlag.get(flag);
-                if (st instanceof FlagState.InStand inStand) {
-                    String base = inStand.baseTeamName();
-                    if (base != null && !base.isBlank()) {
-                        scores.merge(base, 1, Integer::sum);
-                    }
+        Map<CtfMatchService.Team, FlagState> states = snapshot.stateByFlag();
+        for (CtfMatchService.Team flag : CtfMatchService.Team.values()) {
+            FlagState st = states.get(flag);
+            if (st instanceof FlagState.InStand inStand) {
+                String base = inStand.baseTeamName();
+                if (base != null && !base.isBlank()) {
+                    scores.merge(base, 1, Integer::sum);
                 }
             }
         }
@@ -573,28 +576,32 @@ public final class CtfFlagStateService {
             }
         }
 
-        synchronized (lock) {
-            if (standSwapService != null) {
-                for (Map.Entry<CtfMatchService.Team, FlagState> entry : stateByFlag.entrySet()) {
-                    CtfMatchService.Team flagTeam = entry.getKey();
-                    FlagState state = entry.getValue();
-                    if (!(state instanceof FlagState.InStand inStand)) continue;
+        if (standSwapService != null) {
+            for (Map.Entry<CtfMatchService.Team, FlagState> entry : stateByFlag.entrySet()) {
+                CtfMatchService.Team flagTeam = entry.getKey();
+                FlagState state = entry.getValue();
+                if (!(state instanceof FlagState.InStand inStand)) continue;
 
-                    StandLocation location = inStand.location();
-                    if (location == null) continue;
+                StandLocation location = inStand.location();
+                if (location == null) continue;
 
-                    String base = inStand.baseTeamName();
-                    boolean isHome = (base != null) && base.equalsIgnoreCase(flagTeam.displayName());
-                    if (isHome) continue;
+                String base = inStand.baseTeamName();
+                boolean isHome = (base != null) && base.equalsIgnoreCase(flagTeam.displayName());
+                if (isHome) continue;
 
-                    World world = Universe.get().getWorld(location.worldName());
-                    if (world == null) continue;
-                    standSwapService.swapStand(world, location.x(), location.y(), location.z(), CtfRules.STAND_EMPTY);
-                }
+                World world = Universe.get().getWorld(location.worldName());
+                if (world == null) continue;
+                standSwapService.swapStand(world, location.x(), location.y(), location.z(), CtfRules.STAND_EMPTY);
             }
-            carrierFlagByUuid.clear();
-            lockedSlotByUuid.clear();
         }
+        carrierFlagByUuid.clear();
+        lockedSlotByUuid.clear();
+        publish();
+    }
+
+    /** Remove every CTF flag item from one player's inventory (post-match teardown runs per participant). */
+    public void removeFlagItems(Player player) {
+        removeAllFlagsFromPlayer(player);
     }
 
     public static @Nullable CtfMatchService.Team flagTeamFromItemId(String flagItemId) {
@@ -681,6 +688,8 @@ public final class CtfFlagStateService {
         if (flagTeam == null || mode == null || out == null) return;
 
         if (standRegistry != null) {
+            // Registration order is the contract here (primary stand first), not distance, and a team
+            // has a handful of stands; the spatial index answers the position queries (standAt, isNearAnyStand).
             List<CtfStandRegistryRepository.StandLocation> candidates = standRegistry.getOrderedStands(flagTeam);
             for (CtfStandRegistryRepository.StandLocation candidate : candidates) {
                 if (!isCandidateAccepted(flagTeam, candidate, mode)) continue;
@@ -688,10 +697,7 @@ public final class CtfFlagStateService {
             }
         }
 
-        CtfStandRegistryRepository.StandLocation lastKnown;
-        synchronized (lock) {
-            lastKnown = lastKnownHomeStandByFlag.get(flagTeam);
-        }
+        CtfStandRegistryRepository.StandLocation lastKnown = lastKnownHomeStandByFlag.get(flagTeam);
         if (isCandidateAccepted(flagTeam, lastKnown, mode)) {
             addUniqueResolved(out, lastKnown, "last-known-" + mode.name().toLowerCase());
         }
@@ -730,10 +736,7 @@ public final class CtfFlagStateService {
             }
         }
 
-        CtfStandRegistryRepository.StandLocation lastKnown;
-        synchronized (lock) {
-            lastKnown = lastKnownHomeStandByFlag.get(team);
-        }
+        CtfStandRegistryRepository.StandLocation lastKnown = lastKnownHomeStandByFlag.get(team);
         if (lastKnown != null) {
             hasRecorded = true;
             CandidateValidation validation = validateHomeStandCandidate(team, lastKnown);
@@ -809,12 +812,7 @@ public final class CtfFlagStateService {
         return CandidateValidation.VALID;
     }
 
-    private String formatForHud(CtfMatchService.Team flagTeam) {
-        FlagState state;
-        synchronized (lock) {
-            state = stateByFlag.get(flagTeam);
-        }
-
+    private String formatForHud(@Nullable FlagState state) {
         if (state == null) return "Neutral";
 
         if (state instanceof FlagState.InStand inStand) {
@@ -838,6 +836,16 @@ public final class CtfFlagStateService {
         return "Neutral";
     }
 
+    /** Publish the current mutable state as a new immutable Snapshot. */
+    private void publish() {
+        snapshot = new Snapshot(
+                snapshot.version() + 1L,
+                Collections.unmodifiableMap(new EnumMap<>(stateByFlag)),
+                Map.copyOf(carrierFlagByUuid),
+                Map.copyOf(lockedSlotByUuid)
+        );
+    }
+
     private @Nullable ItemStack createFlagStack(String itemId) {
         if (itemStackFactory == null || itemId == null || itemId.isBlank()) return null;
         try {
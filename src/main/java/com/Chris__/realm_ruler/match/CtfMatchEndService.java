@@ -13,12 +13,53 @@ import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
 
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
+/**
+ * CtfMatchEndService
+ *
+ * Ends a match in two parts. endMatch() does the match-wide work at once: scores, win awards (one
+ * points batch), stand resets, flag returns and clearing the roster. Everything per participant
+ * (flag items, SimpleClaims team, restore teleport, armor) becomes a teardown job that
+ * processTeardownSlice() works through a few participants per slice, so a large match does not
+ * end in one long tick.
+ *
+ * The job is journaled (CtfTeardownJournal) when it starts, its progress is saved after every slice,
+ * and the journal is cleared when it finishes. A teardown cut short by a server stop is picked up by
+ * resumePendingTeardown() on the next start at the saved cursor, so only the slice that was running
+ * is repeated; players who are offline by then still get their SimpleClaims team cleared and a
+ * restore teleport queued.
+ *
+ * Tuning (JVM system properties):
+ * - Participants torn down per slice: -Drr.ctf.teardownPerSlice=8
+ */
 public final class CtfMatchEndService {
 
+    public record TeardownProgress(String matchId, int total, int done, boolean resumed) {
+    }
+
+    private static final class TeardownJob {
+        private final String matchId;
+        private final List<CtfTeardownJournal.Entry> entries;
+        private final boolean resumed;
+        private final long startedAtNanos = System.nanoTime();
+        private int next = 0;
+        private int slices = 0;
+
+            private TeardownJob(String matchId, List<CtfTeardownJournal.Entry> entries, int next, boolean resumed) {
+            this.matchId = matchId;
+            this.entries = entries;
+            this.next = next;
+            this.resumed = resumed;
+        }
+    }
+
     public enum EndReason {
         TIME_EXPIRED,
         STOPPED
@@ -34,8 +75,12 @@ public final class CtfMatchEndService {
     private final TargetingService targetingService;
     private final Map<String, Player> playerByUuid;
     private final CtfArmorLoadoutService armorLoadoutService;
+    private final CtfTeardownJournal teardownJournal;
     private final HytaleLogger logger;
 
+    private final Object lock = new Object();
+    private TeardownJob teardownJob = null;
+
     public CtfMatchEndService(CtfMatchService matchService,
                               SimpleClaimsCtfBridge simpleClaims,
                               CtfFlagStateService flagStateService,
@@ -45,6 +90,20 @@ public final class CtfMatchEndService {
                               Map<String, Player> playerByUuid,
                               CtfArmorLoadoutService armorLoadoutService,
                               HytaleLogger logger) {
+        this(matchService, simpleClaims, flagStateService, pointsRepository, standSwapService,
+                targetingService, playerByUuid, armorLoadoutService, null, logger);
+    }
+
+    public CtfMatchEndService(CtfMatchService matchService,
+                              SimpleClaimsCtfBridge simpleClaims,
+                              CtfFlagStateService flagStateService,
+                              CtfPointsRepository pointsRepository,
+                              StandSwapService standSwapService,
+                              TargetingService targetingService,
+                              Map<String, Player> playerByUuid,
+                              CtfArmorLoadoutService armorLoadoutService,
+                              @Nullable CtfTeardownJournal teardownJournal,
+                              HytaleLogger logger) {
         this.matchService = matchService;
         this.simpleClaims = simpleClaims;
         this.flagStateService = flagStateService;
@@ -53,6 +112,7 @@ public final class CtfMatchEndService {
         this.targetingService = targetingService;
         this.playerByUuid = playerByUuid;
         this.armorLoadoutService = armorLoadoutService;
+        this.teardownJournal = teardownJournal;
         this.logger = logger;
     }
 
@@ -83,32 +143,32 @@ public final class CtfMatchEndService {
             Universe.get().sendMessage(Message.raw("[RealmRuler] Winner: " + winner.displayName() + "!"));
 
             if (pointsRepository != null) {
+                Map<String, Integer> awards = new HashMap<>();
                 for (Map.Entry<String, CtfMatchService.Team> e : matchService.getActiveMatchTeams().entrySet()) {
                     if (e.getKey() == null || e.getValue() == null) continue;
                     if (e.getValue() != winner) continue;
-                    pointsRepository.addPoints(e.getKey(), WIN_POINTS_AWARD);
+                    awards.put(e.getKey(), WIN_POINTS_AWARD);
                 }
+                pointsRepository.addPointsBatch(awards, "ctf-win", matchService.currentMatchId());
             }
         }
 
-        // Cleanup: remove flags from players + reset captured stands.
-        flagStateService.cleanupAfterMatch(standSwapService, playerByUuid, matchUuids);
+        // Match-wide cleanup now: reset captured stands and return flags. Flag items in inventories
+        // are removed per participant by the teardown job.
+        flagStateService.cleanupAfterMatch(standSwapService, null, null);
         boolean flagsReset = flagStateService.forceReturnAllFlagsToTeamStands(standSwapService);
         if (!flagsReset) {
             logger.atWarning().log("[RR-CTF] Match ended but one or more flags failed to reset to team stands.");
         }
 
-        // Clear SimpleClaims temporary team access.
-        if (simpleClaims != null && simpleClaims.isAvailable()) {
-            simpleClaims.clearTeams(matchUuids);
-        }
-
-        // Return participants to their pre-match locations (or world spawn fallback).
-        queuePostMatchRestores(matchUuids);
-
-        if (armorLoadoutService != null) {
-            armorLoadoutService.restoreForParticipants(playerByUuid, matchUuids);
+        // Capture where everyone goes back to before the roster is cleared.
+        Map<String, CtfMatchService.PreMatchLocation> savedByUuid = matchService.consumePreMatchLocationsFor(matchUuids);
+        List<CtfTeardownJournal.Entry> entries = new ArrayList<>(matchUuids.size());
+        for (String uuid : matchUuids) {
+            if (uuid == null || uuid.isBlank()) continue;
+            entries.add(new CtfTeardownJournal.Entry(uuid, savedByUuid.get(uuid)));
         }
+        String matchId = matchService.currentMatchId();
 
         // Clear match roster.
         matchService.endMatch();
@@ -116,51 +176,170 @@ public final class CtfMatchEndService {
         // Reset flag state for next match.
         flagStateService.resetForNewMatch();
 
+        startTeardown(matchId, entries, 0, false);
+
         if (RrDebugFlags.verbose()) {
             logger.atInfo().log("[RR-CTF] Match ended. reason=%s winner=%s", reason, (winner == null) ? "<draw>" : winner.displayName());
         }
     }
 
-    private void queuePostMatchRestores(Set<String> matchUuids) {
-        if (matchService == null || matchUuids == null || matchUuids.isEmpty()) return;
+    /** Pick up a teardown journaled by a previous run at its saved cursor (call once on startup). */
+    public void resumePendingTeardown() {
+        if (teardownJournal == null) return;
+        CtfTeardownJournal.Pending pending = teardownJournal.load();
+        if (pending == null) return;
+        logger.atInfo().log("[RR-CTF] Resuming unfinished match teardown. match=%s participants=%d done=%d",
+                pending.matchId(), pending.entries().size(), pending.done());
+        startTeardown(pending.matchId(), pending.entries(), pending.done(), true);
+    }
 
-        Map<String, CtfMatchService.PreMatchLocation> savedByUuid = matchService.consumePreMatchLocationsFor(matchUuids);
-        if (targetingService == null) {
-            logger.atWarning().log("[RR-CTF] targetingService missing; cannot restore post-match player positions.");
+    /** Tear down the next few participants of the current job (tick thread, per slice). */
+    public void processTeardownSlice() {
+        TeardownJob job;
+        List<CtfTeardownJournal.Entry> batch;
+        synchronized (lock) {
+            job = teardownJob;
+            if (job == null) return;
+            int end = Math.min(job.entries.size(), job.next + teardownPerSlice());
+            batch = job.entries.subList(job.next, end);
+            job.next = end;
+            job.slices++;
+        }
+
+        for (CtfTeardownJournal.Entry entry : batch) {
+            tearDownParticipant(entry);
+        }
+
+        int doneNow;
+        synchronized (lock) {
+            if (teardownJob != job) return;
+            doneNow = job.next;
+            if (doneNow >= job.entries.size()) {
+                teardownJob = null;
+            }
+        }
+        if (doneNow < job.entries.size()) {
+            // Persist the cursor so a restart does not redo (re-teleport, re-restore) this batch.
+            if (teardownJournal != null) {
+                teardownJournal.saveProgress(doneNow);
+            }
+            if (RrDebugFlags.verbose()) {
+                logger.atInfo().log("[RR-CTF] Match teardown progress: %d/%d", doneNow, job.entries.size());
+            }
+            return;
+        }
+        if (teardownJournal != null) {
+            teardownJournal.clear();
+        }
+        logger.atInfo().log("[RR-CTF] Match teardown finished. match=%s participants=%d slices=%d elapsed=%dms%s",
+                job.matchId, job.entries.size(), job.slices,
+                (System.nanoTime() - job.startedAtNanos) / 1_000_000L,
+                job.resumed ? " (resumed)" : "");
+    }
+
+    /** Progress of the running teardown job, or null if none is running. */
+    public @Nullable TeardownProgress teardownProgress() {
+        synchronized (lock) {
+            TeardownJob job = teardownJob;
+            if (job == null) return null;
+            return new TeardownProgress(job.matchId, job.entries.size(), job.next, job.resumed);
+        }
+    }
+
+    private void startTeardown(String matchId, List<CtfTeardownJournal.Entry> entries, int done, boolean resumed) {
+        // A job still running from the previous match is finished first so no participant is skipped.
+        TeardownJob previous;
+        synchronized (lock) {
+            previous = teardownJob;
+            teardownJob = null;
+        }
+        if (previous != null) {
+            for (int i = previous.next; i < previous.entries.size(); i++) {
+                tearDownParticipant(previous.entries.get(i));
+            }
+        }
+
+        if (entries == null || entries.isEmpty()) {
+            if (previous != null && teardownJournal != null) teardownJournal.clear();
             return;
         }
 
-        for (String uuid : matchUuids) {
-            if (uuid == null || uuid.isBlank()) continue;
+        int start = Math.max(0, Math.min(done, entries.size()));
+        if (teardownJournal != null) {
+            teardownJournal.save(matchId, entries, start);
+        }
+        synchronized (lock) {
+            teardownJob = new TeardownJob(matchId, List.copyOf(entries), start, resumed);
+        }
+        if (RrDebugFlags.verbose()) {
+            logger.atInfo().log("[RR-CTF] Match teardown started. match=%s participants=%d perSlice=%d",
+                    matchId, entries.size(), teardownPerSlice());
+        }
+    }
 
-            CtfMatchService.PreMatchLocation saved = savedByUuid.get(uuid);
-            CtfMatchService.PreMatchLocation target = null;
+    private void tearDownParticipant(CtfTeardownJournal.Entry entry) {
+        String uuid = entry.uuid();
+        if (uuid == null || uuid.isBlank()) return;
+        // Already playing again (a new match started mid-teardown): leave the new match's state alone.
+        if (matchService != null && matchService.isActiveMatchParticipant(uuid)) return;
 
-            if (saved != null && saved.isValid() && isWorldAvailable(saved.worldName())) {
-                target = saved;
-            } else {
-                String preferredWorldName = (saved == null) ? null : saved.worldName();
-                target = resolveWorldSpawnFallback(uuid, preferredWorldName);
+        try {
+            Player player = (playerByUuid == null) ? null : playerByUuid.get(uuid);
+            if (player != null && flagStateService != null) {
+                flagStateService.removeFlagItems(player);
             }
 
-            if (target == null || !target.isValid()) {
-                logger.atWarning().log("[RR-CTF] Failed to resolve post-match restore location. uuid=%s", uuid);
-                continue;
+            // Clear SimpleClaims temporary team access.
+            if (simpleClaims != null && simpleClaims.isAvailable()) {
+                simpleClaims.clearTeam(uuid);
             }
 
-            targetingService.queueTeleport(
-                    uuid,
-                    target.worldName(),
-                    target.x(),
-                    target.y(),
-                    target.z(),
-                    target.pitch(),
-                    target.yaw(),
-                    target.roll()
-            );
+            // Return the participant to their pre-match location (or world spawn fallback).
+            queuePostMatchRestore(uuid, entry.restore());
+
+            if (armorLoadoutService != null) {
+                if (player == null) {
+                    armorLoadoutService.clearSnapshot(uuid);
+                } else {
+                    armorLoadoutService.restoreForParticipant(uuid, player);
+                }
+            }
+        } catch (Throwable t) {
+            logger.atWarning().withCause(t).log("[RR-CTF] Match teardown failed for participant. uuid=%s", uuid);
         }
     }
 
+    private void queuePostMatchRestore(String uuid, @Nullable CtfMatchService.PreMatchLocation saved) {
+        if (targetingService == null) {
+            logger.atWarning().log("[RR-CTF] targetingService missing; cannot restore post-match player positions.");
+            return;
+        }
+
+        CtfMatchService.PreMatchLocation target;
+        if (saved != null && saved.isValid() && isWorldAvailable(saved.worldName())) {
+            target = saved;
+        } else {
+            String preferredWorldName = (saved == null) ? null : saved.worldName();
+            target = resolveWorldSpawnFallback(uuid, preferredWorldName);
+        }
+
+        if (target == null || !target.isValid()) {
+            logger.atWarning().log("[RR-CTF] Failed to resolve post-match restore location. uuid=%s", uuid);
+            return;
+        }
+
+        targetingService.queueTeleport(
+                uuid,
+                target.worldName(),
+                target.x(),
+                target.y(),
+                target.z(),
+                target.pitch(),
+                target.yaw(),
+                target.roll()
+        );
+    }
+
     private boolean isWorldAvailable(String worldName) {
         if (worldName == null || worldName.isBlank()) return false;
         Universe universe = Universe.get();
@@ -231,6 +410,11 @@ public final class CtfMatchEndService {
         }
     }
 
+    private static int teardownPerSlice() {
+        Integer v = Integer.getInteger("rr.ctf.teardownPerSlice");
+        return (v == null || v < 1) ? 8 : v;
+    }
+
     private static CtfMatchService.Team resolveWinner(int red, int blue, int yellow, int white) {
         int max = Math.max(Math.max(red, blue), Math.max(yellow, white));
         CtfMatchService.Team winner = null;
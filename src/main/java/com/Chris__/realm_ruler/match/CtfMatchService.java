@@ -11,6 +11,7 @@ import java.util.Locale;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Coordinates the high-level lifecycle of a Capture The Flag "match".
@@ -67,6 +68,9 @@ public final class CtfMatchService {
     private final Map<String, PreMatchLocation> preMatchLocationByUuid = new ConcurrentHashMap<>();
     private final Set<String> waitingUuids = ConcurrentHashMap.newKeySet();
     private volatile boolean stopRequested = false;
+    // Set from startCaptureTheFlag until the queued reset has started the clock.
+    private final AtomicBoolean startPending = new AtomicBoolean(false);
+    private volatile String currentMatchId = null;
 
     public CtfMatchService(TargetingService targetingService, CtfMode ctfMode) {
         this.targetingService = targetingService;
@@ -150,11 +154,21 @@ public final class CtfMatchService {
     }
 
     public StartResult startCaptureTheFlag(int seconds) {
+        return startCaptureTheFlag(seconds, null);
+    }
+
+    /**
+     * Commits the lobby into the match roster now. The stand reset, resetBeforeStart (the facade passes
+     * the flag-state reset) and the clock start then run as one tick-queue command, so the clock never
+     * starts on the previous match's stand or flag state, and that state keeps the queue as its writer.
+     */
+    public StartResult startCaptureTheFlag(int seconds, Runnable resetBeforeStart) {
         if (targetingService == null || ctfMode == null) return StartResult.NOT_READY;
         if (targetingService.isMatchTimerRunning()) return StartResult.ALREADY_RUNNING;
+        if (!startPending.compareAndSet(false, true)) return StartResult.ALREADY_RUNNING;
 
-        ctfMode.resetMatch();
         stopRequested = false;
+        currentMatchId = "ctf-" + System.currentTimeMillis();
         preMatchLocationByUuid.clear();
 
         // Move lobby assignments into the active match, then clear lobby so teams reroll next match.
@@ -184,7 +198,18 @@ public final class CtfMatchService {
         waitingUuids.clear(); // clear lobby when match starts
         lobbyTeamByUuid.clear(); // forces reroll on next match
 
-        targetingService.queueTimerStart(Math.max(0, seconds));
+        int clockSeconds = Math.max(0, seconds);
+        targetingService.runOnTick(() -> {
+            try {
+                ctfMode.resetMatch();
+                if (resetBeforeStart != null) {
+                    resetBeforeStart.run();
+                }
+                targetingService.startMatchTimer(clockSeconds);
+            } finally {
+                startPending.set(false);
+            }
+        });
         return StartResult.STARTED;
     }
 
@@ -192,15 +217,32 @@ public final class CtfMatchService {
         if (targetingService == null) return false;
         if (!targetingService.isMatchTimerRunning()) return false;
         stopRequested = true;
-        targetingService.queueTimerStop();
+        targetingService.stopMatchTimer();
         return true;
     }
 
+    public boolean pauseCaptureTheFlag() {
+        return targetingService != null && targetingService.pauseMatchTimer();
+    }
+
+    public boolean resumeCaptureTheFlag() {
+        return targetingService != null && targetingService.resumeMatchTimer();
+    }
+
+    public boolean isPaused() {
+        return targetingService != null && targetingService.isMatchTimerPaused();
+    }
+
     public void endMatch() {
         matchTeamByUuid.clear();
         preMatchLocationByUuid.clear();
     }
 
+    /** Id of the running (or most recently started) match, used to tag points transactions. */
+    public String currentMatchId() {
+        return currentMatchId;
+    }
+
     public boolean consumeStopRequested() {
         boolean v = stopRequested;
         stopRequested = false;
@@ -222,6 +264,10 @@ public final class CtfMatchService {
         return snapshot;
     }
 
+    public int activeMatchParticipantCount() {
+        return matchTeamByUuid.size();
+    }
+
     public Set<String> getActiveMatchUuids() {
         return new HashSet<>(matchTeamByUuid.keySet());
     }
@@ -1,107 +1,551 @@
 package com.Chris__.realm_ruler.match;
 
+import com.Chris__.realm_ruler.storage.KeyValueStore;
+import com.Chris__.realm_ruler.storage.RrStorage;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.hypixel.hytale.logger.HytaleLogger;
 
-import java.io.Reader;
+import java.io.BufferedReader;
 import java.io.Writer;
-import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * CtfPointsRepository
+ *
+ * Points ledger backed by an append-only journal plus a periodically compacted snapshot.
+ *
+ * Storage (plugin data directory):
+ *   - ctf_points.journal.jsonl: one JSON line per transaction (seq, uuid, delta, reason, matchId, ts).
+ *     Every award/spend appends one line, so a write costs O(1) no matter how many players exist.
+ *     Spends (shop purchases) are fsynced before returning; awards are fsynced per call/batch only
+ *     with -Drr.points.journalFsyncAll=true. The journal format does not depend on the storage backend.
+ *   - snapshot: the "ctf_points" KeyValueStore (uuid -> points; the journal seq it covers is the store's
+ *     journalSeq header, never a key). With the JSON backend this is ctf_points.json, with the mmap
+ *     backend ctf_points.rrkv. Older snapshots are upgraded on first load: a flat file's __journalSeq key
+ *     moves to the header, and the nested v2 layout is flattened.
+ *
+ * Balances are read from the store on first use and cached, so startup only replays the journal tail.
+ * Compaction (background, after rr.points.compactDelayMs or once rr.points.compactEvery entries pile up,
+ * and on close) writes only the balances changed since the last compaction plus the journalSeq header as
+ * one store batch, then rewrites the journal down to the entries the snapshot does not cover yet. Every
+ * step is crash safe because replay is filtered by seq.
+ *
+ * Tuning (JVM system properties):
+ * - Compaction delay after the first new entry: -Drr.points.compactDelayMs=60000
+ * - Compact early after this many entries:      -Drr.points.compactEvery=1024
+ * - fsync every award too (not just spends):    -Drr.points.journalFsyncAll=true
+ */
 public final class CtfPointsRepository {
 
-    private static final String FILE_NAME = "ctf_points.json";
-    private static final Type MAP_TYPE = new TypeToken<Map<String, Integer>>() {
-    }.getType();
+    private static final String STORE_NAME = "ctf_points";
+    private static final String JOURNAL_FILE_NAME = "ctf_points.journal.jsonl";
+    private static final String JOURNAL_SEQ_HEADER = "journalSeq";
+    private static final String LEGACY_JOURNAL_SEQ_KEY = "__journalSeq";
+
+    public static final String REASON_ADJUST = "adjust";
+
+    private static final class JournalEntry {
+        long seq;
+        String uuid;
+        int delta;
+        String reason;
+        String matchId;
+        long ts;
+    }
 
     private final Object lock = new Object();
-    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private final Object compactLock = new Object();
+    private final Gson journalGson = new Gson();
     private final HytaleLogger logger;
-    private final Path filePath;
+    private final KeyValueStore store;
+    private final Path journalPath;
 
+    // Balances read from the store so far (authoritative once present) and the ones not yet written back.
     private final Map<String, Integer> pointsByUuid = new HashMap<>();
+    private final Set<String> dirtyUuids = new HashSet<>();
+    // Entries not yet covered by the snapshot file (kept so compaction can rewrite the journal tail).
+    private final List<JournalEntry> journalTail = new ArrayList<>();
+    private long nextSeq = 1L;
+    private long snapshotSeq = 0L;
+    private boolean snapshotStale = false;
+    private boolean compactScheduled = false;
+    private boolean closed = false;
+
+    private FileChannel journalChannel = null;
+    private Writer journalWriter = null;
+
+    private final ScheduledThreadPoolExecutor compactor;
 
     public CtfPointsRepository(Path dataDirectory, HytaleLogger logger) {
+        this(RrStorage.json(dataDirectory, logger), logger);
+    }
+
+    public CtfPointsRepository(RrStorage storage, HytaleLogger logger) {
         this.logger = logger;
-        this.filePath = (dataDirectory == null) ? null : dataDirectory.resolve(FILE_NAME);
+        this.store = (storage == null) ? null : storage.keyValue(STORE_NAME);
+        this.journalPath = (store == null) ? null : storage.resolve(JOURNAL_FILE_NAME);
+        this.compactor = (store == null) ? null : newCompactor();
         load();
     }
 
     public int getPoints(String uuid) {
         if (uuid == null || uuid.isBlank()) return 0;
         synchronized (lock) {
-            return Math.max(0, pointsByUuid.getOrDefault(uuid, 0));
+            return pointsLocked(uuid);
         }
     }
 
     public void addPoints(String uuid, int delta) {
+        addPoints(uuid, delta, REASON_ADJUST, null);
+    }
+
+    public void addPoints(String uuid, int delta, String reason, String matchId) {
         if (uuid == null || uuid.isBlank()) return;
         if (delta == 0) return;
 
         synchronized (lock) {
-            int cur = Math.max(0, pointsByUuid.getOrDefault(uuid, 0));
-            int next = cur + delta;
-            if (next < 0) next = 0;
-            pointsByUuid.put(uuid, next);
-            save();
+            recordLocked(uuid, delta, reason, matchId);
+            syncJournalLocked(Boolean.getBoolean("rr.points.journalFsyncAll"));
+        }
+    }
+
+    /** Apply many deltas under one lock with one journal flush (match-end awards). */
+    public void addPointsBatch(Map<String, Integer> deltasByUuid) {
+        addPointsBatch(deltasByUuid, REASON_ADJUST, null);
+    }
+
+    public void addPointsBatch(Map<String, Integer> deltasByUuid, String reason, String matchId) {
+        if (deltasByUuid == null || deltasByUuid.isEmpty()) return;
+
+        synchronized (lock) {
+            boolean changed = false;
+            for (Map.Entry<String, Integer> e : deltasByUuid.entrySet()) {
+                String uuid = e.getKey();
+                Integer delta = e.getValue();
+                if (uuid == null || uuid.isBlank() || delta == null || delta == 0) continue;
+                recordLocked(uuid, delta, reason, matchId);
+                changed = true;
+            }
+            if (changed) syncJournalLocked(Boolean.getBoolean("rr.points.journalFsyncAll"));
         }
     }
 
     public boolean spendPoints(String uuid, int cost) {
+        return spendPoints(uuid, cost, REASON_ADJUST);
+    }
+
+    /**
+     * Spends are always fsynced to the journal before returning (a purchase must survive a crash).
+     * If the journal write or fsync fails the spend is rolled back and false is returned.
+     */
+    public boolean spendPoints(String uuid, int cost, String reason) {
         if (uuid == null || uuid.isBlank()) return false;
         if (cost <= 0) return true;
 
         synchronized (lock) {
-            int cur = Math.max(0, pointsByUuid.getOrDefault(uuid, 0));
+            int cur = pointsLocked(uuid);
             if (cur < cost) return false;
-            pointsByUuid.put(uuid, cur - cost);
-            save();
+            JournalEntry entry = recordLocked(uuid, -cost, reason, null);
+            if (entry != null && syncJournalLocked(true)) return true;
+
+            rollbackSpendLocked(uuid, cur, entry);
+            return false;
+        }
+    }
+
+    /** Write changed balances to the store and shrink the journal to what it does not cover (blocking). */
+    public void compact() {
+        if (store == null) return;
+        synchronized (compactLock) {
+            Map<String, String> changed;
+            long seq;
+            synchronized (lock) {
+                compactScheduled = false;
+                if (!snapshotStale) return;
+                changed = new LinkedHashMap<>();
+                for (String uuid : dirtyUuids) {
+                    changed.put(uuid, String.valueOf(pointsByUuid.getOrDefault(uuid, 0)));
+                }
+                dirtyUuids.clear();
+                seq = nextSeq - 1L;
+            }
+
+            if (!writeSnapshot(changed, seq)) {
+                synchronized (lock) {
+                    // Newer balances (if any) are already in the cache; only the uuids need re-marking.
+                    dirtyUuids.addAll(changed.keySet());
+                    scheduleCompactLocked(compactDelayMillis());
+                }
+                return;
+            }
+
+            synchronized (lock) {
+                snapshotSeq = seq;
+                journalTail.removeIf(e -> e.seq <= seq);
+                snapshotStale = !journalTail.isEmpty();
+                rewriteJournalLocked();
+            }
+        }
+    }
+
+    /** Stop background compaction, compact once more and close the journal. Called on plugin shutdown. */
+    public void close() {
+        synchronized (lock) {
+            if (closed) return;
+            closed = true;
+        }
+        if (compactor != null) {
+            compactor.shutdown();
+            try {
+                compactor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        compact();
+        synchronized (lock) {
+            syncJournalLocked(true);
+            closeJournalLocked();
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor newCompactor() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "RealmRuler-PointsCompact");
+            t.setDaemon(true);
+            return t;
+        });
+        // close() compacts itself; a pending delayed compaction must not hold shutdown up.
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        return executor;
+    }
+
+    /** Record one transaction; returns the entry, or null if it could not be appended to the journal. */
+    private JournalEntry recordLocked(String uuid, int delta, String reason, String matchId) {
+        JournalEntry entry = new JournalEntry();
+        entry.seq = nextSeq++;
+        entry.uuid = uuid;
+        entry.delta = delta;
+        entry.reason = (reason == null || reason.isBlank()) ? REASON_ADJUST : reason;
+        entry.matchId = matchId;
+        entry.ts = System.currentTimeMillis();
+
+        applyDeltaLocked(uuid, delta);
+        boolean appended = appendJournalLocked(entry);
+        journalTail.add(entry);
+        snapshotStale = true;
+
+        if (journalTail.size() == compactEvery()) {
+            scheduleCompactLocked(0L);
+        } else {
+            scheduleCompactLocked(compactDelayMillis());
+        }
+        return appended ? entry : null;
+    }
+
+    /**
+     * Undo a spend whose journal entry is not durable: restore the balance, drop the entry from the
+     * tail and rewrite the journal without it, so a partially written line cannot replay after a
+     * restart. The seq is not reused.
+     */
+    private void rollbackSpendLocked(String uuid, int previousPoints, JournalEntry entry) {
+        long seq = (entry != null) ? entry.seq : nextSeq - 1L;
+        pointsByUuid.put(uuid, previousPoints);
+        dirtyUuids.add(uuid);
+        journalTail.removeIf(e -> e.seq == seq);
+        rewriteJournalLocked();
+        logger.atWarning().log("[RR-CTF] Rolled back ctf points spend; the journal could not be written. uuid=%s", uuid);
+    }
+
+    private void applyDeltaLocked(String uuid, int delta) {
+        int cur = pointsLocked(uuid);
+        int next = cur + delta;
+        if (next < 0) next = 0;
+        pointsByUuid.put(uuid, next);
+        dirtyUuids.add(uuid);
+    }
+
+    private int pointsLocked(String uuid) {
+        Integer cached = pointsByUuid.get(uuid);
+        if (cached != null) return cached;
+
+        int loaded = (store == null) ? 0 : parsePoints(store.get(uuid));
+        pointsByUuid.put(uuid, loaded);
+        return loaded;
+    }
+
+    private static int parsePoints(String raw) {
+        if (raw == null || raw.isBlank()) return 0;
+        try {
+            return Math.max(0, (int) Double.parseDouble(raw.trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void scheduleCompactLocked(long delayMillis) {
+        if (closed || compactor == null) return;
+        if (compactScheduled && delayMillis > 0L) return;
+        compactScheduled = true;
+        try {
+            compactor.schedule(this::compact, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (Throwable t) {
+            compactScheduled = false;
+            logger.atWarning().withCause(t).log("[RR-CTF] Failed to schedule ctf points compaction.");
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Journal
+    // -------------------------------------------------------------------------
+
+    private boolean appendJournalLocked(JournalEntry entry) {
+        if (journalPath == null) return true;
+        try {
+            if (journalWriter == null) openJournalLocked();
+            journalWriter.write(journalGson.toJson(entry));
+            journalWriter.write('\n');
             return true;
+        } catch (Throwable t) {
+            logger.atWarning().withCause(t).log("[RR-CTF] Failed to append ctf points journal. uuid=%s delta=%d",
+                    entry.uuid, entry.delta);
+            closeJournalLocked();
+            return false;
+        }
+    }
+
+    /** Flush (and optionally fsync) the journal. False if it is not open or the write failed. */
+    private boolean syncJournalLocked(boolean fsync) {
+        if (journalPath == null) return true;
+        if (journalWriter == null) return false;
+        try {
+            journalWriter.flush();
+            if (fsync) journalChannel.force(false);
+            return true;
+        } catch (Throwable t) {
+            logger.atWarning().withCause(t).log("[RR-CTF] Failed to flush ctf points journal.");
+            closeJournalLocked();
+            return false;
+        }
+    }
+
+    private void openJournalLocked() throws java.io.IOException {
+        Files.createDirectories(journalPath.getParent());
+        journalChannel = FileChannel.open(journalPath,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        journalWriter = Channels.newWriter(journalChannel, StandardCharsets.UTF_8);
+    }
+
+    private void closeJournalLocked() {
+        try {
+            if (journalWriter != null) journalWriter.close();
+        } catch (Throwable ignored) {
+        }
+        try {
+            if (journalChannel != null) journalChannel.close();
+        } catch (Throwable ignored) {
         }
+        journalWriter = null;
+        journalChannel = null;
     }
 
+    /** Replace the journal with journalTail (entries newer than the snapshot). */
+    private void rewriteJournalLocked() {
+        if (journalPath == null) return;
+        Path tmp = journalPath.resolveSibling(JOURNAL_FILE_NAME + ".tmp");
+        try {
+            syncJournalLocked(false);
+            try (FileChannel channel = FileChannel.open(tmp,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                Writer w = Channels.newWriter(channel, StandardCharsets.UTF_8);
+                for (JournalEntry entry : journalTail) {
+                    w.write(journalGson.toJson(entry));
+                    w.write('\n');
+                }
+                w.flush();
+                channel.force(true);
+            }
+            closeJournalLocked();
+            moveAtomically(tmp, journalPath);
+        } catch (Throwable t) {
+            // The old journal is still valid: replay skips entries the snapshot already covers.
+            logger.atWarning().withCause(t).log("[RR-CTF] Failed to compact ctf points journal.");
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Snapshot + startup replay
+    // -------------------------------------------------------------------------
+
     private void load() {
-        if (filePath == null) return;
+        if (store == null) return;
         synchronized (lock) {
             pointsByUuid.clear();
+            dirtyUuids.clear();
+            journalTail.clear();
             try {
-                Files.createDirectories(filePath.getParent());
-                if (!Files.exists(filePath)) {
-                    save();
-                    return;
-                }
-
-                try (Reader r = Files.newBufferedReader(filePath)) {
-                    Map<String, Integer> loaded = gson.fromJson(r, MAP_TYPE);
-                    if (loaded != null) {
-                        for (Map.Entry<String, Integer> e : loaded.entrySet()) {
-                            if (e.getKey() == null || e.getKey().isBlank()) continue;
-                            int v = (e.getValue() == null) ? 0 : Math.max(0, e.getValue());
-                            pointsByUuid.put(e.getKey(), v);
-                        }
-                    }
-                }
+                upgradeNestedSnapshotLocked();
+                moveLegacySeqKeyLocked();
+                snapshotSeq = Math.max(0L, parseSeq(store.header(JOURNAL_SEQ_HEADER)));
+                replayJournalLocked();
             } catch (Throwable t) {
                 logger.atWarning().withCause(t).log("[RR-CTF] Failed to load ctf points.");
             }
+
+            nextSeq = Math.max(nextSeq, snapshotSeq + 1L);
+            if (!journalTail.isEmpty()) {
+                snapshotStale = true;
+                scheduleCompactLocked(0L);
+            } else if (store.size() == 0) {
+                store.sync();
+            }
         }
     }
 
-    private void save() {
-        if (filePath == null) return;
+    /** Flatten the v2 { version, journalSeq, points: {...} } snapshot into store keys (one-time). */
+    private void upgradeNestedSnapshotLocked() {
+        String version = store.get("version");
+        String points = store.get("points");
+        if (version == null || points == null) return;
+
+        JsonObject nested = journalGson.fromJson(points, JsonObject.class);
+        Map<String, String> flattened = new LinkedHashMap<>();
+        if (nested != null) {
+            for (Map.Entry<String, JsonElement> e : nested.entrySet()) {
+                if (e.getKey() == null || e.getKey().isBlank() || !e.getValue().isJsonPrimitive()) continue;
+                flattened.put(e.getKey(), String.valueOf(Math.max(0, e.getValue().getAsInt())));
+            }
+        }
+        String journalSeq = store.get("journalSeq");
+
+        store.remove("version");
+        store.remove("points");
+        store.remove("journalSeq");
+        store.putAll(flattened);
+        store.putHeader(JOURNAL_SEQ_HEADER, String.valueOf(parseSeq(journalSeq)));
+        if (store.sync()) {
+            logger.atInfo().log("[RR-CTF] Upgraded ctf points snapshot to the key-value layout (%d players).",
+                    flattened.size());
+        }
+    }
+
+    /** Move a flat snapshot's __journalSeq key into the store header, in one batch (one-time). */
+    private void moveLegacySeqKeyLocked() {
+        String legacySeq = store.get(LEGACY_JOURNAL_SEQ_KEY);
+        if (legacySeq == null) return;
+        store.remove(LEGACY_JOURNAL_SEQ_KEY);
+        store.putHeader(JOURNAL_SEQ_HEADER, String.valueOf(parseSeq(legacySeq)));
+        store.sync();
+    }
+
+    private static long parseSeq(String raw) {
+        if (raw == null || raw.isBlank()) return 0L;
         try {
-            Files.createDirectories(filePath.getParent());
-            try (Writer w = Files.newBufferedWriter(filePath)) {
-                gson.toJson(pointsByUuid, MAP_TYPE, w);
+            return Long.parseLong(raw.trim());
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private void replayJournalLocked() throws java.io.IOException {
+        if (journalPath == null || !Files.exists(journalPath)) return;
+
+        int replayed = 0;
+        int skipped = 0;
+        long maxSeq = snapshotSeq;
+        try (BufferedReader r = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                if (line.isBlank()) continue;
+                JournalEntry entry;
+                try {
+                    entry = journalGson.fromJson(line, JournalEntry.class);
+                } catch (Throwable t) {
+                    // Torn last line after a crash; everything before it is intact.
+                    skipped++;
+                    continue;
+                }
+                if (entry == null || entry.uuid == null || entry.uuid.isBlank()) {
+                    skipped++;
+                    continue;
+                }
+                maxSeq = Math.max(maxSeq, entry.seq);
+                if (entry.seq <= snapshotSeq) continue;
+
+                applyDeltaLocked(entry.uuid, entry.delta);
+                journalTail.add(entry);
+                replayed++;
             }
-        } catch (Throwable t) {
-            logger.atWarning().withCause(t).log("[RR-CTF] Failed to save ctf points.");
+        }
+        nextSeq = maxSeq + 1L;
+
+        if (replayed > 0 || skipped > 0) {
+            logger.atInfo().log("[RR-CTF] Replayed %d ctf points journal entries (%d unreadable).", replayed, skipped);
+        }
+
+        // A torn last line would swallow the next append; rewrite the journal from the replayed tail.
+        if (!endsWithNewline(journalPath)) {
+            rewriteJournalLocked();
         }
     }
-}
 
+    private static boolean endsWithNewline(Path path) throws java.io.IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0L) return true;
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, size - 1L);
+            return last.get(0) == '\n';
+        }
+    }
+
+    private boolean writeSnapshot(Map<String, String> changed, long journalSeq) {
+        // One store batch: the balances and the seq they cover commit together or not at all.
+        store.putAll(changed);
+        store.putHeader(JOURNAL_SEQ_HEADER, String.valueOf(journalSeq));
+        if (store.sync()) return true;
+        logger.atWarning().log("[RR-CTF] Failed to save ctf points (%s).", store.describe());
+        return false;
+    }
+
+    private static void moveAtomically(Path from, Path to) throws java.io.IOException {
+        try {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static long compactDelayMillis() {
+        Integer v = Integer.getInteger("rr.points.compactDelayMs");
+        return (v == null || v < 0) ? 60_000L : v;
+    }
+
+    private static int compactEvery() {
+        Integer v = Integer.getInteger("rr.points.compactEvery");
+        return (v == null || v < 1) ? 1024 : v;
+    }
+}
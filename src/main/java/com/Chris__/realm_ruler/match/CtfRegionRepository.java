@@ -1,12 +1,11 @@
 package com.Chris__.realm_ruler.match;
 
+import com.Chris__.realm_ruler.storage.DocumentStore;
+import com.Chris__.realm_ruler.storage.RrStorage;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.hypixel.hytale.logger.HytaleLogger;
 
-import java.io.Reader;
-import java.io.Writer;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -83,13 +82,18 @@ public final class CtfRegionRepository {
     private final Object lock = new Object();
     private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
     private final HytaleLogger logger;
-    private final Path filePath;
+    private final DocumentStore document;
 
-    private RegionDefinition region;
+    // Immutable record, replaced under lock and read lock-free (checked from every world's tick).
+    private volatile RegionDefinition region;
 
     public CtfRegionRepository(Path dataDirectory, HytaleLogger logger) {
+        this(RrStorage.json(dataDirectory, logger), logger);
+    }
+
+    public CtfRegionRepository(RrStorage storage, HytaleLogger logger) {
         this.logger = logger;
-        this.filePath = (dataDirectory == null) ? null : dataDirectory.resolve(FILE_NAME);
+        this.document = (storage == null) ? null : storage.document(FILE_NAME);
         load();
     }
 
@@ -121,9 +125,7 @@ public final class CtfRegionRepository {
     }
 
     public RegionDefinition get() {
-        synchronized (lock) {
-            return region;
-        }
+        return region;
     }
 
     public boolean hasBounds() {
@@ -163,18 +165,18 @@ public final class CtfRegionRepository {
     }
 
     private void load() {
-        if (filePath == null) return;
+        if (document == null) return;
         synchronized (lock) {
             region = null;
             try {
-                Files.createDirectories(filePath.getParent());
-                if (!Files.exists(filePath)) {
+                if (!document.exists()) {
                     saveLocked();
                     return;
                 }
 
-                try (Reader reader = Files.newBufferedReader(filePath)) {
-                    FileModel model = gson.fromJson(reader, FileModel.class);
+                String json = document.read();
+                if (json != null) {
+                    FileModel model = gson.fromJson(json, FileModel.class);
                     if (model == null) return;
                     if (model.worldName == null || model.worldName.isBlank()) return;
                     region = new RegionDefinition(
@@ -191,10 +193,8 @@ public final class CtfRegionRepository {
     }
 
     private void saveLocked() {
-        if (filePath == null) return;
+        if (document == null) return;
         try {
-            Files.createDirectories(filePath.getParent());
-
             FileModel out = new FileModel();
             if (region != null) {
                 out.worldName = region.worldName();
@@ -203,9 +203,7 @@ public final class CtfRegionRepository {
                 out.enabled = region.enabled();
             }
 
-            try (Writer writer = Files.newBufferedWriter(filePath)) {
-                gson.toJson(out, writer);
-            }
+            document.write(gson.toJson(out));
         } catch (Throwable t) {
             logger.atWarning().withCause(t).log("[RR-CTF] Failed to save CTF region.");
         }
@@ -1,14 +1,12 @@
 package com.Chris__.realm_ruler.match;
 
+import com.Chris__.realm_ruler.storage.DocumentStore;
+import com.Chris__.realm_ruler.storage.RrStorage;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.hypixel.hytale.logger.HytaleLogger;
 
-import java.io.Reader;
-import java.io.Writer;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.time.Instant;
 
 public final class CtfShopConfigRepository {
@@ -17,13 +15,19 @@ public final class CtfShopConfigRepository {
 
     private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
     private final HytaleLogger logger;
-    private final Path filePath;
+    private final RrStorage storage;
+    private final DocumentStore document;
 
     private volatile CtfShopConfig cached = null;
 
     public CtfShopConfigRepository(Path dataDirectory, HytaleLogger logger) {
+        this(RrStorage.json(dataDirectory, logger), logger);
+    }
+
+    public CtfShopConfigRepository(RrStorage storage, HytaleLogger logger) {
         this.logger = logger;
-        this.filePath = (dataDirectory == null) ? null : dataDirectory.resolve(FILE_NAME);
+        this.storage = storage;
+        this.document = (storage == null) ? null : storage.document(FILE_NAME);
         reload();
     }
 
@@ -36,44 +40,42 @@ public final class CtfShopConfigRepository {
     }
 
     public void reload() {
-        if (filePath == null) {
+        if (document == null) {
             cached = defaultConfig();
             return;
         }
 
         try {
-            Files.createDirectories(filePath.getParent());
-            if (!Files.exists(filePath)) {
+            if (!document.exists()) {
                 CtfShopConfig cfg = defaultConfig();
                 cached = cfg;
                 save(cfg);
                 return;
             }
 
-            try (Reader r = Files.newBufferedReader(filePath)) {
-                CtfShopConfig loaded = gson.fromJson(r, CtfShopConfig.class);
-                if (loaded == null) {
-                    CtfShopConfig cfg = defaultConfig();
-                    cached = cfg;
-                    save(cfg);
-                    return;
-                }
+            String json = document.read();
+            CtfShopConfig loaded = (json == null) ? null : gson.fromJson(json, CtfShopConfig.class);
+            if (loaded == null) {
+                CtfShopConfig cfg = defaultConfig();
+                cached = cfg;
+                save(cfg);
+                return;
+            }
 
-                if (shouldAutoMigrateToDefaults(loaded)) {
-                    Path backup = backupCurrentConfig();
-                    CtfShopConfig cfg = defaultConfig();
-                    cached = cfg;
-                    save(cfg);
-                    if (backup != null) {
-                        logger.atInfo().log("[RR-CTF] Migrated legacy ctf_shop.json to defaults. Backup created at %s", backup);
-                    } else {
-                        logger.atInfo().log("[RR-CTF] Migrated legacy ctf_shop.json to defaults.");
-                    }
-                    return;
+            if (shouldAutoMigrateToDefaults(loaded)) {
+                String backup = backupCurrentConfig(json);
+                CtfShopConfig cfg = defaultConfig();
+                cached = cfg;
+                save(cfg);
+                if (backup != null) {
+                    logger.atInfo().log("[RR-CTF] Migrated legacy ctf_shop.json to defaults. Backup created at %s", backup);
+                } else {
+                    logger.atInfo().log("[RR-CTF] Migrated legacy ctf_shop.json to defaults.");
                 }
-
-                cached = loaded;
+                return;
             }
+
+            cached = loaded;
         } catch (Throwable t) {
             logger.atWarning().withCause(t).log("[RR-CTF] Failed to load ctf shop config; using defaults.");
             cached = defaultConfig();
@@ -81,9 +83,9 @@ public final class CtfShopConfigRepository {
     }
 
     private void save(CtfShopConfig cfg) {
-        if (filePath == null || cfg == null) return;
-        try (Writer w = Files.newBufferedWriter(filePath)) {
-            gson.toJson(cfg, w);
+        if (document == null || cfg == null) return;
+        try {
+            document.write(gson.toJson(cfg));
         } catch (Throwable t) {
             logger.atWarning().withCause(t).log("[RR-CTF] Failed to save default ctf shop config.");
         }
@@ -149,13 +151,13 @@ public final class CtfShopConfigRepository {
         return true;
     }
 
-    private Path backupCurrentConfig() {
-        if (filePath == null) return null;
+    private String backupCurrentConfig(String currentJson) {
+        if (storage == null || currentJson == null) return null;
         try {
-            if (!Files.exists(filePath)) return null;
-            Path backup = filePath.resolveSibling(FILE_NAME + ".bak." + Instant.now().toEpochMilli());
-            Files.copy(filePath, backup, StandardCopyOption.REPLACE_EXISTING);
-            return backup;
+            DocumentStore backup = storage.document(FILE_NAME + ".bak." + Instant.now().toEpochMilli());
+            if (backup == null) return null;
+            backup.write(currentJson);
+            return backup.describe();
         } catch (Throwable t) {
             logger.atWarning().withCause(t).log("[RR-CTF] Failed to back up legacy ctf_shop.json before migration.");
             return null;
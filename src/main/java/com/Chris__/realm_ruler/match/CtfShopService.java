@@ -126,8 +126,11 @@ public final class CtfShopService {
             return new PurchaseResult(false, "Inventory full.", toView(item), points);
         }
 
-        if (!pointsRepository.spendPoints(uuid, cost)) {
+        if (!pointsRepository.spendPoints(uuid, cost, "shop:" + item.id)) {
             int remaining = pointsRepository.getPoints(uuid);
+            if (remaining >= cost) {
+                return new PurchaseResult(false, "Could not save the purchase. Try again.", toView(item), remaining);
+            }
             return new PurchaseResult(false, "Not enough points. (" + remaining + "/" + cost + ")", toView(item), remaining);
         }
 
@@ -136,7 +139,7 @@ public final class CtfShopService {
             player.sendInventory();
         } catch (Throwable t) {
             logger.atWarning().withCause(t).log("[RR-CTF] Failed to grant purchased rewards. itemId=%s player=%s", item.id, uuid);
-            pointsRepository.addPoints(uuid, cost);
+            pointsRepository.addPoints(uuid, cost, "shop-refund:" + item.id, null);
             return new PurchaseResult(false, "Failed to grant purchased rewards. Try again.", toView(item), pointsRepository.getPoints(uuid));
         }
 
@@ -1,12 +1,13 @@
 package com.Chris__.realm_ruler.match;
 
+import com.Chris__.realm_ruler.core.SpatialIndex;
+import com.Chris__.realm_ruler.storage.DocumentStore;
+import com.Chris__.realm_ruler.storage.RrStorage;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.hypixel.hytale.logger.HytaleLogger;
 
-import java.io.Reader;
-import java.io.Writer;
-import java.nio.file.Files;
+import javax.annotation.Nullable;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.EnumMap;
@@ -30,6 +31,10 @@ public final class CtfStandRegistryRepository {
         }
     }
 
+    /** A registered stand together with the team it belongs to (spatial index value). */
+    public record IndexedStand(CtfMatchService.Team team, StandLocation location) {
+    }
+
     private static final class FileModel {
         int version = FILE_VERSION;
         Map<String, List<StandLocation>> teams = new java.util.LinkedHashMap<>();
@@ -38,14 +43,20 @@ public final class CtfStandRegistryRepository {
     private final Object lock = new Object();
     private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
     private final HytaleLogger logger;
-    private final Path filePath;
+    private final DocumentStore document;
 
     private final Map<CtfMatchService.Team, List<StandLocation>> standsByTeam =
             new EnumMap<>(CtfMatchService.Team.class);
+    // Rebuilt under lock on every change, read lock-free by proximity/lookup queries.
+    private volatile SpatialIndex<IndexedStand> standIndex = SpatialIndex.empty();
 
     public CtfStandRegistryRepository(Path dataDirectory, HytaleLogger logger) {
+        this(RrStorage.json(dataDirectory, logger), logger);
+    }
+
+    public CtfStandRegistryRepository(RrStorage storage, HytaleLogger logger) {
         this.logger = logger;
-        this.filePath = (dataDirectory == null) ? null : dataDirectory.resolve(FILE_NAME);
+        this.document = (storage == null) ? null : storage.document(FILE_NAME);
         for (CtfMatchService.Team team : CtfMatchService.Team.values()) {
             standsByTeam.put(team, new ArrayList<>());
         }
@@ -68,14 +79,32 @@ public final class CtfStandRegistryRepository {
         }
     }
 
+    /** True if any registered stand (any team) is within radius blocks of the given point. */
+    public boolean isNearAnyStand(String worldName, double x, double y, double z, double radius) {
+        if (worldName == null || worldName.isBlank()) return false;
+        return standIndex.anyPointWithin(worldName, x, y, z, radius);
+    }
+
+    /** Registered stand at exactly this block, or null. */
+    public @Nullable IndexedStand standAt(String worldName, int x, int y, int z) {
+        if (worldName == null || worldName.isBlank()) return null;
+        return standIndex.pointAt(worldName, x, y, z);
+    }
+
     public boolean addStand(CtfMatchService.Team team, StandLocation stand) {
         if (team == null || stand == null || !stand.isValid()) return false;
+
+        // Re-interacting with a known stand is the common case; answer it without the lock.
+        IndexedStand known = standAt(stand.worldName(), stand.x(), stand.y(), stand.z());
+        if (known != null && known.team() == team) return false;
+
         synchronized (lock) {
             List<StandLocation> list = standsByTeam.computeIfAbsent(team, ignored -> new ArrayList<>());
             for (StandLocation existing : list) {
                 if (existing.sameAs(stand)) return false;
             }
             list.add(stand);
+            reindexLocked();
             saveLocked();
             return true;
         }
@@ -90,6 +119,7 @@ public final class CtfStandRegistryRepository {
             boolean removed = list.removeIf(existing -> existing.sameAs(stand));
             if (!removed) return false;
 
+            reindexLocked();
             saveLocked();
             return true;
         }
@@ -120,17 +150,17 @@ public final class CtfStandRegistryRepository {
     }
 
     private void load() {
-        if (filePath == null) return;
+        if (document == null) return;
         synchronized (lock) {
             try {
-                Files.createDirectories(filePath.getParent());
-                if (!Files.exists(filePath)) {
+                if (!document.exists()) {
                     saveLocked();
                     return;
                 }
 
-                try (Reader reader = Files.newBufferedReader(filePath)) {
-                    FileModel model = gson.fromJson(reader, FileModel.class);
+                String json = document.read();
+                if (json != null) {
+                    FileModel model = gson.fromJson(json, FileModel.class);
                     if (model == null || model.teams == null) {
                         return;
                     }
@@ -155,22 +185,30 @@ public final class CtfStandRegistryRepository {
             } catch (Throwable t) {
                 logger.atWarning().withCause(t).log("[RR-CTF] Failed to load stand registry.");
             }
+            reindexLocked();
         }
     }
 
+    private void reindexLocked() {
+        SpatialIndex.Builder<IndexedStand> builder = new SpatialIndex.Builder<>();
+        for (Map.Entry<CtfMatchService.Team, List<StandLocation>> entry : standsByTeam.entrySet()) {
+            for (StandLocation stand : entry.getValue()) {
+                builder.addPoint(stand.worldName(), stand.x(), stand.y(), stand.z(), new IndexedStand(entry.getKey(), stand));
+            }
+        }
+        standIndex = builder.build();
+    }
+
     private void saveLocked() {
-        if (filePath == null) return;
+        if (document == null) return;
         try {
-            Files.createDirectories(filePath.getParent());
             FileModel out = new FileModel();
             for (CtfMatchService.Team team : CtfMatchService.Team.values()) {
                 List<StandLocation> stands = standsByTeam.get(team);
                 out.teams.put(team.name().toLowerCase(Locale.ROOT), (stands == null) ? List.of() : new ArrayList<>(stands));
             }
 
-            try (Writer writer = Files.newBufferedWriter(filePath)) {
-                gson.toJson(out, writer);
-            }
+            document.write(gson.toJson(out));
         } catch (Throwable t) {
             logger.atWarning().withCause(t).log("[RR-CTF] Failed to save stand registry.");
         }
@@ -0,0 +1,107 @@
+package com.Chris__.realm_ruler.match;
+
+import com.Chris__.realm_ruler.storage.DocumentStore;
+import com.Chris__.realm_ruler.storage.RrStorage;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.hypixel.hytale.logger.HytaleLogger;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CtfTeardownJournal
+ *
+ * ctf_teardown.json: the participants a post-match teardown still has to process, so a teardown cut
+ * short by a server stop is finished after the next start. The journal is written when a teardown
+ * starts, its `done` cursor is saved after every teardown batch, and it is cleared when the job
+ * completes. A resumed job starts at the cursor. Teardown steps are not idempotent (the restore
+ * teleport and armor restore would repeat), so only the batch that was running when the server
+ * stopped can be processed twice.
+ */
+public final class CtfTeardownJournal {
+
+    private static final String FILE_NAME = "ctf_teardown.json";
+
+    public record Entry(String uuid, @Nullable CtfMatchService.PreMatchLocation restore) {
+    }
+
+    private static final class Data {
+        int version = 2;
+        String matchId;
+        List<Entry> pending = new ArrayList<>();
+        /** Entries of pending already torn down (version 1 files have none: resume from the start). */
+        int done = 0;
+    }
+
+    /** Unfinished job; entries before index done are already torn down. */
+    public record Pending(String matchId, List<Entry> entries, int done) {
+    }
+
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private final HytaleLogger logger;
+    private final DocumentStore document;
+    private Data current = null;
+
+    public CtfTeardownJournal(RrStorage storage, HytaleLogger logger) {
+        this.logger = logger;
+        this.document = (storage == null) ? null : storage.document(FILE_NAME);
+    }
+
+    /** Unfinished teardown from a previous run, or null if there is none. */
+    public @Nullable Pending load() {
+        if (document == null) return null;
+        try {
+            if (!document.exists()) return null;
+            String json = document.read();
+            Data data = (json == null) ? null : gson.fromJson(json, Data.class);
+            if (data == null || data.pending == null || data.pending.isEmpty()) return null;
+
+            List<Entry> entries = new ArrayList<>(data.pending.size());
+            int done = 0;
+            for (int i = 0; i < data.pending.size(); i++) {
+                Entry entry = data.pending.get(i);
+                if (entry == null || entry.uuid() == null || entry.uuid().isBlank()) continue;
+                entries.add(entry);
+                if (i < data.done) done++;
+            }
+            if (done >= entries.size()) return null;
+            return new Pending(data.matchId, List.copyOf(entries), done);
+        } catch (Throwable t) {
+            logger.atWarning().withCause(t).log("[RR-CTF] Failed to load %s; skipping teardown resume.", FILE_NAME);
+            return null;
+        }
+    }
+
+    public void save(String matchId, List<Entry> entries, int done) {
+        Data data = new Data();
+        data.matchId = matchId;
+        if (entries != null) data.pending.addAll(entries);
+        data.done = Math.max(0, done);
+        current = data;
+        write(data);
+    }
+
+    /** Record that the first done entries of the saved job are torn down. */
+    public void saveProgress(int done) {
+        Data data = current;
+        if (data == null || done <= data.done) return;
+        data.done = done;
+        write(data);
+    }
+
+    public void clear() {
+        current = null;
+        write(new Data());
+    }
+
+    private void write(Data data) {
+        if (document == null) return;
+        try {
+            document.write(gson.toJson(data));
+        } catch (Throwable t) {
+            logger.atWarning().withCause(t).log("[RR-CTF] Failed to write %s.", FILE_NAME);
+        }
+    }
+}
@@ -90,8 +90,14 @@ public class CtfMode implements RealmMode {
         // Only react to "F/use"
         if (type != InteractionType.Use) return;
 
-        // Resolve (world,x,y,z) of interacted block
-        TargetingResult tr = plugin.TargetingService().resolveTarget(uuid, event, chain);
+        // Resolve (world,x,y,z) of interacted block.
+        // If nothing is known yet (lazy look mode / gated raycast), TargetingService raycasts this player
+        // on the next tick and calls back on the tick thread.
+        plugin.TargetingService().resolveTargetOrDefer(uuid, event, chain,
+                tr -> onUseTargetResolved(uuid, itemInHand, shouldLog, tr));
+    }
+
+    private void onUseTargetResolved(String uuid, String itemInHand, boolean shouldLog, TargetingResult tr) {
         if (tr == null || tr.loc == null || tr.loc.world == null) return;
 
         BlockLocation loc = tr.loc;
@@ -106,19 +112,23 @@ public class CtfMode implements RealmMode {
                     ageMs);
         }
 
-        // Confirm block at position
+        // Cheap filter before queuing anything: only stand blocks matter here.
         String clickedId = plugin.rrTryGetBlockIdAt(loc.world, loc.x, loc.y, loc.z);
-        if (clickedId == null) return;
-
-        // Only continue if this is one of our stand variants
-        if (!CtfRules.isStandId(clickedId)) return;
-
-        final String clicked = clickedId;
-        final String heldId = itemInHand;
+        if (clickedId == null || !CtfRules.isStandId(clickedId)) return;
 
         // IMPORTANT: Key format matches existing behavior for now.
         final String key = CtfState.standKey(plugin.rrWorldKey(loc.world), loc.x, loc.y, loc.z);
 
+        // One command per use: the occupancy check, stand registration and the deposit/withdraw all
+        // run together on the tick thread, so two players using the same stand apply in order.
+        plugin.rrRunOnTick(() -> applyStandUse(uuid, itemInHand, loc, key));
+    }
+
+    private void applyStandUse(String uuid, String heldId, BlockLocation loc, String key) {
+        // Re-read on the tick thread: the stand may have changed since the interaction fired.
+        String clicked = plugin.rrTryGetBlockIdAt(loc.world, loc.x, loc.y, loc.z);
+        if (clicked == null || !CtfRules.isStandId(clicked)) return;
+
         // Pre-match setup path: anyone can tap stands to register home stands from chunk ownership.
         maybeRegisterStandFromChunkOwner(loc);
 
@@ -134,153 +144,154 @@ public class CtfMode implements RealmMode {
 
         // DENY: occupied stand + non-empty hand (prevents all color-to-color swaps)
         if (occupied && !heldIsEmpty) {
-            plugin.rrRunOnTick(() -> {
-                Player p = plugin.rrResolvePlayer(uuid);
-                if (p == null) return;
+            Player p = plugin.rrResolvePlayer(uuid);
+            if (p == null) return;
 
-                p.sendMessage(MSG_NEED_EMPTY_HAND);
-                tryPlayDenySound(p);
-            });
+            p.sendMessage(MSG_NEED_EMPTY_HAND);
+            tryPlayDenySound(p);
             return;
         }
 
         // DEPOSIT: empty stand + holding custom flag
         if (!occupied && CtfRules.STAND_EMPTY.equals(clicked) && heldIsFlag) {
-            plugin.rrRunOnTick(() -> {
-                Player p = plugin.rrResolvePlayer(uuid);
-                if (p == null) return;
+            depositFlag(uuid, heldId, loc, key);
+            return;
+        }
+
+        // WITHDRAW: occupied stand + empty hand
+        if (occupied && heldIsEmpty) {
+            withdrawFlag(uuid, clicked, loc, key);
+        }
+
+        // Otherwise: do nothing. (No auto-swaps and no UI logic here.)
+    }
+
+    private void depositFlag(String uuid, String heldId, BlockLocation loc, String key) {
+        Player p = plugin.rrResolvePlayer(uuid);
+        if (p == null) return;
+
+        if (!plugin.rrIsActiveCtfParticipant(uuid)) {
+            p.sendMessage(MSG_CTF_ONLY);
+            tryPlayDenySound(p);
+            return;
+        }
+
+        Inventory inv = p.getInventory();
+        if (inv == null) return;
 
-                if (!plugin.rrIsActiveCtfParticipant(uuid)) {
-                    p.sendMessage(MSG_CTF_ONLY);
-                    tryPlayDenySound(p);
-                    return;
-                }
+        ItemContainer hotbar = inv.getHotbar();
+        if (hotbar == null) return;
 
-                Inventory inv = p.getInventory();
-                if (inv == null) return;
+        short slot = (short) (inv.getActiveHotbarSlot() & 0xFF);
+        ItemStack inSlot = hotbar.getItemStack(slot);
+        if (inSlot == null) return;
 
-                ItemContainer hotbar = inv.getHotbar();
-                if (hotbar == null) return;
+        // Ensure it's actually the flag we think it is
+        if (!heldId.equals(inSlot.getItemId())) return;
 
-                short slot = (short) (inv.getActiveHotbarSlot() & 0xFF);
-                ItemStack inSlot = hotbar.getItemStack(slot);
-                if (inSlot == null) return;
+        // Store exact ItemStack so we can give it back later (while server is running)
+        state.putFlag(key, inSlot);
 
-                // Ensure it's actually the flag we think it is
-                if (!heldId.equals(inSlot.getItemId())) return;
+        // Remove from hand (flags don't stack, so remove 1)
+        hotbar.removeItemStackFromSlot(slot, 1);
 
-                // Store exact ItemStack so we can give it back later (while server is running)
-                state.putFlag(key, inSlot);
+        // Visual swap -> colored
+        String standVariant = CtfRules.selectDesiredStand(
+                CtfRules.STAND_EMPTY,
+                heldId,
+                plugin.rrPhase1ToggleBlueOnly()
+        );
+        plugin.rrSwapStandAt(loc, standVariant);
 
-                // Remove from hand (flags don't stack, so remove 1)
-                hotbar.removeItemStackFromSlot(slot, 1);
+        // Sync
+        p.sendInventory();
 
-                // Visual swap -> colored
-                String standVariant = CtfRules.selectDesiredStand(
-                        CtfRules.STAND_EMPTY,
-                        heldId,
-                        plugin.rrPhase1ToggleBlueOnly()
-                );
-                plugin.rrSwapStandAt(loc, standVariant);
+        // Flag tracker (HUD + scoring)
+        plugin.rrCtfOnFlagDeposited(uuid, heldId, loc);
+    }
 
-                // Sync
-                p.sendInventory();
+    private void withdrawFlag(String uuid, String clicked, BlockLocation loc, String key) {
+        Player p = plugin.rrResolvePlayer(uuid);
+        if (p == null) return;
 
-                // Flag tracker (HUD + scoring)
-                plugin.rrCtfOnFlagDeposited(uuid, heldId, loc);
-            });
+        if (!plugin.rrIsActiveCtfParticipant(uuid)) {
+            p.sendMessage(MSG_CTF_ONLY);
+            tryPlayDenySound(p);
             return;
         }
 
-        // WITHDRAW: occupied stand + empty hand
-        if (occupied && heldIsEmpty) {
-            plugin.rrRunOnTick(() -> {
-                Player p = plugin.rrResolvePlayer(uuid);
-                if (p == null) return;
-
-                if (!plugin.rrIsActiveCtfParticipant(uuid)) {
-                    p.sendMessage(MSG_CTF_ONLY);
-                    tryPlayDenySound(p);
-                    return;
-                }
-
-                CtfMatchService.Team standFlagTeam = resolveStandFlagTeam(clicked, key);
-
-                CtfMatchService.Team playerTeam = plugin.rrActiveMatchTeamFor(uuid);
-                String chunkOwnerRaw = plugin.rrCtfChunkOwnerTeam(loc.world, loc.x, loc.z);
-                CtfMatchService.Team chunkOwnerTeam = plugin.rrCtfChunkOwnerTeamParsed(loc.world, loc.x, loc.z);
-                boolean blockOwnFlagInOwnChunk = standFlagTeam != null
-                        && playerTeam != null
-                        && standFlagTeam == playerTeam
-                        && chunkOwnerTeam != null
-                        && chunkOwnerTeam == playerTeam;
-
-                if (plugin.rrVerbose()) {
-                    logger.atInfo().log("[RR-CTF] withdraw-guard uuid=%s playerTeam=%s flagTeam=%s chunkOwnerRaw=%s chunkOwnerParsed=%s blocked=%s",
-                            uuid,
-                            (playerTeam == null ? "<null>" : playerTeam.displayName()),
-                            (standFlagTeam == null ? "<null>" : standFlagTeam.displayName()),
-                            (chunkOwnerRaw == null ? "<null>" : chunkOwnerRaw),
-                            (chunkOwnerTeam == null ? "<null>" : chunkOwnerTeam.displayName()),
-                            blockOwnFlagInOwnChunk);
-                }
-
-                if (blockOwnFlagInOwnChunk) {
-                    p.sendMessage(MSG_OWN_FLAG);
-                    tryPlayDenySound(p);
-                    return;
-                }
-
-                if (plugin.rrCtfIsCarryingAnyFlag(uuid)) {
-                    p.sendMessage(MSG_ONE_FLAG_ONLY);
-                    tryPlayDenySound(p);
-                    return;
-                }
-
-                Inventory inv = p.getInventory();
-                if (inv == null) return;
-
-                ItemContainer hotbar = inv.getHotbar();
-                if (hotbar == null) return;
-
-                short slot = (short) (inv.getActiveHotbarSlot() & 0xFF);
-
-                // Disallow if their hand slot isn't empty
-                ItemStack current = hotbar.getItemStack(slot);
-                if (current != null && current.getQuantity() > 0) return;
-
-                // Preferred path: return the exact stack we stored at deposit-time
-                ItemStack stored = state.takeFlag(key);
-
-                // Fallback path: state was lost (rejoin/restart/worldKey mismatch).
-                // Reconstruct a 1x flag from the stand color, then empty the stand.
-                if (stored == null) {
-                    String fallbackFlagId = flagIdForStand(clicked);
-                    if (fallbackFlagId != null) {
-                        stored = plugin.rrCreateItemStackById(fallbackFlagId, 1);
-                    }
-                }
-
-                if (stored == null) {
-                    logger.atWarning().log("[RR-CTF] withdraw failed: occupied but no flag (key=%s clicked=%s)", key, clicked);
-                    return;
-                }
-
-                // Put it into their hand slot
-                hotbar.setItemStackForSlot(slot, stored);
-
-                // Visual swap back to empty
-                plugin.rrSwapStandAt(loc, CtfRules.STAND_EMPTY);
-
-                p.sendInventory();
-
-                // Flag tracker (HUD + scoring)
-                plugin.rrCtfOnFlagWithdrawn(uuid, p.getDisplayName(), stored.getItemId(), loc, (byte) (slot & 0xFF));
-            });
+        CtfMatchService.Team standFlagTeam = resolveStandFlagTeam(clicked, key);
+
+        CtfMatchService.Team playerTeam = plugin.rrActiveMatchTeamFor(uuid);
+        String chunkOwnerRaw = plugin.rrCtfChunkOwnerTeam(loc.world, loc.x, loc.z);
+        CtfMatchService.Team chunkOwnerTeam = plugin.rrCtfChunkOwnerTeamParsed(loc.world, loc.x, loc.z);
+        boolean blockOwnFlagInOwnChunk = standFlagTeam != null
+                && playerTeam != null
+                && standFlagTeam == playerTeam
+                && chunkOwnerTeam != null
+                && chunkOwnerTeam == playerTeam;
+
+        if (plugin.rrVerbose()) {
+            logger.atInfo().log("[RR-CTF] withdraw-guard uuid=%s playerTeam=%s flagTeam=%s chunkOwnerRaw=%s chunkOwnerParsed=%s blocked=%s",
+                    uuid,
+                    (playerTeam == null ? "<null>" : playerTeam.displayName()),
+                    (standFlagTeam == null ? "<null>" : standFlagTeam.displayName()),
+                    (chunkOwnerRaw == null ? "<null>" : chunkOwnerRaw),
+                    (chunkOwnerTeam == null ? "<null>" : chunkOwnerTeam.displayName()),
+                    blockOwnFlagInOwnChunk);
+        }
+
+        if (blockOwnFlagInOwnChunk) {
+            p.sendMessage(MSG_OWN_FLAG);
+            tryPlayDenySound(p);
             return;
         }
 
-        // Otherwise: do nothing. (No auto-swaps and no UI logic here.)
+        if (plugin.rrCtfIsCarryingAnyFlag(uuid)) {
+            p.sendMessage(MSG_ONE_FLAG_ONLY);
+            tryPlayDenySound(p);
+            return;
+        }
+
+        Inventory inv = p.getInventory();
+        if (inv == null) return;
+
+        ItemContainer hotbar = inv.getHotbar();
+        if (hotbar == null) return;
+
+        short slot = (short) (inv.getActiveHotbarSlot() & 0xFF);
+
+        // Disallow if their hand slot isn't empty
+        ItemStack current = hotbar.getItemStack(slot);
+        if (current != null && current.getQuantity() > 0) return;
+
+        // Preferred path: return the exact stack we stored at deposit-time
+        ItemStack stored = state.takeFlag(key);
+
+        // Fallback path: state was lost (rejoin/restart/worldKey mismatch).
+        // Reconstruct a 1x flag from the stand color, then empty the stand.
+        if (stored == null) {
+            String fallbackFlagId = flagIdForStand(clicked);
+            if (fallbackFlagId != null) {
+                stored = plugin.rrCreateItemStackById(fallbackFlagId, 1);
+            }
+        }
+
+        if (stored == null) {
+            logger.atWarning().log("[RR-CTF] withdraw failed: occupied but no flag (key=%s clicked=%s)", key, clicked);
+            return;
+        }
+
+        // Put it into their hand slot
+        hotbar.setItemStackForSlot(slot, stored);
+
+        // Visual swap back to empty
+        plugin.rrSwapStandAt(loc, CtfRules.STAND_EMPTY);
+
+        p.sendInventory();
+
+        // Flag tracker (HUD + scoring)
+        plugin.rrCtfOnFlagWithdrawn(uuid, p.getDisplayName(), stored.getItemId(), loc, (byte) (slot & 0xFF));
     }
 
     private CtfMatchService.Team resolveStandFlagTeam(String standId, String standKey) {
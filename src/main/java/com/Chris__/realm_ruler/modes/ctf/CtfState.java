@@ -8,6 +8,7 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * CTF state container.
  * Owns "what flag is stored in which stand".
+ * Read and written only by commands on the tick queue (CtfMode's stand use and the match-start reset).
  *
  * Stand key format (multiworld-safe):
  *   "worldKey|x|y|z"
@@ -1,12 +1,12 @@
 package com.Chris__.realm_ruler.npc;
 
+import com.Chris__.realm_ruler.core.SpatialIndex;
+import com.Chris__.realm_ruler.storage.DocumentStore;
+import com.Chris__.realm_ruler.storage.RrStorage;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.hypixel.hytale.logger.HytaleLogger;
 
-import java.io.Reader;
-import java.io.Writer;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -64,12 +64,18 @@ public final class NpcArenaRepository {
     private final Object lock = new Object();
     private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
     private final HytaleLogger logger;
-    private final Path filePath;
+    private final DocumentStore document;
     private final Map<String, ArenaDefinition> arenasById = new LinkedHashMap<>();
+    // Enabled arenas with bounds, rebuilt under lock on every change and queried lock-free.
+    private volatile SpatialIndex<ArenaDefinition> arenaIndex = SpatialIndex.empty();
 
     public NpcArenaRepository(Path dataDirectory, HytaleLogger logger) {
+        this(RrStorage.json(dataDirectory, logger), logger);
+    }
+
+    public NpcArenaRepository(RrStorage storage, HytaleLogger logger) {
         this.logger = logger;
-        this.filePath = (dataDirectory == null) ? null : dataDirectory.resolve(FILE_NAME);
+        this.document = (storage == null) ? null : storage.document(FILE_NAME);
         load();
     }
 
@@ -89,6 +95,7 @@ public final class NpcArenaRepository {
         synchronized (lock) {
             if (arenasById.containsKey(normalizedId)) return false;
             arenasById.put(normalizedId, new ArenaDefinition(normalizedId, worldName, null, null, true));
+            reindexLocked();
             saveLocked();
             return true;
         }
@@ -101,6 +108,7 @@ public final class NpcArenaRepository {
         synchronized (lock) {
             ArenaDefinition removed = arenasById.remove(normalizedId);
             if (removed == null) return false;
+            reindexLocked();
             saveLocked();
             return true;
         }
@@ -143,11 +151,18 @@ public final class NpcArenaRepository {
                     arena.pos2(),
                     enabled
             ));
+            reindexLocked();
             saveLocked();
             return true;
         }
     }
 
+    /** Enabled arenas whose bounds contain the point (usually zero or one). */
+    public List<ArenaDefinition> arenasAt(String worldName, double x, double y, double z) {
+        if (worldName == null || worldName.isBlank()) return List.of();
+        return arenaIndex.boxesContaining(worldName, x, y, z);
+    }
+
     public boolean contains(String arenaId, String worldName, double x, double y, double z) {
         ArenaDefinition arena = getArena(arenaId);
         if (arena == null) return false;
@@ -169,24 +184,25 @@ public final class NpcArenaRepository {
                     first ? arena.pos2() : pos,
                     arena.enabled()
             ));
+            reindexLocked();
             saveLocked();
             return true;
         }
     }
 
     private void load() {
-        if (filePath == null) return;
+        if (document == null) return;
         synchronized (lock) {
             arenasById.clear();
             try {
-                Files.createDirectories(filePath.getParent());
-                if (!Files.exists(filePath)) {
+                if (!document.exists()) {
                     saveLocked();
                     return;
                 }
 
-                try (Reader reader = Files.newBufferedReader(filePath)) {
-                    FileModel model = gson.fromJson(reader, FileModel.class);
+                String json = document.read();
+                if (json != null) {
+                    FileModel model = gson.fromJson(json, FileModel.class);
                     if (model == null || model.arenas == null) return;
 
                     for (ArenaDefinition candidate : model.arenas) {
@@ -208,20 +224,29 @@ public final class NpcArenaRepository {
             } catch (Throwable t) {
                 logger.atWarning().withCause(t).log("[RR-NPC] Failed to load npc arenas.");
             }
+            reindexLocked();
         }
     }
 
+    private void reindexLocked() {
+        SpatialIndex.Builder<ArenaDefinition> builder = new SpatialIndex.Builder<>();
+        for (ArenaDefinition arena : arenasById.values()) {
+            if (!arena.enabled() || !arena.hasBounds()) continue;
+            builder.addBox(arena.worldName(),
+                    arena.pos1().x(), arena.pos1().y(), arena.pos1().z(),
+                    arena.pos2().x(), arena.pos2().y(), arena.pos2().z(),
+                    arena);
+        }
+        arenaIndex = builder.build();
+    }
+
     private void saveLocked() {
-        if (filePath == null) return;
+        if (document == null) return;
         try {
-            Files.createDirectories(filePath.getParent());
-
             FileModel out = new FileModel();
             out.arenas = new ArrayList<>(arenasById.values());
 
-            try (Writer writer = Files.newBufferedWriter(filePath)) {
-                gson.toJson(out, writer);
-            }
+            document.write(gson.toJson(out));
         } catch (Throwable t) {
             logger.atWarning().withCause(t).log("[RR-NPC] Failed to save npc arenas.");
         }
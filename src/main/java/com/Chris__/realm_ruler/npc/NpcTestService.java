@@ -1,5 +1,6 @@
 package com.Chris__.realm_ruler.npc;
 
+import com.Chris__.realm_ruler.core.TimerWheel;
 import com.hypixel.hytale.logger.HytaleLogger;
 
 import java.util.ArrayList;
@@ -11,8 +12,10 @@ import java.util.regex.Pattern;
 
 public final class NpcTestService {
 
-    private static final long RESPAWN_DELAY_MILLIS = 5_000L;
-    private static final long RESPAWN_RETRY_MILLIS = 5_000L;
+    private static final long RESPAWN_DELAY_NANOS = 5_000_000_000L;
+    private static final long RESPAWN_RETRY_NANOS = 5_000_000_000L;
+    // Backstop for deaths that never reach onNpcDeath (despawned by other plugins, unloaded chunks).
+    private static final long LIVENESS_CHECK_NANOS = 1_000_000_000L;
     private static final Pattern NAME_PATTERN = Pattern.compile("^[a-z0-9_-]+$");
 
     public record ServiceResult(boolean success, String message) {
@@ -28,7 +31,7 @@ public final class NpcTestService {
         private final SpawnTransform spawn;
         private NpcSpawnAdapter.NpcHandle handle;
         private boolean alive;
-        private long respawnAtMillis;
+        private long respawnAtNanos;
 
         private TrackedNpc(String arenaId,
                            String npcName,
@@ -39,7 +42,7 @@ public final class NpcTestService {
             this.spawn = spawn;
             this.handle = handle;
             this.alive = true;
-            this.respawnAtMillis = 0L;
+            this.respawnAtNanos = 0L;
         }
     }
 
@@ -51,6 +54,8 @@ public final class NpcTestService {
 
     private final Map<String, TrackedNpc> trackedByKey = new HashMap<>();
     private final Map<String, String> keyByEntityUuid = new HashMap<>();
+    // key -> next liveness check (alive) or respawn attempt (dead).
+    private final TimerWheel<String> npcTimers = new TimerWheel<>();
 
     private String selectedBackendId = null;
 
@@ -120,6 +125,7 @@ public final class NpcTestService {
         synchronized (lock) {
             TrackedNpc tracked = new TrackedNpc(normalizedArenaId, normalizedNpcName, transform, spawnResult.handle());
             trackedByKey.put(key, tracked);
+            npcTimers.schedule(key, System.nanoTime() + LIVENESS_CHECK_NANOS);
             if (spawnResult.handle().entityUuid() != null && !spawnResult.handle().entityUuid().isBlank()) {
                 keyByEntityUuid.put(spawnResult.handle().entityUuid(), key);
             }
@@ -141,6 +147,7 @@ public final class NpcTestService {
             if (tracked == null) {
                 return new ServiceResult(false, "NPC not found in arena: " + normalizedNpcName);
             }
+            npcTimers.cancel(key);
             if (tracked.handle != null && tracked.handle.entityUuid() != null) {
                 keyByEntityUuid.remove(tracked.handle.entityUuid());
             }
@@ -156,6 +163,7 @@ public final class NpcTestService {
             removed = new ArrayList<>(trackedByKey.values());
             trackedByKey.clear();
             keyByEntityUuid.clear();
+            npcTimers.clear();
         }
         for (TrackedNpc tracked : removed) {
             despawnHandle(tracked.handle);
@@ -181,6 +189,7 @@ public final class NpcTestService {
             }
             for (String key : keysToRemove) {
                 trackedByKey.remove(key);
+                npcTimers.cancel(key);
             }
         }
 
@@ -220,33 +229,38 @@ public final class NpcTestService {
             if (!tracked.alive) return;
 
             tracked.alive = false;
-            tracked.respawnAtMillis = System.currentTimeMillis() + RESPAWN_DELAY_MILLIS;
+            tracked.respawnAtNanos = System.nanoTime() + RESPAWN_DELAY_NANOS;
+            npcTimers.schedule(key, tracked.respawnAtNanos);
             logger.atInfo().log("[RR-NPC] NPC died; respawn scheduled. arena=%s npc=%s", tracked.arenaId, tracked.npcName);
         }
     }
 
     public void processRespawns() {
-        long now = System.currentTimeMillis();
+        long now = System.nanoTime();
         List<String> dueKeys = new ArrayList<>();
 
         synchronized (lock) {
-            for (Map.Entry<String, TrackedNpc> entry : trackedByKey.entrySet()) {
-                TrackedNpc tracked = entry.getValue();
+            for (String key : npcTimers.advance(now)) {
+                TrackedNpc tracked = trackedByKey.get(key);
                 if (tracked == null) continue;
 
                 if (tracked.alive) {
-                    if (tracked.handle == null || !isHandleAlive(tracked.handle)) {
-                        tracked.alive = false;
-                        tracked.respawnAtMillis = now + RESPAWN_DELAY_MILLIS;
-                        if (tracked.handle != null && tracked.handle.entityUuid() != null) {
-                            keyByEntityUuid.remove(tracked.handle.entityUuid());
-                        }
+                    if (tracked.handle != null && isHandleAlive(tracked.handle)) {
+                        npcTimers.schedule(key, now + LIVENESS_CHECK_NANOS);
+                        continue;
+                    }
+                    tracked.alive = false;
+                    tracked.respawnAtNanos = now + RESPAWN_DELAY_NANOS;
+                    if (tracked.handle != null && tracked.handle.entityUuid() != null) {
+                        keyByEntityUuid.remove(tracked.handle.entityUuid());
                     }
                 }
 
-                if (!tracked.alive && tracked.respawnAtMillis > 0 && now >= tracked.respawnAtMillis) {
-                    dueKeys.add(entry.getKey());
+                if (now < tracked.respawnAtNanos) {
+                    npcTimers.schedule(key, tracked.respawnAtNanos);
+                    continue;
                 }
+                dueKeys.add(key);
             }
         }
 
@@ -278,13 +292,15 @@ public final class NpcTestService {
                 if (result.success() && result.handle() != null) {
                     live.handle = result.handle();
                     live.alive = true;
-                    live.respawnAtMillis = 0L;
+                    live.respawnAtNanos = 0L;
+                    npcTimers.schedule(key, System.nanoTime() + LIVENESS_CHECK_NANOS);
                     if (live.handle.entityUuid() != null && !live.handle.entityUuid().isBlank()) {
                         keyByEntityUuid.put(live.handle.entityUuid(), key);
                     }
                     logger.atInfo().log("[RR-NPC] NPC respawned. arena=%s npc=%s", live.arenaId, live.npcName);
                 } else {
-                    live.respawnAtMillis = System.currentTimeMillis() + RESPAWN_RETRY_MILLIS;
+                    live.respawnAtNanos = System.nanoTime() + RESPAWN_RETRY_NANOS;
+                    npcTimers.schedule(key, live.respawnAtNanos);
                     logger.atWarning().log("[RR-NPC] NPC respawn failed; retrying. arena=%s npc=%s reason=%s",
                             live.arenaId, live.npcName, result.error());
                 }
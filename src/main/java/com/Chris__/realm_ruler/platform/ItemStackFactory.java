@@ -0,0 +1,191 @@
+package com.Chris__.realm_ruler.platform;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ItemStackFactory
+ *
+ * Builds ItemStacks by item id without a compile-time dependency on one server build's ItemStack API.
+ *
+ * The candidate constructors/static factories (same set and order the plugin always probed) are looked
+ * up once at construction and bound as MethodHandles; missing ones are simply left out. The first
+ * candidate that produces a stack becomes the preferred strategy and is tried first from then on, so a
+ * normal call is one handle invocation. Numeric asset indices (Item asset map) are cached per item id
+ * once found (misses are not cached, since assets may still be loading).
+ */
+public final class ItemStackFactory {
+
+    private static final String ITEM_ASSET_CLASS = "com.hypixel.hytale.server.core.asset.type.item.config.Item";
+    private static final int NO_INDEX = Integer.MIN_VALUE;
+
+    private static final MethodType BY_ID = MethodType.methodType(Object.class, String.class, int.class);
+    private static final MethodType BY_INDEX = MethodType.methodType(Object.class, int.class, int.class);
+
+    private enum Kind {
+        BY_ID,            // (String itemId, int amount)
+        BY_ID_SET_AMOUNT, // (String itemId) then setAmount(int)
+        BY_INDEX          // (int assetIndex, int amount)
+    }
+
+    private record Candidate(String description, Kind kind, MethodHandle handle, MethodHandle setAmount) {
+    }
+
+    private final HytaleLogger logger;
+    private final List<Candidate> candidates;
+    private final Map<String, Integer> assetIndexById = new ConcurrentHashMap<>();
+
+    private final MethodHandle getAssetMap;
+    private volatile MethodHandle getIndex = null;
+
+    private volatile int preferred = -1;
+
+    public ItemStackFactory(HytaleLogger logger) {
+        this.logger = logger;
+        this.candidates = resolveCandidates();
+        this.getAssetMap = resolveGetAssetMap();
+    }
+
+    public ItemStack create(String itemId, int amount) {
+        if (itemId == null) return null;
+
+        int first = preferred;
+        if (first >= 0) {
+            ItemStack stack = tryCandidate(candidates.get(first), itemId, amount);
+            if (stack != null) return stack;
+        }
+
+        for (int i = 0; i < candidates.size(); i++) {
+            if (i == first) continue;
+            ItemStack stack = tryCandidate(candidates.get(i), itemId, amount);
+            if (stack == null) continue;
+            if (preferred != i) {
+                preferred = i;
+                if (logger != null) {
+                    logger.atInfo().log("[RR] ItemStack factory bound to %s", candidates.get(i).description());
+                }
+            }
+            return stack;
+        }
+        return null;
+    }
+
+    /** Cached Item asset index for itemId, or null if the asset map does not know it (yet). */
+    public Integer assetIndex(String itemId) {
+        if (itemId == null) return null;
+        Integer cached = assetIndexById.get(itemId);
+        if (cached != null) return cached;
+
+        int idx = lookupAssetIndex(itemId);
+        if (idx == NO_INDEX) return null;
+        assetIndexById.put(itemId, idx);
+        return idx;
+    }
+
+    private ItemStack tryCandidate(Candidate candidate, String itemId, int amount) {
+        try {
+            Object v;
+            switch (candidate.kind()) {
+                case BY_ID -> v = (Object) candidate.handle().invokeExact(itemId, amount);
+                case BY_ID_SET_AMOUNT -> {
+                    v = candidate.handle().invoke(itemId);
+                    if (v != null && candidate.setAmount() != null) {
+                        try {
+                            candidate.setAmount().invoke(v, amount);
+                        } catch (Throwable ignored) {}
+                    }
+                }
+                case BY_INDEX -> {
+                    Integer idx = assetIndex(itemId);
+                    if (idx == null) return null;
+                    v = (Object) candidate.handle().invokeExact((int) idx, amount);
+                }
+                default -> v = null;
+            }
+            return (v instanceof ItemStack is) ? is : null;
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+
+    private int lookupAssetIndex(String itemId) {
+        if (getAssetMap == null) return NO_INDEX;
+        try {
+            Object assetMap = getAssetMap.invoke();
+            if (assetMap == null) return NO_INDEX;
+
+            MethodHandle index = getIndex;
+            if (index == null) {
+                index = MethodHandles.publicLookup()
+                        .unreflect(assetMap.getClass().getMethod("getIndex", String.class))
+                        .asType(MethodType.methodType(Object.class, Object.class, String.class));
+                getIndex = index;
+            }
+            Object idx = (Object) index.invokeExact(assetMap, itemId);
+            if (idx instanceof Integer i) return i;
+        } catch (Throwable ignored) {}
+        return NO_INDEX;
+    }
+
+    private static List<Candidate> resolveCandidates() {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        List<Candidate> out = new ArrayList<>();
+
+        // Constructors first: (String, int), then (String) + setAmount(int)
+        try {
+            out.add(new Candidate("ItemStack(String, int)", Kind.BY_ID,
+                    lookup.findConstructor(ItemStack.class, MethodType.methodType(void.class, String.class, int.class))
+                            .asType(BY_ID), null));
+        } catch (Throwable ignored) {}
+        try {
+            MethodHandle setAmount = null;
+            try {
+                setAmount = lookup.unreflect(ItemStack.class.getMethod("setAmount", int.class));
+            } catch (Throwable ignored2) {}
+            out.add(new Candidate("ItemStack(String) + setAmount", Kind.BY_ID_SET_AMOUNT,
+                    lookup.findConstructor(ItemStack.class, MethodType.methodType(void.class, String.class)),
+                    setAmount));
+        } catch (Throwable ignored) {}
+
+        // Static factories: of/create/from (String, int)
+        for (String name : new String[]{"of", "create", "from"}) {
+            try {
+                out.add(new Candidate("ItemStack." + name + "(String, int)", Kind.BY_ID,
+                        lookup.unreflect(ItemStack.class.getMethod(name, String.class, int.class)).asType(BY_ID), null));
+            } catch (Throwable ignored) {}
+        }
+
+        // Numeric asset index: (int, int) constructor, then of/create/from (int, int)
+        try {
+            out.add(new Candidate("ItemStack(int, int)", Kind.BY_INDEX,
+                    lookup.findConstructor(ItemStack.class, MethodType.methodType(void.class, int.class, int.class))
+                            .asType(BY_INDEX), null));
+        } catch (Throwable ignored) {}
+        for (String name : new String[]{"of", "create", "from"}) {
+            try {
+                out.add(new Candidate("ItemStack." + name + "(int, int)", Kind.BY_INDEX,
+                        lookup.unreflect(ItemStack.class.getMethod(name, int.class, int.class)).asType(BY_INDEX), null));
+            } catch (Throwable ignored) {}
+        }
+        return List.copyOf(out);
+    }
+
+    private static MethodHandle resolveGetAssetMap() {
+        try {
+            Class<?> itemCls = Class.forName(ITEM_ASSET_CLASS);
+            return MethodHandles.publicLookup()
+                    .unreflect(itemCls.getMethod("getAssetMap"))
+                    .asType(MethodType.methodType(Object.class));
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+}
@@ -2,7 +2,12 @@ package com.Chris__.realm_ruler.platform;
 
 import com.hypixel.hytale.protocol.InteractionType;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * PlayerInteractAdapter
@@ -10,12 +15,40 @@ import java.lang.reflect.Method;
  * Centralizes safe extraction from PlayerInteractLib's PlayerInteractionEvent (via reflection).
  * IMPORTANT: PlayerInteractLib often uses record-style accessors (uuid(), interactionType(), etc.)
  * rather than JavaBean getters (getUuid(), getInteractionType()).
+ *
+ * Accessors are resolved once per event class (ClassValue) into MethodHandles, trying the candidate
+ * names in order; a name that does not exist is remembered as missing, so the per-event cost is one
+ * map-free lookup plus a direct handle invocation instead of getMethod() over every candidate name.
  */
 public final class PlayerInteractAdapter {
 
     private static final String PI_EVENT_CLASS =
             "pl.grzegorz2047.hytale.lib.playerinteractlib.PlayerInteractionEvent";
 
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType CANCEL_TYPE = MethodType.methodType(void.class, Object.class);
+
+    /** Resolved accessors for one event class; a null handle means "no such method" (negative cache). */
+    private record Accessors(MethodHandle interactionType,
+                             MethodHandle uuid,
+                             MethodHandle itemInHandId,
+                             MethodHandle interactionChain,
+                             List<MethodHandle> cancellers) {
+    }
+
+    private static final ClassValue<Accessors> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Accessors computeValue(Class<?> type) {
+            return new Accessors(
+                    resolveGetter(type, "interactionType", "getInteractionType"),
+                    resolveGetter(type, "uuid", "getUuid", "playerUuid", "getPlayerUuid"),
+                    resolveGetter(type, "itemInHandId", "getItemInHandId"),
+                    resolveGetter(type, "interaction", "getInteraction", "interactionChain", "getInteractionChain"),
+                    resolveCancellers(type)
+            );
+        }
+    };
+
     private int debugRemaining = 400;
 
     /** Returns true if we should print a debug log (decrements the remaining budget). */
@@ -30,8 +63,8 @@ public final class PlayerInteractAdapter {
     public InteractionType safeInteractionType(Object e) {
         if (e == null) return null;
 
-        // Fallback: reflection on common names (in case lib changes)
-        Object v = safeCall(e, "interactionType", "getInteractionType");
+        // Reflection on common names (in case lib changes), resolved once per event class
+        Object v = invoke(ACCESSORS.get(e.getClass()).interactionType(), e);
         if (v instanceof InteractionType it) return it;
 
         if (v != null) {
@@ -43,24 +76,21 @@ public final class PlayerInteractAdapter {
     public String safeUuid(Object e) {
         if (e == null) return "<null>";
 
-        // Fallback
-        Object v = safeCall(e, "uuid", "getUuid", "playerUuid", "getPlayerUuid");
+        Object v = invoke(ACCESSORS.get(e.getClass()).uuid(), e);
         return (v == null) ? "<null>" : String.valueOf(v);
     }
 
     public String safeItemInHandId(Object e) {
         if (e == null) return "<empty>";
 
-        // Fallback
-        Object v = safeCall(e, "itemInHandId", "getItemInHandId");
+        Object v = invoke(ACCESSORS.get(e.getClass()).itemInHandId(), e);
         return (v == null) ? "<empty>" : String.valueOf(v);
     }
 
     public Object safeInteractionChain(Object e) {
         if (e == null) return null;
 
-        // Fallback
-        return safeCall(e, "interaction", "getInteraction", "interactionChain", "getInteractionChain");
+        return invoke(ACCESSORS.get(e.getClass()).interactionChain(), e);
     }
 
     /**
@@ -70,33 +100,62 @@ public final class PlayerInteractAdapter {
     public boolean tryCancel(Object e) {
         if (e == null) return false;
 
-        // Common cancel patterns across event libs
-        for (String mName : new String[]{"setCancelled", "setCanceled", "cancel", "setHandled"}) {
-            // setX(boolean)
+        for (MethodHandle canceller : ACCESSORS.get(e.getClass()).cancellers()) {
             try {
-                Method m = e.getClass().getMethod(mName, boolean.class);
-                m.invoke(e, true);
-                return true;
-            } catch (Throwable ignored) {}
-
-            // cancel() / setHandled() with no args
-            try {
-                Method m = e.getClass().getMethod(mName);
-                m.invoke(e);
+                canceller.invokeExact(e);
                 return true;
             } catch (Throwable ignored) {}
         }
         return false;
     }
 
-    private static Object safeCall(Object obj, String... methodNames) {
+    private static Object invoke(MethodHandle getter, Object obj) {
+        if (getter == null) return null;
+        try {
+            return (Object) getter.invokeExact(obj);
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+
+    private static MethodHandle resolveGetter(Class<?> type, String... methodNames) {
         for (String name : methodNames) {
             try {
-                Method m = obj.getClass().getMethod(name);
-                if (m.getParameterCount() != 0) continue;
-                return m.invoke(obj);
+                Method m = type.getMethod(name);
+                if (m.getReturnType() == void.class) continue;
+                return unreflect(m).asType(GETTER_TYPE);
             } catch (Throwable ignored) {}
         }
         return null;
     }
+
+    /** Common cancel patterns across event libs, in the order they should be tried. */
+    private static List<MethodHandle> resolveCancellers(Class<?> type) {
+        List<MethodHandle> out = new ArrayList<>();
+        for (String mName : new String[]{"setCancelled", "setCanceled", "cancel", "setHandled"}) {
+            // setX(boolean)
+            try {
+                Method m = type.getMethod(mName, boolean.class);
+                MethodHandle h = MethodHandles.insertArguments(unreflect(m), 1, true);
+                out.add(MethodHandles.dropReturn(h).asType(CANCEL_TYPE));
+            } catch (Throwable ignored) {}
+
+            // cancel() / setHandled() with no args
+            try {
+                Method m = type.getMethod(mName);
+                out.add(MethodHandles.dropReturn(unreflect(m)).asType(CANCEL_TYPE));
+            } catch (Throwable ignored) {}
+        }
+        return List.copyOf(out);
+    }
+
+    private static MethodHandle unreflect(Method m) throws IllegalAccessException {
+        try {
+            return MethodHandles.publicLookup().unreflect(m);
+        } catch (IllegalAccessException e) {
+            // Public method on a non-public class: same access Method.invoke() had.
+            m.setAccessible(true);
+            return MethodHandles.lookup().unreflect(m);
+        }
+    }
 }
@@ -0,0 +1,20 @@
+package com.Chris__.realm_ruler.storage;
+
+import javax.annotation.Nullable;
+
+/**
+ * A single JSON document (a config/registry file such as ctf_stands.json).
+ * write() replaces the whole document atomically.
+ */
+public interface DocumentStore {
+
+    boolean exists();
+
+    /** Current document, or null if it does not exist yet. */
+    @Nullable
+    String read() throws java.io.IOException;
+
+    void write(String json) throws java.io.IOException;
+
+    String describe();
+}
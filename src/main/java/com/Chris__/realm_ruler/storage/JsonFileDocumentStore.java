@@ -0,0 +1,38 @@
+package com.Chris__.realm_ruler.storage;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/** DocumentStore backed by one plain JSON file (the historical layout). */
+public final class JsonFileDocumentStore implements DocumentStore {
+
+    private final Path filePath;
+
+    public JsonFileDocumentStore(Path filePath) {
+        this.filePath = filePath;
+    }
+
+    @Override
+    public boolean exists() {
+        return Files.exists(filePath);
+    }
+
+    @Override
+    public @Nullable String read() throws IOException {
+        if (!Files.exists(filePath)) return null;
+        return Files.readString(filePath, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void write(String json) throws IOException {
+        AtomicFiles.writeString(filePath, (json == null) ? "" : json);
+    }
+
+    @Override
+    public String describe() {
+        return "json:" + filePath.getFileName();
+    }
+}
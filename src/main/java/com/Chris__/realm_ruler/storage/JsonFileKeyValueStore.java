@@ -0,0 +1,172 @@
+package com.Chris__.realm_ruler.storage;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.hypixel.hytale.logger.HytaleLogger;
+
+import javax.annotation.Nullable;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * KeyValueStore backed by one pretty-printed JSON object file. The whole file is parsed on open and
+ * rewritten (atomically) on sync().
+ *
+ * Layout: a store without headers is a flat object ({key: value, ...}); one with headers is
+ * {"header": {...}, "values": {key: value, ...}}. A file whose only members are "values" (an object)
+ * and optionally "header" is read as the second form, anything else as a flat object.
+ */
+public final class JsonFileKeyValueStore implements KeyValueStore {
+
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private final HytaleLogger logger;
+    private final Path filePath;
+    private final Map<String, JsonElement> valuesByKey = new LinkedHashMap<>();
+    private final Map<String, JsonElement> headersByName = new LinkedHashMap<>();
+    private boolean dirty = false;
+
+    public JsonFileKeyValueStore(Path filePath, HytaleLogger logger) {
+        this.filePath = filePath;
+        this.logger = logger;
+        load();
+    }
+
+    @Override
+    public synchronized @Nullable String get(String key) {
+        if (key == null) return null;
+        JsonElement value = valuesByKey.get(key);
+        return (value == null) ? null : value.toString();
+    }
+
+    @Override
+    public synchronized void put(String key, String jsonValue) {
+        if (key == null || jsonValue == null) return;
+        valuesByKey.put(key, gson.fromJson(jsonValue, JsonElement.class));
+        dirty = true;
+    }
+
+    @Override
+    public synchronized void putAll(Map<String, String> jsonValuesByKey) {
+        if (jsonValuesByKey == null) return;
+        for (Map.Entry<String, String> e : jsonValuesByKey.entrySet()) {
+            put(e.getKey(), e.getValue());
+        }
+    }
+
+    @Override
+    public synchronized void remove(String key) {
+        if (key == null) return;
+        if (valuesByKey.remove(key) != null) dirty = true;
+    }
+
+    @Override
+    public synchronized void forEach(BiConsumer<String, String> action) {
+        if (action == null) return;
+        for (Map.Entry<String, JsonElement> e : valuesByKey.entrySet()) {
+            action.accept(e.getKey(), e.getValue().toString());
+        }
+    }
+
+    @Override
+    public synchronized @Nullable String header(String name) {
+        if (name == null) return null;
+        JsonElement value = headersByName.get(name);
+        return (value == null) ? null : value.toString();
+    }
+
+    @Override
+    public synchronized void putHeader(String name, String jsonValue) {
+        if (name == null || jsonValue == null) return;
+        headersByName.put(name, gson.fromJson(jsonValue, JsonElement.class));
+        dirty = true;
+    }
+
+    @Override
+    public synchronized void forEachHeader(BiConsumer<String, String> action) {
+        if (action == null) return;
+        for (Map.Entry<String, JsonElement> e : headersByName.entrySet()) {
+            action.accept(e.getKey(), e.getValue().toString());
+        }
+    }
+
+    @Override
+    public synchronized int size() {
+        return valuesByKey.size();
+    }
+
+    @Override
+    public synchronized boolean sync() {
+        if (!dirty && Files.exists(filePath)) return true;
+        try {
+            JsonObject values = new JsonObject();
+            for (Map.Entry<String, JsonElement> e : valuesByKey.entrySet()) {
+                values.add(e.getKey(), e.getValue());
+            }
+            JsonObject out = values;
+            if (!headersByName.isEmpty()) {
+                JsonObject header = new JsonObject();
+                for (Map.Entry<String, JsonElement> e : headersByName.entrySet()) {
+                    header.add(e.getKey(), e.getValue());
+                }
+                out = new JsonObject();
+                out.add("header", header);
+                out.add("values", values);
+            }
+            AtomicFiles.writeString(filePath, gson.toJson(out));
+            dirty = false;
+            return true;
+        } catch (Throwable t) {
+            logger.atWarning().withCause(t).log("[RR] Failed to write %s", filePath.getFileName());
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        sync();
+    }
+
+    @Override
+    public String describe() {
+        return "json:" + filePath.getFileName();
+    }
+
+    private void load() {
+        if (!Files.exists(filePath)) return;
+        try (Reader r = Files.newBufferedReader(filePath)) {
+            JsonObject obj = gson.fromJson(r, JsonObject.class);
+            if (obj == null) return;
+            JsonObject values = obj;
+            if (isHeaderLayout(obj)) {
+                values = obj.getAsJsonObject("values");
+                if (obj.get("header") instanceof JsonObject header) {
+                    copyInto(header, headersByName);
+                }
+            }
+            copyInto(values, valuesByKey);
+        } catch (Throwable t) {
+            logger.atWarning().withCause(t).log("[RR] Failed to read %s", filePath.getFileName());
+        }
+    }
+
+    private static boolean isHeaderLayout(JsonObject obj) {
+        if (!(obj.get("values") instanceof JsonObject)) return false;
+        for (String member : obj.keySet()) {
+            if (!"values".equals(member) && !"header".equals(member)) return false;
+        }
+        return true;
+    }
+
+    private static void copyInto(JsonObject from, Map<String, JsonElement> to) {
+        for (Map.Entry<String, JsonElement> e : from.entrySet()) {
+            if (e.getKey() == null || e.getValue() == null || e.getValue().isJsonNull()) continue;
+            to.put(e.getKey(), e.getValue());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.Chris__.realm_ruler.storage;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * String key -> JSON value store (one per data set, e.g. "ctf_points").
+ *
+ * Writes are visible to get() immediately and become durable together at the next sync():
+ * a crash before sync() loses the whole batch, never part of it.
+ *
+ * Headers are store-level values kept apart from the keys (e.g. the journal seq a snapshot covers):
+ * get/forEach/size/remove never see them, but putHeader() commits in the same sync() batch as the
+ * keys, so a header and the data it describes are durable together.
+ */
+public interface KeyValueStore {
+
+    @Nullable
+    String get(String key);
+
+    void put(String key, String jsonValue);
+
+    void putAll(Map<String, String> jsonValuesByKey);
+
+    void remove(String key);
+
+    void forEach(BiConsumer<String, String> action);
+
+    @Nullable
+    String header(String name);
+
+    void putHeader(String name, String jsonValue);
+
+    void forEachHeader(BiConsumer<String, String> action);
+
+    int size();
+
+    /** Commit pending writes to disk (fsync). Returns false if the commit failed (writes stay pending). */
+    boolean sync();
+
+    void close();
+
+    /** Short human-readable description (backend + file) for status output. */
+    String describe();
+}
@@ -0,0 +1,50 @@
+package com.Chris__.realm_ruler.storage;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+/**
+ * Explicit unmapping for MappedByteBuffers. The JDK otherwise keeps a mapping until the buffer is
+ * garbage collected, which leaks address space on every remap and (on Windows) keeps the file from
+ * being replaced or deleted. Best effort: if the JDK does not expose a cleaner, the mapping is left
+ * to the GC as before.
+ *
+ * Callers must drop every reference to the buffer first; touching it after unmap crashes the JVM.
+ */
+final class MappedBuffers {
+
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (Throwable ignored) {
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private MappedBuffers() {}
+
+    /** Unmap now if possible; returns false if the mapping is left to the GC. */
+    static boolean unmap(MappedByteBuffer buffer) {
+        if (buffer == null || INVOKE_CLEANER == null) return false;
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+            return true;
+        } catch (Throwable ignored) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,544 @@
+package com.Chris__.realm_ruler.storage;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * MappedKeyValueStore
+ *
+ * Embedded key/value store: one memory-mapped, append-only log file per store (<name>.rrkv).
+ *
+ * File layout:
+ *   header: int magic "RRKV", int format version
+ *   records: byte type, then
+ *     PUT    int keyLen, int valueLen, key bytes (UTF-8), value bytes (UTF-8 JSON)
+ *     DEL    int keyLen, key bytes
+ *     COMMIT int crc32 of every record byte since the previous COMMIT
+ *   A zero type byte marks the end of the log (the mapped tail is always zero-filled).
+ *   Headers (see KeyValueStore) are PUT records whose key is HEADER_PREFIX + name; the prefix starts
+ *   with a NUL char, which no caller key may use, so they share the batch/commit path with the keys.
+ *
+ * Opening the store scans record headers once and builds key -> (offset, length) without decoding
+ * any value; get() decodes on demand. put()/remove() are buffered in memory and sync() appends them
+ * as one batch followed by COMMIT, then forces the mapping to disk. On open, a batch whose COMMIT is
+ * missing or whose checksum does not match is discarded, so a crash mid-sync loses that batch only.
+ *
+ * Superseded records are reclaimed once dead bytes exceed both the live bytes and
+ * rr.storage.mmap.compactMinBytes: the live set is written (plain writes, never mapped) to the next
+ * generation file <name>.rrkv.<n> via temp + rename, the store switches to it and the old file is
+ * deleted. Nothing is ever renamed over a mapped file, which Windows refuses. On open the highest
+ * generation wins and older ones (left behind if a delete failed) are removed.
+ *
+ * Mappings are unmapped explicitly when the file grows, is compacted or closed (see MappedBuffers),
+ * instead of lingering until GC.
+ *
+ * Tuning (JVM system properties):
+ * - Initial mapping size for new files:        -Drr.storage.mmap.initialBytes=65536
+ * - Minimum dead bytes before compacting:      -Drr.storage.mmap.compactMinBytes=1048576
+ */
+public final class MappedKeyValueStore implements KeyValueStore {
+
+    private static final int MAGIC = 0x52524B56; // "RRKV"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 8;
+    private static final String HEADER_PREFIX = "\0h:";
+
+    private static final byte TYPE_END = 0;
+    private static final byte TYPE_PUT = 1;
+    private static final byte TYPE_DEL = 2;
+    private static final byte TYPE_COMMIT = 3;
+
+    private static final int PUT_OVERHEAD = 1 + 4 + 4;
+    private static final int DEL_OVERHEAD = 1 + 4;
+    private static final int COMMIT_BYTES = 1 + 4;
+
+    private record Location(int recordOffset, int recordLength, int valueOffset, int valueLength) {
+    }
+
+    private record EncodedBatch(byte[] bytes, List<Map.Entry<String, Location>> locations) {
+    }
+
+    private final HytaleLogger logger;
+    // Configured path (generation 0); compacted generations live next to it as <base>.<n>.
+    private final Path basePath;
+    private Path filePath;
+    private long generation = 0L;
+
+    private final Map<String, Location> indexByKey = new HashMap<>();
+    private final Map<String, Location> headerIndex = new HashMap<>();
+    // Uncommitted writes (null value = delete), in write order.
+    private final Map<String, String> pendingByKey = new LinkedHashMap<>();
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int writePos = HEADER_BYTES;
+    private long liveBytes = 0L;
+    private boolean closed = false;
+
+    public MappedKeyValueStore(Path filePath, HytaleLogger logger) throws IOException {
+        this.basePath = filePath;
+        this.logger = logger;
+        this.generation = latestGeneration();
+        this.filePath = generationPath(generation);
+        deleteOtherGenerations();
+        open();
+    }
+
+    @Override
+    public synchronized @Nullable String get(String key) {
+        if (key == null || isHeaderKey(key)) return null;
+        if (pendingByKey.containsKey(key)) return pendingByKey.get(key);
+        Location loc = indexByKey.get(key);
+        return (loc == null || buffer == null) ? null : readString(loc.valueOffset(), loc.valueLength());
+    }
+
+    @Override
+    public synchronized void put(String key, String jsonValue) {
+        if (key == null || jsonValue == null || isHeaderKey(key)) return;
+        pendingByKey.put(key, jsonValue);
+    }
+
+    @Override
+    public synchronized void putAll(Map<String, String> jsonValuesByKey) {
+        if (jsonValuesByKey == null) return;
+        for (Map.Entry<String, String> e : jsonValuesByKey.entrySet()) {
+            put(e.getKey(), e.getValue());
+        }
+    }
+
+    @Override
+    public synchronized void remove(String key) {
+        if (key == null || isHeaderKey(key)) return;
+        if (!indexByKey.containsKey(key)) {
+            pendingByKey.remove(key);
+            return;
+        }
+        pendingByKey.put(key, null);
+    }
+
+    @Override
+    public synchronized void forEach(BiConsumer<String, String> action) {
+        if (action == null) return;
+        for (Map.Entry<String, Location> e : indexByKey.entrySet()) {
+            if (buffer == null) break;
+            if (pendingByKey.containsKey(e.getKey())) continue;
+            action.accept(e.getKey(), readString(e.getValue().valueOffset(), e.getValue().valueLength()));
+        }
+        for (Map.Entry<String, String> e : pendingByKey.entrySet()) {
+            if (e.getValue() != null && !isHeaderKey(e.getKey())) action.accept(e.getKey(), e.getValue());
+        }
+    }
+
+    @Override
+    public synchronized @Nullable String header(String name) {
+        if (name == null) return null;
+        String key = HEADER_PREFIX + name;
+        if (pendingByKey.containsKey(key)) return pendingByKey.get(key);
+        Location loc = headerIndex.get(key);
+        return (loc == null || buffer == null) ? null : readString(loc.valueOffset(), loc.valueLength());
+    }
+
+    @Override
+    public synchronized void putHeader(String name, String jsonValue) {
+        if (name == null || jsonValue == null) return;
+        pendingByKey.put(HEADER_PREFIX + name, jsonValue);
+    }
+
+    @Override
+    public synchronized void forEachHeader(BiConsumer<String, String> action) {
+        if (action == null) return;
+        for (Map.Entry<String, Location> e : headerIndex.entrySet()) {
+            if (buffer == null) break;
+            if (pendingByKey.containsKey(e.getKey())) continue;
+            action.accept(e.getKey().substring(HEADER_PREFIX.length()),
+                    readString(e.getValue().valueOffset(), e.getValue().valueLength()));
+        }
+        for (Map.Entry<String, String> e : pendingByKey.entrySet()) {
+            if (isHeaderKey(e.getKey())) action.accept(e.getKey().substring(HEADER_PREFIX.length()), e.getValue());
+        }
+    }
+
+    @Override
+    public synchronized int size() {
+        int n = indexByKey.size();
+        for (Map.Entry<String, String> e : pendingByKey.entrySet()) {
+            if (isHeaderKey(e.getKey())) continue;
+            boolean indexed = indexByKey.containsKey(e.getKey());
+            if (e.getValue() == null && indexed) n--;
+            if (e.getValue() != null && !indexed) n++;
+        }
+        return n;
+    }
+
+    @Override
+    public synchronized boolean sync() {
+        if (closed || buffer == null) return false;
+        if (pendingByKey.isEmpty()) return true;
+
+        try {
+            EncodedBatch batch = encodeBatch(pendingByKey, writePos);
+            ensureCapacity(batch.bytes().length);
+
+            buffer.put(writePos, batch.bytes());
+            int pos = writePos + batch.bytes().length;
+            buffer.put(pos, TYPE_END);
+            buffer.force();
+
+            writePos = pos;
+            pendingByKey.clear();
+            for (Map.Entry<String, Location> e : batch.locations()) {
+                applyLocked(e.getKey(), e.getValue());
+            }
+            maybeCompactLocked();
+            return true;
+        } catch (Throwable t) {
+            // Nothing past writePos is committed; the partial batch is overwritten by the next sync.
+            logger.atWarning().withCause(t).log("[RR] Failed to sync %s", filePath.getFileName());
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        sync();
+        closed = true;
+        closeChannel();
+    }
+
+    @Override
+    public synchronized String describe() {
+        return "mmap:" + filePath.getFileName() + " (" + indexByKey.size() + " keys, "
+                + writePos + " bytes, " + liveBytes + " live)";
+    }
+
+    /** Current generation file (changes when the store compacts). */
+    synchronized Path currentFile() {
+        return filePath;
+    }
+
+    // -------------------------------------------------------------------------
+    // Open / scan
+    // -------------------------------------------------------------------------
+
+    private void open() throws IOException {
+        Path parent = filePath.getParent();
+        if (parent != null) Files.createDirectories(parent);
+
+        channel = FileChannel.open(filePath,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Store file too large: " + filePath);
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, initialBytes()));
+
+        if (size < HEADER_BYTES || buffer.getInt(0) == 0) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, FORMAT_VERSION);
+            buffer.put(HEADER_BYTES, TYPE_END);
+            buffer.force();
+            return;
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            closeChannel();
+            throw new IOException("Not a Realm Ruler store (bad header): " + filePath);
+        }
+        scan();
+    }
+
+    private void scan() {
+        int limit = buffer.capacity();
+        int pos = HEADER_BYTES;
+        int batchStart = pos;
+        List<Map.Entry<String, Location>> batch = new ArrayList<>();
+        int discarded = 0;
+
+        while (pos < limit) {
+            byte type = buffer.get(pos);
+            if (type == TYPE_PUT) {
+                if (pos + PUT_OVERHEAD > limit) break;
+                int keyLen = buffer.getInt(pos + 1);
+                int valueLen = buffer.getInt(pos + 5);
+                if (keyLen < 0 || valueLen < 0 || (long) pos + PUT_OVERHEAD + keyLen + valueLen > limit) break;
+                String key = readString(pos + PUT_OVERHEAD, keyLen);
+                int end = pos + PUT_OVERHEAD + keyLen + valueLen;
+                batch.add(Map.entry(key, new Location(pos, end - pos, pos + PUT_OVERHEAD + keyLen, valueLen)));
+                pos = end;
+            } else if (type == TYPE_DEL) {
+                if (pos + DEL_OVERHEAD > limit) break;
+                int keyLen = buffer.getInt(pos + 1);
+                if (keyLen < 0 || (long) pos + DEL_OVERHEAD + keyLen > limit) break;
+                String key = readString(pos + DEL_OVERHEAD, keyLen);
+                int end = pos + DEL_OVERHEAD + keyLen;
+                batch.add(Map.entry(key, new Location(pos, end - pos, -1, -1)));
+                pos = end;
+            } else if (type == TYPE_COMMIT) {
+                if (pos + COMMIT_BYTES > limit) break;
+                if (buffer.getInt(pos + 1) != checksum(batchStart, pos)) break;
+                for (Map.Entry<String, Location> e : batch) {
+                    applyLocked(e.getKey(), e.getValue());
+                }
+                batch.clear();
+                pos += COMMIT_BYTES;
+                batchStart = pos;
+            } else {
+                if (type != TYPE_END) discarded++;
+                break;
+            }
+        }
+
+        discarded += batch.size();
+        writePos = batchStart;
+        if (discarded > 0) {
+            // Zero the torn tail so a later scan cannot resurrect it.
+            for (int i = batchStart; i < Math.min(pos + 1, limit); i++) {
+                buffer.put(i, TYPE_END);
+            }
+            buffer.force();
+            logger.atWarning().log("[RR] Discarded %d uncommitted record(s) in %s", discarded, filePath.getFileName());
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Helpers
+    // -------------------------------------------------------------------------
+
+    private static boolean isHeaderKey(String key) {
+        return key.startsWith(HEADER_PREFIX);
+    }
+
+    private void applyLocked(String key, Location loc) {
+        Map<String, Location> index = isHeaderKey(key) ? headerIndex : indexByKey;
+        Location previous = (loc.valueOffset() < 0) ? index.remove(key) : index.put(key, loc);
+        if (previous != null) liveBytes -= previous.recordLength();
+        if (loc.valueOffset() >= 0) liveBytes += loc.recordLength();
+    }
+
+    private void ensureCapacity(int extraBytes) throws IOException {
+        long needed = (long) writePos + extraBytes + 1L; // + END marker
+        if (needed <= buffer.capacity()) return;
+        if (needed > Integer.MAX_VALUE) throw new IOException("Store file full: " + filePath);
+
+        long capacity = Math.max(buffer.capacity(), initialBytes());
+        while (capacity < needed) capacity *= 2L;
+        buffer.force();
+        MappedByteBuffer old = buffer;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(capacity, Integer.MAX_VALUE));
+        MappedBuffers.unmap(old);
+    }
+
+    private void maybeCompactLocked() {
+        long dead = (long) writePos - HEADER_BYTES - liveBytes;
+        if (dead < compactMinBytes() || dead < liveBytes) return;
+
+        long nextGeneration = generation + 1L;
+        Path target = generationPath(nextGeneration);
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Map<String, String> live = new LinkedHashMap<>();
+            for (Map.Entry<String, Location> e : headerIndex.entrySet()) {
+                live.put(e.getKey(), readString(e.getValue().valueOffset(), e.getValue().valueLength()));
+            }
+            for (Map.Entry<String, Location> e : indexByKey.entrySet()) {
+                live.put(e.getKey(), readString(e.getValue().valueOffset(), e.getValue().valueLength()));
+            }
+            writeCompacted(tmp, live);
+            AtomicFiles.move(tmp, target);
+        } catch (Throwable t) {
+            logger.atWarning().withCause(t).log("[RR] Failed to compact %s", filePath.getFileName());
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (Throwable ignored) {
+            }
+            return;
+        }
+
+        // The new generation is complete on disk; switch to it.
+        Path previous = filePath;
+        closeChannel();
+        generation = nextGeneration;
+        filePath = target;
+        indexByKey.clear();
+        headerIndex.clear();
+        liveBytes = 0L;
+        writePos = HEADER_BYTES;
+        try {
+            open();
+        } catch (Throwable t) {
+            logger.atWarning().withCause(t).log("[RR] Failed to open compacted %s", filePath.getFileName());
+            buffer = null;
+            return;
+        }
+        try {
+            Files.deleteIfExists(previous);
+        } catch (Throwable t) {
+            // Still mapped somewhere (no explicit unmap on this JDK); removed on next open.
+            logger.atInfo().log("[RR] Could not delete %s yet; it is removed on next open.", previous.getFileName());
+        }
+    }
+
+    /** Header + one committed batch of the live set, written with plain channel writes and fsynced. */
+    private static void writeCompacted(Path target, Map<String, String> live) throws IOException {
+        EncodedBatch batch = encodeBatch(live, HEADER_BYTES);
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + batch.bytes().length + 1);
+        out.putInt(MAGIC);
+        out.putInt(FORMAT_VERSION);
+        out.put(batch.bytes());
+        out.put(TYPE_END);
+        out.flip();
+        try (FileChannel ch = FileChannel.open(target,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                ch.write(out);
+            }
+            ch.force(true);
+        }
+    }
+
+    /**
+     * Encode entries (null value = delete) as PUT/DEL records followed by COMMIT. Locations are
+     * absolute, assuming the batch is written at baseOffset.
+     */
+    private static EncodedBatch encodeBatch(Map<String, String> entries, int baseOffset) throws IOException {
+        List<byte[]> encoded = new ArrayList<>(entries.size() * 2);
+        long total = COMMIT_BYTES;
+        for (Map.Entry<String, String> e : entries.entrySet()) {
+            byte[] key = e.getKey().getBytes(StandardCharsets.UTF_8);
+            byte[] value = (e.getValue() == null) ? null : e.getValue().getBytes(StandardCharsets.UTF_8);
+            encoded.add(key);
+            encoded.add(value);
+            total += (value == null) ? DEL_OVERHEAD + key.length : PUT_OVERHEAD + key.length + value.length;
+        }
+        if (baseOffset + total + 1L > Integer.MAX_VALUE) throw new IOException("Batch too large");
+
+        ByteBuffer out = ByteBuffer.allocate((int) total);
+        List<Map.Entry<String, Location>> locations = new ArrayList<>(entries.size());
+        int i = 0;
+        for (String k : entries.keySet()) {
+            byte[] key = encoded.get(i++);
+            byte[] value = encoded.get(i++);
+            int recordStart = out.position();
+            if (value == null) {
+                out.put(TYPE_DEL).putInt(key.length).put(key);
+                locations.add(Map.entry(k, new Location(baseOffset + recordStart, out.position() - recordStart, -1, -1)));
+            } else {
+                out.put(TYPE_PUT).putInt(key.length).putInt(value.length).put(key);
+                int valueOffset = out.position();
+                out.put(value);
+                locations.add(Map.entry(k, new Location(baseOffset + recordStart, out.position() - recordStart,
+                        baseOffset + valueOffset, value.length)));
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(out.array(), 0, out.position());
+        out.put(TYPE_COMMIT).putInt((int) crc.getValue());
+        return new EncodedBatch(out.array(), locations);
+    }
+
+    private Path generationPath(long gen) {
+        return (gen == 0L) ? basePath : basePath.resolveSibling(basePath.getFileName() + "." + gen);
+    }
+
+    /** Highest generation present next to basePath (0 if only the base file or nothing exists). */
+    private long latestGeneration() throws IOException {
+        Path dir = basePath.toAbsolutePath().getParent();
+        if (dir == null || !Files.isDirectory(dir)) return 0L;
+        String prefix = basePath.getFileName() + ".";
+        long latest = 0L;
+        try (var files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                long gen = parseGeneration(p.getFileName().toString(), prefix);
+                if (gen > latest) latest = gen;
+            }
+        }
+        return latest;
+    }
+
+    /** Remove other generations and leftover compaction temp files (best effort). */
+    private void deleteOtherGenerations() {
+        Path dir = basePath.toAbsolutePath().getParent();
+        if (dir == null || !Files.isDirectory(dir)) return;
+        String prefix = basePath.getFileName() + ".";
+        try (var files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                String name = p.getFileName().toString();
+                boolean stale = (name.startsWith(prefix) && name.endsWith(".tmp"))
+                        || (parseGeneration(name, prefix) > 0L && parseGeneration(name, prefix) != generation)
+                        || (generation > 0L && p.getFileName().equals(basePath.getFileName()));
+                if (stale) Files.deleteIfExists(p);
+            }
+        } catch (Throwable t) {
+            logger.atWarning().withCause(t).log("[RR] Failed to clean up old generations of %s", basePath.getFileName());
+        }
+    }
+
+    private static long parseGeneration(String fileName, String prefix) {
+        if (!fileName.startsWith(prefix)) return -1L;
+        String suffix = fileName.substring(prefix.length());
+        if (suffix.isEmpty() || suffix.length() > 18) return -1L;
+        for (int i = 0; i < suffix.length(); i++) {
+            if (!Character.isDigit(suffix.charAt(i))) return -1L;
+        }
+        return Long.parseLong(suffix);
+    }
+
+    private int checksum(int from, int to) {
+        CRC32 crc = new CRC32();
+        ByteBuffer slice = buffer.duplicate();
+        slice.limit(to).position(from);
+        crc.update(slice);
+        return (int) crc.getValue();
+    }
+
+    private String readString(int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void closeChannel() {
+        MappedByteBuffer mapped = buffer;
+        buffer = null;
+        try {
+            if (mapped != null) mapped.force();
+        } catch (Throwable ignored) {
+        }
+        MappedBuffers.unmap(mapped);
+        try {
+            if (channel != null) channel.close();
+        } catch (Throwable ignored) {
+        }
+        channel = null;
+    }
+
+    private static long initialBytes() {
+        Integer v = Integer.getInteger("rr.storage.mmap.initialBytes");
+        return (v == null || v < 4096) ? 65_536L : v;
+    }
+
+    private static long compactMinBytes() {
+        Integer v = Integer.getInteger("rr.storage.mmap.compactMinBytes");
+        return (v == null || v < 0) ? 1_048_576L : v;
+    }
+}
@@ -0,0 +1,343 @@
+package com.Chris__.realm_ruler.storage;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * RrStorage
+ *
+ * Storage SPI entry point shared by the repositories. Repositories ask for either
+ * - a KeyValueStore (large keyed data sets such as ctf_points), or
+ * - a DocumentStore (small whole-file configs/registries such as ctf_stands.json),
+ * and never touch files directly, so the on-disk format is chosen in one place.
+ *
+ * Backends (see StorageBackend, -Drr.storage.backend=json|mmap):
+ *   - JSON: KeyValueStore -> <name>.json (JSON object, see JsonFileKeyValueStore), DocumentStore -> the file itself.
+ *   - MMAP: KeyValueStore -> <name>.rrkv[.<generation>] (MappedKeyValueStore), DocumentStore -> one key in the
+ *           shared rr_documents.rrkv store.
+ *
+ * migrate(target) copies every store and document into the other backend's files. The running
+ * server keeps using the current backend; restart with the new -Drr.storage.backend to switch.
+ */
+public final class RrStorage {
+
+    private static final String DOCUMENTS_STORE = "rr_documents";
+
+    /**
+     * Everything the repositories persist, so migrate() also copies stores nobody opened this run.
+     * Keep in sync with their STORE_NAME / FILE_NAME constants.
+     */
+    private static final List<String> KNOWN_KEY_VALUE_STORES = List.of("ctf_points");
+    private static final List<String> KNOWN_DOCUMENTS = List.of(
+            "ctf_stands.json",
+            "ctf_region.json",
+            "ctf_shop.json",
+            "ctf_balloons.json",
+            "ctf_teardown.json",
+            "npc_arenas.json");
+
+    public record MigrationResult(boolean ok, int keyValueStores, int keys, int documents, String message) {
+    }
+
+    private final Object lock = new Object();
+    private final @Nullable Path dataDirectory;
+    private final StorageBackend backend;
+    private final HytaleLogger logger;
+
+    private final Map<String, KeyValueStore> keyValueStoresByName = new LinkedHashMap<>();
+    private final Set<String> documentFileNames = new LinkedHashSet<>();
+    private boolean closed = false;
+
+    public RrStorage(@Nullable Path dataDirectory, StorageBackend backend, HytaleLogger logger) {
+        this.dataDirectory = dataDirectory;
+        this.backend = (backend == null) ? StorageBackend.JSON : backend;
+        this.logger = logger;
+    }
+
+    /** JSON-file storage rooted at dataDirectory (null = nothing is persisted). */
+    public static RrStorage json(@Nullable Path dataDirectory, HytaleLogger logger) {
+        return new RrStorage(dataDirectory, StorageBackend.JSON, logger);
+    }
+
+    public StorageBackend backend() {
+        return backend;
+    }
+
+    public boolean isPersistent() {
+        return dataDirectory != null;
+    }
+
+    /** Path for a backend-independent side file (e.g. an append-only journal), or null when not persistent. */
+    public @Nullable Path resolve(String fileName) {
+        if (dataDirectory == null || fileName == null || fileName.isBlank()) return null;
+        return dataDirectory.resolve(fileName);
+    }
+
+    /** Shared KeyValueStore for name (e.g. "ctf_points"), or null when not persistent / unavailable. */
+    public @Nullable KeyValueStore keyValue(String name) {
+        if (dataDirectory == null || name == null || name.isBlank()) return null;
+        synchronized (lock) {
+            if (closed) return null;
+            KeyValueStore existing = keyValueStoresByName.get(name);
+            if (existing != null) return existing;
+            try {
+                KeyValueStore store = openKeyValue(dataDirectory, backend, name);
+                keyValueStoresByName.put(name, store);
+                return store;
+            } catch (Throwable t) {
+                logger.atWarning().withCause(t).log("[RR] Failed to open %s store '%s'.", backend.id(), name);
+                return null;
+            }
+        }
+    }
+
+    /** DocumentStore for fileName (e.g. "ctf_stands.json"), or null when not persistent. */
+    public @Nullable DocumentStore document(String fileName) {
+        if (dataDirectory == null || fileName == null || fileName.isBlank()) return null;
+        synchronized (lock) {
+            documentFileNames.add(fileName);
+        }
+        if (backend == StorageBackend.JSON) {
+            return new JsonFileDocumentStore(dataDirectory.resolve(fileName));
+        }
+        KeyValueStore documents = keyValue(DOCUMENTS_STORE);
+        return (documents == null) ? null : new KeyedDocumentStore(documents, fileName);
+    }
+
+    public List<String> describeOpenStores() {
+        synchronized (lock) {
+            List<String> out = new ArrayList<>();
+            for (Map.Entry<String, KeyValueStore> e : keyValueStoresByName.entrySet()) {
+                out.add(e.getKey() + " -> " + e.getValue().describe() + " (" + e.getValue().size() + " keys)");
+            }
+            for (String fileName : documentFileNames) {
+                out.add(fileName + " -> " + ((backend == StorageBackend.JSON) ? "json" : "mmap:" + DOCUMENTS_STORE));
+            }
+            return out;
+        }
+    }
+
+    /**
+     * Copy every store and document into target-backend files next to the current ones: the known
+     * stores below, anything opened this run, and (for MMAP) every .rrkv file and shared document
+     * on disk. Each target store is cleared first, so keys or documents that no longer exist in the
+     * source do not survive in the copy. Callers should flush their repositories first.
+     */
+    public MigrationResult migrate(StorageBackend target) {
+        if (dataDirectory == null) return new MigrationResult(false, 0, 0, 0, "storage is not persistent");
+        if (target == null) return new MigrationResult(false, 0, 0, 0, "unknown backend");
+        if (target == backend) return new MigrationResult(false, 0, 0, 0, "already using " + backend.id());
+
+        synchronized (lock) {
+            if (closed) return new MigrationResult(false, 0, 0, 0, "storage is closed");
+
+            int stores = 0;
+            int keys = 0;
+            int documents = 0;
+            List<KeyValueStore> opened = new ArrayList<>();
+            try {
+                for (String name : keyValueStoreNames()) {
+                    KeyValueStore src = sourceKeyValue(name, opened);
+                    deleteFiles(keyValueFiles(dataDirectory, target, name));
+                    if (src == null) continue;
+
+                    KeyValueStore dst = openKeyValue(dataDirectory, target, name);
+                    opened.add(dst);
+                    Map<String, String> copy = new LinkedHashMap<>();
+                    src.forEach(copy::put);
+                    dst.putAll(copy);
+                    src.forEachHeader(dst::putHeader);
+                    if (!dst.sync()) throw new IOException("Failed to write " + dst.describe());
+                    stores++;
+                    keys += copy.size();
+                }
+
+                Map<String, String> sourceDocuments = readSourceDocuments(opened);
+                if (target == StorageBackend.JSON) {
+                    deleteFiles(jsonDocumentFiles());
+                    for (Map.Entry<String, String> e : sourceDocuments.entrySet()) {
+                        new JsonFileDocumentStore(dataDirectory.resolve(e.getKey())).write(e.getValue());
+                    }
+                } else {
+                    deleteFiles(keyValueFiles(dataDirectory, target, DOCUMENTS_STORE));
+                    if (!sourceDocuments.isEmpty()) {
+                        KeyValueStore targetDocuments = openKeyValue(dataDirectory, target, DOCUMENTS_STORE);
+                        opened.add(targetDocuments);
+                        targetDocuments.putAll(sourceDocuments);
+                        if (!targetDocuments.sync()) throw new IOException("Failed to write " + targetDocuments.describe());
+                    }
+                }
+                documents = sourceDocuments.size();
+
+                String message = "copied " + stores + " store(s), " + keys + " key(s), " + documents + " document(s)";
+                logger.atInfo().log("[RR] Storage migration %s -> %s: %s", backend.id(), target.id(), message);
+                return new MigrationResult(true, stores, keys, documents, message);
+            } catch (Throwable t) {
+                logger.atWarning().withCause(t).log("[RR] Storage migration %s -> %s failed.", backend.id(), target.id());
+                return new MigrationResult(false, stores, keys, documents, String.valueOf(t.getMessage()));
+            } finally {
+                for (KeyValueStore store : opened) {
+                    store.close();
+                }
+            }
+        }
+    }
+
+    public void close() {
+        synchronized (lock) {
+            if (closed) return;
+            closed = true;
+            for (KeyValueStore store : keyValueStoresByName.values()) {
+                try {
+                    store.close();
+                } catch (Throwable t) {
+                    logger.atWarning().withCause(t).log("[RR] Failed to close %s", store.describe());
+                }
+            }
+            keyValueStoresByName.clear();
+        }
+    }
+
+    /** Known stores, stores opened this run, and (MMAP) every store file on disk; never the documents store. */
+    private Set<String> keyValueStoreNames() throws IOException {
+        Set<String> names = new LinkedHashSet<>(KNOWN_KEY_VALUE_STORES);
+        names.addAll(keyValueStoresByName.keySet());
+        if (backend == StorageBackend.MMAP) {
+            for (Path p : listDataDirectory()) {
+                String fileName = p.getFileName().toString();
+                int ext = fileName.indexOf(".rrkv");
+                if (ext > 0) names.add(fileName.substring(0, ext));
+            }
+        }
+        names.remove(DOCUMENTS_STORE);
+        return names;
+    }
+
+    /** The live store for name (synced), else a temporary open of its files, or null when it was never written. */
+    private @Nullable KeyValueStore sourceKeyValue(String name, List<KeyValueStore> opened) throws IOException {
+        KeyValueStore live = keyValueStoresByName.get(name);
+        if (live != null) {
+            live.sync();
+            return live;
+        }
+        if (keyValueFiles(dataDirectory, backend, name).isEmpty()) return null;
+        KeyValueStore store = openKeyValue(dataDirectory, backend, name);
+        opened.add(store);
+        return store;
+    }
+
+    /** fileName -> JSON of every document in the current backend (including shop backups). */
+    private Map<String, String> readSourceDocuments(List<KeyValueStore> opened) throws IOException {
+        Map<String, String> out = new LinkedHashMap<>();
+        if (backend == StorageBackend.JSON) {
+            for (Path p : jsonDocumentFiles()) {
+                String json = new JsonFileDocumentStore(p).read();
+                if (json != null) out.put(p.getFileName().toString(), json);
+            }
+        } else {
+            KeyValueStore documents = sourceKeyValue(DOCUMENTS_STORE, opened);
+            if (documents != null) documents.forEach(out::put);
+        }
+        return out;
+    }
+
+    /** Existing JSON document files: known documents, documents used this run, and their ".bak.<ts>" copies. */
+    private List<Path> jsonDocumentFiles() throws IOException {
+        Set<String> names = new LinkedHashSet<>(KNOWN_DOCUMENTS);
+        names.addAll(documentFileNames);
+        List<Path> out = new ArrayList<>();
+        for (Path p : listDataDirectory()) {
+            String fileName = p.getFileName().toString();
+            for (String name : names) {
+                if (fileName.equals(name) || fileName.startsWith(name + ".bak.")) {
+                    out.add(p);
+                    break;
+                }
+            }
+        }
+        return out;
+    }
+
+    private List<Path> listDataDirectory() throws IOException {
+        List<Path> out = new ArrayList<>();
+        if (dataDirectory == null || !Files.isDirectory(dataDirectory)) return out;
+        try (var files = Files.list(dataDirectory)) {
+            files.filter(Files::isRegularFile).forEach(out::add);
+        }
+        return out;
+    }
+
+    /** Every file that makes up store name in the given backend (MMAP: base, generations, compaction temps). */
+    private static List<Path> keyValueFiles(Path dir, StorageBackend which, String name) throws IOException {
+        List<Path> out = new ArrayList<>();
+        if (!Files.isDirectory(dir)) return out;
+        String base = switch (which) {
+            case JSON -> name + ".json";
+            case MMAP -> name + ".rrkv";
+        };
+        try (var files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                String fileName = p.getFileName().toString();
+                if (fileName.equals(base) || (which == StorageBackend.MMAP && fileName.startsWith(base + "."))) {
+                    out.add(p);
+                }
+            }
+        }
+        return out;
+    }
+
+    private static void deleteFiles(List<Path> files) throws IOException {
+        for (Path p : files) {
+            Files.deleteIfExists(p);
+        }
+    }
+
+    private KeyValueStore openKeyValue(Path dir, StorageBackend which, String name) throws IOException {
+        return switch (which) {
+            case JSON -> new JsonFileKeyValueStore(dir.resolve(name + ".json"), logger);
+            case MMAP -> new MappedKeyValueStore(dir.resolve(name + ".rrkv"), logger);
+        };
+    }
+
+    /** A document stored as one value in a shared KeyValueStore. */
+    private static final class KeyedDocumentStore implements DocumentStore {
+        private final KeyValueStore store;
+        private final String key;
+
+        private KeyedDocumentStore(KeyValueStore store, String key) {
+            this.store = store;
+            this.key = key;
+        }
+
+        @Override
+        public boolean exists() {
+            return store.get(key) != null;
+        }
+
+        @Override
+        public @Nullable String read() {
+            return store.get(key);
+        }
+
+        @Override
+        public void write(String json) throws IOException {
+            store.put(key, (json == null || json.isBlank()) ? "{}" : json);
+            if (!store.sync()) throw new IOException("Failed to write " + key + " to " + store.describe());
+        }
+
+        @Override
+        public String describe() {
+            return "mmap:" + DOCUMENTS_STORE + "/" + key;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.Chris__.realm_ruler.storage;
+
+import java.util.Locale;
+
+/**
+ * Which on-disk format RrStorage uses.
+ *
+ * Select with -Drr.storage.backend=json|mmap (default json).
+ * - JSON: one pretty-printed JSON file per store (the historical format, easy to hand-edit).
+ * - MMAP: memory-mapped append-only key/value log per store; startup indexes keys only and
+ *         every change appends a record instead of rewriting the file.
+ */
+public enum StorageBackend {
+    JSON("json"),
+    MMAP("mmap");
+
+    private final String id;
+
+    StorageBackend(String id) {
+        this.id = id;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public static StorageBackend configured() {
+        StorageBackend parsed = parse(System.getProperty("rr.storage.backend", "json"));
+        return (parsed == null) ? JSON : parsed;
+    }
+
+    public static StorageBackend parse(String raw) {
+        if (raw == null) return null;
+        String normalized = raw.trim().toLowerCase(Locale.ROOT);
+        for (StorageBackend backend : values()) {
+            if (backend.id.equals(normalized)) return backend;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,66 @@
+package com.Chris__.realm_ruler.targeting;
+
+import com.Chris__.realm_ruler.core.PlayerIdRegistry;
+import com.Chris__.realm_ruler.core.PlayerSlots;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+
+/**
+ * Per-entity view shared by TargetingService's per-tick systems (resolved from the archetype chunk).
+ *
+ * Every system resolves it for every player on every tick, so it is not allocated per call: each
+ * player slot owns one instance that the next resolve refills. A player ticks on one world thread and
+ * its systems run one after another, so nothing else touches the slot's context meanwhile. Only an
+ * entity without a current id (the ticks around connect/disconnect) gets a throwaway instance.
+ */
+final class PlayerTickContext {
+
+    private Player player;
+    private PlayerRef playerRef;
+    private String uuid;
+    private int playerId;
+    private String worldKey;
+
+    Player player() {
+        return player;
+    }
+
+    PlayerRef playerRef() {
+        return playerRef;
+    }
+
+    String uuid() {
+        return uuid;
+    }
+
+    int playerId() {
+        return playerId;
+    }
+
+    String worldKey() {
+        return worldKey;
+    }
+
+    /** One reusable context per player slot. */
+    static final class Slots {
+        private final PlayerSlots<PlayerTickContext> byId;
+
+        Slots(PlayerIdRegistry playerIds) {
+            this.byId = playerIds.newTable();
+        }
+
+        PlayerTickContext fill(Player player, PlayerRef playerRef, String uuid, int playerId, String worldKey) {
+            PlayerTickContext ctx = byId.get(playerId);
+            if (ctx == null) {
+                ctx = new PlayerTickContext();
+                if (playerId != PlayerIdRegistry.NO_ID) byId.set(playerId, ctx);
+            }
+            ctx.player = player;
+            ctx.playerRef = playerRef;
+            ctx.uuid = uuid;
+            ctx.playerId = playerId;
+            ctx.worldKey = worldKey;
+            return ctx;
+        }
+    }
+}
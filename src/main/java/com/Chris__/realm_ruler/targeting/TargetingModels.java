@@ -37,7 +37,8 @@ public final class TargetingModels {
     }
 
     /**
-     * Immutable data snapshot of what a player is looking at at a moment in time.
+     * What a player is looking at. The block fields are fixed; the timestamp is re-stamped in place
+     * while the player's pose is unchanged (see TargetingService.LookTargetTrackerSystem).
      */
     public static final class LookTarget {
         public final World world;
@@ -52,7 +53,7 @@ public final class TargetingModels {
         public final String blockId;
 
         /** Timestamp used to enforce freshness (we only trust recent aim data). */
-        public final long nanoTime;
+        private volatile long nanoTime;
 
         public LookTarget(World world, Vector3i targetPos, Vector3i basePos, String blockId, long nanoTime) {
             this.world = world;
@@ -61,6 +62,15 @@ public final class TargetingModels {
             this.blockId = blockId;
             this.nanoTime = nanoTime;
         }
+
+        public long nanoTime() {
+            return nanoTime;
+        }
+
+        /** Mark the same target as still current (pose unchanged since the raycast). */
+        void restamp(long nanoTime) {
+            this.nanoTime = nanoTime;
+        }
     }
 
     /**
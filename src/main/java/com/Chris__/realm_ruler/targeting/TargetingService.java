@@ -1,15 +1,21 @@
 package com.Chris__.realm_ruler.targeting;
 
 import com.Chris__.realm_ruler.core.LobbyHudState;
+import com.Chris__.realm_ruler.core.MatchClock;
+import com.Chris__.realm_ruler.core.PlayerIdComponent;
+import com.Chris__.realm_ruler.core.PlayerIdRegistry;
+import com.Chris__.realm_ruler.core.PlayerKeys;
+import com.Chris__.realm_ruler.core.PlayerSlots;
 import com.Chris__.realm_ruler.core.RrDebugFlags;
+import com.Chris__.realm_ruler.core.RrTickCadence;
+import com.Chris__.realm_ruler.core.TickExecutor;
+import com.Chris__.realm_ruler.core.TickScheduler;
 import com.Chris__.realm_ruler.integration.MultipleHudBridge;
 import com.Chris__.realm_ruler.ui.CtfFlagsHudState;
 import com.Chris__.realm_ruler.ui.RealmRulerHudService;
-import com.Chris__.realm_ruler.ui.TimerAction;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.atomic.AtomicLong;
 import com.hypixel.hytale.component.ArchetypeChunk;
 import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentType;
 import com.hypixel.hytale.component.Holder;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
@@ -21,7 +27,6 @@ import com.hypixel.hytale.math.vector.Vector3i;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.math.vector.Vector3f;
 import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
-import com.hypixel.hytale.server.core.entity.EntityUtils;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
 import com.hypixel.hytale.server.core.modules.entity.teleport.Teleport;
@@ -35,11 +40,15 @@ import com.hypixel.hytale.server.core.util.TargetUtil;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import static com.Chris__.realm_ruler.targeting.TargetingModels.*;
@@ -66,12 +75,15 @@ import static com.Chris__.realm_ruler.targeting.TargetingModels.*;
 public final class TargetingService {
 
     // --- GLOBAL MATCH TIMER (shared for everyone) ---
+    // Deadline-based; polled once per world tick by the scheduler (watchdog covers "no players online").
+    private final MatchClock matchClock;
     private final RealmRulerHudService hudService;
-    private final ConcurrentLinkedQueue<TimerAction> timerActions = new ConcurrentLinkedQueue<>();
 
-    // This makes sure the timer "ticks" only once per real time slice, even though tick(...) runs per player.
-    private final AtomicLong nextGlobalTimerUpdateNanos = new AtomicLong(0L);
-    private final AtomicLong lastGlobalTimerUpdateNanos = new AtomicLong(0L);
+    /** Period of the per-slice callback (respawns, NPC respawns, dropped flag timeouts). */
+    private static final long PER_SLICE_PERIOD_NANOS = 50_000_000L; // 50ms
+
+    // Global work (match clock, tick executor drain, look demand expiry) runs once per world tick via the scheduler.
+    private final TickScheduler tickScheduler;
 
 
     // -------------------------------------------------------------------------
@@ -84,14 +96,44 @@ public final class TargetingService {
     /** Freshness window: we only trust looked-at results captured very recently. */
     private static final long LOOK_FRESH_NANOS = 250_000_000L; // 250ms
 
-    /** Latest looked-at block info per player UUID (string form). */
-    private final Map<String, TargetingModels.LookTarget> lookByUuid = new ConcurrentHashMap<>();
+    /** Dense ids for connected players; per-tick player state below is indexed by them. */
+    private final PlayerIdRegistry playerIds = new PlayerIdRegistry();
+
+    // Assigned on connect (attachPlayerId) and read by the tick systems from the entity; set by the plugin.
+    private volatile ComponentType<EntityStore, PlayerIdComponent> playerIdType = null;
+
+    /** Latest looked-at block info per player id. */
+    private final PlayerSlots<TargetingModels.LookTarget> lookById = playerIds.newTable();
+
+    /** Demand window: a requested look sample is honored for this long (lazy mode + deferred resolves). */
+    private static final long LOOK_DEMAND_WINDOW_NANOS = 500_000_000L; // 500ms
+
+    /** Max age of a raycast result we keep re-using while the player's pose does not change. */
+    private static final long LOOK_POSE_CACHE_MAX_NANOS = 2_000_000_000L; // 2s
+
+    /** Quantized position/rotation; an unchanged key means the previous raycast is still valid. */
+    private record LookPoseKey(String worldKey, long qx, long qy, long qz, int qPitch, int qYaw) {
+    }
+
+    private record LookPoseEntry(LookPoseKey pose, long capturedAtNanos) {
+    }
+
+    /** Interaction waiting for a look sample (completed by LookTargetTrackerSystem on the tick thread). */
+    private record DeferredResolve(Object event, Object chain, Consumer<TargetingResult> callback, long expiresAtNanos) {
+    }
+
+    private final PlayerSlots<LookPoseEntry> lookPoseById = playerIds.newTable();
+    private final PlayerSlots<Long> lookDemandUntilById = playerIds.newTable();
+    private final Map<String, DeferredResolve> deferredResolveByUuid = new ConcurrentHashMap<>();
+
+    // Optional gate for eager raycasts ("only near stands"), wired by the plugin from the stand registry.
+    private volatile Predicate<PlayerLocationSnapshot> lookProximityGate = null;
 
 
     private final HytaleLogger logger;
 
-    // TICK EXECUTOR seam: we keep draining the same queue as before (no behavior change).
-    private final ConcurrentLinkedQueue<Runnable> tickQueue;
+    // TICK EXECUTOR seam: deferred tick-thread work, drained once per world tick within a time budget.
+    private final TickExecutor tickExecutor;
 
     // PLAYER CACHE seam: keep updating same map as before (uuid -> Player).
     private final Map<String, Player> playerByUuid;
@@ -99,18 +141,29 @@ public final class TargetingService {
     // Optional per-player lobby HUD state provider (wired by plugin / match services).
     private volatile Function<String, LobbyHudState> lobbyHudStateProvider = null;
 
-    // Optional callback fired when the global match timer transitions from running -> stopped.
+    // Optional callback fired (tick thread) when the match clock ends: deadline reached or stopped early.
     private volatile Runnable matchTimerEndedCallback = null;
-    // Optional callback fired once per global timer slice (roughly every 50ms).
+    // Optional callback fired by the match clock roughly every 50ms (tick thread).
     private volatile Runnable perSliceCallback = null;
+    // Optional callback fired roughly every 50ms per ticking world, on that world's thread (arg: world key).
+    private volatile Consumer<String> perWorldSliceCallback = null;
 
     // Pending teleports (applied on tick thread)
     private record PendingTeleport(String worldName, double x, double y, double z,
                                    float pitch, float yaw, float roll) {
     }
 
-    private final Map<String, PendingTeleport> pendingTeleports = new ConcurrentHashMap<>();
-    private final Map<String, PlayerLocationSnapshot> latestTransformByUuid = new ConcurrentHashMap<>();
+    private final PlayerSlots<PendingTeleport> pendingTeleportById = playerIds.newTable();
+    // Teleports for players not connected right now (post-match restore); moved into the slot on connect.
+    private final Map<String, PendingTeleport> offlineTeleportsByUuid = new ConcurrentHashMap<>();
+    // Teleports applied so far in the current tick, per world (each entry is touched only by its world's thread).
+    private final Map<String, TeleportBudget> teleportBudgetByWorld = new ConcurrentHashMap<>();
+
+    private static final class TeleportBudget {
+        private long tick = -1L;
+        private int used = 0;
+    }
+    private final PlayerSlots<PlayerLocationSnapshot> latestTransformById = playerIds.newTable();
 
 
     // -------------------------------------------------------------------------
@@ -134,20 +187,38 @@ public final class TargetingService {
         }
     }
 
-    public void queueTimerStart(int seconds) {
-        timerActions.add(new TimerAction.Start(seconds));
+    /** Start the match clock now. */
+    public void startMatchTimer(int seconds) {
+        matchClock.start(seconds);
+    }
+
+    /** Stop the match clock now; the ended callback still fires on the next tick. */
+    public void stopMatchTimer() {
+        matchClock.stop();
+    }
+
+    public boolean pauseMatchTimer() {
+        return matchClock.pause();
     }
 
-    public void queueTimerStop() {
-        timerActions.add(new TimerAction.Stop());
+    public boolean resumeMatchTimer() {
+        return matchClock.resume();
     }
 
     public boolean isMatchTimerRunning() {
-        return hudService.isRunning();
+        return matchClock.isRunning();
+    }
+
+    public boolean isMatchTimerPaused() {
+        return matchClock.isPaused();
     }
 
     public int getMatchTimerRemainingSeconds() {
-        return hudService.getRemainingSeconds();
+        return matchClock.getRemainingSeconds();
+    }
+
+    public MatchClock getMatchClock() {
+        return matchClock;
     }
 
     public void setLobbyHudStateProvider(Function<String, LobbyHudState> provider) {
@@ -162,10 +233,48 @@ public final class TargetingService {
         this.perSliceCallback = callback;
     }
 
+    public void setPerWorldSliceCallback(Consumer<String> callback) {
+        this.perWorldSliceCallback = callback;
+    }
+
     public void setFlagsHudStateProvider(Supplier<CtfFlagsHudState> provider) {
         hudService.setFlagsHudStateProvider(provider);
     }
 
+    public void setPlayerIdComponentType(ComponentType<EntityStore, PlayerIdComponent> type) {
+        this.playerIdType = type;
+    }
+
+    /**
+     * Connect: assign the player's id and attach it to the entity being added, so tick systems read it
+     * from the chunk. A teleport queued while they were offline is moved into their slot.
+     */
+    public void attachPlayerId(Holder<EntityStore> holder, UUID uuid) {
+        ComponentType<EntityStore, PlayerIdComponent> type = playerIdType;
+        if (holder == null || uuid == null || type == null) return;
+
+        int id = playerIds.register(uuid);
+        holder.putComponent(type, new PlayerIdComponent(id));
+        adoptOfflineTeleport(PlayerKeys.of(uuid), id);
+    }
+
+    /**
+     * Disconnect: release the player's id, dropping their per-tick state (location, look sample, HUD).
+     * A teleport still pending is kept by uuid and applied after they reconnect.
+     */
+    public void releasePlayer(UUID uuid) {
+        int id = playerIds.idOf(uuid);
+        PendingTeleport pending = pendingTeleportById.get(id);
+        if (pending != null) {
+            offlineTeleportsByUuid.put(PlayerKeys.of(uuid), pending);
+        }
+        playerIds.release(uuid);
+    }
+
+    public PlayerIdRegistry playerIds() {
+        return playerIds;
+    }
+
     public void queueTeleport(String uuid, String worldName, double x, double y, double z) {
         queueTeleport(uuid, worldName, x, y, z, 0f, 0f, 0f);
     }
@@ -174,70 +283,79 @@ public final class TargetingService {
                               float pitch, float yaw, float roll) {
         if (uuid == null || uuid.isBlank()) return;
         if (worldName == null || worldName.isBlank()) return;
-        pendingTeleports.put(uuid, new PendingTeleport(worldName, x, y, z, pitch, yaw, roll));
+        PendingTeleport pending = new PendingTeleport(worldName, x, y, z, pitch, yaw, roll);
+        int id = playerIds.idOf(uuid);
+        if (id != PlayerIdRegistry.NO_ID) {
+            pendingTeleportById.set(id, pending);
+        } else {
+            offlineTeleportsByUuid.put(uuid, pending);
+            // The player may have connected meanwhile; their attach already ran, so move it here.
+            adoptOfflineTeleport(uuid, playerIds.idOf(uuid));
+        }
         if (RrDebugFlags.verbose()) {
             logger.atInfo().log("[RR] queued teleport uuid=%s world=%s pos=%.2f,%.2f,%.2f rot=%.1f,%.1f,%.1f",
                     uuid, worldName, x, y, z, pitch, yaw, roll);
         }
     }
 
-    private void tickGlobalMatchTimerOncePerSlice() {
-        long now = System.nanoTime();
-
-        // Only allow one "winner" to tick the global timer about every 50ms.
-        // If 10 players call tick(), only the first one per slice runs this body.
-        long next = nextGlobalTimerUpdateNanos.get();
-        if (now < next) return;
-        if (!nextGlobalTimerUpdateNanos.compareAndSet(next, now + 50_000_000L)) return; // 50ms
-
-        long last = lastGlobalTimerUpdateNanos.getAndSet(now);
-        float dt = (last == 0L) ? 0f : (float) ((now - last) / 1_000_000_000.0);
-
-        boolean wasRunning = hudService.isRunning();
-
-        // Apply queued actions on the tick thread
-        TimerAction a;
-        while ((a = timerActions.poll()) != null) {
-            if (a instanceof TimerAction.Start s) hudService.start(s.seconds());
-            else if (a instanceof TimerAction.Stop) hudService.stop();
-        }
-
-        if (dt > 0f) {
-            hudService.tick(dt);
+    private void adoptOfflineTeleport(String uuid, int id) {
+        if (id == PlayerIdRegistry.NO_ID || offlineTeleportsByUuid.isEmpty()) return;
+        PendingTeleport pending = offlineTeleportsByUuid.remove(uuid);
+        if (pending != null) {
+            pendingTeleportById.set(id, pending);
         }
+    }
 
-        boolean isRunning = hudService.isRunning();
-        if (wasRunning && !isRunning) {
-            Runnable cb = matchTimerEndedCallback;
-            if (cb != null) {
-                try {
-                    cb.run();
-                } catch (Throwable t) {
-                    logger.atWarning().withCause(t).log("[RR] matchTimerEndedCallback failed");
-                }
-            }
+    private void fireMatchTimerEnded() {
+        Runnable cb = matchTimerEndedCallback;
+        if (cb == null) return;
+        try {
+            cb.run();
+        } catch (Throwable t) {
+            logger.atWarning().withCause(t).log("[RR] matchTimerEndedCallback failed");
         }
+    }
 
+    private void runPerSliceCallback() {
         Runnable perSlice = perSliceCallback;
-        if (perSlice != null) {
-            try {
-                perSlice.run();
-            } catch (Throwable t) {
-                logger.atWarning().withCause(t).log("[RR] perSliceCallback failed");
-            }
+        if (perSlice == null) return;
+        try {
+            perSlice.run();
+        } catch (Throwable t) {
+            logger.atWarning().withCause(t).log("[RR] perSliceCallback failed");
         }
     }
 
+    private void runPerWorldSliceCallback(String worldKey) {
+        Consumer<String> perWorldSlice = perWorldSliceCallback;
+        if (perWorldSlice == null) return;
+        try {
+            perWorldSlice.accept(worldKey);
+        } catch (Throwable t) {
+            logger.atWarning().withCause(t).log("[RR] perWorldSliceCallback failed. world=%s", worldKey);
+        }
+    }
 
     public TargetingService(HytaleLogger logger,
-                            ConcurrentLinkedQueue<Runnable> tickQueue,
+                            TickExecutor tickExecutor,
                             Map<String, Player> playerByUuid,
                             MultipleHudBridge multipleHudBridge,
                             boolean hudRenderingEnabled) {
         this.logger = logger;
-        this.tickQueue = tickQueue;
+        this.tickExecutor = tickExecutor;
         this.playerByUuid = playerByUuid;
-        this.hudService = new RealmRulerHudService(multipleHudBridge, logger, hudRenderingEnabled);
+        this.matchClock = new MatchClock(logger);
+        this.matchClock.setOnEnded(this::fireMatchTimerEnded);
+        this.matchClock.scheduleRepeating("per-slice", PER_SLICE_PERIOD_NANOS, this::runPerSliceCallback);
+        // Drained from poll() too, so queued commands still run with nobody online (watchdog polls)
+        // and never overlap the per-slice or end-of-match work that also writes flag state.
+        this.matchClock.scheduleRepeating("tick-queue", 0L, this.tickExecutor::drain);
+        this.hudService = new RealmRulerHudService(multipleHudBridge, logger, hudRenderingEnabled, matchClock, playerIds);
+        this.tickScheduler = new TickScheduler(logger);
+        this.tickScheduler.addGlobalTask("match-clock", this.matchClock::poll);
+        this.tickScheduler.addGlobalTask("look-demand-expiry", this::expireLookDemands);
+        this.tickScheduler.addGlobalTask("hud-frame", this.hudService::refreshFrame);
+        this.tickScheduler.addWorldTask("per-world-slice", PER_SLICE_PERIOD_NANOS, this::runPerWorldSliceCallback);
     }
 
 
@@ -266,6 +384,85 @@ public final class TargetingService {
         return (loc == null) ? null : new TargetingResult(loc, look);
     }
 
+    /**
+     * Same as resolveTarget, but if nothing is known yet (lazy look mode, gated or stale raycast) the player
+     * is raycast on the next tick and the callback runs then, on the tick thread.
+     * If it resolves immediately, the callback runs on the caller thread.
+     * Deferred requests that still cannot be resolved within the demand window are dropped.
+     */
+    public void resolveTargetOrDefer(String uuid, Object event, Object chain, Consumer<TargetingResult> onResolved) {
+        if (onResolved == null) return;
+
+        TargetingResult now = resolveTarget(uuid, event, chain);
+        if (now != null || uuid == null || uuid.isEmpty() || "<null>".equals(uuid)) {
+            onResolved.accept(now);
+            return;
+        }
+
+        deferredResolveByUuid.put(uuid, new DeferredResolve(event, chain, onResolved,
+                System.nanoTime() + LOOK_DEMAND_WINDOW_NANOS));
+        requestLookSample(uuid);
+    }
+
+    /** Ask LookTargetTrackerSystem to raycast this player on the next ticks (bypasses lazy mode + gate). */
+    public void requestLookSample(String uuid) {
+        if (uuid == null || uuid.isEmpty() || "<null>".equals(uuid)) return;
+        lookDemandUntilById.set(playerIds.idOf(uuid), System.nanoTime() + LOOK_DEMAND_WINDOW_NANOS);
+    }
+
+    /** Optional "only raycast near stands" gate for eager mode (see -Drr.look.nearStandsOnly). */
+    public void setLookProximityGate(Predicate<PlayerLocationSnapshot> gate) {
+        this.lookProximityGate = gate;
+    }
+
+    // Look demands expire lazily in isLookDemanded (the next tick of that player) or on release.
+    private void expireLookDemands() {
+        if (deferredResolveByUuid.isEmpty()) return;
+        long now = System.nanoTime();
+        deferredResolveByUuid.entrySet().removeIf(e -> e.getValue() == null || now - e.getValue().expiresAtNanos() > 0L);
+    }
+
+    private void completeDeferredResolve(String uuid, int playerId) {
+        DeferredResolve deferred = deferredResolveByUuid.get(uuid);
+        if (deferred == null) return;
+
+        TargetingResult tr = resolveTarget(uuid, deferred.event(), deferred.chain());
+        if (tr == null) return; // keep waiting until the demand window expires
+        if (!deferredResolveByUuid.remove(uuid, deferred)) return;
+
+        lookDemandUntilById.set(playerId, null);
+        try {
+            deferred.callback().accept(tr);
+        } catch (Throwable t) {
+            logger.atWarning().withCause(t).log("[RR-TARGET] deferred resolve callback failed uuid=%s", uuid);
+        }
+    }
+
+    private boolean isLookDemanded(int playerId, long now) {
+        Long until = lookDemandUntilById.get(playerId);
+        if (until == null) return false;
+        if (now - until <= 0L) return true;
+        lookDemandUntilById.compareAndSet(playerId, until, null);
+        return false;
+    }
+
+    private static LookPoseKey lookPoseKey(String worldKey, TransformComponent transform) {
+        if (worldKey == null || transform == null) return null;
+        Vector3d pos = transform.getPosition();
+        Vector3f rot = transform.getRotation();
+        if (pos == null || rot == null) return null;
+
+        // 1/16 block and ~0.3 degree buckets: small enough that the aimed block cannot change inside a bucket.
+        return new LookPoseKey(
+                worldKey,
+                Math.round(pos.getX() * 16.0),
+                Math.round(pos.getY() * 16.0),
+                Math.round(pos.getZ() * 16.0),
+                Math.round(rot.getPitch() * 200f),
+                Math.round(rot.getYaw() * 200f)
+        );
+    }
+
     /** Hook for Realm_Ruler's UseBlock fallback to remember a location (optional telemetry). */
     public void rememberPendingStandLocation(BlockLocation loc) {
         this.pendingStandLocation = loc;
@@ -273,10 +470,61 @@ public final class TargetingService {
 
     public PlayerLocationSnapshot getLatestPlayerLocation(String uuid) {
         if (uuid == null || uuid.isBlank()) return null;
-        return latestTransformByUuid.get(uuid);
+        return latestTransformById.get(playerIds.idOf(uuid));
+    }
+
+    public TickScheduler getTickScheduler() {
+        return tickScheduler;
+    }
+
+    /**
+     * Keep the match clock ticking when no player entity is ticking (nobody online):
+     * polls are posted onto any loaded world's thread.
+     */
+    public void startMatchClockWatchdog() {
+        matchClock.startWatchdog(() -> {
+            for (World world : Universe.get().getWorlds().values()) {
+                if (world != null) return world::execute;
+            }
+            return null;
+        });
     }
 
-    /** Create the per-tick system that raycasts player aim and updates lookByUuid + playerByUuid + drains tickQueue. */
+    public void stopMatchClockWatchdog() {
+        matchClock.stopWatchdog();
+    }
+
+    /** Queue a flag/stand state change behind the commands already submitted (see TickExecutor). */
+    public void runOnTick(Runnable task) {
+        tickExecutor.submit(task);
+    }
+
+    public TickExecutor.Stats tickExecutorStats() {
+        return tickExecutor.snapshotStats();
+    }
+
+    /** Re-read the tick queue and HUD push properties (`/rr tick reload`). */
+    public void reloadTuning() {
+        tickExecutor.reload();
+        hudService.reloadSettings();
+    }
+
+    public long tickQueueBudgetMicros() {
+        return tickExecutor.budgetNanos() / 1_000L;
+    }
+
+    /**
+     * Core per-tick systems, in registration order:
+     * - PlayerTrackerSystem: playerByUuid refresh + tick scheduler driver + transform snapshots
+     * - TeleportApplySystem: applies queued teleports
+     * - HudRenderSystem: lobby/match HUD per player
+     * These must always be registered: the scheduler drives the timer and tick executor.
+     */
+    public List<EntityTickingSystem<EntityStore>> createCoreTickSystems() {
+        return List.of(new PlayerTrackerSystem(), new TeleportApplySystem(), new HudRenderSystem());
+    }
+
+    /** Create the per-tick system that raycasts player aim and updates lookById (optional). */
     public EntityTickingSystem<EntityStore> createLookTargetTrackerSystem() {
         return new LookTargetTrackerSystem();
     }
@@ -287,10 +535,10 @@ public final class TargetingService {
     public LookTarget getFreshLookTarget(String uuid) {
         if (uuid == null || uuid.isEmpty() || "<null>".equals(uuid)) return null;
 
-        LookTarget t = lookByUuid.get(uuid);
+        LookTarget t = lookById.get(playerIds.idOf(uuid));
         if (t == null) return null;
 
-        long age = System.nanoTime() - t.nanoTime;
+        long age = System.nanoTime() - t.nanoTime();
         if (age > LOOK_FRESH_NANOS) return null;
 
         return t;
@@ -469,10 +717,37 @@ public final class TargetingService {
     }
 
     // -------------------------------------------------------------------------
-    // LookTargetTrackerSystem (moved out of Realm_Ruler)
+    // Per-tick systems (split by concern; each has its own cadence)
     // -------------------------------------------------------------------------
 
-    private final class LookTargetTrackerSystem extends EntityTickingSystem<EntityStore> {
+    private final ComponentType<EntityStore, Player> playerType = Player.getComponentType();
+    private final ComponentType<EntityStore, PlayerRef> playerRefType = PlayerRef.getComponentType();
+
+    private final PlayerTickContext.Slots tickContexts = new PlayerTickContext.Slots(playerIds);
+
+    private PlayerTickContext resolvePlayerContext(int entityId, ArchetypeChunk<EntityStore> chunk, Store<EntityStore> store) {
+        // Read straight from the chunk (no Holder copy) and reuse the cached uuid key; the player id was
+        // attached on connect. Without one (not attached yet, or released) per-player slots are skipped.
+        Player player = chunk.getComponent(entityId, playerType);
+        PlayerRef playerRef = chunk.getComponent(entityId, playerRefType);
+        if (player == null || playerRef == null) return null;
+
+        String uuid = (playerRef.getUuid() != null) ? PlayerKeys.of(playerRef.getUuid()) : safeUuidFromPlayer(playerRef, player);
+        if (uuid == null || uuid.isEmpty()) return null;
+
+        EntityStore es = (EntityStore) store.getExternalData();
+        World world = (es == null) ? null : es.getWorld();
+        ComponentType<EntityStore, PlayerIdComponent> idType = playerIdType;
+        PlayerIdComponent idComponent = (idType == null) ? null : chunk.getComponent(entityId, idType);
+        int playerId = PlayerIdRegistry.NO_ID;
+        if (idComponent != null && playerIds.isCurrent(idComponent.id(), playerRef.getUuid())) {
+            playerId = idComponent.id();
+        }
+        // Refills the slot's context (no allocation per entity per system).
+        return tickContexts.fill(player, playerRef, uuid, playerId, (world == null) ? null : world.getName());
+    }
+
+    private abstract class PlayerSystem extends EntityTickingSystem<EntityStore> {
         private final Query<EntityStore> query = Query.and(
                 Player.getComponentType(),
                 PlayerRef.getComponentType(),
@@ -483,7 +758,13 @@ public final class TargetingService {
         public Query<EntityStore> getQuery() {
             return query;
         }
+    }
 
+    /**
+     * Driver system: refreshes playerByUuid, reports to the tick scheduler (which runs global
+     * work once per world tick) and snapshots transforms on its cadence.
+     */
+    private final class PlayerTrackerSystem extends PlayerSystem {
         @Override
         public void tick(float dt,
                          int entityId,
@@ -491,143 +772,256 @@ public final class TargetingService {
                          Store<EntityStore> store,
                          CommandBuffer<EntityStore> commandBuffer) {
             try {
-                Holder<EntityStore> holder = EntityUtils.toHolder(entityId, chunk);
+                PlayerTickContext ctx = resolvePlayerContext(entityId, chunk, store);
+                if (ctx == null) return;
 
-                Player player = (Player) holder.getComponent(Player.getComponentType());
-                PlayerRef playerRef = (PlayerRef) holder.getComponent(PlayerRef.getComponentType());
-                if (player == null || playerRef == null) return;
+                // Keep existing behavior: refresh player cache every tick
+                playerByUuid.put(ctx.uuid(), ctx.player());
+
+                long tick = tickScheduler.onEntityTick(ctx.worldKey(), ctx.uuid());
+                if (!TickScheduler.isDue(tick, RrTickCadence.transformEveryTicks(), ctx.uuid())) return;
+
+                TransformComponent transform = chunk.getComponent(entityId, TransformComponent.getComponentType());
+                World playerWorld = ctx.player().getWorld();
+                if (transform == null || playerWorld == null) return;
+
+                Vector3d pos = transform.getPosition();
+                Vector3f rot = transform.getRotation();
+                if (pos == null) return;
+
+                float pitch = 0f;
+                float yaw = 0f;
+                float roll = 0f;
+                if (rot != null) {
+                    pitch = rot.getPitch();
+                    yaw = rot.getYaw();
+                    roll = rot.getRoll();
+                }
+                latestTransformById.set(ctx.playerId(), new PlayerLocationSnapshot(
+                        playerWorld.getName(),
+                        pos.getX(),
+                        pos.getY(),
+                        pos.getZ(),
+                        pitch,
+                        yaw,
+                        roll
+                ));
+            } catch (Throwable ignored) {
+                // silent: per-tick system
+            }
+        }
+    }
+
+    /** Applies pending teleports on the tick thread (schedules the component write via world executor). */
+    private final class TeleportApplySystem extends PlayerSystem {
+        @Override
+        public void tick(float dt,
+                         int entityId,
+                         ArchetypeChunk<EntityStore> chunk,
+                         Store<EntityStore> store,
+                         CommandBuffer<EntityStore> commandBuffer) {
+            // Fast path: nothing queued for anyone.
+            if (pendingTeleportById.isEmpty()) return;
 
-                String uuid = safeUuidFromPlayer(playerRef, player);
-                if (uuid == null || uuid.isEmpty()) return;
+            try {
+                PlayerTickContext ctx = resolvePlayerContext(entityId, chunk, store);
+                if (ctx == null) return;
+
+                String uuid = ctx.uuid();
+                int playerId = ctx.playerId();
+                PendingTeleport pending = pendingTeleportById.get(playerId);
+                if (pending == null) return;
+                if (!TickScheduler.isDue(tickScheduler.currentTick(ctx.worldKey()), RrTickCadence.teleportEveryTicks(), uuid)) return;
+
+                World tpWorld = Universe.get().getWorlds().get(pending.worldName());
+                if (tpWorld == null) {
+                    logger.atWarning().log("[RR] Teleport world not found: %s", pending.worldName());
+                    pendingTeleportById.compareAndSet(playerId, pending, null);
+                    return;
+                }
 
-                // Keep existing behavior: refresh player cache every tick
-                playerByUuid.put(uuid, player);
-
-                TransformComponent transform = (TransformComponent) holder.getComponent(TransformComponent.getComponentType());
-                World playerWorld = player.getWorld();
-                if (transform != null && playerWorld != null) {
-                    Vector3d pos = transform.getPosition();
-                    Vector3f rot = transform.getRotation();
-                    if (pos != null) {
-                        float pitch = 0f;
-                        float yaw = 0f;
-                        float roll = 0f;
-                        if (rot != null) {
-                            pitch = rot.getPitch();
-                            yaw = rot.getYaw();
-                            roll = rot.getRoll();
-                        }
-                        latestTransformByUuid.put(uuid, new PlayerLocationSnapshot(
-                                playerWorld.getName(),
-                                pos.getX(),
-                                pos.getY(),
-                                pos.getZ(),
-                                pitch,
-                                yaw,
-                                roll
-                        ));
+                Ref<EntityStore> ref = chunk.getReferenceTo(entityId);
+                if (ref == null || !ref.isValid()) {
+                    if (RrDebugFlags.verbose()) {
+                        logger.atInfo().log("[RR] teleport skipped (invalid ref) uuid=%s", uuid);
                     }
+                    pendingTeleportById.compareAndSet(playerId, pending, null);
+                    return;
                 }
 
-                // Apply pending teleports on the tick thread (schedule component write via world executor)
-                PendingTeleport pending = pendingTeleports.get(uuid);
-                if (pending != null) {
-                    World tpWorld = Universe.get().getWorlds().get(pending.worldName());
-                    if (tpWorld == null) {
-                        logger.atWarning().log("[RR] Teleport world not found: %s", pending.worldName());
-                        pendingTeleports.remove(uuid);
-                    } else {
-                        Ref<EntityStore> ref = chunk.getReferenceTo(entityId);
-                        if (ref == null || !ref.isValid()) {
+                // Past this tick's budget the teleport stays queued for the next tick (large match starts).
+                if (!claimTeleportSlot(ctx.worldKey())) return;
+
+                World current = ctx.player().getWorld();
+                try {
+                    if (RrDebugFlags.verbose()) {
+                        logger.atInfo().log("[RR] scheduling teleport uuid=%s -> world=%s", uuid, pending.worldName());
+                    }
+
+                    current.execute(() -> {
+                        try {
+                            store.putComponent(ref, Teleport.getComponentType(), new Teleport(
+                                    tpWorld,
+                                    new Vector3d(pending.x(), pending.y(), pending.z()),
+                                    new Vector3f(pending.pitch(), pending.yaw(), pending.roll())
+                            ));
                             if (RrDebugFlags.verbose()) {
-                                logger.atInfo().log("[RR] teleport skipped (invalid ref) uuid=%s", uuid);
-                            }
-                            pendingTeleports.remove(uuid);
-                        } else {
-                            World current = player.getWorld();
-                            try {
-                                if (RrDebugFlags.verbose()) {
-                                    logger.atInfo().log("[RR] scheduling teleport uuid=%s -> world=%s", uuid, pending.worldName());
-                                }
-
-                                current.execute(() -> {
-                                    try {
-                                        store.putComponent(ref, Teleport.getComponentType(), new Teleport(
-                                                tpWorld,
-                                                new Vector3d(pending.x(), pending.y(), pending.z()),
-                                                new Vector3f(pending.pitch(), pending.yaw(), pending.roll())
-                                        ));
-                                        if (RrDebugFlags.verbose()) {
-                                            logger.atInfo().log("[RR] applied teleport uuid=%s -> world=%s", uuid, pending.worldName());
-                                        }
-                                    } catch (Throwable t) {
-                                        logger.atWarning().withCause(t).log("[RR] teleport apply failed uuid=%s -> world=%s", uuid, pending.worldName());
-                                    }
-                                });
-
-                                // Only remove after we've successfully scheduled it.
-                                pendingTeleports.remove(uuid);
-                            } catch (Throwable t) {
-                                logger.atWarning().withCause(t).log("[RR] Failed to schedule teleport uuid=%s -> world=%s", uuid, pending.worldName());
-                                // Keep pending so we can retry on the next tick.
+                                logger.atInfo().log("[RR] applied teleport uuid=%s -> world=%s", uuid, pending.worldName());
                             }
+                        } catch (Throwable t) {
+                            logger.atWarning().withCause(t).log("[RR] teleport apply failed uuid=%s -> world=%s", uuid, pending.worldName());
                         }
-                    }
+                    });
+
+                    // Only remove after we've successfully scheduled it (and only if not replaced meanwhile).
+                    pendingTeleportById.compareAndSet(playerId, pending, null);
+                } catch (Throwable t) {
+                    logger.atWarning().withCause(t).log("[RR] Failed to schedule teleport uuid=%s -> world=%s", uuid, pending.worldName());
+                    // Keep pending so we can retry on the next tick.
                 }
+            } catch (Throwable ignored) {
+                // silent: per-tick system
+            }
+        }
+    }
+
+    private boolean claimTeleportSlot(String worldKey) {
+        // Without a world tick counter there is nothing to reset the budget on; don't throttle.
+        if (worldKey == null || worldKey.isBlank()) return true;
+        TeleportBudget budget = teleportBudgetByWorld.computeIfAbsent(worldKey, ignored -> new TeleportBudget());
+        long tick = tickScheduler.currentTick(worldKey);
+        if (budget.tick != tick) {
+            budget.tick = tick;
+            budget.used = 0;
+        }
+        if (budget.used >= RrTickCadence.teleportsPerTick()) return false;
+        budget.used++;
+        return true;
+    }
+
+    /** Lobby/match HUD render per player against the shared per-tick HudFrame (unchanged frames are skipped). */
+    private final class HudRenderSystem extends PlayerSystem {
+        @Override
+        public void tick(float dt,
+                         int entityId,
+                         ArchetypeChunk<EntityStore> chunk,
+                         Store<EntityStore> store,
+                         CommandBuffer<EntityStore> commandBuffer) {
+            try {
+                PlayerTickContext ctx = resolvePlayerContext(entityId, chunk, store);
+                if (ctx == null) return;
+                if (!TickScheduler.isDue(tickScheduler.currentTick(ctx.worldKey()), RrTickCadence.hudEveryTicks(), ctx.uuid())) return;
 
-                tickGlobalMatchTimerOncePerSlice();          // ticks the shared timer (only once per slice)
                 LobbyHudState lobbyState = null;
                 Function<String, LobbyHudState> provider = lobbyHudStateProvider;
                 if (provider != null) {
                     try {
-                        lobbyState = provider.apply(uuid);
+                        lobbyState = provider.apply(ctx.uuid());
                     } catch (Throwable ignored) {
                         lobbyState = null;
                     }
                 }
 
-                hudService.renderForPlayer(uuid, player, playerRef, lobbyState);
+                hudService.renderForPlayer(ctx.playerId(), ctx.player(), ctx.playerRef(), lobbyState,
+                        ctx.worldKey(), tickScheduler.currentTick(ctx.worldKey()));
+            } catch (Throwable ignored) {
+                // silent: per-tick system
+            }
+        }
+    }
 
-                Vector3i hit = TargetUtil.getTargetBlock(chunk.getReferenceTo(entityId), LOOK_RAYCAST_RANGE, store);
-                if (hit == null) return;
+    /**
+     * EyeSpy-style look raycast: uuid -> freshest aimed-at block (see getFreshLookTarget).
+     *
+     * Modes (-Drr.look.mode):
+     * - eager (default): raycast every player on the look cadence, optionally only near stands.
+     * - lazy: raycast only players with an outstanding demand (interaction waiting for a target).
+     * In both modes a result is re-used (no raycast) while the player's pose is unchanged.
+     */
+    private final class LookTargetTrackerSystem extends PlayerSystem {
+        @Override
+        public void tick(float dt,
+                         int entityId,
+                         ArchetypeChunk<EntityStore> chunk,
+                         Store<EntityStore> store,
+                         CommandBuffer<EntityStore> commandBuffer) {
+            try {
+                boolean lazy = RrTickCadence.lookLazy();
+                // Fast path: lazy mode with nobody waiting costs nothing per player.
+                if (lazy && lookDemandUntilById.isEmpty()) return;
+
+                PlayerTickContext ctx = resolvePlayerContext(entityId, chunk, store);
+                if (ctx == null) return;
+
+                String uuid = ctx.uuid();
+                long now = System.nanoTime();
+                boolean demanded = isLookDemanded(ctx.playerId(), now);
+                if (!demanded) {
+                    if (lazy) return;
+                    if (!TickScheduler.isDue(tickScheduler.currentTick(ctx.worldKey()), RrTickCadence.lookEveryTicks(), uuid)) return;
+
+                    Predicate<PlayerLocationSnapshot> gate = lookProximityGate;
+                    if (gate != null && RrTickCadence.lookNearStandsOnly()) {
+                        PlayerLocationSnapshot snapshot = latestTransformById.get(ctx.playerId());
+                        if (snapshot == null || !gate.test(snapshot)) return;
+                    }
+                }
 
-                EntityStore es = (EntityStore) store.getExternalData();
-                if (es == null) return;
+                TransformComponent transform = chunk.getComponent(entityId, TransformComponent.getComponentType());
+                LookPoseKey pose = lookPoseKey(ctx.worldKey(), transform);
+                int playerId = ctx.playerId();
+                LookPoseEntry previousPose = lookPoseById.get(playerId);
+                if (pose != null && previousPose != null && pose.equals(previousPose.pose())
+                        && now - previousPose.capturedAtNanos() < LOOK_POSE_CACHE_MAX_NANOS) {
+                    // Pose unchanged: re-stamp the cached result in place instead of raycasting again.
+                    LookTarget cached = lookById.get(playerId);
+                    if (cached != null) {
+                        cached.restamp(now);
+                    }
+                    completeDeferredResolve(uuid, playerId);
+                    return;
+                }
+                if (pose != null) {
+                    lookPoseById.set(playerId, new LookPoseEntry(pose, now));
+                }
 
-                World world = es.getWorld();
-                if (world == null) return;
+                LookTarget sample = raycastLookTarget(entityId, chunk, store, now);
+                lookById.set(playerId, sample);
+                completeDeferredResolve(uuid, playerId);
+            } catch (Throwable ignored) {
+                // silent: per-tick system
+            }
+        }
+    }
 
-                long hitChunkIndex = ChunkUtil.indexChunkFromBlock(hit.x, hit.z);
-                WorldChunk hitChunk = world.getChunkIfLoaded(hitChunkIndex);
-                if (hitChunk == null) return;
+    private LookTarget raycastLookTarget(int entityId, ArchetypeChunk<EntityStore> chunk, Store<EntityStore> store, long now) {
+        Vector3i hit = TargetUtil.getTargetBlock(chunk.getReferenceTo(entityId), LOOK_RAYCAST_RANGE, store);
+        if (hit == null) return null;
 
-                Vector3i base = resolveBaseBlock(hitChunk, hit.x, hit.y, hit.z);
-                if (base == null) return;
+        EntityStore es = (EntityStore) store.getExternalData();
+        if (es == null) return null;
 
-                long baseChunkIndex = ChunkUtil.indexChunkFromBlock(base.x, base.z);
-                WorldChunk baseChunk = (baseChunkIndex == hitChunkIndex)
-                        ? hitChunk
-                        : world.getChunkIfLoaded(baseChunkIndex);
+        World world = es.getWorld();
+        if (world == null) return null;
 
-                if (baseChunk == null) return;
+        long hitChunkIndex = ChunkUtil.indexChunkFromBlock(hit.x, hit.z);
+        WorldChunk hitChunk = world.getChunkIfLoaded(hitChunkIndex);
+        if (hitChunk == null) return null;
 
-                BlockType bt = baseChunk.getBlockType(base.x, base.y, base.z);
-                String blockId = (bt == null) ? null : safeBlockTypeId(bt);
+        Vector3i base = resolveBaseBlock(hitChunk, hit.x, hit.y, hit.z);
+        if (base == null) return null;
 
-                lookByUuid.put(uuid, new LookTarget(world, hit, base, blockId, System.nanoTime()));
+        long baseChunkIndex = ChunkUtil.indexChunkFromBlock(base.x, base.z);
+        WorldChunk baseChunk = (baseChunkIndex == hitChunkIndex)
+                ? hitChunk
+                : world.getChunkIfLoaded(baseChunkIndex);
 
-                // Keep existing behavior: drain tickQueue on tick thread here
-                Runnable r;
-                while ((r = tickQueue.poll()) != null) {
-                    try { r.run(); }
-                    catch (Throwable t) { logger.atWarning().withCause(t).log("[RR] tickQueue task failed"); }
-                }
+        if (baseChunk == null) return null;
 
-            } catch (Throwable ignored) {
-                // silent: per-tick system
-            }
-        }
+        BlockType bt = baseChunk.getBlockType(base.x, base.y, base.z);
+        String blockId = (bt == null) ? null : safeBlockTypeId(bt);
 
+        return new LookTarget(world, hit, base, blockId, now);
     }
 
     private static Vector3i resolveBaseBlock(WorldChunk chunk, int x, int y, int z) {
@@ -1,20 +1,55 @@
 package com.Chris__.realm_ruler.ui;
 
 import com.Chris__.realm_ruler.core.LobbyHudState;
+import com.Chris__.realm_ruler.core.MatchClock;
+import com.Chris__.realm_ruler.core.PlayerIdRegistry;
+import com.Chris__.realm_ruler.core.PlayerSlots;
 import com.Chris__.realm_ruler.integration.MultipleHudBridge;
 import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 
 import java.util.Map;
-import java.util.Set;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
+/**
+ * Main CTF/lobby HUD.
+ *
+ * Shared match state (timer + flag statuses) is computed once per world tick by refreshFrame() into an
+ * immutable, versioned HudFrame. Per-player rendering only compares that frame (plus the player's lobby
+ * fields) against what the player last saw, so the flag provider and its lock are hit once per tick
+ * instead of once per player.
+ *
+ * Pushes to the client (MultipleHudBridge.setCustomHud) are rate limited per player and capped per world
+ * tick (each world has its own budget, reset when that world's tick advances, so a busy world cannot use
+ * up another world's pushes); a player skipped by either limit keeps their pending change and is pushed on
+ * a later render.
+ *
+ * Per-player HUD state lives in a PlayerSlots table indexed by player id, so it is dropped with the id
+ * on disconnect and a reconnect gets a fresh HUD bound to the new PlayerRef.
+ *
+ * Tuning (JVM system properties):
+ * - Min time between pushes to one client: -Drr.hud.minPushIntervalMs=250
+ * - Max HUD pushes per world tick:          -Drr.hud.maxPushesPerTick=32
+ * The properties are read once (they are checked on every push); `/rr tick reload` re-reads them.
+ */
 public final class RealmRulerHudService {
     private static final String HUD_SLOT_ID = "RealmRuler_MainHud";
 
+    /** Shared per-tick HUD state. version changes whenever any field changes. */
+    public record HudFrame(long version, boolean matchRunning, int seconds, CtfFlagsHudState flags) {
+        private boolean sameContent(boolean matchRunning, int seconds, CtfFlagsHudState flags) {
+            return this.matchRunning == matchRunning
+                    && this.seconds == seconds
+                    && Objects.equals(this.flags, flags);
+        }
+    }
+
+    private static final HudFrame EMPTY_FRAME = new HudFrame(0L, false, 0, null);
+
     private record RenderKey(String mode,
                              int seconds,
                              CtfFlagsHudState flags,
@@ -27,82 +62,119 @@ public final class RealmRulerHudService {
     private final HytaleLogger logger;
     private final AtomicBoolean runtimeDisableLogged = new AtomicBoolean(false);
 
-    private final Map<String, RealmRulerHud> hudByUuid = new ConcurrentHashMap<>();
-    private final Set<String> shownHudByUuid = ConcurrentHashMap.newKeySet();
-    private final Map<String, RenderKey> lastRenderedByUuid = new ConcurrentHashMap<>();
+    /** One player's HUD; touched only by the world thread the player ticks on. */
+    private static final class PlayerHud {
+        private final RealmRulerHud hud;
+        private RenderKey lastRendered;
+        private boolean pushed;
+        private long lastPushNanos;
+        private long shownEpoch = -1L;
+
+        private PlayerHud(RealmRulerHud hud) {
+            this.hud = hud;
+        }
+    }
+
+    /** One world's push budget; touched only by that world's thread. */
+    private static final class PushBudget {
+        private long tick = -1L;
+        private int used = 0;
+    }
+
+    private record Settings(long minPushIntervalNanos, int maxPushesPerTick) {
+    }
+
+    private final PlayerSlots<PlayerHud> hudById;
+    // A HUD counts as shown while its shownEpoch matches; disabling rendering bumps the epoch.
+    private volatile long shownEpoch = 0L;
+    private final Map<String, PushBudget> pushBudgetByWorld = new ConcurrentHashMap<>();
+    private volatile Settings settings = readSettings();
+
+    private volatile HudFrame frame = EMPTY_FRAME;
+    private volatile boolean frameInvalidated = false;
 
     private volatile Supplier<CtfFlagsHudState> flagsHudStateProvider = null;
     private volatile boolean hudRenderingEnabled;
 
-    private boolean running = false;
-    private int remainingSeconds = 0;
-    private float secondAccumulator = 0f;
+    // Match time comes from the shared deadline-based clock (owned by TargetingService).
+    private final MatchClock matchClock;
 
     public RealmRulerHudService(MultipleHudBridge multipleHudBridge,
                                 HytaleLogger logger,
-                                boolean hudRenderingEnabled) {
+                                boolean hudRenderingEnabled,
+                                MatchClock matchClock,
+                                PlayerIdRegistry playerIds) {
+        this.hudById = playerIds.newTable();
         this.multipleHudBridge = multipleHudBridge;
         this.logger = logger;
         this.hudRenderingEnabled = hudRenderingEnabled;
+        this.matchClock = matchClock;
     }
 
-    public void start(int seconds) {
-        this.remainingSeconds = Math.max(0, seconds);
-        this.secondAccumulator = 0f;
-        this.running = this.remainingSeconds > 0;
-        this.lastRenderedByUuid.clear();
-    }
-
-    public void stop() {
-        this.running = false;
-        this.remainingSeconds = 0;
-        this.secondAccumulator = 0f;
-        this.lastRenderedByUuid.clear();
+    public void setFlagsHudStateProvider(Supplier<CtfFlagsHudState> provider) {
+        this.flagsHudStateProvider = provider;
+        this.frameInvalidated = true;
     }
 
-    public void tick(float dt) {
-        if (!running) return;
-        if (dt <= 0f) return;
-
-        secondAccumulator += dt;
-        while (secondAccumulator >= 1.0f && remainingSeconds > 0) {
-            secondAccumulator -= 1.0f;
-            remainingSeconds--;
-
-            if (remainingSeconds <= 0) {
-                remainingSeconds = 0;
-                running = false;
-                break;
-            }
-        }
+    public boolean isHudRenderingEnabled() {
+        return hudRenderingEnabled;
     }
 
-    public boolean isRunning() {
-        return running;
+    public HudFrame currentFrame() {
+        return frame;
     }
 
-    public int getRemainingSeconds() {
-        return remainingSeconds;
+    /** Re-read the push tuning properties. */
+    public void reloadSettings() {
+        settings = readSettings();
     }
 
-    public void setFlagsHudStateProvider(Supplier<CtfFlagsHudState> provider) {
-        this.flagsHudStateProvider = provider;
-        this.lastRenderedByUuid.clear();
-    }
+    /** Recompute the shared HUD frame. Called once per world tick (TickScheduler global task). */
+    public void refreshFrame() {
+        boolean matchRunning = matchClock != null && matchClock.isRunning();
+        int seconds = 0;
+        CtfFlagsHudState flags = null;
+        if (matchRunning) {
+            seconds = matchClock.getRemainingSeconds();
+            Supplier<CtfFlagsHudState> flagsProvider = flagsHudStateProvider;
+            if (flagsProvider != null) {
+                try {
+                    flags = flagsProvider.get();
+                } catch (Throwable ignored) {
+                    flags = null;
+                }
+            }
+        }
 
-    public boolean isHudRenderingEnabled() {
-        return hudRenderingEnabled;
+        HudFrame previous = frame;
+        if (!frameInvalidated && previous.sameContent(matchRunning, seconds, flags)) return;
+        frameInvalidated = false;
+        frame = new HudFrame(previous.version() + 1L, matchRunning, seconds, flags);
     }
 
-    public void renderForPlayer(String uuid, Player player, PlayerRef playerRef, LobbyHudState lobbyState) {
-        if (uuid == null || uuid.isEmpty() || player == null || playerRef == null) return;
+    /** Render one player's HUD; worldKey/worldTick select the push budget of the world the player ticks in. */
+    public void renderForPlayer(int playerId,
+                                Player player,
+                                PlayerRef playerRef,
+                                LobbyHudState lobbyState,
+                                String worldKey,
+                                long worldTick) {
+        if (playerId == PlayerIdRegistry.NO_ID || player == null || playerRef == null) return;
 
-        RealmRulerHud hud = hudByUuid.computeIfAbsent(uuid, ignored -> new RealmRulerHud(playerRef));
-        RenderKey desired = desiredKey(lobbyState);
+        PlayerHud state = hudById.get(playerId);
+        if (state == null) {
+            state = new PlayerHud(new RealmRulerHud(playerRef));
+            hudById.set(playerId, state);
+        }
+        RealmRulerHud hud = state.hud;
+        RenderKey desired = desiredKey(frame, lobbyState);
+        long epoch = shownEpoch;
+        boolean currentlyShown = state.shownEpoch == epoch;
 
         if (desired == null) {
-            lastRenderedByUuid.remove(uuid);
-            if (shownHudByUuid.remove(uuid)) {
+            state.lastRendered = null;
+            if (currentlyShown) {
+                state.shownEpoch = -1L;
                 hud.hide();
                 if (hudRenderingEnabled && !multipleHudBridge.hideCustomHud(player, playerRef, HUD_SLOT_ID)
                         && multipleHudBridge.isRuntimeFailed()) {
@@ -112,9 +184,8 @@ public final class RealmRulerHudService {
             return;
         }
 
-        RenderKey previous = lastRenderedByUuid.get(uuid);
-        boolean currentlyShown = shownHudByUuid.contains(uuid);
-        if (desired.equals(previous) && currentlyShown) return;
+        if (desired.equals(state.lastRendered) && currentlyShown) return;
+        if (hudRenderingEnabled && !tryAcquirePush(state, worldKey, worldTick)) return;
 
         if ("LOBBY".equals(desired.mode())) {
             hud.showLobby(desired.teamName(), desired.waitingCount(), desired.waitingTeamsLine());
@@ -122,13 +193,13 @@ public final class RealmRulerHudService {
             hud.showMatch(desired.seconds(), desired.flags());
         }
 
-        lastRenderedByUuid.put(uuid, desired);
+        state.lastRendered = desired;
 
         if (!hudRenderingEnabled) return;
 
         boolean applied = multipleHudBridge.setCustomHud(player, playerRef, HUD_SLOT_ID, hud);
         if (applied) {
-            shownHudByUuid.add(uuid);
+            state.shownEpoch = epoch;
             return;
         }
 
@@ -137,18 +208,9 @@ public final class RealmRulerHudService {
         }
     }
 
-    private RenderKey desiredKey(LobbyHudState lobbyState) {
-        if (running) {
-            Supplier<CtfFlagsHudState> flagsProvider = flagsHudStateProvider;
-            CtfFlagsHudState flags = null;
-            if (flagsProvider != null) {
-                try {
-                    flags = flagsProvider.get();
-                } catch (Throwable ignored) {
-                    flags = null;
-                }
-            }
-            return new RenderKey("MATCH", remainingSeconds, flags, "", 0, "");
+    private static RenderKey desiredKey(HudFrame frame, LobbyHudState lobbyState) {
+        if (frame.matchRunning()) {
+            return new RenderKey("MATCH", frame.seconds(), frame.flags(), "", 0, "");
         }
 
         if (lobbyState == null || !lobbyState.visible()) {
@@ -161,10 +223,43 @@ public final class RealmRulerHudService {
         return new RenderKey("LOBBY", 0, null, teamName, waitingCount, waitingTeamsLine);
     }
 
+    /** Per-client rate limit + per-world tick budget. Returns false if this push must wait for a later render. */
+    private boolean tryAcquirePush(PlayerHud state, String worldKey, long worldTick) {
+        Settings s = settings;
+        long now = System.nanoTime();
+        if (state.pushed && now - state.lastPushNanos < s.minPushIntervalNanos()) return false;
+        if (!claimPush(worldKey, worldTick, s.maxPushesPerTick())) return false;
+        state.pushed = true;
+        state.lastPushNanos = now;
+        return true;
+    }
+
+    private boolean claimPush(String worldKey, long worldTick, int maxPushesPerTick) {
+        // Without a world tick counter there is nothing to reset the budget on; don't throttle.
+        if (worldKey == null || worldKey.isBlank() || worldTick < 0L) return true;
+        PushBudget budget = pushBudgetByWorld.computeIfAbsent(worldKey, ignored -> new PushBudget());
+        if (budget.tick != worldTick) {
+            budget.tick = worldTick;
+            budget.used = 0;
+        }
+        if (budget.used >= maxPushesPerTick) return false;
+        budget.used++;
+        return true;
+    }
+
+    private static Settings readSettings() {
+        Integer interval = Integer.getInteger("rr.hud.minPushIntervalMs");
+        Integer maxPushes = Integer.getInteger("rr.hud.maxPushesPerTick");
+        return new Settings(
+                ((interval == null || interval < 0) ? 250L : interval) * 1_000_000L,
+                (maxPushes == null || maxPushes < 1) ? 32 : maxPushes
+        );
+    }
+
     private void disableHudRendering(String reason) {
         if (!hudRenderingEnabled) return;
         hudRenderingEnabled = false;
-        shownHudByUuid.clear();
+        shownEpoch++;
         if (runtimeDisableLogged.compareAndSet(false, true)) {
             logger.atWarning().log("[RR-HUD] %s HUD rendering disabled for this session.", reason);
         }
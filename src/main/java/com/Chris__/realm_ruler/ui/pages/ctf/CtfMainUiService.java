@@ -1,15 +1,15 @@
 package com.Chris__.realm_ruler.ui.pages.ctf;
 
+import com.Chris__.realm_ruler.core.PlayerKeys;
 import com.Chris__.realm_ruler.ctf.CtfWorkflowFacade;
 import com.hypixel.hytale.component.ArchetypeChunk;
 import com.hypixel.hytale.component.CommandBuffer;
-import com.hypixel.hytale.component.Holder;
+import com.hypixel.hytale.component.ComponentType;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
 import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.server.core.Message;
-import com.hypixel.hytale.server.core.entity.EntityUtils;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
@@ -52,7 +52,9 @@ public final class CtfMainUiService {
     }
 
     private final class CtfMainUiSystem extends EntityTickingSystem<EntityStore> {
-        private final Query<EntityStore> query = Query.and(Player.getComponentType(), PlayerRef.getComponentType());
+        private final ComponentType<EntityStore, Player> playerType = Player.getComponentType();
+        private final ComponentType<EntityStore, PlayerRef> playerRefType = PlayerRef.getComponentType();
+        private final Query<EntityStore> query = Query.and(playerType, playerRefType);
 
         @Override
         public Query<EntityStore> getQuery() {
@@ -65,16 +67,16 @@ public final class CtfMainUiService {
                          ArchetypeChunk<EntityStore> chunk,
                          Store<EntityStore> store,
                          CommandBuffer<EntityStore> commandBuffer) {
+            // Fast path: nobody asked for this page.
+            if (pendingOpenByUuid.isEmpty()) return;
             String uuid = null;
             try {
-                Holder<EntityStore> holder = EntityUtils.toHolder(entityId, chunk);
+                PlayerRef playerRef = chunk.getComponent(entityId, playerRefType);
+                uuid = PlayerKeys.of(playerRef);
+                if (uuid == null || !pendingOpenByUuid.remove(uuid)) return;
 
-                Player player = (Player) holder.getComponent(Player.getComponentType());
-                PlayerRef playerRef = (PlayerRef) holder.getComponent(PlayerRef.getComponentType());
-                if (player == null || playerRef == null || playerRef.getUuid() == null) return;
-
-                uuid = playerRef.getUuid().toString();
-                if (!pendingOpenByUuid.remove(uuid)) return;
+                Player player = chunk.getComponent(entityId, playerType);
+                if (player == null) return;
 
                 if (!isUiAvailable()) {
                     player.sendMessage(Message.raw("[RealmRuler] CTF UI is unavailable right now (missing UI assets)."));
@@ -92,8 +94,7 @@ public final class CtfMainUiService {
                     logger.atWarning().withCause(t).log("[RR-CTF] Failed to open the main CTF UI. uuid=%s", String.valueOf(uuid));
                 }
                 try {
-                    Holder<EntityStore> holder = EntityUtils.toHolder(entityId, chunk);
-                    Player player = (Player) holder.getComponent(Player.getComponentType());
+                    Player player = chunk.getComponent(entityId, playerType);
                     if (player != null) {
                         player.sendMessage(Message.raw("[RealmRuler] Failed to open the main CTF UI. Try /ctf again."));
                     }
@@ -1,12 +1,12 @@
 package com.Chris__.realm_ruler.ui.pages.ctf;
 
+import com.Chris__.realm_ruler.core.PlayerKeys;
 import com.hypixel.hytale.component.ArchetypeChunk;
 import com.hypixel.hytale.component.CommandBuffer;
-import com.hypixel.hytale.component.Holder;
+import com.hypixel.hytale.component.ComponentType;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
-import com.hypixel.hytale.server.core.entity.EntityUtils;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
@@ -47,7 +47,9 @@ public final class CtfMapUiService {
     }
 
     private final class CtfMapUiSystem extends EntityTickingSystem<EntityStore> {
-        private final Query<EntityStore> query = Query.and(Player.getComponentType(), PlayerRef.getComponentType());
+        private final ComponentType<EntityStore, Player> playerType = Player.getComponentType();
+        private final ComponentType<EntityStore, PlayerRef> playerRefType = PlayerRef.getComponentType();
+        private final Query<EntityStore> query = Query.and(playerType, playerRefType);
 
         @Override
         public Query<EntityStore> getQuery() {
@@ -60,16 +62,15 @@ public final class CtfMapUiService {
                          ArchetypeChunk<EntityStore> chunk,
                          Store<EntityStore> store,
                          CommandBuffer<EntityStore> commandBuffer) {
+            // Fast path: nobody asked for the map.
+            if (pendingOpenByUuid.isEmpty()) return;
             try {
-                Holder<EntityStore> holder = EntityUtils.toHolder(entityId, chunk);
+                PlayerRef playerRef = chunk.getComponent(entityId, playerRefType);
+                String uuid = PlayerKeys.of(playerRef);
+                if (uuid == null || !pendingOpenByUuid.remove(uuid)) return;
 
-                Player player = (Player) holder.getComponent(Player.getComponentType());
-                PlayerRef playerRef = (PlayerRef) holder.getComponent(PlayerRef.getComponentType());
-                if (player == null || playerRef == null) return;
-                if (playerRef.getUuid() == null) return;
-
-                String uuid = playerRef.getUuid().toString();
-                if (!pendingOpenByUuid.remove(uuid)) return;
+                Player player = chunk.getComponent(entityId, playerType);
+                if (player == null) return;
 
                 if (!isUiAvailable()) {
                     player.sendMessage(Message.raw("[RealmRuler] CTF map UI is unavailable right now (missing UI assets)."));
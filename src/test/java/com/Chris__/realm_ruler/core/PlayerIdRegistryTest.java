@@ -0,0 +1,82 @@
+package com.Chris__.realm_ruler.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class PlayerIdRegistryTest {
+
+    @Test
+    void releasedIdsAreReusedLowestFirst() {
+        PlayerIdRegistry ids = new PlayerIdRegistry();
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+        assertEquals(0, ids.register(a));
+        assertEquals(1, ids.register(b));
+        assertEquals(0, ids.register(a));
+
+        ids.release(a);
+        assertEquals(PlayerIdRegistry.NO_ID, ids.idOf(a));
+        assertEquals(0, ids.register(c));
+        assertEquals(0, ids.idOf(PlayerKeys.of(c)));
+    }
+
+    @Test
+    void staleIdIsNotCurrentAfterReleaseOrReuse() {
+        PlayerIdRegistry ids = new PlayerIdRegistry();
+        UUID leaving = UUID.randomUUID();
+        UUID joining = UUID.randomUUID();
+        int id = ids.register(leaving);
+        assertTrue(ids.isCurrent(id, leaving));
+
+        ids.release(leaving);
+        assertFalse(ids.isCurrent(id, leaving));
+
+        assertEquals(id, ids.register(joining));
+        assertFalse(ids.isCurrent(id, leaving));
+        assertTrue(ids.isCurrent(id, joining));
+    }
+
+    @Test
+    void releaseClearsSlotsAndKeepsCounts() {
+        PlayerIdRegistry ids = new PlayerIdRegistry();
+        PlayerSlots<String> table = ids.newTable();
+        UUID a = UUID.randomUUID();
+        int id = ids.register(a);
+        assertTrue(table.isEmpty());
+
+        table.set(id, "pending");
+        table.set(id, "replaced");
+        assertEquals(1, table.size());
+        assertFalse(table.compareAndSet(id, "pending", null));
+        assertEquals("replaced", table.get(id));
+
+        ids.release(a);
+        assertNull(table.get(id));
+        assertTrue(table.isEmpty());
+        table.set(PlayerIdRegistry.NO_ID, "ignored");
+        assertTrue(table.isEmpty());
+    }
+
+    @Test
+    void writeAfterReleaseDoesNotReachNextOwner() {
+        PlayerIdRegistry ids = new PlayerIdRegistry();
+        PlayerSlots<String> table = ids.newTable();
+        UUID leaving = UUID.randomUUID();
+        int id = ids.register(leaving);
+
+        ids.release(leaving);
+        // A tick that checked isCurrent before the release lands its write afterwards.
+        table.set(id, "stale");
+
+        assertEquals(id, ids.register(UUID.randomUUID()));
+        assertNull(table.get(id));
+        assertTrue(table.isEmpty());
+    }
+}
@@ -0,0 +1,80 @@
+package com.Chris__.realm_ruler.core;
+
+import com.hypixel.hytale.math.util.ChunkUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class SpatialIndexTest {
+
+    @Test
+    void pointLookupsAreExactAndPerWorld() {
+        SpatialIndex<String> index = new SpatialIndex.Builder<String>()
+                .addPoint("world", 10, 64, -20, "red")
+                .addPoint("other", 10, 64, -20, "blue")
+                .build();
+
+        assertEquals("red", index.pointAt("world", 10, 64, -20));
+        assertEquals("blue", index.pointAt("other", 10, 64, -20));
+        assertNull(index.pointAt("world", 10, 65, -20));
+        assertNull(index.pointAt("missing", 10, 64, -20));
+        assertEquals(List.of("red"), index.pointsInChunk("world",
+                ChunkUtil.chunkCoordinate(10), ChunkUtil.chunkCoordinate(-20)));
+    }
+
+    @Test
+    void nearestPointSearchesNeighbouringChunks() {
+        // Two stands on either side of a chunk border; the query sits next to the border.
+        int border = 32 * 4;
+        SpatialIndex<String> index = new SpatialIndex.Builder<String>()
+                .addPoint("world", border - 3, 64, 0, "near")
+                .addPoint("world", border + 6, 64, 0, "far")
+                .build();
+
+        double x = border + 0.5d;
+        assertEquals("near", index.nearestPoint("world", x, 64.5d, 0.5d, 8d));
+        assertTrue(index.anyPointWithin("world", x, 64.5d, 0.5d, 3.1d));
+        assertFalse(index.anyPointWithin("world", x, 64.5d, 0.5d, 2.9d));
+        assertNull(index.nearestPoint("world", x, 200d, 0.5d, 8d));
+    }
+
+    @Test
+    void boxesMatchInclusiveBoundsWithCornersInAnyOrder() {
+        SpatialIndex<String> index = new SpatialIndex.Builder<String>()
+                .addBox("world", 40, 80, 40, -40, 60, -40, "arena")
+                .addBox("world", 0, 0, 0, 5, 100, 5, "spawn")
+                .build();
+
+        assertEquals(List.of("arena"), index.boxesContaining("world", -40d, 60d, 40.9d));
+        assertTrue(index.boxesContaining("world", 41d, 70d, 0d).isEmpty());
+        assertEquals(2, index.boxesContaining("world", 3.5d, 70d, 3.5d).size());
+        assertTrue(index.boxesContaining("other", 0d, 70d, 0d).isEmpty());
+    }
+
+    @Test
+    void largeBoxesAreStillFound() {
+        SpatialIndex<String> index = new SpatialIndex.Builder<String>()
+                .addBox("world", -100_000, 0, -100_000, 100_000, 255, 100_000, "huge")
+                .build();
+
+        assertEquals(List.of("huge"), index.boxesContaining("world", 99_999d, 10d, -99_999d));
+        assertTrue(index.boxesContaining("world", 100_001d, 10d, 0d).isEmpty());
+    }
+
+    @Test
+    void emptyBuilderReturnsSharedEmptyIndex() {
+        SpatialIndex<String> index = new SpatialIndex.Builder<String>()
+                .addPoint(null, 0, 0, 0, "ignored")
+                .addBox("world", 0, 0, 0, 1, 1, 1, null)
+                .build();
+
+        assertEquals(0, index.size());
+        assertSame(SpatialIndex.empty(), index);
+    }
+}
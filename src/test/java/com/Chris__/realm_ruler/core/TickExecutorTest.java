@@ -0,0 +1,78 @@
+package com.Chris__.realm_ruler.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class TickExecutorTest {
+
+    @Test
+    void commandsRunInSubmissionOrder() {
+        TickExecutor executor = new TickExecutor(null);
+        List<String> ran = new ArrayList<>();
+        executor.submit(() -> ran.add("a"));
+        executor.submit(() -> ran.add("b"));
+        executor.submit(() -> ran.add("c"));
+
+        assertEquals(3, executor.drain(Long.MAX_VALUE));
+        assertEquals(List.of("a", "b", "c"), ran);
+        assertEquals(0, executor.backlog());
+    }
+
+    @Test
+    void commandPostedFromCommandQueuesBehindEarlierOnes() {
+        TickExecutor executor = new TickExecutor(null);
+        List<String> ran = new ArrayList<>();
+        executor.submit(() -> {
+            ran.add("outer-start");
+            executor.submit(() -> ran.add("nested"));
+            ran.add("outer-end");
+        });
+        executor.submit(() -> ran.add("second"));
+
+        executor.drain(Long.MAX_VALUE);
+        assertEquals(List.of("outer-start", "outer-end", "second", "nested"), ran);
+    }
+
+    @Test
+    void exhaustedBudgetLeavesRestQueuedButRunsAtLeastOne() {
+        TickExecutor executor = new TickExecutor(null);
+        List<Integer> ran = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            int n = i;
+            executor.submit(() -> ran.add(n));
+        }
+
+        assertEquals(1, executor.drain(0L));
+        assertEquals(2, executor.backlog());
+        assertEquals(2, executor.drain(Long.MAX_VALUE));
+        assertEquals(List.of(0, 1, 2), ran);
+        assertEquals(3, executor.snapshotStats().executed());
+    }
+
+    @Test
+    void budgetIsReadOnceAndRereadOnReload() {
+        String key = "rr.tick.queueBudgetMicros";
+        String previous = System.getProperty(key);
+        try {
+            System.setProperty(key, "500");
+            TickExecutor executor = new TickExecutor(null);
+            assertEquals(500_000L, executor.budgetNanos());
+
+            System.setProperty(key, "750");
+            assertEquals(500_000L, executor.budgetNanos());
+
+            executor.reload();
+            assertEquals(750_000L, executor.budgetNanos());
+        } finally {
+            if (previous == null) {
+                System.clearProperty(key);
+            } else {
+                System.setProperty(key, previous);
+            }
+        }
+    }
+}
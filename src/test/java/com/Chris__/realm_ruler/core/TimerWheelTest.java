@@ -0,0 +1,99 @@
+package com.Chris__.realm_ruler.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TimerWheelTest {
+
+    // One-second ticks: the few microseconds between the wheel's origin and `start` below never
+    // move a deadline by more than the one tick of lateness the wheel allows.
+    private static final long TICK = 1_000_000_000L;
+
+    @Test
+    void expiresNeverEarlyAndAtMostOneTickLate() {
+        TimerWheel<String> wheel = new TimerWheel<>(TICK);
+        long start = System.nanoTime();
+        wheel.schedule("flag", start + 10 * TICK);
+
+        assertTrue(wheel.advance(start + 10 * TICK - 1).isEmpty());
+        assertEquals(List.of("flag"), wheel.advance(start + 11 * TICK));
+        assertFalse(wheel.isScheduled("flag"));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void deadlinesOnHigherLevelsCascadeDown() {
+        TimerWheel<String> wheel = new TimerWheel<>(TICK);
+        long start = System.nanoTime();
+        long level1 = 100;          // > 64 ticks
+        long level2 = 5_000;        // > 64^2 ticks
+        long overflow = 300_000;    // > 64^3 ticks
+        wheel.schedule("level1", start + level1 * TICK);
+        wheel.schedule("level2", start + level2 * TICK);
+        wheel.schedule("overflow", start + overflow * TICK);
+
+        assertExpiresAt(wheel, start, "level1", level1);
+        assertExpiresAt(wheel, start, "level2", level2);
+        assertExpiresAt(wheel, start, "overflow", overflow);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelRemovesKey() {
+        TimerWheel<String> wheel = new TimerWheel<>(TICK);
+        long start = System.nanoTime();
+        wheel.schedule("a", start + 10 * TICK);
+        wheel.schedule("b", start + 10 * TICK);
+
+        assertTrue(wheel.cancel("a"));
+        assertFalse(wheel.cancel("a"));
+        assertFalse(wheel.isScheduled("a"));
+        assertEquals(List.of("b"), wheel.advance(start + 20 * TICK));
+    }
+
+    @Test
+    void rescheduleReplacesDeadline() {
+        TimerWheel<String> wheel = new TimerWheel<>(TICK);
+        long start = System.nanoTime();
+        wheel.schedule("carrier", start + 10 * TICK);
+        wheel.schedule("carrier", start + 200 * TICK);
+        assertEquals(1, wheel.size());
+
+        assertTrue(wheel.advance(start + 150 * TICK).isEmpty());
+        // Pull it back in: now due before the wheel's current tick.
+        wheel.schedule("carrier", start + 100 * TICK);
+        assertEquals(List.of("carrier"), wheel.advance(start + 151 * TICK));
+    }
+
+    @Test
+    void pastDeadlineIsDueOnNextAdvance() {
+        TimerWheel<String> wheel = new TimerWheel<>(TICK);
+        long start = System.nanoTime();
+        wheel.advance(start + 5 * TICK);
+        wheel.schedule("late", start);
+
+        assertEquals(List.of("late"), wheel.advance(start + 5 * TICK));
+    }
+
+    @Test
+    void clearDropsEverything() {
+        TimerWheel<String> wheel = new TimerWheel<>(TICK);
+        long start = System.nanoTime();
+        wheel.schedule("a", start + 3 * TICK);
+        wheel.schedule("b", start + 300 * TICK);
+        wheel.clear();
+
+        assertEquals(0, wheel.size());
+        assertTrue(wheel.advance(start + 400 * TICK).isEmpty());
+    }
+
+    private static void assertExpiresAt(TimerWheel<String> wheel, long start, String key, long ticks) {
+        assertTrue(wheel.advance(start + ticks * TICK - 1).isEmpty(), key + " expired early");
+        assertEquals(List.of(key), wheel.advance(start + (ticks + 1) * TICK), key + " not expired");
+    }
+}
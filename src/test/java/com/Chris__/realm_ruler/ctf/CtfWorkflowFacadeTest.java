@@ -1,5 +1,6 @@
 package com.Chris__.realm_ruler.ctf;
 
+import com.Chris__.realm_ruler.core.TickExecutor;
 import com.Chris__.realm_ruler.match.CtfFlagStateService;
 import com.Chris__.realm_ruler.match.CtfMatchService;
 import com.Chris__.realm_ruler.match.CtfShopService;
@@ -16,7 +17,6 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -126,7 +126,7 @@ final class CtfWorkflowFacadeTest {
     void leaveLobbyClearsPreMatchAssignmentAndHidesLobbyHud() {
         TargetingService targetingService = new TargetingService(
                 null,
-                new ConcurrentLinkedQueue<>(),
+                new TickExecutor(null),
                 new ConcurrentHashMap<>(),
                 null,
                 false
@@ -147,9 +147,10 @@ final class CtfWorkflowFacadeTest {
 
     @Test
     void startMatchSucceedsAndPromotesWaitingLobbyAssignments() throws Exception {
+        TickExecutor tickExecutor = new TickExecutor(null);
         TargetingService targetingService = new TargetingService(
                 null,
-                new ConcurrentLinkedQueue<>(),
+                tickExecutor,
                 new ConcurrentHashMap<>(),
                 null,
                 false
@@ -176,13 +177,19 @@ final class CtfWorkflowFacadeTest {
         assertTrue(result.message().contains("Started Capture The Flag match timer"));
         assertEquals(CtfMatchService.Team.BLUE, matchService.getActiveMatchTeams().get("player-1"));
         assertTrue(matchService.getLobbyWaitingTeamsSnapshot().isEmpty());
+
+        // The clock starts in the queued reset command, not before it.
+        assertFalse(matchService.isRunning());
+        assertEquals(CtfMatchService.StartResult.ALREADY_RUNNING, matchService.startCaptureTheFlag(60));
+        tickExecutor.drain();
+        assertTrue(matchService.isRunning());
     }
 
     @Test
     void startMatchReportsMissingHomeStandsForActiveTeams() throws Exception {
         TargetingService targetingService = new TargetingService(
                 null,
-                new ConcurrentLinkedQueue<>(),
+                new TickExecutor(null),
                 new ConcurrentHashMap<>(),
                 null,
                 false
@@ -0,0 +1,57 @@
+package com.Chris__.realm_ruler.integration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ChunkOwnershipCacheTest {
+
+    private static final long MINUTE = 60_000_000_000L;
+
+    @Test
+    void cachesOwnersAndUnclaimedChunksUntilTtl() {
+        ChunkOwnershipCache cache = new ChunkOwnershipCache();
+        long now = 1_000L;
+        cache.put("world", 1, -2, "Red", now);
+        cache.put("world", 3, 4, null, now);
+
+        assertEquals("Red", cache.lookup("world", 1, -2, now));
+        assertNull(cache.lookup("world", 3, 4, now));
+        assertSame(ChunkOwnershipCache.MISS, cache.lookup("other", 1, -2, now));
+        assertSame(ChunkOwnershipCache.MISS, cache.lookup("world", 1, -2, now + 2 * MINUTE));
+    }
+
+    @Test
+    void pinnedEntriesOutliveTtlUntilInvalidated() {
+        ChunkOwnershipCache cache = new ChunkOwnershipCache();
+        cache.putPinned("world", 0, 0, "Blue", 0L);
+
+        assertTrue(cache.isPinned("world", 0, 0));
+        assertEquals("Blue", cache.lookup("world", 0, 0, 100 * MINUTE));
+        assertEquals(1, cache.invalidateAll());
+        assertFalse(cache.isPinned("world", 0, 0));
+        assertSame(ChunkOwnershipCache.MISS, cache.lookup("world", 0, 0, 0L));
+    }
+
+    @Test
+    void expiredEntriesAreReclaimedInsteadOfGrowing() {
+        ChunkOwnershipCache cache = new ChunkOwnershipCache();
+        cache.putPinned("world", -1, -1, "Yellow", 0L);
+
+        // Each minute looks at a fresh set of chunks; the previous set has expired by then.
+        for (int round = 0; round < 50; round++) {
+            long now = round * 2 * MINUTE;
+            for (int i = 0; i < 20; i++) {
+                cache.put("world", round, i, "White", now);
+            }
+        }
+
+        assertTrue(cache.stats().entries() <= 64, "entries=" + cache.stats().entries());
+        assertEquals("Yellow", cache.lookup("world", -1, -1, 100 * MINUTE));
+        assertEquals("White", cache.lookup("world", 49, 19, 98 * MINUTE));
+    }
+}
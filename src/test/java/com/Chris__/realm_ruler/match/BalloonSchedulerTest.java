@@ -0,0 +1,139 @@
+package com.Chris__.realm_ruler.match;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class BalloonSchedulerTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void steadySpawnsOnePerInterval() {
+        BalloonScheduler scheduler = new BalloonScheduler();
+        CtfBalloonConfig cfg = config("steady");
+
+        assertEquals(1, scheduler.due(cfg, SECOND, 4, 0));
+        assertEquals(0, scheduler.due(cfg, 2 * SECOND, 4, 1));
+        assertEquals(1, scheduler.due(cfg, 11 * SECOND, 4, 1));
+    }
+
+    @Test
+    void burstIsSpreadOverSlicesByPerSliceBudget() {
+        BalloonScheduler scheduler = new BalloonScheduler();
+        CtfBalloonConfig cfg = config("burst");
+        cfg.burstSize = 5;
+        cfg.maxSpawnsPerSlice = 2;
+
+        assertEquals(2, scheduler.due(cfg, SECOND, 4, 0));
+        assertEquals(3, scheduler.pending());
+        assertEquals(2, scheduler.due(cfg, SECOND + 1, 4, 2));
+        assertEquals(1, scheduler.due(cfg, SECOND + 2, 4, 4));
+        assertEquals(0, scheduler.pending());
+    }
+
+    @Test
+    void payoutNeverExceedsFreeActiveSlots() {
+        BalloonScheduler scheduler = new BalloonScheduler();
+        CtfBalloonConfig cfg = config("burst");
+        cfg.burstSize = 5;
+        cfg.maxActive = 6;
+        cfg.maxSpawnsPerSlice = 10;
+
+        assertEquals(5, scheduler.due(cfg, SECOND, 4, 0));
+        scheduler.enqueueForced(4);
+        assertEquals(1, scheduler.due(cfg, SECOND + 1, 4, 5));
+        assertEquals(3, scheduler.pending());
+    }
+
+    @Test
+    void forcedBalloonsArePaidFirstAndTrackedAsBatch() {
+        BalloonScheduler scheduler = new BalloonScheduler();
+        CtfBalloonConfig cfg = config("burst");
+        cfg.burstSize = 3;
+        cfg.maxSpawnsPerSlice = 2;
+
+        scheduler.enqueueForced(3);
+        assertEquals(3, scheduler.forcedRequested());
+        // First slice: the burst joins the queue, forced balloons go out first.
+        assertEquals(2, scheduler.due(cfg, SECOND, 4, 0));
+        assertEquals(1, scheduler.forcedPending());
+        assertEquals(2, scheduler.due(cfg, SECOND + 1, 4, 2));
+        assertEquals(0, scheduler.forcedPending());
+        assertEquals(3, scheduler.forcedRequested());
+
+        // A request after the batch drained starts a new batch.
+        scheduler.enqueueForced(2);
+        assertEquals(2, scheduler.forcedRequested());
+        assertEquals(2, scheduler.forcedPending());
+    }
+
+    @Test
+    void requeueReturnsScheduledBalloonsBeforeForcedOnes() {
+        BalloonScheduler scheduler = new BalloonScheduler();
+        CtfBalloonConfig cfg = config("burst");
+        cfg.burstSize = 2;
+        cfg.maxSpawnsPerSlice = 4;
+
+        scheduler.enqueueForced(2);
+        assertEquals(4, scheduler.due(cfg, SECOND, 4, 0)); // 2 forced + 2 scheduled
+        assertEquals(0, scheduler.forcedPending());
+
+        // The spawner only placed one balloon: three come back, two scheduled then one forced.
+        scheduler.requeue(3);
+        assertEquals(3, scheduler.pending());
+        assertEquals(1, scheduler.forcedPending());
+
+        // Requeue never returns more than the last payout.
+        scheduler.requeue(10);
+        assertEquals(4, scheduler.pending());
+        assertEquals(2, scheduler.forcedPending());
+    }
+
+    @Test
+    void forcedRequestsAreCappedAtActiveLimit() {
+        BalloonScheduler scheduler = new BalloonScheduler();
+        scheduler.enqueueForced(BalloonScheduler.MAX_ACTIVE_LIMIT + 20);
+
+        assertEquals(BalloonScheduler.MAX_ACTIVE_LIMIT, scheduler.pending());
+        assertEquals(BalloonScheduler.MAX_ACTIVE_LIMIT, scheduler.forcedRequested());
+    }
+
+    @Test
+    void nextWaveStartsOneIntervalAfterPreviousIsCleared() {
+        BalloonScheduler scheduler = new BalloonScheduler();
+        CtfBalloonConfig cfg = config("wave");
+        cfg.waveSize = 2;
+        cfg.waveGrowth = 1;
+        cfg.maxSpawnsPerSlice = 10;
+
+        assertEquals(2, scheduler.due(cfg, SECOND, 4, 0));
+        assertEquals(-1L, scheduler.secondsUntilNextEvent(SECOND));
+        // Still out: nothing new even long after the interval.
+        assertEquals(0, scheduler.due(cfg, 60 * SECOND, 4, 2));
+
+        // Cleared at 70s: the next wave (one bigger) waits one interval.
+        assertEquals(0, scheduler.due(cfg, 70 * SECOND, 4, 0));
+        assertEquals(10L, scheduler.secondsUntilNextEvent(70 * SECOND));
+        assertEquals(3, scheduler.due(cfg, 80 * SECOND, 4, 0));
+    }
+
+    @Test
+    void sizesScaleWithParticipants() {
+        BalloonScheduler scheduler = new BalloonScheduler();
+        CtfBalloonConfig cfg = config("burst");
+        cfg.burstSize = 2;
+        cfg.scaleBaselinePlayers = 4;
+        cfg.maxSpawnsPerSlice = 10;
+
+        assertEquals(4, scheduler.due(cfg, SECOND, 8, 0));
+    }
+
+    private static CtfBalloonConfig config(String mode) {
+        CtfBalloonConfig cfg = new CtfBalloonConfig();
+        cfg.mode = mode;
+        cfg.intervalSeconds = 10;
+        cfg.maxActive = 20;
+        return cfg;
+    }
+}
@@ -0,0 +1,129 @@
+package com.Chris__.realm_ruler.match;
+
+import com.Chris__.realm_ruler.storage.RrStorage;
+import com.hypixel.hytale.logger.HytaleLogger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class CtfPointsRepositoryTest {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+    private static final String JOURNAL = "ctf_points.journal.jsonl";
+
+    @TempDir
+    Path tempDir;
+
+    private final List<CtfPointsRepository> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeRepositories() {
+        for (CtfPointsRepository repository : opened) {
+            repository.close();
+        }
+    }
+
+    @Test
+    void journalReplaysAfterRestartWithoutCompaction() {
+        CtfPointsRepository first = open();
+        first.addPoints("player-1", 5);
+        assertTrue(first.spendPoints("player-1", 2, "shop:test"));
+        first.addPoints("player-2", 9);
+
+        CtfPointsRepository reopened = open();
+        assertEquals(3, reopened.getPoints("player-1"));
+        assertEquals(9, reopened.getPoints("player-2"));
+    }
+
+    @Test
+    void replaySkipsEntriesAlreadyCoveredBySnapshot() throws Exception {
+        CtfPointsRepository first = open();
+        first.addPoints("player-1", 5);
+        first.addPoints("player-1", 7);
+        String journalBeforeCompaction = Files.readString(tempDir.resolve(JOURNAL), StandardCharsets.UTF_8);
+        first.compact();
+        first.close();
+
+        // Crash after the snapshot was written but before the journal was rewritten: the old
+        // entries (seq 1-2) are still there, followed by one newer entry.
+        Files.writeString(tempDir.resolve(JOURNAL),
+                journalBeforeCompaction + "{\"seq\":3,\"uuid\":\"player-1\",\"delta\":1,\"reason\":\"adjust\",\"ts\":0}\n",
+                StandardCharsets.UTF_8);
+
+        CtfPointsRepository reopened = open();
+        assertEquals(13, reopened.getPoints("player-1"));
+    }
+
+    @Test
+    void tornLastJournalLineIsIgnored() throws Exception {
+        CtfPointsRepository first = open();
+        first.addPoints("player-1", 4);
+        first.close();
+
+        Files.writeString(tempDir.resolve(JOURNAL), "{\"seq\":2,\"uuid\":\"play",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        CtfPointsRepository reopened = open();
+        assertEquals(4, reopened.getPoints("player-1"));
+        reopened.addPoints("player-1", 1);
+        assertEquals(5, open().getPoints("player-1"));
+    }
+
+    @Test
+    void spendIsRolledBackWhenJournalCannotBeWritten() throws Exception {
+        CtfPointsRepository repository = open();
+        // A directory where the journal should be makes every append fail.
+        Files.createDirectories(tempDir.resolve(JOURNAL));
+        repository.addPoints("player-1", 10);
+
+        assertFalse(repository.spendPoints("player-1", 4, "shop:test"));
+        assertEquals(10, repository.getPoints("player-1"));
+    }
+
+    @Test
+    void spendRejectsInsufficientBalance() {
+        CtfPointsRepository repository = open();
+        repository.addPoints("player-1", 3);
+
+        assertFalse(repository.spendPoints("player-1", 4, "shop:test"));
+        assertEquals(3, repository.getPoints("player-1"));
+    }
+
+    private CtfPointsRepository open() {
+        CtfPointsRepository repository = new CtfPointsRepository(RrStorage.json(tempDir, LOGGER), LOGGER);
+        opened.add(repository);
+        return repository;
+    }
+
+    @Test
+    void legacySeqKeyMovesToHeaderAndBalancesStayClean() throws Exception {
+        // Flat snapshot from before the header: the seq shared the map with the balances.
+        Files.writeString(tempDir.resolve("ctf_points.json"),
+                "{\"player-1\": 6, \"__journalSeq\": 2}", StandardCharsets.UTF_8);
+        Files.writeString(tempDir.resolve(JOURNAL),
+                "{\"seq\":2,\"uuid\":\"player-1\",\"delta\":6,\"reason\":\"adjust\",\"ts\":0}\n"
+                        + "{\"seq\":3,\"uuid\":\"player-1\",\"delta\":1,\"reason\":\"adjust\",\"ts\":0}\n",
+                StandardCharsets.UTF_8);
+
+        CtfPointsRepository repository = open();
+        assertEquals(7, repository.getPoints("player-1"));
+        assertEquals(0, repository.getPoints("__journalSeq"));
+        repository.compact();
+
+        String snapshot = Files.readString(tempDir.resolve("ctf_points.json"), StandardCharsets.UTF_8);
+        assertFalse(snapshot.contains("__journalSeq"));
+        assertTrue(snapshot.contains("\"journalSeq\": 3"));
+        assertEquals(7, open().getPoints("player-1"));
+    }
+}
@@ -0,0 +1,53 @@
+package com.Chris__.realm_ruler.match;
+
+import com.Chris__.realm_ruler.storage.RrStorage;
+import com.hypixel.hytale.logger.HytaleLogger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+final class CtfTeardownJournalTest {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void resumeStartsAtSavedCursor() {
+        CtfTeardownJournal journal = open();
+        journal.save("match-1", entries("a", "b", "c", "d"), 0);
+        journal.saveProgress(2);
+
+        CtfTeardownJournal.Pending pending = open().load();
+        assertEquals("match-1", pending.matchId());
+        assertEquals(4, pending.entries().size());
+        assertEquals(2, pending.done());
+    }
+
+    @Test
+    void finishedOrClearedJobIsNotResumed() {
+        CtfTeardownJournal journal = open();
+        journal.save("match-1", entries("a", "b"), 0);
+        journal.saveProgress(2);
+        assertNull(open().load());
+
+        journal.save("match-2", entries("c"), 0);
+        journal.clear();
+        assertNull(open().load());
+    }
+
+    private CtfTeardownJournal open() {
+        return new CtfTeardownJournal(RrStorage.json(tempDir, LOGGER), LOGGER);
+    }
+
+    private static List<CtfTeardownJournal.Entry> entries(String... uuids) {
+        return Arrays.stream(uuids).map(uuid -> new CtfTeardownJournal.Entry(uuid, null)).toList();
+    }
+}
@@ -0,0 +1,187 @@
+package com.Chris__.realm_ruler.storage;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class MappedKeyValueStoreTest {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void clearTuning() {
+        System.clearProperty("rr.storage.mmap.compactMinBytes");
+    }
+
+    @Test
+    void committedWritesSurviveReopen() throws Exception {
+        Path file = tempDir.resolve("points.rrkv");
+        MappedKeyValueStore store = new MappedKeyValueStore(file, LOGGER);
+        store.put("a", "1");
+        store.put("b", "\"two\"");
+        assertTrue(store.sync());
+        store.remove("a");
+        assertTrue(store.sync());
+        store.put("c", "3");
+        assertEquals("3", store.get("c"));
+        store.remove("c"); // pending write dropped before it was ever synced
+        assertEquals(1, store.size());
+        store.close();
+
+        MappedKeyValueStore reopened = new MappedKeyValueStore(file, LOGGER);
+        assertNull(reopened.get("a"));
+        assertEquals("\"two\"", reopened.get("b"));
+        assertNull(reopened.get("c"));
+        assertEquals(1, reopened.size());
+        reopened.close();
+    }
+
+    @Test
+    void tornBatchIsDiscardedOnReopen() throws Exception {
+        Path file = tempDir.resolve("points.rrkv");
+        MappedKeyValueStore store = new MappedKeyValueStore(file, LOGGER);
+        store.put("first", "\"committed\"");
+        assertTrue(store.sync());
+        store.put("second", "\"torn-value\"");
+        store.put("third", "3");
+        assertTrue(store.sync());
+        store.close();
+
+        // Damage one byte of the last batch: its checksum no longer matches.
+        byte[] bytes = Files.readAllBytes(file);
+        int at = indexOf(bytes, "torn-value".getBytes(StandardCharsets.UTF_8));
+        assertTrue(at > 0);
+        bytes[at] ^= 0x20;
+        Files.write(file, bytes);
+
+        MappedKeyValueStore reopened = new MappedKeyValueStore(file, LOGGER);
+        assertEquals("\"committed\"", reopened.get("first"));
+        assertNull(reopened.get("second"));
+        assertNull(reopened.get("third"));
+
+        // The discarded tail is reused by the next batch.
+        reopened.put("fourth", "4");
+        assertTrue(reopened.sync());
+        reopened.close();
+        MappedKeyValueStore again = new MappedKeyValueStore(file, LOGGER);
+        assertEquals("4", again.get("fourth"));
+        assertNull(again.get("second"));
+        again.close();
+    }
+
+    @Test
+    void growthRemapsAndKeepsEarlierValues() throws Exception {
+        Path file = tempDir.resolve("big.rrkv");
+        MappedKeyValueStore store = new MappedKeyValueStore(file, LOGGER);
+        String value = "\"" + "x".repeat(1000) + "\"";
+        for (int i = 0; i < 200; i++) {
+            store.put("key-" + i, value);
+            assertTrue(store.sync());
+        }
+        assertEquals(value, store.get("key-0"));
+        store.close();
+
+        MappedKeyValueStore reopened = new MappedKeyValueStore(file, LOGGER);
+        assertEquals(200, reopened.size());
+        assertEquals(value, reopened.get("key-199"));
+        reopened.close();
+    }
+
+    @Test
+    void compactionSwitchesToNextGenerationFile() throws Exception {
+        System.setProperty("rr.storage.mmap.compactMinBytes", "0");
+        Path file = tempDir.resolve("points.rrkv");
+        MappedKeyValueStore store = new MappedKeyValueStore(file, LOGGER);
+        store.put("keep", "\"k\"");
+        assertTrue(store.sync());
+        for (int i = 0; i < 5; i++) {
+            store.put("hot", String.valueOf(i));
+            assertTrue(store.sync());
+        }
+
+        Path current = store.currentFile();
+        assertFalse(current.equals(file));
+        assertTrue(Files.exists(current));
+        assertFalse(Files.exists(file));
+        assertEquals("4", store.get("hot"));
+        assertEquals("\"k\"", store.get("keep"));
+        store.close();
+
+        MappedKeyValueStore reopened = new MappedKeyValueStore(file, LOGGER);
+        assertEquals(current, reopened.currentFile());
+        assertEquals("4", reopened.get("hot"));
+        assertEquals("\"k\"", reopened.get("keep"));
+        assertEquals(2, reopened.size());
+        reopened.close();
+    }
+
+    @Test
+    void openPrefersNewestGenerationAndRemovesOlderOnes() throws Exception {
+        System.setProperty("rr.storage.mmap.compactMinBytes", "0");
+        Path file = tempDir.resolve("points.rrkv");
+        MappedKeyValueStore store = new MappedKeyValueStore(file, LOGGER);
+        store.put("hot", "1");
+        assertTrue(store.sync());
+        store.put("hot", "2");
+        assertTrue(store.sync());
+        Path current = store.currentFile();
+        store.close();
+
+        // A stale base file (e.g. its delete failed while mapped) and a leftover temp file.
+        Files.write(file, new byte[]{0x52, 0x52, 0x4B, 0x56, 0, 0, 0, 1, 0});
+        Files.write(current.resolveSibling(current.getFileName() + ".tmp"), new byte[]{1, 2, 3});
+
+        MappedKeyValueStore reopened = new MappedKeyValueStore(file, LOGGER);
+        assertEquals(current, reopened.currentFile());
+        assertEquals("2", reopened.get("hot"));
+        assertFalse(Files.exists(file));
+        assertFalse(Files.exists(current.resolveSibling(current.getFileName() + ".tmp")));
+        reopened.close();
+    }
+
+    private static int indexOf(byte[] haystack, byte[] needle) {
+        outer:
+        for (int i = 0; i + needle.length <= haystack.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (haystack[i + j] != needle[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    @Test
+    void headersCommitWithKeysButStayOutOfTheKeySpace() throws Exception {
+        Path file = tempDir.resolve("points.rrkv");
+        MappedKeyValueStore store = new MappedKeyValueStore(file, LOGGER);
+        store.put("a", "1");
+        store.putHeader("journalSeq", "7");
+        assertTrue(store.sync());
+        assertEquals(1, store.size());
+        assertNull(store.get("journalSeq"));
+        store.close();
+
+        MappedKeyValueStore reopened = new MappedKeyValueStore(file, LOGGER);
+        assertEquals("7", reopened.header("journalSeq"));
+        assertEquals(1, reopened.size());
+        List<String> keys = new ArrayList<>();
+        reopened.forEach((k, v) -> keys.add(k));
+        assertEquals(List.of("a"), keys);
+        reopened.close();
+    }
+}
@@ -0,0 +1,55 @@
+package com.Chris__.realm_ruler.storage;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class RrStorageTest {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void migrateCopiesUnopenedStoresAndClearsStaleTargetData() throws Exception {
+        // Written by an earlier run; nothing opens them in this one.
+        Files.writeString(tempDir.resolve("ctf_points.json"), "{\"player-1\": 5}", StandardCharsets.UTF_8);
+        Files.writeString(tempDir.resolve("ctf_stands.json"), "{\"stands\": []}", StandardCharsets.UTF_8);
+
+        // Left over from an older migration to mmap.
+        MappedKeyValueStore stalePoints = new MappedKeyValueStore(tempDir.resolve("ctf_points.rrkv"), LOGGER);
+        stalePoints.put("player-gone", "9");
+        assertTrue(stalePoints.sync());
+        stalePoints.close();
+        MappedKeyValueStore staleDocuments = new MappedKeyValueStore(tempDir.resolve("rr_documents.rrkv"), LOGGER);
+        staleDocuments.put("ctf_region.json", "{\"old\": true}");
+        assertTrue(staleDocuments.sync());
+        staleDocuments.close();
+
+        RrStorage storage = RrStorage.json(tempDir, LOGGER);
+        RrStorage.MigrationResult result = storage.migrate(StorageBackend.MMAP);
+        storage.close();
+        assertTrue(result.ok(), result.message());
+        assertEquals(1, result.keyValueStores());
+        assertEquals(1, result.keys());
+        assertEquals(1, result.documents());
+
+        RrStorage migrated = new RrStorage(tempDir, StorageBackend.MMAP, LOGGER);
+        KeyValueStore points = migrated.keyValue("ctf_points");
+        assertEquals("5", points.get("player-1"));
+        assertNull(points.get("player-gone"));
+        assertEquals("{\"stands\": []}", migrated.document("ctf_stands.json").read());
+        assertFalse(migrated.document("ctf_region.json").exists());
+        migrated.close();
+    }
+}